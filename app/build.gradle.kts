@@ -12,6 +12,7 @@ plugins {
     java
     id("org.danilopianini.gradle-java-qa") version "1.38.0"
     id("com.github.johnrengelman.shadow") version "8.1.1"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -23,6 +24,8 @@ dependencies {
     // Use JUnit Jupiter for testing.
     testImplementation(libs.junit.jupiter)
     testImplementation("org.mockito:mockito-core:5.11.0")
+    // Embedded MariaDB used by the "embedded" database profile
+    testImplementation("ch.vorburger.mariaDB4j:mariaDB4j:3.1.0")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     implementation("commons-codec:commons-codec:1.16.1")
     implementation("org.mariadb.jdbc:mariadb-java-client:3.3.3")
@@ -46,7 +49,86 @@ application {
     mainClass = "unibo.cineradar.CineRadar"
 }
 
+// Synthetic data for the schema, e.g. ./gradlew generateData -Pgenerator="--scale=1000 --format=load"
+tasks.register<JavaExec>("generateData") {
+    group = "application"
+    description = "Generates a synthetic data set for the CineRadar schema."
+    classpath = sourceSets.main.get().runtimeClasspath
+    mainClass = "unibo.cineradar.utilities.datagen.DataGenerator"
+    workingDir = projectDir
+    args = (findProperty("generator") as String?)?.split(" ")?.filter { it.isNotBlank() } ?: listOf()
+}
+
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
+    // Database the tests run against: "remote" (default) or "embedded", e.g. -Dcineradar.db.profile=embedded
+    systemProperty("cineradar.db.profile", System.getProperty("cineradar.db.profile", "remote"))
+    // Data loaded by the embedded profile: "full" (default), "slim" or "none"
+    systemProperty("cineradar.db.fixture", System.getProperty("cineradar.db.fixture", "full"))
+    systemProperty("cineradar.sql.dir", rootProject.file("SQL").absolutePath)
+}
+
+// Benchmarks in src/jmh, run with ./gradlew jmh; the embedded database of the tests is reused by the end to end ones.
+jmh {
+    jmhVersion = "1.37"
+    includeTests = true
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
+    jvmArgsAppend = listOf("-Djava.awt.headless=true", "-Dcineradar.sql.dir=" + rootProject.file("SQL").absolutePath)
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+val jmhBaseline = layout.projectDirectory.file("src/jmh/baseline.json")
+// How much slower than the baseline a benchmark may get before it is reported as a regression
+val jmhTolerance = (findProperty("jmhTolerance") as String?)?.toDouble() ?: 0.10
+
+tasks.register<Copy>("jmhSaveBaseline") {
+    group = "benchmark"
+    description = "Saves the results of the last benchmark run as the baseline."
+    from(jmhResults)
+    into(jmhBaseline.asFile.parentFile)
+    rename { jmhBaseline.asFile.name }
+}
+
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the results of the last benchmark run with the baseline and fails on regressions."
+    doLast {
+        // Average times by benchmark and parameters, lower is better
+        fun scores(file: File): Map<String, Double> {
+            @Suppress("UNCHECKED_CAST")
+            val runs = groovy.json.JsonSlurper().parse(file) as List<Map<String, Any?>>
+            return runs.filter { it["mode"] == "avgt" }.associate { run ->
+                val params = (run["params"] as Map<*, *>?)?.entries?.joinToString(", ") { "${it.key}=${it.value}" }
+                val metric = run["primaryMetric"] as Map<*, *>
+                "${run["benchmark"]}${params?.let { " ($it)" } ?: ""}" to (metric["score"] as Number).toDouble()
+            }
+        }
+        val results = jmhResults.get().asFile
+        val baseline = jmhBaseline.asFile
+        if (!results.exists()) {
+            throw GradleException("No benchmark results found, run the jmh task first.")
+        }
+        if (!baseline.exists()) {
+            logger.warn("No baseline found, save one with the jmhSaveBaseline task.")
+            return@doLast
+        }
+        val current = scores(results)
+        val regressions = scores(baseline).mapNotNull { (name, reference) ->
+            current[name]?.let { score ->
+                val change = score / reference - 1
+                logger.lifecycle(String.format("%+7.1f%%  %s", change * 100, name))
+                if (change > jmhTolerance) name else null
+            }
+        }
+        if (regressions.isNotEmpty()) {
+            throw GradleException("Benchmarks slower than the baseline by more than "
+                    + "${(jmhTolerance * 100).toInt()}%: ${regressions.joinToString()}")
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package unibo.cineradar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import unibo.cineradar.model.cast.Cast;
+import unibo.cineradar.model.db.operations.UserOps;
+import unibo.cineradar.model.film.Film;
+import unibo.cineradar.model.serie.Serie;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//CHECKSTYLE: VisibilityModifier OFF
+
+/**
+ * Measures how the user operations turn the rows of the catalog queries into films and series,
+ * on a synthetic catalog served by a fake connection, so that the database itself is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogAssemblyBenchmark {
+    private static final long SEED = 42;
+    private static final int ADULT = 18;
+
+    /**
+     * How many times the catalog of the sample data is multiplied.
+     */
+    @Param({"1", "10", "100", "1000"})
+    public int scale;
+
+    private SyntheticCatalog catalog;
+
+    /**
+     * Generates the catalog.
+     */
+    @Setup
+    public void generate() {
+        this.catalog = new SyntheticCatalog(this.scale, SEED);
+    }
+
+    /**
+     * Assembles the films with their cast and genres.
+     *
+     * @return The assembled films.
+     */
+    @Benchmark
+    public Map<Film, Cast> detailedFilms() {
+        try (UserOps ops = new UserOps(this.catalog.connection())) {
+            return ops.getDetailedFilms();
+        }
+    }
+
+    /**
+     * Assembles the series with their seasons, episodes, cast and genres.
+     *
+     * @return The assembled series.
+     */
+    @Benchmark
+    public List<Serie> detailedSeries() {
+        try (UserOps ops = new UserOps(this.catalog.connection())) {
+            return ops.getDetailedSeries();
+        }
+    }
+
+    /**
+     * Reads the films an adult can watch, with their genres.
+     *
+     * @return The films read.
+     */
+    @Benchmark
+    public List<Film> films() {
+        try (UserOps ops = new UserOps(this.catalog.connection())) {
+            return ops.getFilms(ADULT);
+        }
+    }
+
+    /**
+     * Reads the series an adult can watch, with their genres.
+     *
+     * @return The series read.
+     */
+    @Benchmark
+    public List<Serie> series() {
+        try (UserOps ops = new UserOps(this.catalog.connection())) {
+            return ops.getSeries(ADULT);
+        }
+    }
+}
+
+//CHECKSTYLE: VisibilityModifier ON
@@ -0,0 +1,33 @@
+package unibo.cineradar.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import unibo.cineradar.model.db.EmbeddedDatabase;
+
+/**
+ * The embedded database the end to end benchmarks run against, loaded with the sample data.
+ * It is started before the first connection is opened, so the endpoint manager only knows about it.
+ */
+@State(Scope.Benchmark)
+public class EmbeddedDatabaseState {
+    private EmbeddedDatabase database;
+
+    /**
+     * Starts the database and points the application at it.
+     */
+    @Setup
+    public void start() {
+        this.database = EmbeddedDatabase.start(EmbeddedDatabase.Fixture.FULL);
+        System.setProperty("cineradar.db.endpoints", this.database.getEndpoint().toString());
+    }
+
+    /**
+     * Stops the database.
+     */
+    @TearDown
+    public void stop() {
+        this.database.close();
+    }
+}
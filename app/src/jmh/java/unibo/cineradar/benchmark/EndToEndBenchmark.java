@@ -0,0 +1,78 @@
+package unibo.cineradar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import unibo.cineradar.model.cast.Cast;
+import unibo.cineradar.model.db.operations.UserOps;
+import unibo.cineradar.model.film.Film;
+import unibo.cineradar.model.serie.Serie;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the catalog reads end to end, through the connection pool and the embedded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EndToEndBenchmark {
+    private static final int ADULT = 18;
+
+    /**
+     * Reads the films an adult can watch.
+     *
+     * @param database The database to read from.
+     * @return The films read.
+     */
+    @Benchmark
+    public List<Film> films(final EmbeddedDatabaseState database) {
+        try (UserOps ops = new UserOps()) {
+            return ops.getFilms(ADULT);
+        }
+    }
+
+    /**
+     * Reads the series an adult can watch.
+     *
+     * @param database The database to read from.
+     * @return The series read.
+     */
+    @Benchmark
+    public List<Serie> series(final EmbeddedDatabaseState database) {
+        try (UserOps ops = new UserOps()) {
+            return ops.getSeries(ADULT);
+        }
+    }
+
+    /**
+     * Reads the films with their cast and genres.
+     *
+     * @param database The database to read from.
+     * @return The films read.
+     */
+    @Benchmark
+    public Map<Film, Cast> detailedFilms(final EmbeddedDatabaseState database) {
+        try (UserOps ops = new UserOps()) {
+            return ops.getDetailedFilms();
+        }
+    }
+
+    /**
+     * Reads the series with their seasons, episodes, cast and genres.
+     *
+     * @param database The database to read from.
+     * @return The series read.
+     */
+    @Benchmark
+    public List<Serie> detailedSeries(final EmbeddedDatabaseState database) {
+        try (UserOps ops = new UserOps()) {
+            return ops.getDetailedSeries();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package unibo.cineradar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import unibo.cineradar.model.ranking.ReviewerLeaderboard;
+import unibo.cineradar.model.ranking.ReviewerStanding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//CHECKSTYLE: VisibilityModifier OFF
+//CHECKSTYLE: MagicNumber OFF
+
+/**
+ * Measures the reviewer rankings kept in memory, on synthetic standings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LeaderboardBenchmark {
+    private static final int USERS = 10;
+    private static final int TOP = 5;
+
+    /**
+     * How many times the users of the sample data are multiplied.
+     */
+    @Param({"1", "10", "100", "1000"})
+    public int scale;
+
+    private ReviewerLeaderboard leaderboard;
+    private List<String> usernames;
+    private int next;
+
+    /**
+     * Generates the standings and loads them in the leaderboard.
+     */
+    @Setup
+    public void generate() {
+        final Random random = new Random(42);
+        final List<ReviewerStanding> standings = new ArrayList<>();
+        for (int i = 0; i < USERS * this.scale; i++) {
+            final int evaluations = random.nextInt(20);
+            standings.add(new ReviewerStanding("user" + i, 1 + random.nextInt(10), evaluations,
+                    evaluations == 0 ? 0 : random.nextInt(2 * evaluations + 1) - evaluations));
+        }
+        this.usernames = standings.stream().map(ReviewerStanding::username).toList();
+        this.leaderboard = new ReviewerLeaderboard(() -> standings);
+        this.leaderboard.mostReviews(TOP);
+    }
+
+    /**
+     * Ranks the users who wrote the most reviews.
+     *
+     * @return The ranking.
+     */
+    @Benchmark
+    public List<ReviewerStanding> mostReviews() {
+        return this.leaderboard.mostReviews(TOP);
+    }
+
+    /**
+     * Ranks the users with the most useful reviews.
+     *
+     * @return The ranking.
+     */
+    @Benchmark
+    public List<ReviewerStanding> bestUsefulness() {
+        return this.leaderboard.bestUsefulness(TOP);
+    }
+
+    /**
+     * Records a new evaluation and ranks the users again, as happens while users evaluate reviews.
+     *
+     * @return The ranking.
+     */
+    @Benchmark
+    public List<ReviewerStanding> evaluateAndRank() {
+        final String username = this.usernames.get(this.next);
+        this.next = (this.next + 1) % this.usernames.size();
+        this.leaderboard.evaluationChanged(username, Optional.empty(), Optional.of(true));
+        this.leaderboard.evaluationChanged(username, Optional.of(true), Optional.empty());
+        return this.leaderboard.bestUsefulness(TOP);
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
+//CHECKSTYLE: VisibilityModifier ON
@@ -0,0 +1,45 @@
+package unibo.cineradar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import unibo.cineradar.utilities.security.HashingAlgorithm;
+import unibo.cineradar.utilities.security.HashingUtilities;
+import unibo.cineradar.utilities.security.PasswordChecker;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the hashing done on every login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PasswordBenchmark {
+    private final char[] password = "panettone!".toCharArray();
+    private final String hashed = HashingUtilities.getHashedString(this.password, HashingAlgorithm.SHA_512);
+    private final PasswordChecker checker = new PasswordChecker(HashingAlgorithm.SHA_512);
+
+    /**
+     * Hashes a password.
+     *
+     * @return The hashed password.
+     */
+    @Benchmark
+    public String hash() {
+        return HashingUtilities.getHashedString(this.password, HashingAlgorithm.SHA_512);
+    }
+
+    /**
+     * Checks a password against its hash.
+     *
+     * @return True, since the password matches.
+     */
+    @Benchmark
+    public boolean checkPassword() {
+        return this.checker.checkPassword(this.password, this.hashed);
+    }
+}
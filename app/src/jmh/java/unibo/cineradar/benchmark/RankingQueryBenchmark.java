@@ -0,0 +1,49 @@
+package unibo.cineradar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import unibo.cineradar.model.db.operations.admin.AdminOps;
+import unibo.cineradar.model.ranking.EvalType;
+import unibo.cineradar.model.ranking.RankingEntry;
+import unibo.cineradar.model.ranking.RankingQuery;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//CHECKSTYLE: VisibilityModifier OFF
+
+/**
+ * Measures the rankings computed by the database, through the connection pool and the embedded database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RankingQueryBenchmark {
+    private static final int SIZE = 10;
+
+    /**
+     * The ranking to compute.
+     */
+    @Param({"BEST_DIRECTORS", "BEST_ACTORS", "MOST_VIEWED_FILMS", "MOST_VIEWED_SERIES"})
+    public EvalType type;
+
+    /**
+     * Computes the ranking.
+     *
+     * @param database The database to read from.
+     * @return The ranking.
+     */
+    @Benchmark
+    public List<RankingEntry> ranking(final EmbeddedDatabaseState database) {
+        try (AdminOps ops = new AdminOps()) {
+            return ops.getRankings(RankingQuery.top(this.type, SIZE));
+        }
+    }
+}
+
+//CHECKSTYLE: VisibilityModifier ON
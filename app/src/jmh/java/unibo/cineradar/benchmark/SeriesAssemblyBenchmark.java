@@ -0,0 +1,83 @@
+package unibo.cineradar.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import unibo.cineradar.model.cast.Actor;
+import unibo.cineradar.model.cast.CastMember;
+import unibo.cineradar.model.multimedia.Genre;
+import unibo.cineradar.model.serie.Episode;
+import unibo.cineradar.model.serie.Serie;
+import unibo.cineradar.model.serie.SeriesCatalogBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//CHECKSTYLE: VisibilityModifier OFF
+
+/**
+ * Measures how the series builder grows with the rows of the series join, one per episode and cast member:
+ * doubling the episodes should roughly double the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SeriesAssemblyBenchmark {
+    private static final int SERIES = 500;
+    private static final int SEASONS = 10;
+    private static final int CAST = 30;
+    private static final int EPISODE_DURATION = 30;
+    private static final Genre GENRE = new Genre("Drama", "", 0);
+
+    /**
+     * How many episodes each season has.
+     */
+    @Param({"5", "10", "20", "40"})
+    public int episodes;
+
+    private final List<CastMember> cast = new ArrayList<>();
+
+    /**
+     * Generates the cast shared by every season.
+     */
+    @Setup
+    public void generate() {
+        this.cast.clear();
+        for (int i = 1; i <= CAST; i++) {
+            this.cast.add(new Actor(i, "Name" + i, "Surname" + i, LocalDate.EPOCH, LocalDate.EPOCH, null));
+        }
+    }
+
+    /**
+     * Feeds the builder the rows of the join and assembles the series.
+     *
+     * @return The assembled series.
+     */
+    @Benchmark
+    public List<Serie> assemble() {
+        final SeriesCatalogBuilder builder = new SeriesCatalogBuilder();
+        for (int s = 1; s <= SERIES; s++) {
+            for (int season = 1; season <= SEASONS; season++) {
+                for (int e = 1; e <= this.episodes; e++) {
+                    for (final CastMember member : this.cast) {
+                        if (!builder.containsSerie(s)) {
+                            builder.addSerie(new Serie(s, "Serie " + s, 0, "", 0, SEASONS * this.episodes));
+                        }
+                        builder.addSeason(s, season, "", s);
+                        builder.addEpisode(new Episode(s, season, e, EPISODE_DURATION));
+                        builder.addCastMember(s, season, member);
+                    }
+                }
+            }
+            builder.addGenre(s, GENRE);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,188 @@
+package unibo.cineradar.benchmark;
+
+import unibo.cineradar.model.db.FakeDatabase;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+//CHECKSTYLE: MagicNumber OFF
+
+/**
+ * An in-memory catalog shaped like the one of {@code DataEntry.sql}, multiplied by a scale factor,
+ * served through the fake database of the tests, answering the catalog queries of the user operations.
+ * The rows are generated once, so a benchmark measures how the operations assemble the model from them.
+ */
+public final class SyntheticCatalog {
+    private static final int FILMS = 5;
+    private static final int SERIES = 2;
+    private static final int SEASONS = 3;
+    private static final int EPISODES = 5;
+    private static final int CAST_SIZE = 3;
+    private static final int MEMBERS = 24;
+    private static final int GENRES = 7;
+    private static final int GENRES_PER_TITLE = 2;
+    private static final LocalDate FIRST_BIRTH = LocalDate.of(1940, 1, 1);
+
+    private final List<Map<String, Object>> films = new ArrayList<>();
+    private final List<Map<String, Object>> series = new ArrayList<>();
+    private final List<Map<String, Object>> filmGenres = new ArrayList<>();
+    private final List<Map<String, Object>> seriesGenres = new ArrayList<>();
+    private final List<Map<String, Object>> detailedFilms = new ArrayList<>();
+    private final List<Map<String, Object>> detailedSeries = new ArrayList<>();
+
+    /**
+     * Generates a catalog.
+     *
+     * @param scale How many times the catalog of {@code DataEntry.sql} is multiplied.
+     * @param seed  The seed of the generated values, so that runs are comparable.
+     */
+    public SyntheticCatalog(final int scale, final long seed) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("The scale must be positive.");
+        }
+        final Random random = new Random(seed);
+        final List<Map<String, Object>> members = new ArrayList<>();
+        for (int code = 1; code <= MEMBERS * scale; code++) {
+            members.add(member(code, random));
+        }
+        for (int code = 1; code <= FILMS * scale; code++) {
+            final Map<String, Object> film = title(code, random);
+            film.put("Durata", 80 + random.nextInt(100));
+            film.put("CodiceCast", code);
+            this.films.add(film);
+            genres(code, "CodiceFilm", this.filmGenres);
+            for (final Map<String, Object> member : cast(members, random)) {
+                final Map<String, Object> row = new HashMap<>(member);
+                row.put("CodiceFilm", code);
+                row.put("TitoloFilm", film.get("Titolo"));
+                row.put("EtaLimiteFilm", film.get("EtaLimite"));
+                row.put("TramaFilm", film.get("Trama"));
+                row.put("DurataFilm", film.get("Durata"));
+                row.put("CodiceCastFilm", code);
+                this.detailedFilms.add(row);
+            }
+        }
+        for (int code = 1; code <= SERIES * scale; code++) {
+            final Map<String, Object> serie = title(code, random);
+            serie.put("DurataComplessiva", SEASONS * EPISODES * 45);
+            serie.put("NumeroEpisodi", SEASONS * EPISODES);
+            this.series.add(serie);
+            genres(code, "CodiceSerie", this.seriesGenres);
+            for (int season = 1; season <= SEASONS; season++) {
+                final List<Map<String, Object>> cast = cast(members, random);
+                for (int episode = 1; episode <= EPISODES; episode++) {
+                    for (final Map<String, Object> member : cast) {
+                        final Map<String, Object> row = new HashMap<>(member);
+                        row.put("CodiceSerie", code);
+                        row.put("NumeroStagione", season);
+                        row.put("NumeroEpisodio", episode);
+                        row.put("TitoloSerie", serie.get("Titolo"));
+                        row.put("EtaLimiteSerie", serie.get("EtaLimite"));
+                        row.put("TramaSerie", serie.get("Trama"));
+                        row.put("DurataComplessivaSerie", serie.get("DurataComplessiva"));
+                        row.put("NumeroEpisodiSerie", serie.get("NumeroEpisodi"));
+                        row.put("SuntoStagione", "Stagione " + season);
+                        row.put("DurataEpisodio", 30 + random.nextInt(30));
+                        row.put("CodiceCast", code * SEASONS + season);
+                        row.put("NomeCasting", "Cast " + code + "-" + season);
+                        this.detailedSeries.add(row);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of generated films.
+     *
+     * @return The number of films.
+     */
+    public int getFilmCount() {
+        return this.films.size();
+    }
+
+    /**
+     * Gets the number of generated series.
+     *
+     * @return The number of series.
+     */
+    public int getSeriesCount() {
+        return this.series.size();
+    }
+
+    /**
+     * Opens a fake connection answering the catalog queries with the generated rows.
+     * Every other statement returns no rows.
+     *
+     * @return The fake connection.
+     */
+    public Connection connection() {
+        return new FakeDatabase().answering(this::rowsFor).connect();
+    }
+
+    private List<Map<String, Object>> rowsFor(final String sql) {
+        if (sql.contains("categorizzazione_film")) {
+            return this.filmGenres;
+        } else if (sql.contains("categorizzazione_serie")) {
+            return this.seriesGenres;
+        } else if (sql.contains("membrocast") && sql.contains("FROM film")) {
+            return this.detailedFilms;
+        } else if (sql.contains("membrocast") && sql.contains("FROM serie")) {
+            return this.detailedSeries;
+        } else if (sql.contains("FROM film")) {
+            return this.films;
+        } else if (sql.contains("FROM serie")) {
+            return this.series;
+        }
+        return Collections.emptyList();
+    }
+
+    private static Map<String, Object> title(final int code, final Random random) {
+        final Map<String, Object> title = new HashMap<>();
+        title.put("Codice", code);
+        title.put("Titolo", "Titolo " + code);
+        title.put("EtaLimite", random.nextInt(19));
+        title.put("Trama", "Trama del titolo " + code);
+        return title;
+    }
+
+    private static Map<String, Object> member(final int code, final Random random) {
+        final Map<String, Object> member = new HashMap<>();
+        final LocalDate birth = FIRST_BIRTH.plusDays(random.nextInt(365 * 60));
+        final int kind = random.nextInt(4);
+        member.put("CodiceMembroCast", code);
+        member.put("NomeMembroCast", "Nome" + code);
+        member.put("CognomeMembroCast", "Cognome" + code);
+        member.put("DataNascitaMembroCast", Date.valueOf(birth));
+        member.put("DataDebuttoCarrieraMembroCast", Date.valueOf(birth.plusYears(20)));
+        member.put("NomeArteMembroCast", "Arte" + code);
+        member.put("TipoAttoreMembroCast", kind != 1);
+        member.put("TipoRegistaMembroCast", kind != 0);
+        return member;
+    }
+
+    private static List<Map<String, Object>> cast(final List<Map<String, Object>> members, final Random random) {
+        final List<Map<String, Object>> cast = new ArrayList<>();
+        for (int i = 0; i < CAST_SIZE; i++) {
+            cast.add(members.get(random.nextInt(members.size())));
+        }
+        return cast;
+    }
+
+    private static void genres(final int code, final String codeColumn, final List<Map<String, Object>> rows) {
+        for (int i = 0; i < GENRES_PER_TITLE; i++) {
+            final int genre = (code + i) % GENRES;
+            rows.add(Map.of(codeColumn, code, "NomeGenere", "Genere" + genre,
+                    "Descrizione", "Descrizione " + genre, "NumeroVisualizzati", genre * 10));
+        }
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
@@ -0,0 +1,60 @@
+package unibo.cineradar.view.homepage.user;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import unibo.cineradar.model.film.Film;
+
+import javax.swing.table.TableModel;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+//CHECKSTYLE: VisibilityModifier OFF
+//CHECKSTYLE: MagicNumber OFF
+
+/**
+ * Measures the construction of the table model showing the films to the user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TableModelBenchmark {
+    private static final int FILMS = 5;
+
+    /**
+     * How many times the films of the sample data are multiplied.
+     */
+    @Param({"1", "10", "100", "1000"})
+    public int scale;
+
+    private List<Film> films;
+
+    /**
+     * Generates the films.
+     */
+    @Setup
+    public void generate() {
+        this.films = IntStream.rangeClosed(1, FILMS * this.scale)
+                .mapToObj(id -> new Film(id, "Titolo " + id, id % 19, "Trama del titolo " + id, 90 + id % 60, id))
+                .toList();
+    }
+
+    /**
+     * Builds the table model.
+     *
+     * @return The table model.
+     */
+    @Benchmark
+    public TableModel multimediaModel() {
+        return UserPanel.createMultimediaModel(this.films);
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
+//CHECKSTYLE: VisibilityModifier ON
@@ -36,4 +36,10 @@ public interface SessionController {
      * @return The whole account.
      */
     Account getAccount();
+
+    /**
+     * Loads the catalog the session is going to show.
+     * It may take a while, so it is meant to be called in background once the home page is visible.
+     */
+    void preloadCatalog();
 }
@@ -8,6 +8,7 @@ import unibo.cineradar.model.context.SessionFactory;
 import unibo.cineradar.model.context.administrator.AdministratorContext;
 import unibo.cineradar.model.context.registrar.RegistrarContext;
 import unibo.cineradar.model.context.user.UserContext;
+import unibo.cineradar.model.login.LoginTimings;
 import unibo.cineradar.model.login.LoginType;
 import unibo.cineradar.model.utente.Account;
 
@@ -31,12 +32,26 @@ public class SessionControllerImpl implements SessionController {
         this.context = SessionFactory.getSession(username, password).orElse(null);
     }
 
+    /**
+     * Creates the controller of a session whose context has already been built.
+     *
+     * @param context The context of the session.
+     */
+    protected SessionControllerImpl(final SessionContext context) {
+        this.context = Objects.requireNonNull(context);
+    }
+
     /**
      * Creates a specific controller starting from a generic one.
+     * The context of the generic controller is reused when it has one, otherwise it is built again.
      *
      * @param existingController The existing controller.
      */
     protected SessionControllerImpl(final SessionController existingController) {
+        if (existingController instanceof SessionControllerImpl generic && generic.isSessionValid()) {
+            this.context = generic.getGenericContext();
+            return;
+        }
         switch (existingController.getType()) {
             case ADMINISTRATION -> {
                 this.context = new AdministratorContext(existingController.getAccount());
@@ -59,23 +74,37 @@ public class SessionControllerImpl implements SessionController {
      * @return A session controller.
      */
     public static Optional<SessionController> of(final String username, final char[] password) {
-        final SessionController ctr = new SessionControllerImpl(username, password);
-        if (ctr.isSessionValid()) {
-            switch (ctr.getType()) {
-                case ADMINISTRATION -> {
-                    return Optional.of(new AdminSessionController(ctr));
-                }
-                case REGISTRATION -> {
-                    return Optional.of(new RegistrarSessionController(ctr));
-                }
-                case USER -> {
-                    return Optional.of(new UserSessionController(ctr));
-                }
-                default -> throw new IllegalStateException("Unexpected type: " + ctr.getType());
-            }
-        } else {
+        return of(username, password, new LoginTimings());
+    }
+
+    /**
+     * Creates a session controller from the inserted credentials,
+     * handing the context built at login straight to the controller of its type.
+     *
+     * @param username The username of the account.
+     * @param password The password of the account.
+     * @param timings  Where the duration of the login phases is recorded.
+     * @return A session controller.
+     */
+    public static Optional<SessionController> of(final String username,
+                                                 final char[] password,
+                                                 final LoginTimings timings) {
+        final SessionContext context = SessionFactory.getSession(username, password, timings).orElse(null);
+        if (Objects.isNull(context)) {
             return Optional.empty();
         }
+        final SessionController ctr;
+        if (context instanceof RegistrarContext registrarContext) {
+            ctr = new RegistrarSessionController(registrarContext);
+        } else if (context instanceof AdministratorContext administratorContext) {
+            ctr = new AdminSessionController(administratorContext);
+        } else if (context instanceof UserContext userContext) {
+            ctr = new UserSessionController(userContext);
+        } else {
+            throw new IllegalStateException("Unknown context type");
+        }
+        timings.mark(LoginTimings.CONTROLLER);
+        return Optional.of(ctr);
     }
 
     /**
@@ -114,4 +143,9 @@ public class SessionControllerImpl implements SessionController {
     public final Account getAccount() {
         return this.context.getAccount();
     }
+
+    @Override
+    public final void preloadCatalog() {
+        this.context.preloadCatalog();
+    }
 }
@@ -10,15 +10,17 @@ import unibo.cineradar.model.cast.Casting;
 import unibo.cineradar.model.cast.Director;
 import unibo.cineradar.model.cinema.Cinema;
 import unibo.cineradar.model.context.administrator.AdministratorContext;
+import unibo.cineradar.model.db.Page;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.multimedia.Genre;
 import unibo.cineradar.model.promo.GenrePromo;
 import unibo.cineradar.model.promo.Promo;
+import unibo.cineradar.model.promo.PromoDistribution;
 import unibo.cineradar.model.promo.SinglePromo;
 import unibo.cineradar.model.promo.TemplatePromo;
-import unibo.cineradar.model.ranking.CastRanking;
-import unibo.cineradar.model.ranking.EvalType;
-import unibo.cineradar.model.ranking.UserRanking;
+import unibo.cineradar.model.ranking.RankingEntry;
+import unibo.cineradar.model.ranking.RankingQuery;
 import unibo.cineradar.model.request.Request;
 import unibo.cineradar.model.serie.Episode;
 import unibo.cineradar.model.serie.Season;
@@ -32,6 +34,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Controller class for managing administrator sessions.
@@ -51,6 +54,16 @@ public final class AdminSessionController extends SessionControllerImpl {
         this.administratorContext = (AdministratorContext) getGenericContext();
     }
 
+    /**
+     * Creates the session controller of the administrator from the context built at login.
+     *
+     * @param context The context of the session.
+     */
+    public AdminSessionController(final AdministratorContext context) {
+        super(context);
+        this.administratorContext = context;
+    }
+
     /**
      * Retrieves a list of insertion requests.
      *
@@ -78,6 +91,26 @@ public final class AdminSessionController extends SessionControllerImpl {
         return this.administratorContext.getSeries();
     }
 
+    /**
+     * Retrieves a page of the films.
+     *
+     * @param request The page to retrieve.
+     * @return The requested page of films.
+     */
+    public Page<Film> getFilmsPage(final PageRequest request) {
+        return this.administratorContext.getFilmsPage(request);
+    }
+
+    /**
+     * Retrieves a page of the series.
+     *
+     * @param request The page to retrieve.
+     * @return The requested page of series.
+     */
+    public Page<Serie> getSeriesPage(final PageRequest request) {
+        return this.administratorContext.getSeriesPage(request);
+    }
+
     /**
      * Adds a new film with the specified details.
      *
@@ -86,10 +119,11 @@ public final class AdminSessionController extends SessionControllerImpl {
      * @param plot      The plot summary of the film.
      * @param duration  The duration of the film in minutes.
      * @param idCast    The ID of the cast associated with the film.
+     * @return The code of the new film.
      */
-    public void addFilm(
+    public int addFilm(
             final String title, final int ageLimit, final String plot, final int duration, final int idCast) {
-        this.administratorContext.addFilm(new Film(0, title, ageLimit, plot, duration, idCast));
+        return this.administratorContext.addFilm(new Film(0, title, ageLimit, plot, duration, idCast));
     }
 
     /**
@@ -98,9 +132,10 @@ public final class AdminSessionController extends SessionControllerImpl {
      * @param title           The title of the TV series.
      * @param ageLimit        The age limit for the TV series.
      * @param plot            The plot summary of the TV series.
+     * @return The code of the new TV series.
      */
-    public void addSeries(final String title, final int ageLimit, final String plot) {
-        this.administratorContext.addSerie(new Serie(0, title, ageLimit, plot, 0, 0));
+    public int addSeries(final String title, final int ageLimit, final String plot) {
+        return this.administratorContext.addSerie(new Serie(0, title, ageLimit, plot, 0, 0));
     }
 
     /**
@@ -201,10 +236,11 @@ public final class AdminSessionController extends SessionControllerImpl {
      * @param seasonNumber The season number.
      * @param summary      The summary of the season.
      * @param idCast       The id of Cast.
+     * @return The number of the new season.
      */
-    public void addSeason(
+    public int addSeason(
             final int seriesCode, final int seasonNumber, final String summary, final int idCast) {
-        this.administratorContext.addSeason(new Season(
+        return this.administratorContext.addSeason(new Season(
                 seriesCode,
                 seasonNumber,
                 summary,
@@ -254,23 +290,13 @@ public final class AdminSessionController extends SessionControllerImpl {
     }
 
     /**
-     * Retrieves a list of user rankings based on the provided evaluation type.
-     *
-     * @param evaluationType The type of evaluation for which rankings are requested.
-     * @return A list of UserRanking objects representing the rankings for the specified evaluation type.
-     */
-    public List<UserRanking> getRankings(final String evaluationType) {
-        return this.administratorContext.getRankings(evaluationType);
-    }
-
-    /**
-     * Retrieves a list of cast rankings based on the provided evaluation type.
+     * Retrieves a ranking.
      *
-     * @param evaluationType The type of evaluation for which rankings are requested.
-     * @return A list of CastRanking objects representing the rankings for the specified evaluation type.
+     * @param query The kind, size and date window of the ranking.
+     * @return The entries of the ranking, in order of position.
      */
-    public List<CastRanking> getCastRankings(final EvalType evaluationType) {
-        return this.administratorContext.getCastRankings(evaluationType);
+    public List<RankingEntry> getRankings(final RankingQuery query) {
+        return this.administratorContext.getRankings(query);
     }
 
     /**
@@ -295,9 +321,10 @@ public final class AdminSessionController extends SessionControllerImpl {
      * Adds a new cast member with the given name.
      *
      * @param name The name of the new cast member to be added.
+     * @return The code of the new cast.
      */
-    public void addCast(final Optional<String> name) {
-        this.administratorContext.addCast(name);
+    public int addCast(final Optional<String> name) {
+        return this.administratorContext.addCast(name);
     }
 
     /**
@@ -310,6 +337,18 @@ public final class AdminSessionController extends SessionControllerImpl {
         return this.administratorContext.deleteCast(id);
     }
 
+    /**
+     * Runs some administrator operations as a single unit of work, on one connection and in one transaction.
+     * The work must not wait for the user, since the connection is held until it completes.
+     *
+     * @param work The work to run, calling the operations of this controller.
+     * @param <T>  The type of the result of the work.
+     * @return The result of the work.
+     */
+    public <T> T inUnitOfWork(final Supplier<T> work) {
+        return this.administratorContext.inUnitOfWork(work);
+    }
+
     /**
      * Updates detailed information about films in the system.
      */
@@ -324,43 +363,6 @@ public final class AdminSessionController extends SessionControllerImpl {
         this.administratorContext.updateDetailedSeries();
     }
 
-    /**
-     * Retrieves the ID of the last added series.
-     *
-     * @return The ID of the last series added to the system.
-     */
-    public Integer getLastSeriesId() {
-        return this.administratorContext.getLastSeriesId();
-    }
-
-    /**
-     * Retrieves the ID of the last added film.
-     *
-     * @return The ID of the last film added to the system.
-     */
-    public int getLastFilmId() {
-        return this.administratorContext.getLastFilmId();
-    }
-
-    /**
-     * Retrieves the ID of the last added cast.
-     *
-     * @return The ID of the last cast added to the system.
-     */
-    public Integer getLastCastId() {
-        return this.administratorContext.getLastCastId();
-    }
-
-    /**
-     * Retrieves the ID of the last added season for a given series.
-     *
-     * @param seriesCode The code identifying the series.
-     * @return The ID of the last season added to the specified series.
-     */
-    public Integer getLastSeasonId(final int seriesCode) {
-        return this.administratorContext.getLastSeasonId(seriesCode);
-    }
-
     /**
      * Marks a request as complete in the system.
      *
@@ -454,19 +456,29 @@ public final class AdminSessionController extends SessionControllerImpl {
     }
 
     /**
-     * Assigns the best five reviewers to a promotional event.
+     * Hands a promotional offer to the reviewers of a ranking and gives them the prize tag.
      *
-     * @param promoCode         The unique identifier of the promotional event.
-     * @param expiration        The expiration date of the promotional event.
-     * @param bestNumberRatings A list of UserRanking objects representing the best reviewers.
+     * @param promoCode  The code of the promotional offer.
+     * @param expiration The expiration date of the promotional offer.
+     * @param reviewers  The ranking of the reviewers to reward.
+     * @return How many reviewers have been rewarded or skipped.
      */
-    public void assignPromoBestFiveReviewers(
-            final int promoCode, final LocalDate expiration, final List<UserRanking> bestNumberRatings) {
-        this.administratorContext.assignPromoBestFiveReviewers(
-                promoCode,
-                expiration,
-                bestNumberRatings
-        );
+    public PromoDistribution assignPromoToReviewers(
+            final int promoCode, final LocalDate expiration, final List<RankingEntry> reviewers) {
+        return this.administratorContext.assignPromoToReviewers(promoCode, expiration, reviewers);
+    }
+
+    /**
+     * Hands a promotional offer to every holder of a card of a cinema.
+     *
+     * @param promoCode  The code of the promotional offer.
+     * @param expiration The expiration date of the promotional offer.
+     * @param cinemaCode The code of the cinema.
+     * @return How many card holders have been rewarded or skipped.
+     */
+    public PromoDistribution assignPromoToCinema(
+            final int promoCode, final LocalDate expiration, final int cinemaCode) {
+        return this.administratorContext.assignPromoToCinema(promoCode, expiration, cinemaCode);
     }
 
     /**
@@ -24,6 +24,16 @@ public final class RegistrarSessionController extends SessionControllerImpl {
         this.registrarContext = (RegistrarContext) getGenericContext();
     }
 
+    /**
+     * Creates the session controller of the registrar from the context built at login.
+     *
+     * @param context The context of the session.
+     */
+    public RegistrarSessionController(final RegistrarContext context) {
+        super(context);
+        this.registrarContext = context;
+    }
+
     /**
      * Gets the details of the associated cinema.
      *
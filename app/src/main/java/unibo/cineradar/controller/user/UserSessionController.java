@@ -4,6 +4,9 @@ import unibo.cineradar.controller.SessionController;
 import unibo.cineradar.controller.SessionControllerImpl;
 import unibo.cineradar.model.cast.Cast;
 import unibo.cineradar.model.context.user.UserContext;
+import unibo.cineradar.model.db.CatalogFilter;
+import unibo.cineradar.model.db.Page;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.multimedia.Genre;
 import unibo.cineradar.model.review.FullFilmReview;
@@ -11,6 +14,8 @@ import unibo.cineradar.model.review.FullSeriesReview;
 import unibo.cineradar.model.review.Review;
 import unibo.cineradar.model.review.ReviewSection;
 import unibo.cineradar.model.review.Section;
+import unibo.cineradar.model.search.ContentType;
+import unibo.cineradar.model.search.SearchResult;
 import unibo.cineradar.model.serie.Episode;
 import unibo.cineradar.model.serie.Serie;
 
@@ -18,6 +23,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * The user session controller class.
@@ -36,6 +42,16 @@ public final class UserSessionController extends SessionControllerImpl {
         this.userContext = (UserContext) getGenericContext();
     }
 
+    /**
+     * Creates the session controller of the user from the context built at login.
+     *
+     * @param context The context of the session.
+     */
+    public UserSessionController(final UserContext context) {
+        super(context);
+        this.userContext = context;
+    }
+
     /**
      * Gets the list of films that the user can view.
      *
@@ -56,6 +72,80 @@ public final class UserSessionController extends SessionControllerImpl {
         return userContext.getSeries(age);
     }
 
+    /**
+     * Gets the films passing a filter.
+     *
+     * @param filter The filter to apply.
+     * @return The films passing the filter.
+     */
+    public List<Film> getFilms(final CatalogFilter filter) {
+        return userContext.getFilms(filter);
+    }
+
+    /**
+     * Gets the series passing a filter.
+     *
+     * @param filter The filter to apply.
+     * @return The series passing the filter.
+     */
+    public List<Serie> getSeries(final CatalogFilter filter) {
+        return userContext.getSeries(filter);
+    }
+
+    /**
+     * Gets the films of the preferred genres of the user.
+     *
+     * @param age The limited age to be respected.
+     * @return The films of the preferred genres.
+     */
+    public List<Film> getPreferredFilms(final int age) {
+        return userContext.getPreferredFilms(age);
+    }
+
+    /**
+     * Gets the series of the preferred genres of the user.
+     *
+     * @param age The limited age to be respected.
+     * @return The series of the preferred genres.
+     */
+    public List<Serie> getPreferredSeries(final int age) {
+        return userContext.getPreferredSeries(age);
+    }
+
+    /**
+     * Gets a page of the films that the user can view.
+     *
+     * @param age     The limited age to be respected.
+     * @param request The page to retrieve.
+     * @return The requested page of films.
+     */
+    public Page<Film> getFilmsPage(final int age, final PageRequest request) {
+        return userContext.getFilmsPage(age, request);
+    }
+
+    /**
+     * Gets a page of the series that the user can view.
+     *
+     * @param age     The limited age to be respected.
+     * @param request The page to retrieve.
+     * @return The requested page of series.
+     */
+    public Page<Serie> getSeriesPage(final int age, final PageRequest request) {
+        return userContext.getSeriesPage(age, request);
+    }
+
+    /**
+     * Searches the films or series that the user can view by title, plot and cast.
+     *
+     * @param query The words to search.
+     * @param type  The kind of content to search.
+     * @param age   The limited age to be respected.
+     * @return The matching contents, the most relevant first.
+     */
+    public List<SearchResult> search(final String query, final ContentType type, final int age) {
+        return userContext.search(query, type, age);
+    }
+
     /**
      * Gets the list of sections.
      *
@@ -83,6 +173,16 @@ public final class UserSessionController extends SessionControllerImpl {
         return userContext.getDetailedSeries();
     }
 
+    /**
+     * Gets a single series with its seasons, episodes and cast.
+     *
+     * @param id The id of the series.
+     * @return The detailed series.
+     */
+    public Serie getDetailedSerie(final int id) {
+        return userContext.getDetailedSerie(id);
+    }
+
     /**
      * Get the film with a particular id.
      *
@@ -107,10 +207,9 @@ public final class UserSessionController extends SessionControllerImpl {
      * Visualizes a film.
      *
      * @param filmId The film to be visualized.
-     * @return True if the operation was successful, false otherwise.
      */
-    public boolean visualizeFilm(final int filmId) {
-        return this.userContext.visualizeFilm(filmId);
+    public void visualizeFilm(final int filmId) {
+        this.userContext.visualizeFilm(filmId);
     }
 
     /**
@@ -119,10 +218,9 @@ public final class UserSessionController extends SessionControllerImpl {
      * @param seriesId  The specific series id.
      * @param seasonId  The specific season id.
      * @param episodeId The specific episode id.
-     * @return True if the operation was successful, false otherwise.
      */
-    public boolean visualizeEpisode(final int seriesId, final int seasonId, final int episodeId) {
-        return this.userContext.visualizeEpisode(seriesId, seasonId, episodeId);
+    public void visualizeEpisode(final int seriesId, final int seasonId, final int episodeId) {
+        this.userContext.visualizeEpisode(seriesId, seasonId, episodeId);
     }
 
 
@@ -159,10 +257,9 @@ public final class UserSessionController extends SessionControllerImpl {
      * Un-visualizes a film.
      *
      * @param filmId The film to be un-visualized.
-     * @return True if the operation was successful, false otherwise.
      */
-    public boolean forgetFilm(final int filmId) {
-        return this.userContext.forgetFilm(filmId);
+    public void forgetFilm(final int filmId) {
+        this.userContext.forgetFilm(filmId);
     }
 
     /**
@@ -171,10 +268,9 @@ public final class UserSessionController extends SessionControllerImpl {
      * @param seriesId  The specific series id.
      * @param seasonId  The specific season id.
      * @param episodeId The specific episode id.
-     * @return True if the operation was successful, false otherwise.
      */
-    public boolean forgetEpisode(final int seriesId, final int seasonId, final int episodeId) {
-        return this.userContext.forgetEpisode(seriesId, seasonId, episodeId);
+    public void forgetEpisode(final int seriesId, final int seasonId, final int episodeId) {
+        this.userContext.forgetEpisode(seriesId, seasonId, episodeId);
     }
 
     /**
@@ -231,6 +327,16 @@ public final class UserSessionController extends SessionControllerImpl {
         return this.userContext.isEpisodeViewed(seriesId, seasonId, episodeId);
     }
 
+    /**
+     * Gets every episode of a series viewed by the current user.
+     *
+     * @param seriesCode The series code.
+     * @return The set of viewed episodes.
+     */
+    public Set<Episode> getViewedEpisodes(final int seriesCode) {
+        return userContext.getViewedEpisodes(seriesCode);
+    }
+
     /**
      * Cheks if an episode has been viewed.
      *
@@ -42,4 +42,11 @@ public interface SessionContext {
      * @return The account object.
      */
     Account getAccount();
+
+    /**
+     * Loads the data the session is going to show, so that it is ready when asked for.
+     * Meant to be run in background once the home page is visible; by default there is nothing to load.
+     */
+    default void preloadCatalog() {
+    }
 }
@@ -4,6 +4,7 @@ import unibo.cineradar.model.context.administrator.AdministratorContext;
 import unibo.cineradar.model.context.registrar.RegistrarContext;
 import unibo.cineradar.model.context.user.UserContext;
 import unibo.cineradar.model.login.Logger;
+import unibo.cineradar.model.login.LoginTimings;
 import unibo.cineradar.model.utente.Account;
 import unibo.cineradar.model.utente.Administrator;
 import unibo.cineradar.model.utente.Registrar;
@@ -28,19 +29,35 @@ public final class SessionFactory {
      */
     public static Optional<SessionContext> getSession(final String username,
                                                       final char[] password) {
-        final Account logged = Logger.logIn(username, password).orElse(null);
-        if (!Objects.isNull(logged)) {
-            if (logged instanceof User) {
-                return Optional.of(new UserContext(logged));
-            } else if (logged instanceof Administrator) {
-                return Optional.of(new AdministratorContext(logged));
-            } else if (logged instanceof Registrar) {
-                return Optional.of(new RegistrarContext(logged));
-            } else {
-                throw new IllegalArgumentException("Invalid logged in user");
-            }
-        } else {
+        return getSession(username, password, new LoginTimings());
+    }
+
+    /**
+     * Creates the session, building its context once from the account read at login.
+     *
+     * @param username The username of the account.
+     * @param password The password for authentication.
+     * @param timings  Where the duration of the login phases is recorded.
+     * @return Optional containing the session if the creation was successful, Optional.empty() otherwise.
+     */
+    public static Optional<SessionContext> getSession(final String username,
+                                                      final char[] password,
+                                                      final LoginTimings timings) {
+        final Account logged = Logger.logIn(username, password, timings).orElse(null);
+        if (Objects.isNull(logged)) {
             return Optional.empty();
         }
+        final SessionContext context;
+        if (logged instanceof User) {
+            context = new UserContext(logged);
+        } else if (logged instanceof Administrator) {
+            context = new AdministratorContext(logged);
+        } else if (logged instanceof Registrar) {
+            context = new RegistrarContext(logged);
+        } else {
+            throw new IllegalArgumentException("Invalid logged in user");
+        }
+        timings.mark(LoginTimings.CONTEXT);
+        return Optional.of(context);
     }
 }
@@ -6,16 +6,20 @@ import unibo.cineradar.model.cast.CastMember;
 import unibo.cineradar.model.cast.Casting;
 import unibo.cineradar.model.cinema.Cinema;
 import unibo.cineradar.model.context.SessionContextImpl;
+import unibo.cineradar.model.db.CatalogCache;
+import unibo.cineradar.model.db.Page;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.db.operations.admin.AdminOps;
+import unibo.cineradar.model.db.operations.admin.AvailabilitySnapshot;
 import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.multimedia.Genre;
 import unibo.cineradar.model.promo.GenrePromo;
 import unibo.cineradar.model.promo.Promo;
+import unibo.cineradar.model.promo.PromoDistribution;
 import unibo.cineradar.model.promo.SinglePromo;
 import unibo.cineradar.model.promo.TemplatePromo;
-import unibo.cineradar.model.ranking.CastRanking;
-import unibo.cineradar.model.ranking.EvalType;
-import unibo.cineradar.model.ranking.UserRanking;
+import unibo.cineradar.model.ranking.RankingEntry;
+import unibo.cineradar.model.ranking.RankingQuery;
 import unibo.cineradar.model.request.Request;
 import unibo.cineradar.model.serie.Episode;
 import unibo.cineradar.model.serie.Season;
@@ -25,9 +29,15 @@ import unibo.cineradar.model.utente.Registrar;
 import unibo.cineradar.model.utente.User;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * The context of an administrator session.
@@ -35,8 +45,7 @@ import java.util.Optional;
  * including operations related to films, TV series, and insertion requests.
  */
 public final class AdministratorContext extends SessionContextImpl {
-    private Map<Film, Cast> detailedFilms;
-    private List<Serie> detailedSeries;
+    private final ThreadLocal<AdminOps> unitOfWork = new ThreadLocal<>();
 
     /**
      * Constructs the context of an administrator.
@@ -45,9 +54,35 @@ public final class AdministratorContext extends SessionContextImpl {
      */
     public AdministratorContext(final Account loggedAccount) {
         super(loggedAccount);
-        try (AdminOps mgr = new AdminOps()) {
-            this.detailedFilms = mgr.getFilmsDetails();
-            this.detailedSeries = mgr.getDetailedSeries();
+    }
+
+    /**
+     * Loads the detailed films and series into the shared catalog cache.
+     */
+    @Override
+    public void preloadCatalog() {
+        getDetailedFilms();
+        getDetailedSeries();
+    }
+
+    /**
+     * Runs some work as a single unit: every operation of this context called by the work on the same thread
+     * uses one connection, and the changes are committed together or rolled back if the work throws.
+     * The work must not wait for the user, since the connection is held until it completes.
+     *
+     * @param work The work to run.
+     * @param <T>  The type of the result of the work.
+     * @return The result of the work.
+     */
+    public <T> T inUnitOfWork(final Supplier<T> work) {
+        if (!Objects.isNull(this.unitOfWork.get())) {
+            return work.get();
+        }
+        try (AdminOps ops = new AdminOps()) {
+            this.unitOfWork.set(ops);
+            return ops.inTransaction(unit -> work.get());
+        } finally {
+            this.unitOfWork.remove();
         }
     }
 
@@ -59,7 +94,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the operation was successful, false otherwise.
      */
     public boolean delFilmReview(final int filmId, final String authorUsername) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.delFilmReview(filmId, authorUsername);
         }
     }
@@ -72,7 +107,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the operation was successful, false otherwise.
      */
     public boolean delSeriesReview(final int seriesId, final String authorUsername) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.delSeriesReview(seriesId, authorUsername);
         }
     }
@@ -83,7 +118,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return A list containing insertion requests.
      */
     public List<Request> getInsertionsRequests() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getRequests();
         }
     }
@@ -94,7 +129,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return A list of series.
      */
     public List<Serie> getSeries() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getSeries();
         }
     }
@@ -105,19 +140,44 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return A list of Films.
      */
     public List<Film> getFilms() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getFilms();
         }
     }
 
+    /**
+     * Gets a page of the films.
+     *
+     * @param request The page to retrieve.
+     * @return The requested page of films.
+     */
+    public Page<Film> getFilmsPage(final PageRequest request) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.getFilmsPage(request);
+        }
+    }
+
+    /**
+     * Gets a page of the series.
+     *
+     * @param request The page to retrieve.
+     * @return The requested page of series.
+     */
+    public Page<Serie> getSeriesPage(final PageRequest request) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.getSeriesPage(request);
+        }
+    }
+
     /**
      * Adds a new film to the database.
      *
      * @param film The film to be added.
+     * @return The code of the new film.
      */
-    public void addFilm(final Film film) {
-        try (AdminOps mgr = new AdminOps()) {
-            mgr.addFilm(film);
+    public int addFilm(final Film film) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.addFilm(film);
         }
     }
 
@@ -125,10 +185,11 @@ public final class AdministratorContext extends SessionContextImpl {
      * Adds a new TV series to the database.
      *
      * @param serie The TV series to be added.
+     * @return The code of the new TV series.
      */
-    public void addSerie(final Serie serie) {
-        try (AdminOps mgr = new AdminOps()) {
-            mgr.addSeries(serie);
+    public int addSerie(final Serie serie) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.addSeries(serie);
         }
     }
 
@@ -139,7 +200,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the film was successfully deleted, false otherwise.
      */
     public boolean deleteFilm(final int code) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteFilm(code);
         }
     }
@@ -151,7 +212,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the TV series was successfully deleted, false otherwise.
      */
     public boolean deleteSeries(final int code) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteSeries(code);
         }
     }
@@ -162,7 +223,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return An immutable map containing films and their associated casts.
      */
     public Map<Film, Cast> getDetailedFilms() {
-        return Map.copyOf(detailedFilms);
+        return Map.copyOf(cachedFilms());
     }
 
     /**
@@ -171,7 +232,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return The list of all detailed series.
      */
     public List<Serie> getDetailedSeries() {
-        return List.copyOf(detailedSeries);
+        return List.copyOf(cachedSeries());
     }
 
     /**
@@ -182,7 +243,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param castMember       The cast member to add.
      */
     public void addCastMember(final boolean actorAndDirector, final CastMember castMember) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addCastMember(actorAndDirector, castMember);
         }
     }
@@ -194,7 +255,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the cast member was successfully deleted, false otherwise.
      */
     public boolean deleteCastMember(final int code) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteCastMember(code);
         }
     }
@@ -203,10 +264,11 @@ public final class AdministratorContext extends SessionContextImpl {
      * Adds a new season.
      *
      * @param season The season to add.
+     * @return The number of the new season.
      */
-    public void addSeason(final Season season) {
-        try (AdminOps mgr = new AdminOps()) {
-            mgr.addSeason(season);
+    public int addSeason(final Season season) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.addSeason(season);
         }
     }
 
@@ -218,7 +280,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the season was successfully deleted, false otherwise.
      */
     public boolean deleteSeason(final int seriesCode, final int seasonNumber) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteSeason(seriesCode, seasonNumber);
         }
     }
@@ -229,7 +291,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param episode The episode to add.
      */
     public void addEpisode(final Episode episode) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addEpisode(episode);
         }
     }
@@ -243,34 +305,21 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the episode was successfully deleted, false otherwise.
      */
     public boolean deleteEpisode(final int seriesCode, final int seasonNumber, final int episodeNumber) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteEpisode(seriesCode, seasonNumber, episodeNumber);
         }
     }
 
     /**
-     * Retrieves a list of user rankings based on the provided evaluation type.
+     * Retrieves a ranking.
      * The method utilizes an AdminOps instance within a try-with-resources block for resource management.
      *
-     * @param evaluationType The type of evaluation for which rankings are requested.
-     * @return A list of UserRanking objects representing the rankings for the specified evaluation type.
+     * @param query The kind, size and date window of the ranking.
+     * @return The entries of the ranking, in order of position.
      */
-    public List<UserRanking> getRankings(final String evaluationType) {
-        try (AdminOps mgr = new AdminOps()) {
-            return mgr.getRankings(evaluationType);
-        }
-    }
-
-    /**
-     * Retrieves a list of cast rankings based on the provided evaluation type.
-     * The method utilizes an AdminOps instance within a try-with-resources block for resource management.
-     *
-     * @param evaluationType The type of evaluation for which rankings are requested.
-     * @return A list of CastRanking objects representing the rankings for the specified evaluation type.
-     */
-    public List<CastRanking> getCastRankings(final EvalType evaluationType) {
-        try (AdminOps mgr = new AdminOps()) {
-            return mgr.getCastRankings(evaluationType);
+    public List<RankingEntry> getRankings(final RankingQuery query) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.getRankings(query);
         }
     }
 
@@ -284,7 +333,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @throws RuntimeException If an error occurs while retrieving the cast members.
      */
     public List<CastMember> getCastMembers() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getCastMembers();
         }
     }
@@ -299,7 +348,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @throws RuntimeException If an error occurs while retrieving the casting details.
      */
     public List<Casting> getCasting() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getCasting();
         }
     }
@@ -312,11 +361,12 @@ public final class AdministratorContext extends SessionContextImpl {
      * after execution using try-with-resources.
      *
      * @param name The name of the new casting detail to be added.
+     * @return The code of the new casting detail.
      * @throws RuntimeException If an error occurs while adding the casting detail.
      */
-    public void addCast(final Optional<String> name) {
-        try (AdminOps mgr = new AdminOps()) {
-            mgr.addCast(name);
+    public int addCast(final Optional<String> name) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.addCast(name);
         }
     }
 
@@ -332,72 +382,25 @@ public final class AdministratorContext extends SessionContextImpl {
      * @throws RuntimeException If an error occurs while deleting the casting detail.
      */
     public boolean deleteCast(final int id) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteCast(id);
         }
     }
 
     /**
      * Updates detailed information about films in the system.
+     * Only the films changed since the last update are read again from the database.
      */
     public void updateDetailedFilms() {
-        try (AdminOps mgr = new AdminOps()) {
-            this.detailedFilms = mgr.getFilmsDetails();
-        }
+        cachedFilms();
     }
 
     /**
      * Updates detailed information about series in the system.
+     * Only the series changed since the last update are read again from the database.
      */
     public void updateDetailedSeries() {
-        try (AdminOps mgr = new AdminOps()) {
-            this.detailedSeries = mgr.getDetailedSeries();
-        }
-    }
-
-    /**
-     * Retrieves the ID of the last added series.
-     *
-     * @return The ID of the last series added to the system.
-     */
-    public Integer getLastSeriesId() {
-        try (AdminOps mgr = new AdminOps()) {
-            return mgr.getLastSeriesId();
-        }
-    }
-
-    /**
-     * Retrieves the ID of the last added film.
-     *
-     * @return The ID of the last film added to the system.
-     */
-    public int getLastFilmId() {
-        try (AdminOps mgr = new AdminOps()) {
-            return mgr.getLastFilmId();
-        }
-    }
-
-    /**
-     * Retrieves the ID of the last added season for a given series.
-     *
-     * @param seriesCode The code identifying the series.
-     * @return The ID of the last season added to the specified series.
-     */
-    public Integer getLastSeasonId(final int seriesCode) {
-        try (AdminOps mgr = new AdminOps()) {
-            return mgr.getLastSeasonId(seriesCode);
-        }
-    }
-
-    /**
-     * Retrieves the ID of the last added cast.
-     *
-     * @return The ID of the last cast added to the system.
-     */
-    public Integer getLastCastId() {
-        try (AdminOps mgr = new AdminOps()) {
-            return mgr.getLastCastId();
-        }
+        cachedSeries();
     }
 
     /**
@@ -407,7 +410,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the request was successfully marked as complete, false otherwise.
      */
     public boolean completeRequest(final int code) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.completeRequest(code);
         }
     }
@@ -420,7 +423,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @throws RuntimeException if an error occurs while retrieving the promotional offers.
      */
     public List<Promo> getPromos() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getPromos();
         }
     }
@@ -431,7 +434,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param percentage an integer representing the percentage to be applied to the promotional items
      */
     public void addMultiplePromo(final int percentage) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addMultiplePromo(percentage);
         }
     }
@@ -446,7 +449,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @throws RuntimeException if an error occurs while deleting the promotional offer.
      */
     public boolean deletePromo(final int code, final LocalDate expiration) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deletePromo(code, expiration);
         }
     }
@@ -457,7 +460,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return A list of CardReg objects representing the cards.
      */
     public List<CardReg> getCards() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getCards();
         }
     }
@@ -472,7 +475,7 @@ public final class AdministratorContext extends SessionContextImpl {
      */
     public void assignPromo(
             final int promoCode, final LocalDate expiration, final int cinemaCode, final String username) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.assignPromo(promoCode, expiration, cinemaCode, username);
         }
     }
@@ -484,7 +487,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return A list of CastMember objects representing detailed information about the cast.
      */
     public List<CastMember> getDetailedCast(final int castId) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getDetailedCast(castId);
         }
     }
@@ -496,7 +499,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param castCode       The code representing the cast to which the member will be added.
      */
     public void addCastMemberToCast(final int castMemberCode, final int castCode) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addCastMemberToCast(castMemberCode, castCode);
         }
     }
@@ -509,26 +512,38 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the deletion was successful, false otherwise.
      */
     public boolean deleteCastMemberToCast(final int castMemberCode, final int castCode) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteCastMemberToCast(castMemberCode, castCode);
         }
     }
 
     /**
-     * Assigns the best five reviewers to a promotional event.
+     * Hands a promotional offer to the reviewers of a ranking and gives them the prize tag.
+     *
+     * @param promoCode  The code of the promotional offer.
+     * @param expiration The expiration date of the promotional offer.
+     * @param reviewers  The ranking of the reviewers to reward.
+     * @return How many reviewers have been rewarded or skipped.
+     */
+    public PromoDistribution assignPromoToReviewers(
+            final int promoCode, final LocalDate expiration, final List<RankingEntry> reviewers) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.assignPromoToReviewers(promoCode, expiration, reviewers);
+        }
+    }
+
+    /**
+     * Hands a promotional offer to every holder of a card of a cinema.
      *
-     * @param promoCode         The unique identifier of the promotional event.
-     * @param expiration        The expiration date of the promotional event.
-     * @param bestNumberRatings A list of UserRanking objects representing the best reviewers.
+     * @param promoCode  The code of the promotional offer.
+     * @param expiration The expiration date of the promotional offer.
+     * @param cinemaCode The code of the cinema.
+     * @return How many card holders have been rewarded or skipped.
      */
-    public void assignPromoBestFiveReviewers(
-            final int promoCode, final LocalDate expiration, final List<UserRanking> bestNumberRatings) {
-        try (AdminOps mgr = new AdminOps()) {
-            mgr.assignPromoBestFiveReviewers(
-                    promoCode,
-                    expiration,
-                    bestNumberRatings
-            );
+    public PromoDistribution assignPromoToCinema(
+            final int promoCode, final LocalDate expiration, final int cinemaCode) {
+        try (AdminOps mgr = openOps()) {
+            return mgr.assignPromoToCinema(promoCode, expiration, cinemaCode);
         }
     }
 
@@ -539,7 +554,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return True if the user deletion was successful, false otherwise.
      */
     public boolean deleteUser(final String username) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteUser(username);
         }
     }
@@ -553,7 +568,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param multipleId  the id of multiple promo
      */
     public void addGenrePromo(final String genre, final int multipleId) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addGenrePromo(genre, multipleId);
         }
     }
@@ -565,7 +580,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of {@link Genre} objects representing all available genres.
      */
     public List<Genre> getGenres() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return List.copyOf(mgr.getGenres());
         }
     }
@@ -579,7 +594,7 @@ public final class AdministratorContext extends SessionContextImpl {
      */
     public void addSinglePromo(
             final int templateCode, final String multimediaType, final int multimediaCode) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addSinglePromo(templateCode, multimediaType, multimediaCode);
         }
     }
@@ -592,7 +607,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the season is not available, false otherwise.
      */
     public boolean isSeasonAvailable(final int seriesId, final int seasonId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.SEASON, seriesId, seasonId)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isSeasonAvailable(seriesId, seasonId);
         }
     }
@@ -604,7 +622,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the series is not available, false otherwise.
      */
     public boolean isSeriesAvailable(final int seriesId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.SERIES, seriesId)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isSeriesAvailable(seriesId);
         }
     }
@@ -616,7 +637,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the cast member is not available, false otherwise.
      */
     public boolean isCastMemberAvailable(final int castMemberId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.CAST_MEMBER, castMemberId)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isCastMemberAvailable(castMemberId);
         }
     }
@@ -628,7 +652,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the cast session is unavailable, false otherwise.
      */
     public boolean isCastAvailable(final int castId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.CAST, castId)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isCastAvailable(castId);
         }
     }
@@ -640,7 +667,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the film is not available, false otherwise.
      */
     public boolean isFilmAvailable(final int filmId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.FILM, filmId)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isFilmAvailable(filmId);
         }
     }
@@ -652,7 +682,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the promo is not available, false otherwise.
      */
     public boolean isPromoAvailable(final int promoId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.PROMO, promoId)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isPromoAvailable(promoId);
         }
     }
@@ -664,7 +697,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the cinema is not available, false otherwise.
      */
     public boolean isCinemaAvailable(final int cinemaId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.CINEMA, cinemaId)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isCinemaAvailable(cinemaId);
         }
     }
@@ -677,7 +713,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the user is not available, false otherwise.
      */
     public boolean isCardAvailable(final String username, final int cinemaCode) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (AvailabilitySnapshot.getInstance().containsCard(username, cinemaCode)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isCardAvailable(username, cinemaCode);
         }
     }
@@ -688,7 +727,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of User objects.
      */
     public List<User> getUsers() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getUsers();
         }
     }
@@ -699,7 +738,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of Registrar objects.
      */
     public List<Registrar> getRegistrars() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getRegistrars();
         }
     }
@@ -711,7 +750,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the registrar was successfully deleted, false otherwise.
      */
     public boolean deleteRegistrar(final String username) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteRegistrar(username);
         }
     }
@@ -723,7 +762,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param registrar the Registrar object containing the new registrar's details.
      */
     public void addRegistrar(final String password, final Registrar registrar) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addRegistrar(password, registrar);
         }
     }
@@ -734,7 +773,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param cinema the Cinema object containing the new cinema's details.
      */
     public void addCinema(final Cinema cinema) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addCinema(cinema);
         }
     }
@@ -746,7 +785,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return true if the cinema was successfully deleted, false otherwise.
      */
     public boolean deleteCinema(final int code) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteCinema(code);
         }
     }
@@ -757,7 +796,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of Cinema objects.
      */
     public List<Cinema> getCinemas() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getCinemas();
         }
     }
@@ -769,7 +808,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if a cast with the specified ID exists, {@code false} otherwise.
      */
     public boolean isCast(final int castId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS, castId)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isCast(castId);
         }
     }
@@ -781,7 +823,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the cast is empty, {@code false} otherwise.
      */
     public boolean isEmptyCast(final int castId) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS, castId)) {
+            return false;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isEmptyCast(castId);
         }
     }
@@ -793,7 +838,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the film is genre empty, {@code false} otherwise.
      */
     public boolean isEmptyGenreFilm(final int filmCode) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, filmCode)) {
+            return false;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isEmptyGenreFilm(filmCode);
         }
     }
@@ -805,7 +853,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the series is genre empty, {@code false} otherwise.
      */
     public boolean isEmptyGenreSeries(final int seriesCode) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.SERIES_WITH_GENRES, seriesCode)) {
+            return false;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isEmptyGenreSeries(seriesCode);
         }
     }
@@ -817,7 +868,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the series is empty, {@code false} otherwise.
      */
     public boolean isEmptySeries(final int seriesCode) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.SERIES_WITH_SEASONS, seriesCode)) {
+            return false;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isEmptySeries(seriesCode);
         }
     }
@@ -830,7 +884,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the series is empty, {@code false} otherwise.
      */
     public boolean isEmptySeason(final int seriesCode, final int seasonNumber) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.SEASON_WITH_EPISODES, seriesCode, seasonNumber)) {
+            return false;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isEmptySeason(seriesCode, seasonNumber);
         }
     }
@@ -841,7 +898,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param castId the ID of the cast whose multimedia content is to be deleted.
      */
     public void deleteMultimediaCast(final int castId) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.deleteMultimediaCast(castId);
         }
     }
@@ -855,7 +912,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of integers representing the codes of the cast members linked to the specified cast member
      */
     public List<Integer> getCastLinked(final int castMemberCode) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getCastLinked(castMemberCode);
         }
     }
@@ -866,7 +923,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of integers representing the multiples.
      */
     public List<Integer> getMultiples() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getMultiples();
         }
     }
@@ -877,7 +934,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param percentage the percentage of the template promotion to add.
      */
     public void addTemplatePromo(final int percentage) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addTemplatePromo(percentage);
         }
     }
@@ -888,7 +945,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of TemplatePromo objects.
      */
     public List<TemplatePromo> getTemplatePromos() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getTemplatePromos();
         }
     }
@@ -899,7 +956,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of SinglePromo objects.
      */
     public List<SinglePromo> getSinglePromos() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getSinglePromos();
         }
     }
@@ -910,7 +967,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return a list of GenrePromo objects.
      */
     public List<GenrePromo> getGenrePromos() {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.getGenrePromos();
         }
     }
@@ -922,7 +979,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param expiration the expiration date of the promotion.
      */
     public void addPromo(final int code, final LocalDate expiration) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addPromo(code, expiration);
         }
     }
@@ -934,7 +991,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the template promotion is available, {@code false} otherwise.
      */
     public boolean isTemplatePromoAvailable(final int codePromo) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.TEMPLATE_PROMO, codePromo)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isTemplatePromoAvailable(codePromo);
         }
     }
@@ -946,7 +1006,10 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the multiple is available, {@code false} otherwise.
      */
     public boolean isMultipleAvailable(final int genrePromo) {
-        try (AdminOps mgr = new AdminOps()) {
+        if (known(AvailabilitySnapshot.Kind.MULTIPLE, genrePromo)) {
+            return true;
+        }
+        try (AdminOps mgr = openOps()) {
             return mgr.isMultipleAvailable(genrePromo);
         }
     }
@@ -958,7 +1021,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the template promotion was successfully deleted, {@code false} otherwise.
      */
     public boolean deleteTemplatePromo(final int code) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteTemplatePromo(code);
         }
     }
@@ -970,7 +1033,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param description A description of the genre.
      */
     public void addGenre(final String genre, final String description) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addGenre(genre, description);
         }
     }
@@ -982,7 +1045,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param description A description of the section.
      */
     public void addSection(final String section, final String description) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addSection(section, description);
         }
     }
@@ -994,7 +1057,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the genre was successfully deleted, {@code false} otherwise.
      */
     public boolean deleteGenre(final String genre) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteGenre(genre);
         }
     }
@@ -1006,7 +1069,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the section was successfully deleted, {@code false} otherwise.
      */
     public boolean deleteSection(final String section) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteSection(section);
         }
     }
@@ -1018,7 +1081,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param genre The name of the genre to add to the film.
      */
     public void addGenreToFilm(final int filmId, final String genre) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addGenreToFilm(filmId, genre);
         }
     }
@@ -1031,7 +1094,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the genre was successfully removed from the film, {@code false} otherwise.
      */
     public boolean deleteGenreToFilm(final int filmCode, final String genre) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteGenreToFilm(filmCode, genre);
         }
     }
@@ -1043,7 +1106,7 @@ public final class AdministratorContext extends SessionContextImpl {
      * @param genre The name of the genre to add to the series.
      */
     public void addGenreToSeries(final int seriesId, final String genre) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             mgr.addGenreToSeries(seriesId, genre);
         }
     }
@@ -1056,8 +1119,80 @@ public final class AdministratorContext extends SessionContextImpl {
      * @return {@code true} if the genre was successfully removed from the series, {@code false} otherwise.
      */
     public boolean deleteGenreToSeries(final int seriesCode, final String genre) {
-        try (AdminOps mgr = new AdminOps()) {
+        try (AdminOps mgr = openOps()) {
             return mgr.deleteGenreToSeries(seriesCode, genre);
         }
     }
+
+    private static boolean known(final AvailabilitySnapshot.Kind kind, final int code) {
+        return AvailabilitySnapshot.getInstance().contains(kind, code);
+    }
+
+    private static boolean known(final AvailabilitySnapshot.Kind kind, final int first, final int second) {
+        return AvailabilitySnapshot.getInstance().contains(kind, first, second);
+    }
+
+    private AdminOps openOps() {
+        final AdminOps shared = this.unitOfWork.get();
+        return Objects.isNull(shared) ? new AdminOps() : shared.onSameConnection();
+    }
+
+    private static Map<Film, Cast> cachedFilms() {
+        return CatalogCache.getInstance().get(CatalogCache.ADMIN_FILMS, () -> {
+            try (AdminOps mgr = new AdminOps()) {
+                return mgr.getFilmsDetails();
+            }
+        }, (films, changed) -> {
+            try (AdminOps mgr = new AdminOps()) {
+                return mergeFilms(films, changed, mgr.getFilmsDetails(changed));
+            }
+        });
+    }
+
+    private static List<Serie> cachedSeries() {
+        return CatalogCache.getInstance().get(CatalogCache.ADMIN_SERIES, () -> {
+            try (AdminOps mgr = new AdminOps()) {
+                return mgr.getDetailedSeries();
+            }
+        }, (series, changed) -> {
+            try (AdminOps mgr = new AdminOps()) {
+                return mergeSeries(series, changed, mgr.getDetailedSeries(changed));
+            }
+        });
+    }
+
+    /**
+     * Replaces the changed films of a catalog with their current version, dropping those that no longer exist.
+     *
+     * @param films   The catalog to update.
+     * @param changed The codes of the changed films.
+     * @param current The current version of the changed films that still exist.
+     * @return The updated catalog.
+     */
+    private static Map<Film, Cast> mergeFilms(final Map<Film, Cast> films,
+                                              final Set<Integer> changed,
+                                              final Map<Film, Cast> current) {
+        final Map<Film, Cast> merged = new HashMap<>(films);
+        merged.keySet().removeIf(film -> changed.contains(film.getFilmId()));
+        merged.putAll(current);
+        return Map.copyOf(merged);
+    }
+
+    /**
+     * Replaces the changed series of a catalog with their current version, dropping those that no longer exist.
+     *
+     * @param series  The catalog to update, ordered by code.
+     * @param changed The codes of the changed series.
+     * @param current The current version of the changed series that still exist.
+     * @return The updated catalog, ordered by code.
+     */
+    private static List<Serie> mergeSeries(final List<Serie> series,
+                                           final Set<Integer> changed,
+                                           final List<Serie> current) {
+        final List<Serie> merged = new ArrayList<>(series.size() + current.size());
+        series.stream().filter(serie -> !changed.contains(serie.getSeriesId())).forEach(merged::add);
+        merged.addAll(current);
+        merged.sort(Comparator.comparingInt(Serie::getSeriesId));
+        return List.copyOf(merged);
+    }
 }
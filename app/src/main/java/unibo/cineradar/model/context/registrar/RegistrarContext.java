@@ -15,13 +15,18 @@ public final class RegistrarContext extends SessionContextImpl {
 
     /**
      * Creates the context of a registrar session.
+     * The details of the registrar are read from the database only if the account does not already carry them.
      *
      * @param currentlyLoggedAccount The currently logged account of the generic session.
      */
     public RegistrarContext(final Account currentlyLoggedAccount) {
         super(currentlyLoggedAccount);
-        try (RegistrarOps mgr = new RegistrarOps()) {
-            this.registrar = mgr.getRegistrarDetails(super.getUsername()).orElse(null);
+        if (currentlyLoggedAccount instanceof Registrar logged) {
+            this.registrar = logged;
+        } else {
+            try (RegistrarOps mgr = new RegistrarOps()) {
+                this.registrar = mgr.getRegistrarDetails(super.getUsername()).orElse(null);
+            }
         }
     }
 
@@ -2,7 +2,10 @@ package unibo.cineradar.model.context.user;
 
 import unibo.cineradar.model.cast.Cast;
 import unibo.cineradar.model.context.SessionContextImpl;
-
+import unibo.cineradar.model.db.CatalogCache;
+import unibo.cineradar.model.db.CatalogFilter;
+import unibo.cineradar.model.db.Page;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.db.operations.UserOps;
 import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.multimedia.Genre;
@@ -11,40 +14,63 @@ import unibo.cineradar.model.review.FullSeriesReview;
 import unibo.cineradar.model.review.Review;
 import unibo.cineradar.model.review.ReviewSection;
 import unibo.cineradar.model.review.Section;
+import unibo.cineradar.model.search.CatalogSearch;
+import unibo.cineradar.model.search.ContentType;
+import unibo.cineradar.model.search.SearchResult;
 import unibo.cineradar.model.serie.Episode;
 import unibo.cineradar.model.serie.Serie;
 import unibo.cineradar.model.utente.Account;
 import unibo.cineradar.model.utente.User;
+import unibo.cineradar.model.views.ViewEvent;
+import unibo.cineradar.model.views.ViewRecorder;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * The context of a user session.
  */
 public final class UserContext extends SessionContextImpl {
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final User user;
-    private final Map<Film, Cast> detailedFilms;
-    private final List<Serie> detailedSeries;
+    private final Map<Integer, Set<Episode>> viewedEpisodes = new ConcurrentHashMap<>();
 
     /**
      * Constructs the context of a user.
+     * The details of the user are read from the database only if the account does not already carry them.
      *
      * @param loggedAccount The currently logged account.
      */
     public UserContext(final Account loggedAccount) {
         super(loggedAccount);
-        try (UserOps mgr = new UserOps()) {
-            this.user = mgr.getUserDetails(super.getUsername()).orElse(null);
-            this.detailedFilms = mgr.getDetailedFilms();
-            this.detailedSeries = mgr.getDetailedSeries();
+        if (loggedAccount instanceof User logged) {
+            this.user = logged;
+        } else {
+            try (UserOps mgr = new UserOps()) {
+                this.user = mgr.getUserDetails(super.getUsername()).orElse(null);
+            }
         }
     }
 
+    /**
+     * Loads the detailed films and series into the shared catalog cache.
+     */
+    @Override
+    public void preloadCatalog() {
+        getDetailedFilms();
+        getDetailedSeries();
+    }
+
     /**
      * Gets the films.
      *
@@ -69,6 +95,88 @@ public final class UserContext extends SessionContextImpl {
         }
     }
 
+    /**
+     * Gets the films passing a filter.
+     *
+     * @param filter The filter to apply.
+     * @return The films passing the filter.
+     */
+    public List<Film> getFilms(final CatalogFilter filter) {
+        try (UserOps mgr = new UserOps()) {
+            return mgr.getFilms(filter);
+        }
+    }
+
+    /**
+     * Gets the series passing a filter.
+     *
+     * @param filter The filter to apply.
+     * @return The series passing the filter.
+     */
+    public List<Serie> getSeries(final CatalogFilter filter) {
+        try (UserOps mgr = new UserOps()) {
+            return mgr.getSeries(filter);
+        }
+    }
+
+    /**
+     * Gets the films of the preferred genres of this user.
+     *
+     * @param age The limited age to be respected.
+     * @return The films of the preferred genres.
+     */
+    public List<Film> getPreferredFilms(final int age) {
+        return getFilms(CatalogFilter.forAge(age).preferredBy(this.user.getUsername()));
+    }
+
+    /**
+     * Gets the series of the preferred genres of this user.
+     *
+     * @param age The limited age to be respected.
+     * @return The series of the preferred genres.
+     */
+    public List<Serie> getPreferredSeries(final int age) {
+        return getSeries(CatalogFilter.forAge(age).preferredBy(this.user.getUsername()));
+    }
+
+    /**
+     * Gets a page of the films that this user can watch.
+     *
+     * @param age     The limited age to be respected.
+     * @param request The page to retrieve.
+     * @return The requested page of films.
+     */
+    public Page<Film> getFilmsPage(final int age, final PageRequest request) {
+        try (UserOps mgr = new UserOps()) {
+            return mgr.getFilmsPage(age, request);
+        }
+    }
+
+    /**
+     * Gets a page of the series that this user can watch.
+     *
+     * @param age     The limited age to be respected.
+     * @param request The page to retrieve.
+     * @return The requested page of series.
+     */
+    public Page<Serie> getSeriesPage(final int age, final PageRequest request) {
+        try (UserOps mgr = new UserOps()) {
+            return mgr.getSeriesPage(age, request);
+        }
+    }
+
+    /**
+     * Searches the films or series that this user can watch by title, plot and cast.
+     *
+     * @param query The words to search.
+     * @param type  The kind of content to search.
+     * @param age   The limited age to be respected.
+     * @return The matching contents, the most relevant first.
+     */
+    public List<SearchResult> search(final String query, final ContentType type, final int age) {
+        return CatalogSearch.getInstance().search(query, type, age, MAX_SEARCH_RESULTS);
+    }
+
     /**
      * Gets the list of sections.
      *
@@ -81,21 +189,45 @@ public final class UserContext extends SessionContextImpl {
     }
 
     /**
-     * Gets detailed films.
+     * Gets detailed films, served from the shared catalog cache.
      *
      * @return The list of all detailed films.
      */
     public Map<Film, Cast> getDetailedFilms() {
-        return Map.copyOf(detailedFilms);
+        return Map.copyOf(CatalogCache.getInstance().get(CatalogCache.USER_FILMS, () -> {
+            try (UserOps mgr = new UserOps()) {
+                return mgr.getDetailedFilms();
+            }
+        }));
     }
 
     /**
-     * Gets detailed series.
+     * Gets detailed series, served from the shared catalog cache.
      *
      * @return The list of all detailed series.
      */
     public List<Serie> getDetailedSeries() {
-        return List.copyOf(detailedSeries);
+        return List.copyOf(CatalogCache.getInstance().get(CatalogCache.USER_SERIES, () -> {
+            try (UserOps mgr = new UserOps()) {
+                return mgr.getDetailedSeries();
+            }
+        }));
+    }
+
+    /**
+     * Gets a single series with its seasons, episodes and cast.
+     * The details are loaded the first time they are requested and then shared through the catalog cache.
+     *
+     * @param id The ID of the series.
+     * @return The detailed series.
+     * @throws NoSuchElementException if no series is found with the specified ID.
+     */
+    public Serie getDetailedSerie(final int id) {
+        return CatalogCache.getInstance().get(CatalogCache.seriesDetails(id), () -> {
+            try (UserOps mgr = new UserOps()) {
+                return mgr.getSeriesDetails(id);
+            }
+        }).orElseThrow(() -> new NoSuchElementException("Serie non trovata con id: " + id));
     }
 
     /**
@@ -128,27 +260,28 @@ public final class UserContext extends SessionContextImpl {
 
     /**
      * Visualizes a film.
+     * The change is recorded at once and written to the database shortly after.
      *
      * @param id The film's id.
-     * @return True if the operation was successful, false otherwise.
      */
-    public boolean visualizeFilm(final int id) {
-        try (UserOps mgr = new UserOps()) {
-            return mgr.visualizeFilm(id, this.user.getUsername());
-        }
+    public void visualizeFilm(final int id) {
+        ViewRecorder.getInstance().record(ViewEvent.film(this.user.getUsername(), id, true));
     }
 
     /**
      * Visualizes an episode of a series.
+     * The change is recorded at once and written to the database shortly after.
      *
      * @param seriesId  The specific series id.
      * @param seasonId  The specific season id.
      * @param episodeId The specific episode id.
-     * @return True if the operation was successful, false otherwise.
      */
-    public boolean visualizeEpisode(final int seriesId, final int seasonId, final int episodeId) {
-        try (UserOps mgr = new UserOps()) {
-            return mgr.visualizeEpisode(seriesId, seasonId, episodeId, this.user.getUsername());
+    public void visualizeEpisode(final int seriesId, final int seasonId, final int episodeId) {
+        ViewRecorder.getInstance().record(
+                ViewEvent.episode(this.user.getUsername(), seriesId, seasonId, episodeId, true));
+        final Set<Episode> viewed = this.viewedEpisodes.get(seriesId);
+        if (!Objects.isNull(viewed)) {
+            viewed.add(new Episode(seriesId, seasonId, episodeId, 0));
         }
     }
 
@@ -180,11 +313,36 @@ public final class UserContext extends SessionContextImpl {
      * @return A list of viewed episodes.
      */
     public List<Episode> getViewedEpisodesOfSeries(final int seriesCode, final int seasonNumber) {
+        final List<ViewEvent> pending = ViewRecorder.getInstance().pendingViews(
+                viewsOf(ContentType.SERIES, seriesCode).and(key -> key.season() == seasonNumber));
         try (UserOps mgr = new UserOps()) {
-            return mgr.getViewedEpisodes(seriesCode, seasonNumber, this.user.getUsername());
+            final Set<Episode> viewed = new LinkedHashSet<>(
+                    mgr.getViewedEpisodes(seriesCode, seasonNumber, this.user.getUsername()));
+            applyPendingViews(viewed, pending);
+            return new ArrayList<>(viewed);
         }
     }
 
+    /**
+     * Gets every episode of a series viewed by the user.
+     * The set is loaded with a single query the first time, together with the views not written yet,
+     * and then kept in sync by {@link #visualizeEpisode(int, int, int)} and {@link #forgetEpisode(int, int, int)}.
+     *
+     * @param seriesId The series id.
+     * @return The set of viewed episodes of the series.
+     */
+    public Set<Episode> getViewedEpisodes(final int seriesId) {
+        return Set.copyOf(this.viewedEpisodes.computeIfAbsent(seriesId, id -> {
+            final List<ViewEvent> pending = ViewRecorder.getInstance().pendingViews(viewsOf(ContentType.SERIES, id));
+            try (UserOps mgr = new UserOps()) {
+                final Set<Episode> viewed = ConcurrentHashMap.newKeySet();
+                viewed.addAll(mgr.getViewedEpisodes(id, this.user.getUsername()));
+                applyPendingViews(viewed, pending);
+                return viewed;
+            }
+        }));
+    }
+
     /**
      * Adds every preference in the list for the user.
      *
@@ -217,27 +375,28 @@ public final class UserContext extends SessionContextImpl {
 
     /**
      * Removes film's visualization.
+     * The change is recorded at once and written to the database shortly after.
      *
      * @param id The film's id.
-     * @return True if the operation was successful, false otherwise.
      */
-    public boolean forgetFilm(final int id) {
-        try (UserOps mgr = new UserOps()) {
-            return mgr.forgetFilm(id, this.user.getUsername());
-        }
+    public void forgetFilm(final int id) {
+        ViewRecorder.getInstance().record(ViewEvent.film(this.user.getUsername(), id, false));
     }
 
     /**
      * Removes episode's visualization.
+     * The change is recorded at once and written to the database shortly after.
      *
      * @param seriesId  The specific series id.
      * @param seasonId  The specific season id.
      * @param episodeId The specific episode id.
-     * @return True if the operation was successful, false otherwise.
      */
-    public boolean forgetEpisode(final int seriesId, final int seasonId, final int episodeId) {
-        try (UserOps mgr = new UserOps()) {
-            return mgr.forgetEpisode(seriesId, seasonId, episodeId, this.user.getUsername());
+    public void forgetEpisode(final int seriesId, final int seasonId, final int episodeId) {
+        ViewRecorder.getInstance().record(
+                ViewEvent.episode(this.user.getUsername(), seriesId, seasonId, episodeId, false));
+        final Set<Episode> viewed = this.viewedEpisodes.get(seriesId);
+        if (!Objects.isNull(viewed)) {
+            viewed.remove(new Episode(seriesId, seasonId, episodeId, 0));
         }
     }
 
@@ -248,6 +407,11 @@ public final class UserContext extends SessionContextImpl {
      * @return True if the film has been viewed, false otherwise.
      */
     public boolean isFilmViewed(final int id) {
+        final Optional<Boolean> pending = ViewRecorder.getInstance()
+                .pendingView(ViewEvent.film(this.user.getUsername(), id, true).key());
+        if (pending.isPresent()) {
+            return pending.get();
+        }
         try (UserOps mgr = new UserOps()) {
             return mgr.isFilmViewed(id, this.user.getUsername());
         }
@@ -262,6 +426,15 @@ public final class UserContext extends SessionContextImpl {
      * @return True if the episode has been viewed, false otherwise.
      */
     public boolean isEpisodeViewed(final int seriesId, final int seasonId, final int episodeId) {
+        final Set<Episode> viewed = this.viewedEpisodes.get(seriesId);
+        if (!Objects.isNull(viewed)) {
+            return viewed.contains(new Episode(seriesId, seasonId, episodeId, 0));
+        }
+        final Optional<Boolean> pending = ViewRecorder.getInstance()
+                .pendingView(ViewEvent.episode(this.user.getUsername(), seriesId, seasonId, episodeId, true).key());
+        if (pending.isPresent()) {
+            return pending.get();
+        }
         try (UserOps mgr = new UserOps()) {
             return mgr.isEpisodeViewed(seriesId, seasonId, episodeId, this.user.getUsername());
         }
@@ -303,21 +476,11 @@ public final class UserContext extends SessionContextImpl {
                               final String title,
                               final String desc,
                               final List<ReviewSection> reviewSections) {
+        if (!writeViewsOf(ContentType.FILM, filmId)) {
+            return false;
+        }
         try (UserOps mgr = new UserOps()) {
-            final boolean op1 = mgr.reviewFilm(filmId, this.user.getUsername(), title, desc);
-            final AtomicBoolean op2 = new AtomicBoolean(true);
-            reviewSections.forEach(
-                    reviewSection -> {
-                        if (!mgr.addFilmReviewSections(reviewSection.section().name(),
-                                this.user.getUsername(),
-                                reviewSection.multimediaId(),
-                                reviewSection.score())) {
-                            op2.set(false);
-                        }
-                    }
-            );
-            final boolean op3 = mgr.averageSectionFilmVote(filmId, this.user.getUsername());
-            return op1 && op2.get() && op3;
+            return mgr.reviewFilm(filmId, this.user.getUsername(), title, desc, reviewSections);
         }
     }
 
@@ -372,21 +535,11 @@ public final class UserContext extends SessionContextImpl {
                                 final String title,
                                 final String desc,
                                 final List<ReviewSection> reviewSections) {
+        if (!writeViewsOf(ContentType.SERIES, seriesId)) {
+            return false;
+        }
         try (UserOps mgr = new UserOps()) {
-            final boolean op1 = mgr.reviewSeries(seriesId, this.user.getUsername(), title, desc);
-            final AtomicBoolean op2 = new AtomicBoolean(true);
-            reviewSections.forEach(
-                    reviewSection -> {
-                        if (!mgr.addSeriesReviewSection(reviewSection.section().name(),
-                                this.user.getUsername(),
-                                reviewSection.multimediaId(),
-                                reviewSection.score())) {
-                            op2.set(false);
-                        }
-                    }
-            );
-            final boolean op3 = mgr.averageSectionSeriesVote(seriesId, this.user.getUsername());
-            return op1 && op2.get() && op3;
+            return mgr.reviewSeries(seriesId, this.user.getUsername(), title, desc, reviewSections);
         }
     }
 
@@ -515,4 +668,43 @@ public final class UserContext extends SessionContextImpl {
             return mgr.getSeriesGenresRanking();
         }
     }
+
+    /**
+     * Selects the views of the user about a film, or about the episodes of a series.
+     *
+     * @param type The kind of content.
+     * @param code The code of the film or of the series.
+     * @return The filter of the views.
+     */
+    private Predicate<ViewEvent.Key> viewsOf(final ContentType type, final int code) {
+        return key -> key.type() == type && key.code() == code && key.username().equals(this.user.getUsername());
+    }
+
+    /**
+     * Writes the pending views of the user about a film or a series, which a review of it depends on.
+     * The views of the other users are left to the scheduled writes.
+     *
+     * @param type The kind of content.
+     * @param code The code of the film or of the series.
+     * @return True if the views have been written, false if they could not be and the review would be refused.
+     */
+    private boolean writeViewsOf(final ContentType type, final int code) {
+        try {
+            ViewRecorder.getInstance().flush(viewsOf(type, code));
+            return true;
+        } catch (IllegalStateException ex) {
+            return false;
+        }
+    }
+
+    private static void applyPendingViews(final Set<Episode> viewed, final List<ViewEvent> pending) {
+        for (final ViewEvent event : pending) {
+            final Episode episode = new Episode(event.code(), event.season(), event.episode(), 0);
+            if (event.viewed()) {
+                viewed.add(episode);
+            } else {
+                viewed.remove(episode);
+            }
+        }
+    }
 }
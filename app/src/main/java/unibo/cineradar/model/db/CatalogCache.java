@@ -0,0 +1,336 @@
+package unibo.cineradar.model.db;
+
+import unibo.cineradar.model.cast.Cast;
+import unibo.cineradar.model.film.Film;
+import unibo.cineradar.model.serie.Serie;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide cache of the detailed catalog, shared by every session.
+ * Changes made to the catalog are numbered in a journal: an entry that knows how to refresh single films or series
+ * applies only the rows changed since it was last brought up to date, every other entry is reloaded.
+ * Entries are reloaded anyway once their time to live expires.
+ */
+public final class CatalogCache {
+    /**
+     * The detailed films as seen by the users.
+     */
+    public static final Key<Map<Film, Cast>> USER_FILMS = new Key<>(Section.FILMS, "userFilms");
+    /**
+     * The detailed series as seen by the users.
+     */
+    public static final Key<List<Serie>> USER_SERIES = new Key<>(Section.SERIES, "userSeries");
+    /**
+     * The detailed films as seen by the administrators.
+     */
+    public static final Key<Map<Film, Cast>> ADMIN_FILMS = new Key<>(Section.FILMS, "adminFilms");
+    /**
+     * The detailed series as seen by the administrators.
+     */
+    public static final Key<List<Serie>> ADMIN_SERIES = new Key<>(Section.SERIES, "adminSeries");
+
+    private static final int JOURNAL_CAPACITY = 1024;
+    private static final CatalogCache INSTANCE = new CatalogCache(DBConfig.getCatalogTtl());
+
+    private final Duration ttl;
+    private final CatalogJournal journal = new CatalogJournal(JOURNAL_CAPACITY);
+    private final Map<Key<?>, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<Key<?>, Load> loading = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    /**
+     * Creates a catalog cache.
+     *
+     * @param ttl How long a loaded entry is kept before being reloaded.
+     */
+    public CatalogCache(final Duration ttl) {
+        this.ttl = Objects.requireNonNull(ttl);
+    }
+
+    /**
+     * Gets the cache shared by the whole application.
+     *
+     * @return The application catalog cache.
+     */
+    public static CatalogCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the key of a single series with its seasons, episodes and casts.
+     *
+     * @param seriesId The ID of the series.
+     * @return The key of the detailed series.
+     */
+    public static Key<Optional<Serie>> seriesDetails(final int seriesId) {
+        return new Key<>(Section.SERIES, "seriesDetails#" + seriesId);
+    }
+
+    /**
+     * Gets a cached entry, loading it if it is missing or expired.
+     * Concurrent callers asking for the same entry wait for a single load.
+     * The loader runs without holding any lock of the cache, so it may get other entries.
+     *
+     * @param key    The entry to get.
+     * @param loader The function used to load the entry from the database.
+     * @param <T>    The type of the entry.
+     * @return The cached entry.
+     */
+    public <T> T get(final Key<T> key, final Supplier<T> loader) {
+        return get(key, loader, null);
+    }
+
+    /**
+     * Gets a cached entry, refreshing only the films or series changed since it was last brought up to date.
+     * The entry is loaded from scratch if it is missing or expired, or if the changes cannot be told apart.
+     * Concurrent callers asking for the same entry wait for a single load or refresh,
+     * which runs without holding any lock of the cache; the result is installed once it is complete.
+     *
+     * @param key       The entry to get.
+     * @param loader    The function used to load the entry from the database.
+     * @param refresher The function applying to an entry the current rows of the given films or series,
+     *                  or null if the entry can only be loaded from scratch.
+     * @param <T>       The type of the entry.
+     * @return The cached entry.
+     */
+    public <T> T get(final Key<T> key,
+                     final Supplier<T> loader,
+                     final BiFunction<? super T, Set<Integer>, ? extends T> refresher) {
+        final Slot cached = this.slots.get(key);
+        if (!Objects.isNull(cached) && isCurrent(key, cached)) {
+            return valueOf(cached);
+        }
+        final Load load = new Load(Thread.currentThread());
+        final Load running = this.loading.putIfAbsent(key, load);
+        if (!Objects.isNull(running)) {
+            return valueOf(running.await(key));
+        }
+        try {
+            final Slot slot = fetch(key, loader, refresher);
+            this.slots.put(key, slot);
+            load.result.complete(slot);
+            return valueOf(slot);
+        } catch (RuntimeException | Error ex) {
+            load.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            this.loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Checks whether a cached entry can be served as it is, bringing its version up to date if so.
+     *
+     * @param key  The entry.
+     * @param slot The cached value of the entry.
+     * @return True if the cached value is current, false if it has to be loaded or refreshed.
+     */
+    private boolean isCurrent(final Key<?> key, final Slot slot) {
+        final long version = this.journal.getVersion();
+        if (slot.isExpired(this.ttl)
+                || !this.journal.changedSince(slot.version, key.section).map(Set::isEmpty).orElse(false)) {
+            return false;
+        }
+        this.hits.incrementAndGet();
+        this.slots.replace(key, slot, slot.at(version));
+        return true;
+    }
+
+    /**
+     * Loads or refreshes an entry; no lock is held, so the loader may use the cache itself.
+     *
+     * @param key       The entry to fetch.
+     * @param loader    The function used to load the entry from the database.
+     * @param refresher The function refreshing the changed films or series of the entry, or null.
+     * @param <T>       The type of the entry.
+     * @return The entry, up to date with the current version of the journal.
+     */
+    private <T> Slot fetch(final Key<T> key,
+                           final Supplier<T> loader,
+                           final BiFunction<? super T, Set<Integer>, ? extends T> refresher) {
+        final long version = this.journal.getVersion();
+        final Slot old = this.slots.get(key);
+        if (!Objects.isNull(old) && !old.isExpired(this.ttl)) {
+            final Optional<Set<Integer>> changed = this.journal.changedSince(old.version, key.section);
+            if (changed.isPresent() && changed.get().isEmpty()) {
+                this.hits.incrementAndGet();
+                return old.at(version);
+            }
+            if (changed.isPresent() && !Objects.isNull(refresher)) {
+                this.refreshes.incrementAndGet();
+                final T current = valueOf(old);
+                return old.refreshed(Objects.requireNonNull(refresher.apply(current, changed.get())), version);
+            }
+        }
+        this.loads.incrementAndGet();
+        return new Slot(Objects.requireNonNull(loader.get()), version);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T valueOf(final Slot slot) {
+        return (T) slot.value;
+    }
+
+    /**
+     * Records that a single film or series has been changed.
+     *
+     * @param section The section the film or series belongs to.
+     * @param id      The ID of the film or series.
+     */
+    public void changed(final Section section, final int id) {
+        this.journal.record(section, id);
+    }
+
+    /**
+     * Records that the given sections of the catalog have been changed as a whole,
+     * so that every entry belonging to them is loaded again.
+     *
+     * @param sections The sections that have been changed.
+     */
+    public void invalidate(final Section... sections) {
+        for (final Section section : sections) {
+            this.journal.record(section, null);
+        }
+    }
+
+    /**
+     * Drops every cached entry.
+     */
+    public void clear() {
+        this.slots.clear();
+    }
+
+    /**
+     * Gets how many requests have been served without querying the database.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Gets how many times an entry has been loaded from the database.
+     *
+     * @return The number of cache loads.
+     */
+    public long getLoads() {
+        return this.loads.get();
+    }
+
+    /**
+     * Gets how many times an entry has been brought up to date by refreshing only the changed rows.
+     *
+     * @return The number of partial refreshes.
+     */
+    public long getRefreshes() {
+        return this.refreshes.get();
+    }
+
+    /**
+     * The parts of the catalog that can be invalidated independently.
+     */
+    public enum Section {
+        /**
+         * Films, their genres and their casts.
+         */
+        FILMS,
+        /**
+         * Series, their genres, seasons, episodes and casts.
+         */
+        SERIES
+    }
+
+    /**
+     * Identifies a cached entry and the type of its value.
+     *
+     * @param <T> The type of the cached value.
+     */
+    public static final class Key<T> {
+        private final Section section;
+        private final String name;
+
+        private Key(final Section section, final String name) {
+            this.section = section;
+            this.name = name;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.name.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key<?> key && key.name.equals(this.name);
+        }
+    }
+
+    private static final class Slot {
+        private final Object value;
+        private final long loadedAt;
+        private final long version;
+
+        Slot(final Object value, final long version) {
+            this(value, System.nanoTime(), version);
+        }
+
+        private Slot(final Object value, final long loadedAt, final long version) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.version = version;
+        }
+
+        Slot at(final long newVersion) {
+            return newVersion == this.version ? this : new Slot(this.value, this.loadedAt, newVersion);
+        }
+
+        Slot refreshed(final Object newValue, final long newVersion) {
+            return new Slot(newValue, this.loadedAt, newVersion);
+        }
+
+        boolean isExpired(final Duration ttl) {
+            return System.nanoTime() - this.loadedAt >= ttl.toNanos();
+        }
+    }
+
+    /**
+     * A load or refresh in progress, which the other callers asking for the same entry wait for.
+     */
+    private static final class Load {
+        private final Thread owner;
+        private final CompletableFuture<Slot> result = new CompletableFuture<>();
+
+        Load(final Thread owner) {
+            this.owner = owner;
+        }
+
+        Slot await(final Key<?> key) {
+            if (this.owner == Thread.currentThread()) {
+                throw new IllegalStateException("The loader of " + key.name + " needs the entry it is loading");
+            }
+            try {
+                return this.result.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+    }
+}
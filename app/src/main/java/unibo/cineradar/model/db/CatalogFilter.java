@@ -0,0 +1,143 @@
+package unibo.cineradar.model.db;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A filter on a catalog, resolved entirely by the database.
+ * Genres are always matched by name, so a change in their view counts never affects the result.
+ *
+ * @param maxAge      The age limit that the contents must respect.
+ * @param preferredBy The user whose preferred genres the contents must belong to, if any.
+ * @param genres      The genres the contents must belong to, empty for any genre.
+ * @param minDuration The minimum duration in minutes, inclusive.
+ * @param maxDuration The maximum duration in minutes, inclusive.
+ */
+public record CatalogFilter(int maxAge,
+                            Optional<String> preferredBy,
+                            Set<String> genres,
+                            int minDuration,
+                            int maxDuration) {
+
+    /**
+     * Creates a catalog filter.
+     *
+     * @param maxAge      The age limit that the contents must respect.
+     * @param preferredBy The user whose preferred genres the contents must belong to, if any.
+     * @param genres      The genres the contents must belong to, empty for any genre.
+     * @param minDuration The minimum duration in minutes, inclusive.
+     * @param maxDuration The maximum duration in minutes, inclusive.
+     */
+    public CatalogFilter {
+        Objects.requireNonNull(preferredBy);
+        genres = Set.copyOf(genres);
+        if (minDuration < 0 || minDuration > maxDuration) {
+            throw new IllegalArgumentException("Invalid duration range.");
+        }
+    }
+
+    /**
+     * Creates the filter keeping every content that respects the age limit.
+     *
+     * @param maxAge The age limit that the contents must respect.
+     * @return The filter on the age limit only.
+     */
+    public static CatalogFilter forAge(final int maxAge) {
+        return new CatalogFilter(maxAge, Optional.empty(), Collections.emptySet(), 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Keeps only the contents belonging to at least one of the preferred genres of a user.
+     *
+     * @param username The username of the user.
+     * @return The restricted filter.
+     */
+    public CatalogFilter preferredBy(final String username) {
+        return new CatalogFilter(this.maxAge, Optional.of(username), this.genres, this.minDuration, this.maxDuration);
+    }
+
+    /**
+     * Keeps only the contents belonging to at least one of the given genres.
+     *
+     * @param genreNames The names of the genres, empty for any genre.
+     * @return The restricted filter.
+     */
+    public CatalogFilter withGenres(final Set<String> genreNames) {
+        return new CatalogFilter(this.maxAge, this.preferredBy, genreNames, this.minDuration, this.maxDuration);
+    }
+
+    /**
+     * Keeps only the contents whose duration is in the given range.
+     *
+     * @param min The minimum duration in minutes, inclusive.
+     * @param max The maximum duration in minutes, inclusive.
+     * @return The restricted filter.
+     */
+    public CatalogFilter withDuration(final int min, final int max) {
+        return new CatalogFilter(this.maxAge, this.preferredBy, this.genres, min, max);
+    }
+
+    /**
+     * Builds the condition selecting the contents that pass the filter, to be joined with AND to the query conditions.
+     * The genre conditions are semi-joins on the categorization table, so each content is returned once.
+     *
+     * @param table The catalog table, either "film" or "serie".
+     * @return The filter condition.
+     */
+    public String condition(final String table) {
+        final Columns columns = Columns.of(table);
+        final StringBuilder condition = new StringBuilder()
+                .append(table).append(".EtaLimite <= ? AND ")
+                .append(table).append('.').append(columns.duration()).append(" BETWEEN ? AND ?");
+        if (this.preferredBy.isPresent()) {
+            condition.append(" AND EXISTS (SELECT 1 FROM ").append(columns.categorization()).append(" cp ")
+                    .append("JOIN preferenze ON preferenze.NomeGenere = cp.NomeGenere ")
+                    .append("WHERE cp.").append(columns.code()).append(" = ").append(table).append(".Codice ")
+                    .append("AND preferenze.UsernameUtente = ?)");
+        }
+        if (!this.genres.isEmpty()) {
+            condition.append(" AND EXISTS (SELECT 1 FROM ").append(columns.categorization()).append(" cg ")
+                    .append("WHERE cg.").append(columns.code()).append(" = ").append(table).append(".Codice ")
+                    .append("AND cg.NomeGenere IN (")
+                    .append(String.join(", ", Collections.nCopies(this.genres.size(), "?")))
+                    .append("))");
+        }
+        return condition.toString();
+    }
+
+    /**
+     * Binds the parameters of the filter condition.
+     *
+     * @param statement  The statement whose parameters are to set.
+     * @param firstIndex The index of the first parameter of the condition.
+     * @return The index of the first parameter following the condition.
+     * @throws SQLException If the parameters could not be set.
+     */
+    public int bind(final PreparedStatement statement, final int firstIndex) throws SQLException {
+        int index = firstIndex;
+        statement.setInt(index++, this.maxAge);
+        statement.setInt(index++, this.minDuration);
+        statement.setInt(index++, this.maxDuration);
+        if (this.preferredBy.isPresent()) {
+            statement.setString(index++, this.preferredBy.get());
+        }
+        for (final String genre : this.genres) {
+            statement.setString(index++, genre);
+        }
+        return index;
+    }
+
+    private record Columns(String categorization, String code, String duration) {
+        static Columns of(final String table) {
+            return switch (table) {
+                case "film" -> new Columns("categorizzazione_film", "CodiceFilm", "Durata");
+                case "serie" -> new Columns("categorizzazione_serie", "CodiceSerie", "DurataComplessiva");
+                default -> throw new IllegalArgumentException("Unknown catalog table " + table);
+            };
+        }
+    }
+}
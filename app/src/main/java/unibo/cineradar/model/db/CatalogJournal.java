@@ -0,0 +1,86 @@
+package unibo.cineradar.model.db;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The changes made to the catalog by this process, each one numbered by a monotonically increasing version.
+ * Only the most recent changes are kept: asking for older ones is answered as if the whole catalog had changed.
+ */
+final class CatalogJournal {
+    private final int capacity;
+    private final Deque<Change> changes = new ArrayDeque<>();
+    private long version;
+    private long oldestKnown;
+
+    /**
+     * Creates an empty journal.
+     *
+     * @param capacity How many changes are kept.
+     */
+    CatalogJournal(final int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The journal must keep at least one change");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Gets the version of the last recorded change.
+     *
+     * @return The current version, zero if nothing has changed yet.
+     */
+    synchronized long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Records that some rows of a section changed.
+     *
+     * @param section The section of the changed rows.
+     * @param id      The ID of the changed film or series, null if the change may involve the whole section.
+     */
+    synchronized void record(final CatalogCache.Section section, final Integer id) {
+        this.version++;
+        this.changes.addLast(new Change(this.version, Objects.requireNonNull(section), id));
+        if (this.changes.size() > this.capacity) {
+            this.oldestKnown = this.changes.removeFirst().version;
+        }
+    }
+
+    /**
+     * Gets the IDs of the rows of a section changed after a version.
+     *
+     * @param since   The version already seen.
+     * @param section The section to look at.
+     * @return The changed IDs, empty if the whole section has to be considered changed.
+     */
+    synchronized Optional<Set<Integer>> changedSince(final long since, final CatalogCache.Section section) {
+        if (since < this.oldestKnown) {
+            return Optional.empty();
+        }
+        final Set<Integer> ids = new HashSet<>();
+        final Iterator<Change> newestFirst = this.changes.descendingIterator();
+        while (newestFirst.hasNext()) {
+            final Change change = newestFirst.next();
+            if (change.version <= since) {
+                break;
+            }
+            if (change.section == section) {
+                if (Objects.isNull(change.id)) {
+                    return Optional.empty();
+                }
+                ids.add(change.id);
+            }
+        }
+        return Optional.of(ids);
+    }
+
+    private record Change(long version, CatalogCache.Section section, Integer id) {
+    }
+}
@@ -0,0 +1,49 @@
+package unibo.cineradar.model.db;
+
+/**
+ * The orders in which a catalog of films or series can be paged through.
+ */
+public enum CatalogSort {
+    /**
+     * By ascending code, i.e. in insertion order.
+     */
+    CODE_ASCENDING(false, true),
+    /**
+     * By descending code, i.e. the latest inserted first.
+     */
+    CODE_DESCENDING(false, false),
+    /**
+     * Alphabetically by title.
+     */
+    TITLE_ASCENDING(true, true),
+    /**
+     * Reverse alphabetically by title.
+     */
+    TITLE_DESCENDING(true, false);
+
+    private final boolean byTitle;
+    private final boolean ascending;
+
+    CatalogSort(final boolean byTitle, final boolean ascending) {
+        this.byTitle = byTitle;
+        this.ascending = ascending;
+    }
+
+    /**
+     * Checks if this order is based on the title.
+     *
+     * @return True if the catalog is sorted by title, false if by code.
+     */
+    public boolean isByTitle() {
+        return this.byTitle;
+    }
+
+    /**
+     * Checks if this order is ascending.
+     *
+     * @return True if the order is ascending, false otherwise.
+     */
+    public boolean isAscending() {
+        return this.ascending;
+    }
+}
@@ -0,0 +1,319 @@
+package unibo.cineradar.model.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of reusable database connections shared by every {@link DBManager}.
+ * Connections are validated when borrowed after being idle, evicted when idle for too long
+ * and retired once they reach their maximum lifetime.
+ */
+public final class ConnectionPool {
+    private static final ConnectionPool INSTANCE = new ConnectionPool(
+            ConnectionPool::openConnection,
+            DBConfig.getPoolMaxSize(),
+            DBConfig.getPoolWaitTimeout(),
+            DBConfig.getPoolIdleTimeout(),
+            DBConfig.getPoolMaxLifetime()
+    );
+    private static final long VALIDATION_BYPASS_MILLIS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final ConnectionFactory factory;
+    private final Semaphore permits;
+    private final Duration waitTimeout;
+    private final Duration idleTimeout;
+    private final Duration maxLifetime;
+    private final Deque<Entry> idle = new ArrayDeque<>();
+    private final Map<Connection, Entry> leased = new IdentityHashMap<>();
+    private final ScheduledExecutorService evictor;
+    private final AtomicLong borrows = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong destroyed = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final List<Runnable> shutdownTasks = new CopyOnWriteArrayList<>();
+    private volatile boolean shutdown;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::shutdown, "cineradar-pool-shutdown"));
+    }
+
+    /**
+     * Creates a connection pool.
+     *
+     * @param factory     The factory used to open new physical connections.
+     * @param maxSize     The maximum number of connections open at the same time.
+     * @param waitTimeout How long a borrower waits for a free connection before giving up.
+     * @param idleTimeout How long a connection may stay unused in the pool before being closed.
+     * @param maxLifetime How long a connection may live before being retired.
+     */
+    public ConnectionPool(final ConnectionFactory factory,
+                          final int maxSize,
+                          final Duration waitTimeout,
+                          final Duration idleTimeout,
+                          final Duration maxLifetime) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The pool size must be positive.");
+        }
+        this.factory = Objects.requireNonNull(factory);
+        this.permits = new Semaphore(maxSize, true);
+        this.waitTimeout = Objects.requireNonNull(waitTimeout);
+        this.idleTimeout = Objects.requireNonNull(idleTimeout);
+        this.maxLifetime = Objects.requireNonNull(maxLifetime);
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "cineradar-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = Math.max(1, idleTimeout.toMillis() / 2);
+        this.evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the pool shared by the whole application.
+     *
+     * @return The application connection pool.
+     */
+    public static ConnectionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Borrows a connection, waiting at most the configured time if the pool is exhausted.
+     *
+     * @return A valid connection that must be given back with {@link #release(Connection)}.
+     * @throws SQLException If no connection could be obtained.
+     */
+    public Connection borrow() throws SQLException {
+        if (this.shutdown) {
+            throw new SQLException("The connection pool has been shut down.");
+        }
+        final long start = System.nanoTime();
+        try {
+            if (!this.permits.tryAcquire(this.waitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                this.timeouts.incrementAndGet();
+                throw new SQLTimeoutException("Connection pool exhausted after " + this.waitTimeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection.", ex);
+        }
+        recordWait(System.nanoTime() - start);
+        try {
+            Entry entry = pollIdle();
+            while (entry != null) {
+                if (isUsable(entry)) {
+                    return lease(entry);
+                }
+                destroy(entry);
+                entry = pollIdle();
+            }
+            final Entry fresh = new Entry(this.factory.create());
+            this.created.incrementAndGet();
+            return lease(fresh);
+        } catch (SQLException | RuntimeException ex) {
+            this.permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Gives a borrowed connection back to the pool.
+     *
+     * @param connection The connection to give back.
+     */
+    public void release(final Connection connection) {
+        final Entry entry;
+        synchronized (this) {
+            entry = this.leased.remove(connection);
+        }
+        if (Objects.isNull(entry)) {
+            return;
+        }
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (this.shutdown || connection.isClosed() || isExpired(entry, System.nanoTime())) {
+                destroy(entry);
+            } else {
+                entry.touch();
+                synchronized (this) {
+                    this.idle.push(entry);
+                }
+            }
+        } catch (SQLException ex) {
+            destroy(entry);
+        } finally {
+            this.permits.release();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the pool usage.
+     *
+     * @return The current pool statistics.
+     */
+    public PoolStatistics getStatistics() {
+        final int activeCount;
+        final int idleCount;
+        synchronized (this) {
+            activeCount = this.leased.size();
+            idleCount = this.idle.size();
+        }
+        final long count = this.borrows.get();
+        return new PoolStatistics(
+                activeCount,
+                idleCount,
+                this.permits.getQueueLength(),
+                count,
+                this.timeouts.get(),
+                this.created.get(),
+                this.destroyed.get(),
+                Duration.ofNanos(count == 0 ? 0 : this.totalWaitNanos.get() / count),
+                Duration.ofNanos(this.maxWaitNanos.get())
+        );
+    }
+
+    /**
+     * Registers a task to run when the pool is shut down, while connections can still be borrowed.
+     * Used to write pending work before the application exits.
+     *
+     * @param task The task to run.
+     */
+    public void onShutdown(final Runnable task) {
+        this.shutdownTasks.add(Objects.requireNonNull(task));
+    }
+
+    /**
+     * Runs the registered shutdown tasks, then closes every idle connection and stops accepting new borrowers.
+     * Borrowed connections are closed as soon as they are released.
+     */
+    public void shutdown() {
+        for (final Runnable task : this.shutdownTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException ignored) {
+            }
+        }
+        this.shutdown = true;
+        this.evictor.shutdownNow();
+        final List<Entry> toClose;
+        synchronized (this) {
+            toClose = new ArrayList<>(this.idle);
+            this.idle.clear();
+        }
+        toClose.forEach(this::destroy);
+    }
+
+    private synchronized Entry pollIdle() {
+        return this.idle.poll();
+    }
+
+    private synchronized Connection lease(final Entry entry) {
+        this.leased.put(entry.connection, entry);
+        this.borrows.incrementAndGet();
+        return entry.connection;
+    }
+
+    private boolean isUsable(final Entry entry) {
+        final long now = System.nanoTime();
+        if (isExpired(entry, now)) {
+            return false;
+        }
+        if (TimeUnit.NANOSECONDS.toMillis(now - entry.lastUsed) < VALIDATION_BYPASS_MILLIS) {
+            return true;
+        }
+        try {
+            return entry.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    private boolean isExpired(final Entry entry, final long now) {
+        return now - entry.createdAt >= this.maxLifetime.toNanos();
+    }
+
+    private void evictIdle() {
+        final long now = System.nanoTime();
+        final List<Entry> toClose = new ArrayList<>();
+        synchronized (this) {
+            final Iterator<Entry> it = this.idle.iterator();
+            while (it.hasNext()) {
+                final Entry entry = it.next();
+                if (now - entry.lastUsed >= this.idleTimeout.toNanos() || isExpired(entry, now)) {
+                    it.remove();
+                    toClose.add(entry);
+                }
+            }
+        }
+        toClose.forEach(this::destroy);
+    }
+
+    private void destroy(final Entry entry) {
+        this.destroyed.incrementAndGet();
+        try {
+            entry.connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void recordWait(final long nanos) {
+        this.totalWaitNanos.addAndGet(nanos);
+        this.maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static Connection openConnection() throws SQLException {
+        return EndpointManager.getInstance().connect();
+    }
+
+    /**
+     * Opens new physical connections for the pool.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        /**
+         * Opens a new connection.
+         *
+         * @return The opened connection.
+         * @throws SQLException If the connection could not be opened.
+         */
+        Connection create() throws SQLException;
+    }
+
+    private static final class Entry {
+        private final Connection connection;
+        private final long createdAt;
+        private long lastUsed;
+
+        Entry(final Connection connection) {
+            this.connection = connection;
+            this.createdAt = System.nanoTime();
+            this.lastUsed = this.createdAt;
+        }
+
+        void touch() {
+            this.lastUsed = System.nanoTime();
+        }
+    }
+}
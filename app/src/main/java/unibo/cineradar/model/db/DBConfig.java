@@ -1,5 +1,9 @@
 package unibo.cineradar.model.db;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Utility class to contain DB connection strings.
  */
@@ -10,13 +14,33 @@ public final class DBConfig {
     private static final String DB_SERVER = "casadei.ddns.net";
     private static final String MAIN_CONNECTION_STRING = "jdbc:mariadb://";
     /**
-     * To be used if the server is unresponsive.
+     * Preferred to the server when a local database is running.
      */
     private static final String LOCALHOST = "localhost";
     /**
      * MariaDB port.
      */
     private static final String PORT = "3306";
+    /**
+     * System property overriding the endpoints, as a comma separated list of {@code host[:port]}.
+     */
+    private static final String ENDPOINTS_PROPERTY = "cineradar.db.endpoints";
+    /**
+     * Environment variable overriding the endpoints, used when the system property is not set.
+     */
+    private static final String ENDPOINTS_VARIABLE = "CINERADAR_DB_ENDPOINTS";
+    /**
+     * How long opening a connection may take before the endpoint is considered unreachable.
+     */
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    /**
+     * How long to wait before probing the preferred endpoints again the first time.
+     */
+    private static final Duration REPROBE_MIN_BACKOFF = Duration.ofSeconds(10);
+    /**
+     * The longest wait between two background probes of the preferred endpoints.
+     */
+    private static final Duration REPROBE_MAX_BACKOFF = Duration.ofMinutes(5);
     /**
      * MariaDB username.
      */
@@ -29,35 +53,60 @@ public final class DBConfig {
      * Name of the DB to connect to.
      */
     private static final String DB_NAME = "cineradar";
-
-    private DBConfig() {
-    }
-
     /**
-     * Gets the DB Server name.
-     *
-     * @return A string representing the server name.
+     * Maximum number of connections kept open by the pool.
      */
-    public static String getDbServer() {
-        return DB_SERVER;
-    }
-
+    private static final int POOL_MAX_SIZE = 8;
     /**
-     * Gets the string to connect to the local host.
-     *
-     * @return A string containing the localhost name.
+     * How long a caller waits for a pooled connection before failing.
+     */
+    private static final Duration POOL_WAIT_TIMEOUT = Duration.ofSeconds(5);
+    /**
+     * How long an unused pooled connection is kept open.
      */
-    public static String getLocalhost() {
-        return LOCALHOST;
+    private static final Duration POOL_IDLE_TIMEOUT = Duration.ofMinutes(5);
+    /**
+     * How long a pooled connection may live before being replaced.
+     */
+    private static final Duration POOL_MAX_LIFETIME = Duration.ofMinutes(30);
+    /**
+     * How long the cached catalog is trusted before being reloaded.
+     */
+    private static final Duration CATALOG_TTL = Duration.ofMinutes(10);
+    /**
+     * How often the recorded views are written to the database.
+     */
+    private static final Duration VIEW_FLUSH_INTERVAL = Duration.ofSeconds(2);
+    /**
+     * How many recorded views trigger a write before the next scheduled one.
+     */
+    private static final int VIEW_MAX_PENDING = 500;
+    /**
+     * How many prepared statements a database manager keeps open for reuse.
+     */
+    private static final int STATEMENT_CACHE_SIZE = 32;
+    /**
+     * How many server-side prepared statements the driver keeps for each connection.
+     */
+    private static final int SERVER_STATEMENT_CACHE_SIZE = 250;
+
+    private DBConfig() {
     }
 
     /**
-     * Gets the port to connect to.
+     * Gets the database endpoints, the preferred first.
+     * They are read from the {@code cineradar.db.endpoints} system property or the {@code CINERADAR_DB_ENDPOINTS}
+     * environment variable, as a comma separated list of {@code host[:port]};
+     * when neither is set the local database is preferred to the remote server.
      *
-     * @return A string with the port number.
+     * @return The configured endpoints.
      */
-    public static String getPort() {
-        return PORT;
+    public static List<DatabaseEndpoint> getEndpoints() {
+        final String configured = Optional.ofNullable(System.getProperty(ENDPOINTS_PROPERTY))
+                .or(() -> Optional.ofNullable(System.getenv(ENDPOINTS_VARIABLE)))
+                .filter(value -> !value.isBlank())
+                .orElse(LOCALHOST + "," + DB_SERVER);
+        return DatabaseEndpoint.parseList(configured, Integer.parseInt(PORT));
     }
 
     /**
@@ -96,4 +145,125 @@ public final class DBConfig {
         return MAIN_CONNECTION_STRING;
     }
 
+    /**
+     * Builds the full connection string for the given endpoint.
+     * Statements are prepared on the server and cached by the driver for the whole life of the connection,
+     * so a query is parsed once per pooled connection rather than once per use.
+     * The timeout only applies to this connection, unlike the global login timeout of the driver manager.
+     *
+     * @param endpoint       The endpoint where the database is located.
+     * @param connectTimeout How long opening the connection may take.
+     * @return The connection string, credentials and driver options included.
+     */
+    public static String getConnectionString(final DatabaseEndpoint endpoint, final Duration connectTimeout) {
+        return MAIN_CONNECTION_STRING
+                + endpoint.host()
+                + ":" + endpoint.port()
+                + "/" + DB_NAME
+                + "?user=" + USERNAME
+                + "&password=" + PASSWORD
+                + "&connectTimeout=" + connectTimeout.toMillis()
+                + "&useServerPrepStmts=true"
+                + "&cachePrepStmts=true"
+                + "&prepStmtCacheSize=" + SERVER_STATEMENT_CACHE_SIZE;
+    }
+
+    /**
+     * Gets how long opening a connection may take before the endpoint is considered unreachable.
+     *
+     * @return The connection timeout.
+     */
+    public static Duration getConnectTimeout() {
+        return CONNECT_TIMEOUT;
+    }
+
+    /**
+     * Gets how long to wait before probing the preferred endpoints again the first time.
+     *
+     * @return The shortest wait between two background probes.
+     */
+    public static Duration getReprobeMinBackoff() {
+        return REPROBE_MIN_BACKOFF;
+    }
+
+    /**
+     * Gets the longest wait between two background probes of the preferred endpoints.
+     *
+     * @return The longest wait between two background probes.
+     */
+    public static Duration getReprobeMaxBackoff() {
+        return REPROBE_MAX_BACKOFF;
+    }
+
+    /**
+     * Gets the maximum number of pooled connections.
+     *
+     * @return The maximum size of the connection pool.
+     */
+    public static int getPoolMaxSize() {
+        return POOL_MAX_SIZE;
+    }
+
+    /**
+     * Gets how long a caller waits for a pooled connection.
+     *
+     * @return The pool wait timeout.
+     */
+    public static Duration getPoolWaitTimeout() {
+        return POOL_WAIT_TIMEOUT;
+    }
+
+    /**
+     * Gets how long an unused pooled connection is kept open.
+     *
+     * @return The pool idle timeout.
+     */
+    public static Duration getPoolIdleTimeout() {
+        return POOL_IDLE_TIMEOUT;
+    }
+
+    /**
+     * Gets how long a pooled connection may live.
+     *
+     * @return The pool maximum connection lifetime.
+     */
+    public static Duration getPoolMaxLifetime() {
+        return POOL_MAX_LIFETIME;
+    }
+
+    /**
+     * Gets how long the cached catalog is trusted.
+     *
+     * @return The catalog cache time to live.
+     */
+    public static Duration getCatalogTtl() {
+        return CATALOG_TTL;
+    }
+
+    /**
+     * Gets how often the recorded views are written to the database.
+     *
+     * @return The interval between two writes of the recorded views.
+     */
+    public static Duration getViewFlushInterval() {
+        return VIEW_FLUSH_INTERVAL;
+    }
+
+    /**
+     * Gets how many recorded views trigger a write before the next scheduled one.
+     *
+     * @return The maximum number of views waiting to be written.
+     */
+    public static int getViewMaxPending() {
+        return VIEW_MAX_PENDING;
+    }
+
+    /**
+     * Gets how many prepared statements a database manager keeps open for reuse.
+     *
+     * @return The size of the statement cache of each manager.
+     */
+    public static int getStatementCacheSize() {
+        return STATEMENT_CACHE_SIZE;
+    }
 }
@@ -1,62 +1,167 @@
 package unibo.cineradar.model.db;
 
 import unibo.cineradar.model.login.LoginType;
+import unibo.cineradar.model.login.StoredAccount;
 import unibo.cineradar.model.multimedia.Genre;
+import unibo.cineradar.model.utente.Account;
+import unibo.cineradar.model.utente.Administrator;
+import unibo.cineradar.model.utente.Registrar;
+import unibo.cineradar.model.utente.User;
 
 import java.sql.Connection;
 import java.sql.Date;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Class used to manage database connections and queries.
+ * Statements are prepared through {@link #prepare(String)}, which keeps them in a small cache keyed by
+ * their SQL text for as long as the manager is open; the result set of the previous query is closed as
+ * soon as a new one is prepared, and every statement is closed together with the manager.
  */
 public class DBManager implements AutoCloseable {
-    private static final int FALLBACK_LOGIN_TIMEOUT = 5;
+    /**
+     * Sets apart, in the statement cache, the statements returning generated keys from the plain ones.
+     */
+    private static final String RETURNING_KEYS = "/* returning keys */ ";
     private final Connection dbConnection;
+    private final boolean pooled;
+    private final StatementCache statements = new StatementCache(DBConfig.getStatementCacheSize());
     private ResultSet resultSet;
     private PreparedStatement preparedStatement;
 
     /**
      * The constructor of the database management class.
+     * The connection is borrowed from the shared {@link ConnectionPool} and given back on close.
      */
     public DBManager() {
         Connection tmpDbConn = null;
         try {
-            DriverManager.setLoginTimeout(1);
-            tmpDbConn = this.getDbConnection();
-        } catch (SQLException ignored1) {
-            try {
-                DriverManager.setLoginTimeout(FALLBACK_LOGIN_TIMEOUT);
-                tmpDbConn = this.getFallBackDbConnection();
-            } catch (SQLException ignored) {
-            }
+            tmpDbConn = ConnectionPool.getInstance().borrow();
+        } catch (SQLException ignored) {
         }
         this.dbConnection = tmpDbConn;
+        this.pooled = true;
     }
 
     /**
-     * Lets the sub-operators get the statement.
+     * Creates a manager working on a connection provided by the caller.
+     * The connection is not part of the pool, so the caller stays responsible for closing it.
      *
-     * @return The current prepared statement.
+     * @param connection The connection to use.
      */
-    protected final PreparedStatement getPreparedStatement() {
-        return preparedStatement;
+    protected DBManager(final Connection connection) {
+        this.dbConnection = Objects.requireNonNull(connection);
+        this.pooled = false;
+    }
+
+    /**
+     * Gets the usage statistics of the shared connection pool.
+     *
+     * @return A snapshot of the pool statistics.
+     */
+    public static PoolStatistics getPoolStatistics() {
+        return ConnectionPool.getInstance().getStatistics();
+    }
+
+    /**
+     * Prepares a statement, reusing the one already prepared for the same SQL if there is one.
+     * The statement becomes the current one and the result set of the previous query is closed.
+     *
+     * @param sql The SQL text of the statement.
+     * @return The statement, with no parameters or batched commands.
+     * @throws SQLException If the statement could not be prepared.
+     */
+    protected final PreparedStatement prepare(final String sql) throws SQLException {
+        return prepare(sql, false);
+    }
+
+    /**
+     * Prepares a statement whose insertions return the keys they generate,
+     * reusing the one already prepared for the same SQL if there is one.
+     * The statement becomes the current one and the result set of the previous query is closed.
+     *
+     * @param sql The SQL text of the insertion.
+     * @return The statement, with no parameters or batched commands.
+     * @throws SQLException If the statement could not be prepared.
+     */
+    protected final PreparedStatement prepareReturningKeys(final String sql) throws SQLException {
+        return prepare(sql, true);
+    }
+
+    /**
+     * Reads the keys generated by the last execution of the current statement,
+     * which must have been prepared to return them.
+     *
+     * @param count How many keys the execution generated, one for each inserted row.
+     * @return The generated keys, in the order the rows were inserted.
+     * @throws SQLException If the keys could not be read, or fewer keys than expected were generated.
+     */
+    protected final int[] getGeneratedKeys(final int count) throws SQLException {
+        try (ResultSet generated = this.preparedStatement.getGeneratedKeys()) {
+            return readKeys(generated, count);
+        }
+    }
+
+    /**
+     * Runs the current statement, an insertion ending with {@code RETURNING} and the key column,
+     * and reads the keys of the inserted rows.
+     * Unlike {@link #getGeneratedKeys(int)}, this returns every key of a multi-row insertion
+     * whatever the driver reports as generated.
+     *
+     * @param count How many rows the insertion adds.
+     * @return The keys of the inserted rows, in the order the rows were inserted.
+     * @throws SQLException If the insertion failed, or fewer keys than expected were returned.
+     */
+    protected final int[] executeReturningKeys(final int count) throws SQLException {
+        try (ResultSet returned = this.preparedStatement.executeQuery()) {
+            return readKeys(returned, count);
+        }
+    }
+
+    private static int[] readKeys(final ResultSet keys, final int count) throws SQLException {
+        final int[] read = new int[count];
+        for (int i = 0; i < count; i++) {
+            if (!keys.next()) {
+                throw new SQLException("Expected " + count + " generated keys, got " + i);
+            }
+            read[i] = keys.getInt(1);
+        }
+        return read;
+    }
+
+    private PreparedStatement prepare(final String sql, final boolean returningKeys) throws SQLException {
+        closeResultSet();
+        final String key = returningKeys ? RETURNING_KEYS + sql : sql;
+        PreparedStatement statement = this.statements.get(key);
+        if (Objects.isNull(statement)) {
+            statement = returningKeys
+                    ? getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)
+                    : getConnection().prepareStatement(sql);
+            this.statements.put(key, statement);
+        } else {
+            statement.clearParameters();
+            statement.clearBatch();
+        }
+        this.preparedStatement = statement;
+        return statement;
     }
 
     /**
-     * Sets the statement.
+     * Lets the sub-operators get the statement.
      *
-     * @param preparedStatement The statement to set.
+     * @return The current prepared statement.
      */
-    protected void setPreparedStatement(final PreparedStatement preparedStatement) {
-        this.preparedStatement = preparedStatement;
+    protected final PreparedStatement getPreparedStatement() {
+        return preparedStatement;
     }
 
     /**
@@ -69,11 +174,14 @@ public class DBManager implements AutoCloseable {
     }
 
     /**
-     * Sets the result set.
+     * Sets the result set, closing the previous one.
      *
      * @param resultSet The result set to set.
      */
     protected void setResultSet(final ResultSet resultSet) {
+        if (this.resultSet != resultSet) {
+            closeResultSet();
+        }
         this.resultSet = resultSet;
     }
 
@@ -87,24 +195,6 @@ public class DBManager implements AutoCloseable {
         return this.dbConnection;
     }
 
-    private Connection getDbConnection() throws SQLException {
-        return DriverManager.getConnection(DBConfig.getMainConnectionString()
-                + DBConfig.getLocalhost()
-                + ":" + DBConfig.getPort()
-                + "/" + DBConfig.getDBName()
-                + "?user=" + DBConfig.getUsername()
-                + "&password=" + DBConfig.getPassword());
-    }
-
-    private Connection getFallBackDbConnection() throws SQLException {
-        return DriverManager.getConnection(DBConfig.getMainConnectionString()
-                + DBConfig.getDbServer() + ":"
-                + DBConfig.getPort() + "/"
-                + DBConfig.getDBName() + "?user="
-                + DBConfig.getUsername() + "&password="
-                + DBConfig.getPassword());
-    }
-
     /**
      * Checks if the application has successfully connected to the database.
      *
@@ -125,9 +215,9 @@ public class DBManager implements AutoCloseable {
         try {
             final String query = "SELECT Password FROM ACCOUNT WHERE Username = ?";
             final Optional<String> result;
-            this.preparedStatement = this.dbConnection.prepareStatement(query);
+            prepare(query);
             this.preparedStatement.setString(1, username);
-            this.resultSet = this.preparedStatement.executeQuery();
+            setResultSet(this.preparedStatement.executeQuery());
             if (resultSet.next()) {
                 result = Optional.of(resultSet.getString(1));
             } else {
@@ -155,9 +245,9 @@ public class DBManager implements AutoCloseable {
                     + "LEFT JOIN utente ON utente.Username = account.Username "
                     + "LEFT JOIN amministratore ON amministratore.username = account.username\n"
                     + "WHERE account.username = ?";
-            this.preparedStatement = this.dbConnection.prepareStatement(query);
+            prepare(query);
             this.preparedStatement.setString(1, username);
-            this.resultSet = this.preparedStatement.executeQuery();
+            setResultSet(this.preparedStatement.executeQuery());
             if (resultSet.next()) {
                 if (!Objects.isNull(resultSet.getString("IS_USR"))) {
                     return LoginType.USER;
@@ -176,6 +266,53 @@ public class DBManager implements AutoCloseable {
         }
     }
 
+    /**
+     * Gets everything needed to log an account in with a single query:
+     * the password hash, the role and the profile details of that role.
+     * As in {@link #getAccountType(String)}, the user role wins over the administrator one,
+     * which wins over the registrar one.
+     *
+     * @param username The username of the account.
+     * @return The stored account, empty if there is no account with that username.
+     */
+    public Optional<StoredAccount> getStoredAccount(final String username) {
+        Objects.requireNonNull(this.dbConnection);
+        try {
+            final String query = "SELECT account.Username, account.Password, account.Nome, account.Cognome, "
+                    + "utente.Username AS IS_USR, utente.TargaPremio, utente.DataNascita, "
+                    + "amministratore.Username AS IS_AMM, amministratore.NumeroTelefono, "
+                    + "registratore.Username AS IS_REG, registratore.EmailCinema, registratore.CodiceCinema "
+                    + "FROM account LEFT JOIN utente ON utente.Username = account.Username "
+                    + "LEFT JOIN amministratore ON amministratore.Username = account.Username "
+                    + "LEFT JOIN registratore ON registratore.Username = account.Username "
+                    + "WHERE account.Username = ?";
+            prepare(query);
+            this.preparedStatement.setString(1, username);
+            setResultSet(this.preparedStatement.executeQuery());
+            if (!resultSet.next()) {
+                return Optional.empty();
+            }
+            final String name = resultSet.getString("Nome");
+            final String lastName = resultSet.getString("Cognome");
+            final Account account;
+            if (!Objects.isNull(resultSet.getString("IS_USR"))) {
+                account = new User(resultSet.getString("Username"), name, lastName,
+                        resultSet.getDate("DataNascita").toLocalDate(), resultSet.getBoolean("TargaPremio"));
+            } else if (!Objects.isNull(resultSet.getString("IS_AMM"))) {
+                account = new Administrator(resultSet.getString("Username"), name, lastName,
+                        resultSet.getString("NumeroTelefono"));
+            } else if (!Objects.isNull(resultSet.getString("IS_REG"))) {
+                account = new Registrar(resultSet.getString("Username"), name, lastName,
+                        resultSet.getString("EmailCinema"), resultSet.getInt("CodiceCinema"));
+            } else {
+                throw new IllegalStateException("No account type found.");
+            }
+            return Optional.of(new StoredAccount(resultSet.getString("Password"), account));
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
     private boolean insertAccount(final String username,
                                   final String password,
                                   final String name,
@@ -183,12 +320,12 @@ public class DBManager implements AutoCloseable {
         Objects.requireNonNull(this.dbConnection);
         try {
             final String query = "INSERT INTO account(Username, Password, Nome, Cognome) VALUES(?, ?, ?, ?)";
-            this.preparedStatement = this.dbConnection.prepareStatement(query);
+            prepare(query);
             this.preparedStatement.setString(1, username);
             this.preparedStatement.setString(2, password);
             this.preparedStatement.setString(3, name);
             this.preparedStatement.setString(4, surname);
-            this.resultSet = this.preparedStatement.executeQuery();
+            setResultSet(this.preparedStatement.executeQuery());
         } catch (SQLException ignored) {
             return false;
         }
@@ -214,11 +351,11 @@ public class DBManager implements AutoCloseable {
         if (insertAccount(username, password, name, surname)) {
             try {
                 final String query = "INSERT INTO utente(Username, TargaPremio, DataNascita) VALUES(?, ?, ?)";
-                this.preparedStatement = this.dbConnection.prepareStatement(query);
+                prepare(query);
                 this.preparedStatement.setString(1, username);
                 this.preparedStatement.setBoolean(2, false);
                 this.preparedStatement.setDate(3, birthDate);
-                this.resultSet = this.preparedStatement.executeQuery();
+                setResultSet(this.preparedStatement.executeQuery());
             } catch (SQLException ignored) {
                 return false;
             }
@@ -237,8 +374,8 @@ public class DBManager implements AutoCloseable {
         Objects.requireNonNull(this.dbConnection);
         try {
             final String query = "SELECT * FROM genere";
-            this.setPreparedStatement(this.dbConnection.prepareStatement(query));
-            this.resultSet = this.preparedStatement.executeQuery();
+            prepare(query);
+            setResultSet(this.preparedStatement.executeQuery());
             final List<Genre> genres = new ArrayList<>();
             while (this.resultSet.next()) {
                 genres.add(new Genre(
@@ -253,28 +390,102 @@ public class DBManager implements AutoCloseable {
     }
 
     /**
-     * Closes every connection with the autoclose.
+     * Starts a transaction, unless the connection is already in one.
+     *
+     * @return True if the transaction has been started, so that the caller has to end it, false otherwise.
+     * @throws SQLException If the transaction could not be started.
+     */
+    protected final boolean beginTransaction() throws SQLException {
+        if (!getConnection().getAutoCommit()) {
+            return false;
+        }
+        getConnection().setAutoCommit(false);
+        return true;
+    }
+
+    /**
+     * Ends a transaction started by {@link #beginTransaction()}, going back to auto-commit.
+     * Nothing is done if the transaction was started by someone else, who stays responsible for ending it.
+     *
+     * @param started True if the transaction was started by the caller.
+     * @param commit  True to commit the transaction, false to roll it back.
+     * @throws SQLException If the transaction could not be ended.
+     */
+    protected final void endTransaction(final boolean started, final boolean commit) throws SQLException {
+        if (!started) {
+            return;
+        }
+        try {
+            if (commit) {
+                getConnection().commit();
+            } else {
+                getConnection().rollback();
+            }
+        } finally {
+            getConnection().setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Closes the result set and every prepared statement and gives the connection back to the pool.
+     * A connection provided by the caller is left open.
      */
     @Override
     public void close() {
         try {
-            if (!Objects.isNull(this.resultSet)) {
+            closeResultSet();
+            this.statements.closeAll();
+            this.preparedStatement = null;
+        } finally {
+            if (this.pooled && this.hasConnectionSucceeded()) {
+                ConnectionPool.getInstance().release(this.dbConnection);
+            }
+        }
+    }
+
+    private void closeResultSet() {
+        if (!Objects.isNull(this.resultSet)) {
+            try {
                 this.resultSet.close();
+            } catch (SQLException ignored) {
             }
-        } catch (SQLException ignored) {
-        } finally {
+            this.resultSet = null;
+        }
+    }
+
+    /**
+     * The statements prepared by a manager, keyed by their SQL text.
+     * The least recently used statement is closed once the cache is full,
+     * which bounds the statements left open by queries built for a variable number of parameters.
+     */
+    private static final class StatementCache extends LinkedHashMap<String, PreparedStatement> {
+        private static final long serialVersionUID = 1L;
+        private static final float LOAD_FACTOR = 0.75f;
+        private final int maxSize;
+
+        StatementCache(final int maxSize) {
+            super(maxSize, LOAD_FACTOR, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+            if (size() > this.maxSize) {
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+
+        void closeAll() {
+            values().forEach(StatementCache::closeQuietly);
+            clear();
+        }
+
+        private static void closeQuietly(final PreparedStatement statement) {
             try {
-                if (!Objects.isNull(this.preparedStatement)) {
-                    this.preparedStatement.close();
-                }
+                statement.close();
             } catch (SQLException ignored) {
-            } finally {
-                if (this.hasConnectionSucceeded()) {
-                    try {
-                        this.dbConnection.close();
-                    } catch (SQLException ignored) {
-                    }
-                }
             }
         }
     }
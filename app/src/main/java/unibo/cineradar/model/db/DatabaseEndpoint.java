@@ -0,0 +1,76 @@
+package unibo.cineradar.model.db;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A database server the application can connect to.
+ *
+ * @param host The host where the database is located.
+ * @param port The port the database listens on.
+ */
+public record DatabaseEndpoint(String host, int port) {
+    private static final int MAX_PORT = 65_535;
+
+    /**
+     * Creates an endpoint.
+     *
+     * @param host The host where the database is located.
+     * @param port The port the database listens on.
+     */
+    public DatabaseEndpoint {
+        Objects.requireNonNull(host);
+        if (host.isBlank()) {
+            throw new IllegalArgumentException("The host of an endpoint cannot be blank.");
+        }
+        if (port <= 0 || port > MAX_PORT) {
+            throw new IllegalArgumentException("Invalid port " + port + " for endpoint " + host);
+        }
+    }
+
+    /**
+     * Reads an endpoint written as {@code host} or {@code host:port}.
+     *
+     * @param text        The text to read.
+     * @param defaultPort The port used when the text has none.
+     * @return The endpoint read.
+     */
+    public static DatabaseEndpoint parse(final String text, final int defaultPort) {
+        final String trimmed = text.trim();
+        final int separator = trimmed.lastIndexOf(':');
+        if (separator < 0) {
+            return new DatabaseEndpoint(trimmed, defaultPort);
+        }
+        try {
+            return new DatabaseEndpoint(trimmed.substring(0, separator),
+                    Integer.parseInt(trimmed.substring(separator + 1)));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid endpoint " + trimmed, ex);
+        }
+    }
+
+    /**
+     * Reads a comma separated list of endpoints, in order of preference.
+     *
+     * @param text        The text to read.
+     * @param defaultPort The port used by the endpoints that have none.
+     * @return The endpoints read.
+     */
+    public static List<DatabaseEndpoint> parseList(final String text, final int defaultPort) {
+        final List<DatabaseEndpoint> endpoints = Arrays.stream(text.split(","))
+                .filter(part -> !part.isBlank())
+                .map(part -> parse(part, defaultPort))
+                .distinct()
+                .toList();
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("No database endpoint configured.");
+        }
+        return endpoints;
+    }
+
+    @Override
+    public String toString() {
+        return this.host + ":" + this.port;
+    }
+}
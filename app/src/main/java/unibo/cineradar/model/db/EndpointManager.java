@@ -0,0 +1,270 @@
+package unibo.cineradar.model.db;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Chooses the database server new connections are opened to.
+ * The configured endpoints are probed at the same time and the most preferred one that answers is remembered,
+ * so connections go straight to it without waiting for the unreachable ones again.
+ * While a less preferred endpoint is in use, the preferred ones are probed again in the background,
+ * waiting longer after every failed attempt; a failure of the endpoint in use starts a new round of probes.
+ */
+public final class EndpointManager {
+    private static final EndpointManager INSTANCE = new EndpointManager(
+            DBConfig.getEndpoints(),
+            EndpointManager::open,
+            DBConfig.getConnectTimeout(),
+            DBConfig.getReprobeMinBackoff(),
+            DBConfig.getReprobeMaxBackoff()
+    );
+
+    private final List<DatabaseEndpoint> endpoints;
+    private final Connector connector;
+    private final Duration connectTimeout;
+    private final Duration minBackoff;
+    private final Duration maxBackoff;
+    private final ExecutorService probes;
+    private final ScheduledExecutorService reprober;
+    private final ReentrantLock probeLock = new ReentrantLock();
+    private volatile DatabaseEndpoint current;
+    private Duration backoff;
+    private boolean reprobeScheduled;
+    private boolean shutdown;
+
+    static {
+        ConnectionPool.getInstance().onShutdown(INSTANCE::shutdown);
+    }
+
+    /**
+     * Creates an endpoint manager.
+     *
+     * @param endpoints      The endpoints to use, the preferred first.
+     * @param connector      The function used to open a connection to an endpoint.
+     * @param connectTimeout How long opening a connection may take before the endpoint is considered unreachable.
+     * @param minBackoff     How long to wait before probing the preferred endpoints again the first time.
+     * @param maxBackoff     The longest wait between two background probes.
+     */
+    public EndpointManager(final List<DatabaseEndpoint> endpoints,
+                           final Connector connector,
+                           final Duration connectTimeout,
+                           final Duration minBackoff,
+                           final Duration maxBackoff) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is needed.");
+        }
+        if (minBackoff.compareTo(maxBackoff) > 0) {
+            throw new IllegalArgumentException("The minimum backoff cannot exceed the maximum one.");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.connector = Objects.requireNonNull(connector);
+        this.connectTimeout = Objects.requireNonNull(connectTimeout);
+        this.minBackoff = minBackoff;
+        this.maxBackoff = maxBackoff;
+        this.backoff = minBackoff;
+        this.probes = Executors.newCachedThreadPool(r -> daemon(r, "cineradar-endpoint-probe"));
+        this.reprober = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "cineradar-endpoint-reprobe"));
+    }
+
+    /**
+     * Gets the endpoint manager shared by the whole application.
+     *
+     * @return The application endpoint manager.
+     */
+    public static EndpointManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Opens a connection to the endpoint known to be reachable, probing every endpoint if there is none.
+     *
+     * @return The opened connection.
+     * @throws SQLException If no endpoint could be reached.
+     */
+    public Connection connect() throws SQLException {
+        final DatabaseEndpoint known = this.current;
+        if (!Objects.isNull(known)) {
+            try {
+                return this.connector.open(known, this.connectTimeout);
+            } catch (SQLException ex) {
+                markDown(known);
+            }
+        }
+        return probeAll();
+    }
+
+    /**
+     * Gets the endpoint new connections are opened to.
+     *
+     * @return The endpoint in use, empty if none is known to be reachable.
+     */
+    public Optional<DatabaseEndpoint> getCurrentEndpoint() {
+        return Optional.ofNullable(this.current);
+    }
+
+    /**
+     * Stops the background probes.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            this.shutdown = true;
+        }
+        this.reprober.shutdownNow();
+        this.probes.shutdownNow();
+    }
+
+    /**
+     * Probes every endpoint at the same time and keeps the connection to the most preferred one that answers.
+     * Only one round runs at a time; callers arriving meanwhile use its outcome.
+     */
+    private Connection probeAll() throws SQLException {
+        this.probeLock.lock();
+        try {
+            final DatabaseEndpoint known = this.current;
+            if (!Objects.isNull(known)) {
+                try {
+                    return this.connector.open(known, this.connectTimeout);
+                } catch (SQLException ex) {
+                    markDown(known);
+                }
+            }
+            final List<Future<Connection>> attempts = this.endpoints.stream()
+                    .map(endpoint -> this.probes.submit(() -> this.connector.open(endpoint, this.connectTimeout)))
+                    .toList();
+            final SQLException failure = new SQLException("No database endpoint is reachable: " + this.endpoints);
+            for (int i = 0; i < attempts.size(); i++) {
+                try {
+                    final Connection connection = attempts.get(i).get();
+                    attempts.subList(i + 1, attempts.size()).forEach(this::closeWhenDone);
+                    use(this.endpoints.get(i));
+                    return connection;
+                } catch (ExecutionException ex) {
+                    failure.addSuppressed(ex.getCause());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    attempts.subList(i, attempts.size()).forEach(this::closeWhenDone);
+                    throw new SQLException("Interrupted while probing the database endpoints.", ex);
+                }
+            }
+            scheduleReprobe();
+            throw failure;
+        } finally {
+            this.probeLock.unlock();
+        }
+    }
+
+    private synchronized void use(final DatabaseEndpoint endpoint) {
+        this.current = endpoint;
+        if (isPreferred(endpoint)) {
+            this.backoff = this.minBackoff;
+        } else {
+            scheduleReprobe();
+        }
+    }
+
+    private synchronized void markDown(final DatabaseEndpoint endpoint) {
+        if (endpoint.equals(this.current)) {
+            this.current = null;
+        }
+    }
+
+    private synchronized void scheduleReprobe() {
+        if (this.reprobeScheduled || this.shutdown) {
+            return;
+        }
+        this.reprobeScheduled = true;
+        this.reprober.schedule(this::reprobe, this.backoff.toMillis(), TimeUnit.MILLISECONDS);
+        final Duration doubled = this.backoff.multipliedBy(2);
+        this.backoff = doubled.compareTo(this.maxBackoff) > 0 ? this.maxBackoff : doubled;
+    }
+
+    /**
+     * Probes the endpoints preferred to the one in use, switching to the first that answers.
+     */
+    private void reprobe() {
+        synchronized (this) {
+            this.reprobeScheduled = false;
+        }
+        final DatabaseEndpoint known = this.current;
+        final int limit = Objects.isNull(known) ? this.endpoints.size() : this.endpoints.indexOf(known);
+        for (final DatabaseEndpoint endpoint : this.endpoints.subList(0, limit)) {
+            try {
+                closeQuietly(this.connector.open(endpoint, this.connectTimeout));
+                use(endpoint);
+                return;
+            } catch (SQLException ignored) {
+            }
+        }
+        if (Objects.isNull(this.current) || !isPreferred(this.current)) {
+            scheduleReprobe();
+        }
+    }
+
+    private boolean isPreferred(final DatabaseEndpoint endpoint) {
+        return this.endpoints.get(0).equals(endpoint);
+    }
+
+    /**
+     * Closes the connection of a probe that is no longer needed, once it completes.
+     */
+    private void closeWhenDone(final Future<Connection> attempt) {
+        try {
+            this.probes.execute(() -> {
+                try {
+                    closeQuietly(attempt.get());
+                } catch (ExecutionException ignored) {
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            attempt.cancel(true);
+        }
+    }
+
+    private static void closeQuietly(final Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static Thread daemon(final Runnable runnable, final String name) {
+        final Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static Connection open(final DatabaseEndpoint endpoint, final Duration timeout) throws SQLException {
+        return DriverManager.getConnection(DBConfig.getConnectionString(endpoint, timeout));
+    }
+
+    /**
+     * Opens connections to an endpoint.
+     */
+    @FunctionalInterface
+    public interface Connector {
+        /**
+         * Opens a connection.
+         *
+         * @param endpoint The endpoint to connect to.
+         * @param timeout  How long opening the connection may take.
+         * @return The opened connection.
+         * @throws SQLException If the connection could not be opened.
+         */
+        Connection open(DatabaseEndpoint endpoint, Duration timeout) throws SQLException;
+    }
+}
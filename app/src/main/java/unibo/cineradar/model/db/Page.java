@@ -0,0 +1,43 @@
+package unibo.cineradar.model.db;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * A page of a catalog.
+ *
+ * @param items The rows of the page.
+ * @param next  The request for the following page, empty if this is the last one.
+ * @param <T>   The type of the rows.
+ */
+public record Page<T>(List<T> items, Optional<PageRequest> next) {
+    /**
+     * Creates a page.
+     *
+     * @param items The rows of the page.
+     * @param next  The request for the following page, empty if this is the last one.
+     */
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Builds a page out of the rows read for a request, which asks for one row more than the page size.
+     *
+     * @param request The request that has been executed.
+     * @param rows    The rows read, at most one more than the page size.
+     * @param cursor  Extracts the position of a row.
+     * @param <T>     The type of the rows.
+     * @return The page, with the request for the following one if the extra row has been read.
+     */
+    public static <T> Page<T> of(final PageRequest request,
+                                 final List<T> rows,
+                                 final Function<T, PageCursor> cursor) {
+        if (rows.size() <= request.size()) {
+            return new Page<>(rows, Optional.empty());
+        }
+        final List<T> items = rows.subList(0, request.size());
+        return new Page<>(items, Optional.of(request.next(cursor.apply(items.get(items.size() - 1)))));
+    }
+}
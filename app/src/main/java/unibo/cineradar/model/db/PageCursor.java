@@ -0,0 +1,10 @@
+package unibo.cineradar.model.db;
+
+/**
+ * The position of a row in a catalog, used to start the following page right after it.
+ *
+ * @param code  The code of the film or series.
+ * @param title The title of the film or series.
+ */
+public record PageCursor(int code, String title) {
+}
@@ -0,0 +1,111 @@
+package unibo.cineradar.model.db;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A request for a page of a catalog, paged by keyset: instead of skipping rows with an offset,
+ * each page starts right after the last row of the previous one, so every page costs the same.
+ * The code is always used as last sort key, so the order is total even when titles repeat.
+ *
+ * @param sort  The order of the catalog.
+ * @param size  The maximum number of rows of the page.
+ * @param after The position after which the page starts, empty for the first page.
+ */
+public record PageRequest(CatalogSort sort, int size, Optional<PageCursor> after) {
+    private static final String CODE_COLUMN = "Codice";
+    private static final String TITLE_COLUMN = "Titolo";
+
+    /**
+     * Creates a page request.
+     *
+     * @param sort  The order of the catalog.
+     * @param size  The maximum number of rows of the page.
+     * @param after The position after which the page starts, empty for the first page.
+     */
+    public PageRequest {
+        Objects.requireNonNull(sort);
+        Objects.requireNonNull(after);
+        if (size <= 0) {
+            throw new IllegalArgumentException("The page size must be positive.");
+        }
+    }
+
+    /**
+     * Creates the request for the first page of a catalog.
+     *
+     * @param sort The order of the catalog.
+     * @param size The maximum number of rows of the page.
+     * @return The request for the first page.
+     */
+    public static PageRequest first(final CatalogSort sort, final int size) {
+        return new PageRequest(sort, size, Optional.empty());
+    }
+
+    /**
+     * Creates the request for the page following the given position.
+     *
+     * @param cursor The position of the last row already read.
+     * @return The request for the next page.
+     */
+    public PageRequest next(final PageCursor cursor) {
+        return new PageRequest(this.sort, this.size, Optional.of(cursor));
+    }
+
+    /**
+     * Builds the condition selecting the rows after the cursor, to be joined with AND to the query conditions.
+     *
+     * @param table The name or alias of the catalog table.
+     * @return The keyset condition, always true for the first page.
+     */
+    public String keysetCondition(final String table) {
+        if (this.after.isEmpty()) {
+            return "TRUE";
+        }
+        final String code = table + "." + CODE_COLUMN;
+        final String comparison = this.sort.isAscending() ? " > ?" : " < ?";
+        if (this.sort.isByTitle()) {
+            final String title = table + "." + TITLE_COLUMN;
+            return "(" + title + comparison + " OR (" + title + " = ? AND " + code + comparison + "))";
+        }
+        return code + comparison;
+    }
+
+    /**
+     * Builds the ORDER BY and LIMIT clauses of the page.
+     * One row more than the page size is requested, to know if another page follows.
+     *
+     * @param table The name or alias of the catalog table.
+     * @return The ordering and limiting clauses.
+     */
+    public String orderAndLimit(final String table) {
+        final String direction = this.sort.isAscending() ? " ASC" : " DESC";
+        final String code = table + "." + CODE_COLUMN + direction;
+        return " ORDER BY "
+                + (this.sort.isByTitle() ? table + "." + TITLE_COLUMN + direction + ", " + code : code)
+                + " LIMIT ?";
+    }
+
+    /**
+     * Binds the parameters of the keyset condition and of the limit,
+     * which must be the last parameters of the query.
+     *
+     * @param statement  The statement whose parameters are to set.
+     * @param firstIndex The index of the first parameter of the keyset condition.
+     * @throws SQLException If the parameters could not be set.
+     */
+    public void bind(final PreparedStatement statement, final int firstIndex) throws SQLException {
+        int index = firstIndex;
+        if (this.after.isPresent()) {
+            final PageCursor cursor = this.after.get();
+            if (this.sort.isByTitle()) {
+                statement.setString(index++, cursor.title());
+                statement.setString(index++, cursor.title());
+            }
+            statement.setInt(index++, cursor.code());
+        }
+        statement.setInt(index, this.size + 1);
+    }
+}
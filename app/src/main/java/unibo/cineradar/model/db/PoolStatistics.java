@@ -0,0 +1,27 @@
+package unibo.cineradar.model.db;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the state of the connection pool.
+ *
+ * @param active      The number of connections currently borrowed.
+ * @param idle        The number of connections waiting in the pool.
+ * @param waiting     The number of threads waiting for a connection.
+ * @param borrows     The total number of successful borrows.
+ * @param timeouts    The total number of borrows that gave up because the pool was exhausted.
+ * @param created     The total number of physical connections opened.
+ * @param destroyed   The total number of physical connections closed.
+ * @param averageWait The average time spent waiting for a connection.
+ * @param maxWait     The longest time spent waiting for a connection.
+ */
+public record PoolStatistics(int active,
+                             int idle,
+                             int waiting,
+                             long borrows,
+                             long timeouts,
+                             long created,
+                             long destroyed,
+                             Duration averageWait,
+                             Duration maxWait) {
+}
@@ -35,7 +35,7 @@ public final class RegistrarOps extends DBManager {
                     + "LEFT JOIN tessera ON cinema.Codice = tessera.CodiceCinema "
                     + "WHERE cinema.Codice = ? "
                     + "GROUP BY cinema.Codice";
-            super.setPreparedStatement(super.getConnection().prepareStatement(query));
+            super.prepare(query);
             super.getPreparedStatement().setInt(1, cinemaCode);
             super.setResultSet(super.getPreparedStatement().executeQuery());
             if (this.getResultSet().next()) {
@@ -69,7 +69,7 @@ public final class RegistrarOps extends DBManager {
         try {
             final String query = "INSERT INTO tessera(CodiceCinema, UsernameUtente, NumeroTessera, DataRinnovo) "
                     + "VALUES (?,?,?,?)";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setInt(1, card.getCinemaCode());
             this.getPreparedStatement().setString(2, card.getUser());
             this.getPreparedStatement().setInt(3, card.getCardNr());
@@ -95,7 +95,7 @@ public final class RegistrarOps extends DBManager {
                     + "FROM registratore JOIN account "
                     + "ON registratore.Username = account.Username "
                     + "WHERE account.Username = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(1, username);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             if (this.getResultSet().next()) {
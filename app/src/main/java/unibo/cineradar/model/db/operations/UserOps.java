@@ -5,9 +5,14 @@ import unibo.cineradar.model.cast.Actor;
 import unibo.cineradar.model.cast.Cast;
 import unibo.cineradar.model.cast.CastMember;
 import unibo.cineradar.model.cast.Director;
+import unibo.cineradar.model.db.CatalogFilter;
 import unibo.cineradar.model.db.DBManager;
+import unibo.cineradar.model.db.Page;
+import unibo.cineradar.model.db.PageCursor;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.multimedia.Genre;
+import unibo.cineradar.model.ranking.ReviewerLeaderboard;
 import unibo.cineradar.model.review.FilmReview;
 import unibo.cineradar.model.review.FullFilmReview;
 import unibo.cineradar.model.review.FullSeriesReview;
@@ -15,20 +20,31 @@ import unibo.cineradar.model.review.Review;
 import unibo.cineradar.model.review.ReviewSection;
 import unibo.cineradar.model.review.Section;
 import unibo.cineradar.model.review.SeriesReview;
+import unibo.cineradar.model.search.ContentType;
+import unibo.cineradar.model.search.SearchDocument;
 import unibo.cineradar.model.serie.Episode;
-import unibo.cineradar.model.serie.Season;
 import unibo.cineradar.model.serie.Serie;
+import unibo.cineradar.model.serie.SeriesCatalogBuilder;
 import unibo.cineradar.model.utente.User;
+import unibo.cineradar.model.views.ViewBatch;
+import unibo.cineradar.model.views.ViewEvent;
 
+import java.sql.Connection;
 import java.sql.Date;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.sql.Types.NULL;
 
@@ -52,6 +68,18 @@ public final class UserOps extends DBManager {
     private static final String USERNAME_NAME = "UsernameUtente";
     private static final String NAME_NAME = "Nome";
     private static final String DESC_NAME = "Descrizione";
+    private static final String FIND_FILM_EVALUATION = """
+            SELECT * FROM valutazione_film
+            WHERE UsernameUtenteValutato = ?
+            AND CodiceRecFilm = ?
+            AND UsernameUtente = ?
+            """;
+    private static final String FIND_SERIES_EVALUATION = """
+            SELECT * FROM valutazione_serie
+            WHERE UsernameUtenteValutato = ?
+            AND CodiceRecSerie = ?
+            AND UsernameUtente = ?
+            """;
     private static final String VOTOC_NAME = "VotoComplessivo";
     private static final String FOUR_VALUES = "VALUES (?,?,?,?)";
     private static final int FIRST_PARAMETER = 1;
@@ -61,6 +89,24 @@ public final class UserOps extends DBManager {
     private static final int FIFTH_PARAMETER = 5;
     private static final String NUM_VIEWS_NAME = "NumeroVisualizzati";
     private static final String GENRE_NAME = "NomeGenere";
+    private static final String DATA_ERROR = "22";
+    private static final String CONSTRAINT_ERROR = "23";
+
+    /**
+     * Creates the user operations on a connection borrowed from the shared pool.
+     */
+    public UserOps() {
+        super();
+    }
+
+    /**
+     * Creates the user operations on a connection provided by the caller.
+     *
+     * @param connection The connection to use, which the caller stays responsible for closing.
+     */
+    public UserOps(final Connection connection) {
+        super(connection);
+    }
 
     /**
      * Retrieves the list of all films.
@@ -69,14 +115,25 @@ public final class UserOps extends DBManager {
      * @return The list of all films.
      */
     public List<Film> getFilms(final int age) {
+        return getFilms(CatalogFilter.forAge(age));
+    }
+
+    /**
+     * Retrieves the films passing a filter.
+     * The filter is resolved by the database, so only the matching films are read.
+     *
+     * @param filter The filter to apply.
+     * @return The films passing the filter.
+     */
+    public List<Film> getFilms(final CatalogFilter filter) {
         Objects.requireNonNull(this.getConnection());
         try {
-            final String filmQuery = "SELECT * FROM film WHERE film.EtaLimite <= ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(filmQuery));
-            this.getPreparedStatement().setInt(FIRST_PARAMETER, age);
+            final String filmQuery = "SELECT * FROM film WHERE " + filter.condition("film");
+            this.prepare(filmQuery);
+            filter.bind(this.getPreparedStatement(), FIRST_PARAMETER);
             this.setResultSet(this.getPreparedStatement().executeQuery());
 
-            final List<Film> films = new ArrayList<>();
+            final Map<Integer, Film> films = new LinkedHashMap<>();
             while (this.getResultSet().next()) {
                 final Film film = new Film(
                         this.getResultSet().getInt(ID_NAME),
@@ -86,33 +143,36 @@ public final class UserOps extends DBManager {
                         this.getResultSet().getInt("Durata"),
                         this.getResultSet().getInt("CodiceCast")
                 );
-                films.add(film);
+                films.put(film.getFilmId(), film);
             }
 
-            for (final Film film : films) {
-                final int filmId = film.getFilmId();
-                final String genreQuery = "SELECT NomeGenere, Descrizione, NumeroVisualizzati FROM categorizzazione_film "
-                        + "JOIN genere ON categorizzazione_film.NomeGenere = genere.Nome WHERE CodiceFilm = ?";
-                this.setPreparedStatement(this.getConnection().prepareStatement(genreQuery));
-                this.getPreparedStatement().setInt(FIRST_PARAMETER, filmId);
+            if (!films.isEmpty()) {
+                final String genreQuery = "SELECT categorizzazione_film.CodiceFilm, NomeGenere, Descrizione, NumeroVisualizzati "
+                        + "FROM categorizzazione_film "
+                        + "JOIN genere ON categorizzazione_film.NomeGenere = genere.Nome "
+                        + "JOIN film ON categorizzazione_film.CodiceFilm = film.Codice "
+                        + "WHERE " + filter.condition("film");
+                this.prepare(genreQuery);
+                filter.bind(this.getPreparedStatement(), FIRST_PARAMETER);
                 this.setResultSet(this.getPreparedStatement().executeQuery());
-
                 while (this.getResultSet().next()) {
-                    film.addGenre(new Genre(
-                            this.getResultSet().getString(GENRE_NAME),
-                            this.getResultSet().getString(DESC_NAME),
-                            this.getResultSet().getInt(NUM_VIEWS_NAME)
-                    ));
+                    final Film film = films.get(this.getResultSet().getInt(ID_FILM_NAME));
+                    if (!Objects.isNull(film)) {
+                        film.addGenre(new Genre(
+                                this.getResultSet().getString(GENRE_NAME),
+                                this.getResultSet().getString(DESC_NAME),
+                                this.getResultSet().getInt(NUM_VIEWS_NAME)
+                        ));
+                    }
                 }
             }
 
-            return List.copyOf(films);
+            return List.copyOf(films.values());
         } catch (SQLException ex) {
             throw new IllegalArgumentException(ex);
         }
     }
 
-
     /**
      * Gets the details of a user given its username.
      *
@@ -126,7 +186,7 @@ public final class UserOps extends DBManager {
                     + "FROM utente JOIN account "
                     + "ON utente.Username = account.Username "
                     + "WHERE account.Username = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(FIRST_PARAMETER, username);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             if (this.getResultSet().next()) {
@@ -152,14 +212,138 @@ public final class UserOps extends DBManager {
      * @return The list of all the series.
      */
     public List<Serie> getSeries(final int age) {
+        return getSeries(CatalogFilter.forAge(age));
+    }
+
+    /**
+     * Retrieves the series passing a filter.
+     * The filter is resolved by the database, so only the matching series are read.
+     *
+     * @param filter The filter to apply.
+     * @return The series passing the filter.
+     */
+    public List<Serie> getSeries(final CatalogFilter filter) {
+        Objects.requireNonNull(this.getConnection());
+        try {
+            final String seriesQuery = "SELECT * FROM serie WHERE " + filter.condition("serie");
+            this.prepare(seriesQuery);
+            filter.bind(this.getPreparedStatement(), FIRST_PARAMETER);
+            this.setResultSet(this.getPreparedStatement().executeQuery());
+
+            final Map<Integer, Serie> series = new LinkedHashMap<>();
+            while (this.getResultSet().next()) {
+                final Serie serie = new Serie(
+                        this.getResultSet().getInt(ID_NAME),
+                        this.getResultSet().getString(TITLE_NAME),
+                        this.getResultSet().getInt(LIMIT_AGE_NAME),
+                        this.getResultSet().getString(PLOT_NAME),
+                        this.getResultSet().getInt("DurataComplessiva"),
+                        this.getResultSet().getInt("NumeroEpisodi")
+                );
+                series.put(serie.getSeriesId(), serie);
+            }
+
+            if (!series.isEmpty()) {
+                final String genreQuery = "SELECT categorizzazione_serie.CodiceSerie, NomeGenere, Descrizione, NumeroVisualizzati "
+                        + "FROM categorizzazione_serie "
+                        + "JOIN genere ON categorizzazione_serie.NomeGenere = genere.Nome "
+                        + "JOIN serie ON categorizzazione_serie.CodiceSerie = serie.Codice "
+                        + "WHERE " + filter.condition("serie");
+                this.prepare(genreQuery);
+                filter.bind(this.getPreparedStatement(), FIRST_PARAMETER);
+                this.setResultSet(this.getPreparedStatement().executeQuery());
+                while (this.getResultSet().next()) {
+                    final Serie serie = series.get(this.getResultSet().getInt(ID_SERIES_NAME));
+                    if (!Objects.isNull(serie)) {
+                        serie.addGenre(new Genre(
+                                this.getResultSet().getString(GENRE_NAME),
+                                this.getResultSet().getString(DESC_NAME),
+                                this.getResultSet().getInt(NUM_VIEWS_NAME)
+                        ));
+                    }
+                }
+            }
+
+            return new ArrayList<>(series.values());
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * Retrieves a page of the films the user can watch.
+     *
+     * @param age     The limited age to be respected.
+     * @param request The page to retrieve.
+     * @return The requested page of films.
+     */
+    public Page<Film> getFilmsPage(final int age, final PageRequest request) {
+        Objects.requireNonNull(this.getConnection());
+        try {
+            final String filmQuery = "SELECT * FROM film WHERE film.EtaLimite <= ? AND "
+                    + request.keysetCondition("film")
+                    + request.orderAndLimit("film");
+            this.prepare(filmQuery);
+            this.getPreparedStatement().setInt(FIRST_PARAMETER, age);
+            request.bind(this.getPreparedStatement(), SECOND_PARAMETER);
+            this.setResultSet(this.getPreparedStatement().executeQuery());
+
+            final Map<Integer, Film> films = new LinkedHashMap<>();
+            while (this.getResultSet().next()) {
+                final Film film = new Film(
+                        this.getResultSet().getInt(ID_NAME),
+                        this.getResultSet().getString(TITLE_NAME),
+                        this.getResultSet().getInt(LIMIT_AGE_NAME),
+                        this.getResultSet().getString(PLOT_NAME),
+                        this.getResultSet().getInt("Durata"),
+                        this.getResultSet().getInt("CodiceCast")
+                );
+                films.put(film.getFilmId(), film);
+            }
+
+            if (!films.isEmpty()) {
+                final String genreQuery = "SELECT CodiceFilm, NomeGenere, Descrizione, NumeroVisualizzati "
+                        + "FROM categorizzazione_film "
+                        + "JOIN genere ON categorizzazione_film.NomeGenere = genere.Nome "
+                        + "WHERE CodiceFilm IN (" + placeholders(films.size()) + ")";
+                this.prepare(genreQuery);
+                bindCodes(films.keySet());
+                this.setResultSet(this.getPreparedStatement().executeQuery());
+                while (this.getResultSet().next()) {
+                    films.get(this.getResultSet().getInt(ID_FILM_NAME)).addGenre(new Genre(
+                            this.getResultSet().getString(GENRE_NAME),
+                            this.getResultSet().getString(DESC_NAME),
+                            this.getResultSet().getInt(NUM_VIEWS_NAME)
+                    ));
+                }
+            }
+
+            return Page.of(request, new ArrayList<>(films.values()),
+                    film -> new PageCursor(film.getFilmId(), film.getTitle()));
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    /**
+     * Retrieves a page of the series the user can watch.
+     *
+     * @param age     The limited age to be respected.
+     * @param request The page to retrieve.
+     * @return The requested page of series.
+     */
+    public Page<Serie> getSeriesPage(final int age, final PageRequest request) {
         Objects.requireNonNull(this.getConnection());
         try {
-            final String seriesQuery = "SELECT * FROM serie WHERE serie.EtaLimite <= ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(seriesQuery));
+            final String seriesQuery = "SELECT * FROM serie WHERE serie.EtaLimite <= ? AND "
+                    + request.keysetCondition("serie")
+                    + request.orderAndLimit("serie");
+            this.prepare(seriesQuery);
             this.getPreparedStatement().setInt(FIRST_PARAMETER, age);
+            request.bind(this.getPreparedStatement(), SECOND_PARAMETER);
             this.setResultSet(this.getPreparedStatement().executeQuery());
 
-            final List<Serie> series = new ArrayList<>();
+            final Map<Integer, Serie> series = new LinkedHashMap<>();
             while (this.getResultSet().next()) {
                 final Serie serie = new Serie(
                         this.getResultSet().getInt(ID_NAME),
@@ -169,18 +353,19 @@ public final class UserOps extends DBManager {
                         this.getResultSet().getInt("DurataComplessiva"),
                         this.getResultSet().getInt("NumeroEpisodi")
                 );
-                series.add(serie);
+                series.put(serie.getSeriesId(), serie);
             }
 
-            final String genreQuery = "SELECT NomeGenere, Descrizione, NumeroVisualizzati, CodiceSerie "
-                    + "FROM categorizzazione_serie "
-                    + "JOIN genere ON categorizzazione_serie.NomeGenere = genere.Nome WHERE CodiceSerie = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(genreQuery));
-            for (final Serie serie : series) {
-                this.getPreparedStatement().setInt(FIRST_PARAMETER, serie.getSeriesId());
+            if (!series.isEmpty()) {
+                final String genreQuery = "SELECT CodiceSerie, NomeGenere, Descrizione, NumeroVisualizzati "
+                        + "FROM categorizzazione_serie "
+                        + "JOIN genere ON categorizzazione_serie.NomeGenere = genere.Nome "
+                        + "WHERE CodiceSerie IN (" + placeholders(series.size()) + ")";
+                this.prepare(genreQuery);
+                bindCodes(series.keySet());
                 this.setResultSet(this.getPreparedStatement().executeQuery());
                 while (this.getResultSet().next()) {
-                    serie.addGenre(new Genre(
+                    series.get(this.getResultSet().getInt(ID_SERIES_NAME)).addGenre(new Genre(
                             this.getResultSet().getString(GENRE_NAME),
                             this.getResultSet().getString(DESC_NAME),
                             this.getResultSet().getInt(NUM_VIEWS_NAME)
@@ -188,7 +373,8 @@ public final class UserOps extends DBManager {
                 }
             }
 
-            return series;
+            return Page.of(request, new ArrayList<>(series.values()),
+                    serie -> new PageCursor(serie.getSeriesId(), serie.getTitle()));
         } catch (SQLException ex) {
             throw new IllegalArgumentException(ex);
         }
@@ -206,7 +392,7 @@ public final class UserOps extends DBManager {
         Objects.requireNonNull(this.getConnection());
         try {
             final String query = "SELECT * FROM film WHERE film.Codice = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setInt(FIRST_PARAMETER, id);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             if (this.getResultSet().next()) {
@@ -220,7 +406,7 @@ public final class UserOps extends DBManager {
                 );
                 final String genreQuery = "SELECT NomeGenere, Descrizione, NumeroVisualizzati FROM categorizzazione_film "
                         + "JOIN genere ON categorizzazione_film.NomeGenere = genere.Nome WHERE CodiceFilm = ?";
-                this.setPreparedStatement(this.getConnection().prepareStatement(genreQuery));
+                this.prepare(genreQuery);
                 this.getPreparedStatement().setInt(FIRST_PARAMETER, id);
                 this.setResultSet(this.getPreparedStatement().executeQuery());
                 while (this.getResultSet().next()) {
@@ -251,7 +437,7 @@ public final class UserOps extends DBManager {
         Objects.requireNonNull(this.getConnection());
         try {
             final String serieQuery = "SELECT * FROM serie WHERE serie.Codice = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(serieQuery));
+            this.prepare(serieQuery);
             this.getPreparedStatement().setInt(FIRST_PARAMETER, id);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             if (this.getResultSet().next()) {
@@ -266,7 +452,7 @@ public final class UserOps extends DBManager {
 
                 final String genreQuery = "SELECT NomeGenere, Descrizione, NumeroVisualizzati FROM categorizzazione_serie "
                         + "JOIN genere ON categorizzazione_serie.NomeGenere = genere.Nome WHERE CodiceSerie = ?";
-                this.setPreparedStatement(this.getConnection().prepareStatement(genreQuery));
+                this.prepare(genreQuery);
                 this.getPreparedStatement().setInt(FIRST_PARAMETER, id);
                 this.setResultSet(this.getPreparedStatement().executeQuery());
 
@@ -336,7 +522,7 @@ public final class UserOps extends DBManager {
                     LEFT JOIN film ON recensioni_totali.CodiceFilm = film.Codice
                     LEFT JOIN serie ON recensioni_totali.CodiceSerie = serie.Codice
                     WHERE UsernameUtente = ?""";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(FIRST_PARAMETER, username);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             final List<Review> reviews = new ArrayList<>();
@@ -387,7 +573,7 @@ public final class UserOps extends DBManager {
                     SELECT recserie.*, serie.Titolo AS TitoloSerie
                     FROM recserie JOIN serie ON recserie.CodiceSerie = serie.Codice
                     WHERE recserie.CodiceSerie = ?""";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setInt(FIRST_PARAMETER, seriesId);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             final List<Review> reviews = new ArrayList<>();
@@ -422,7 +608,7 @@ public final class UserOps extends DBManager {
                     FROM recserie JOIN serie ON recserie.CodiceSerie = serie.Codice
                     WHERE recserie.UsernameUtente = ?
                     AND recserie.CodiceSerie = ?""";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(FIRST_PARAMETER, username);
             this.getPreparedStatement().setInt(SECOND_PARAMETER, seriesId);
             this.setResultSet(this.getPreparedStatement().executeQuery());
@@ -441,7 +627,7 @@ public final class UserOps extends DBManager {
                         WHERE sezionamento_serie.UsernameUtente = ?
                         AND sezionamento_serie.CodiceRecSerie = ?
                         """;
-                this.setPreparedStatement(this.getConnection().prepareStatement(secondQuery));
+                this.prepare(secondQuery);
                 this.getPreparedStatement().setString(FIRST_PARAMETER, username);
                 this.getPreparedStatement().setInt(SECOND_PARAMETER, seriesId);
                 this.setResultSet(this.getPreparedStatement().executeQuery());
@@ -479,7 +665,7 @@ public final class UserOps extends DBManager {
                     FROM recfilm JOIN film ON recfilm.CodiceFilm = film.Codice
                     WHERE recfilm.UsernameUtente = ?
                     AND recfilm.CodiceFilm = ?""";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(FIRST_PARAMETER, username);
             this.getPreparedStatement().setInt(SECOND_PARAMETER, filmId);
             this.setResultSet(this.getPreparedStatement().executeQuery());
@@ -498,7 +684,7 @@ public final class UserOps extends DBManager {
                         WHERE sezionamento_film.UsernameUtente = ?
                         AND sezionamento_film.CodiceRecFilm = ?
                         """;
-                this.setPreparedStatement(this.getConnection().prepareStatement(secondQuery));
+                this.prepare(secondQuery);
                 this.getPreparedStatement().setString(FIRST_PARAMETER, username);
                 this.getPreparedStatement().setInt(SECOND_PARAMETER, filmId);
                 this.setResultSet(this.getPreparedStatement().executeQuery());
@@ -535,7 +721,7 @@ public final class UserOps extends DBManager {
                 FROM recfilm JOIN film ON recfilm.CodiceFilm = film.Codice\s
                 WHERE recfilm.CodiceFilm = ?""";
         try {
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setInt(FIRST_PARAMETER, filmId);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             final List<Review> reviews = new ArrayList<>();
@@ -565,7 +751,7 @@ public final class UserOps extends DBManager {
     public void clearPreferences(final String username) {
         try {
             final String query = "DELETE FROM preferenze WHERE UsernameUtente = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(FIRST_PARAMETER, username);
             this.setResultSet(this.getPreparedStatement().executeQuery());
         } catch (SQLException ex) {
@@ -587,7 +773,7 @@ public final class UserOps extends DBManager {
                             + "FROM preferenze "
                             + "join genere on genere.Nome = preferenze.NomeGenere "
                             + "WHERE preferenze.UsernameUtente = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(FIRST_PARAMETER, username);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             while (this.getResultSet().next()) {
@@ -614,7 +800,7 @@ public final class UserOps extends DBManager {
         try {
             final String query = "INSERT INTO preferenze(NomeGenere, UsernameUtente)"
                     + " VALUES(?, ?)";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(FIRST_PARAMETER, genre);
             this.getPreparedStatement().setString(SECOND_PARAMETER, username);
             this.setResultSet(this.getPreparedStatement().executeQuery());
@@ -640,7 +826,7 @@ public final class UserOps extends DBManager {
         try {
             final String query = "INSERT INTO richiesta(Tipo, Titolo, AnnoUscita, Descrizione, UsernameUtente) "
                     + "VALUES (?, ?, ?, ?, ?)";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setBoolean(FIRST_PARAMETER, type);
             this.getPreparedStatement().setString(SECOND_PARAMETER, title);
             this.getPreparedStatement().setDate(THIRD_PARAMETER, Date.valueOf(releaseYear));
@@ -655,171 +841,190 @@ public final class UserOps extends DBManager {
 
 
     /**
-     * Adds visualization of a film.
+     * Writes a batch of recorded views in a single transaction.
+     * The views already written are read first, locking them, so that only the missing views are inserted
+     * and only the existing ones are deleted; each kind of change is then sent as one JDBC batch.
+     * Every genre counter is updated once with the sum of the changes of its films or series,
+     * so a view that was already written, or a deleted view that did not exist, leaves the counters untouched.
      *
-     * @param filmId   The ID of the film to visualize.
-     * @param userName The username of the visualizer.
-     * @return True if the operation was successful, false otherwise.
+     * @param batch The views to write.
+     * @throws IllegalArgumentException If the database rejected some of the views, such as the view of a film
+     *                                  deleted in the meantime; nothing is written in that case.
+     * @throws IllegalStateException    If the batch could not be written for any other reason;
+     *                                  nothing is written in that case either.
      */
-    public boolean visualizeFilm(final int filmId, final String userName) {
+    public void writeViews(final ViewBatch batch) {
         Objects.requireNonNull(this.getConnection());
         try {
-            final String query = "INSERT INTO visualizzazioni_film(CodiceFilm, UsernameUtente)"
-                    + " VALUES(?, ?)";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
-            this.getPreparedStatement().setInt(FIRST_PARAMETER, filmId);
-            this.getPreparedStatement().setString(SECOND_PARAMETER, userName);
-            this.setResultSet(this.getPreparedStatement().executeQuery());
-            return updateFilmGenreViews(filmId, true);
+            this.getConnection().setAutoCommit(false);
+            try {
+                final Set<ViewEvent.Key> written = new HashSet<>();
+                readWrittenViews(batch.events(), ContentType.FILM, written);
+                readWrittenViews(batch.events(), ContentType.SERIES, written);
+                final List<ViewEvent> added = batch.events().stream()
+                        .filter(event -> event.viewed() && !written.contains(event.key()))
+                        .toList();
+                final List<ViewEvent> removed = batch.events().stream()
+                        .filter(event -> !event.viewed() && written.contains(event.key()))
+                        .toList();
+                batchViewEvents(added, ContentType.FILM,
+                        "INSERT INTO visualizzazioni_film(CodiceFilm, UsernameUtente) VALUES (?, ?)");
+                batchViewEvents(removed, ContentType.FILM,
+                        "DELETE FROM visualizzazioni_film WHERE CodiceFilm = ? AND UsernameUtente = ?");
+                batchViewEvents(added, ContentType.SERIES,
+                        "INSERT INTO visualizzazioni_episodio(CodiceSerie, UsernameUtente, "
+                                + "NumeroStagione, NumeroEpisodio, DataVisualizzazione) VALUES (?, ?, ?, ?, ?)");
+                batchViewEvents(removed, ContentType.SERIES,
+                        "DELETE FROM visualizzazioni_episodio WHERE CodiceSerie = ? AND UsernameUtente = ? "
+                                + "AND NumeroStagione = ? AND NumeroEpisodio = ?");
+                final Map<Integer, Long> filmDeltas = new HashMap<>();
+                final Map<Integer, Long> seriesDeltas = new HashMap<>();
+                added.forEach(event -> (event.type() == ContentType.FILM ? filmDeltas : seriesDeltas)
+                        .merge(event.code(), 1L, Long::sum));
+                removed.forEach(event -> (event.type() == ContentType.FILM ? filmDeltas : seriesDeltas)
+                        .merge(event.code(), -1L, Long::sum));
+                final Map<String, Long> genreDeltas = new HashMap<>();
+                addGenreDeltas(genreDeltas, filmDeltas,
+                        "SELECT CodiceFilm AS Codice, NomeGenere FROM categorizzazione_film WHERE CodiceFilm IN (");
+                addGenreDeltas(genreDeltas, seriesDeltas,
+                        "SELECT CodiceSerie AS Codice, NomeGenere FROM categorizzazione_serie WHERE CodiceSerie IN (");
+                genreDeltas.values().removeIf(delta -> delta == 0);
+                if (!genreDeltas.isEmpty()) {
+                    this.prepare("UPDATE genere SET NumeroVisualizzati = NumeroVisualizzati + ? WHERE Nome = ?");
+                    for (final Map.Entry<String, Long> delta : genreDeltas.entrySet()) {
+                        this.getPreparedStatement().setLong(FIRST_PARAMETER, delta.getValue());
+                        this.getPreparedStatement().setString(SECOND_PARAMETER, delta.getKey());
+                        this.getPreparedStatement().addBatch();
+                    }
+                    this.getPreparedStatement().executeBatch();
+                }
+                this.getConnection().commit();
+            } catch (SQLException ex) {
+                this.getConnection().rollback();
+                throw ex;
+            } finally {
+                this.getConnection().setAutoCommit(true);
+            }
         } catch (SQLException ex) {
-            return false;
+            if (isRejected(ex)) {
+                throw new IllegalArgumentException("The database rejected the views.", ex);
+            }
+            throw new IllegalStateException(ex);
         }
     }
 
-    /**
-     * Adds visualization of an episode.
-     *
-     * @param seriesId  The specific series id.
-     * @param seasonId  The specific season id.
-     * @param episodeId The specific episode id.
-     * @param userName  The username of the visualizer.
-     * @return True if the operation was successful, false otherwise.
+    /*
+     * Tells a constraint or data error, which writing the same views again cannot fix, from a failure to write.
      */
-    public boolean visualizeEpisode(final int seriesId, final int seasonId, final int episodeId, final String userName) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = "INSERT INTO visualizzazioni_episodio(UsernameUtente, "
-                    + "CodiceSerie, "
-                    + "NumeroEpisodio, "
-                    + "NumeroStagione, "
-                    + "DataVisualizzazione) "
-                    + "VALUES(?, ?, ?, ?, ?)";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
-            this.getPreparedStatement().setString(FIRST_PARAMETER, userName);
-            this.getPreparedStatement().setInt(SECOND_PARAMETER, seriesId);
-            this.getPreparedStatement().setInt(THIRD_PARAMETER, episodeId);
-            this.getPreparedStatement().setInt(FOURTH_PARAMETER, seasonId);
-            this.getPreparedStatement().setDate(FIFTH_PARAMETER, new Date(System.currentTimeMillis()));
-            final int affected = this.getPreparedStatement().executeUpdate();
-            return affected >= 0 && updateSeriesGenreViews(seriesId, true);
-        } catch (SQLException ex) {
-            return false;
+    private static boolean isRejected(final SQLException ex) {
+        for (Throwable cause = ex; !Objects.isNull(cause); cause = cause.getCause()) {
+            if (cause instanceof SQLException sql && !Objects.isNull(sql.getSQLState())
+                    && (sql.getSQLState().startsWith(DATA_ERROR) || sql.getSQLState().startsWith(CONSTRAINT_ERROR))) {
+                return true;
+            }
         }
+        return false;
     }
 
-    /**
-     * Removes visualization of a film.
-     *
-     * @param filmId   The ID of the film to visualize.
-     * @param userName The username of the visualizer.
-     * @return True if the operation was successful, false otherwise.
+    /*
+     * Reads which of the films or episodes of the events are already viewed, locking their rows until the commit.
      */
-    public boolean forgetFilm(final int filmId, final String userName) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = "DELETE FROM visualizzazioni_film WHERE CodiceFilm = ? AND UsernameUtente = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
-            this.getPreparedStatement().setInt(FIRST_PARAMETER, filmId);
-            this.getPreparedStatement().setString(SECOND_PARAMETER, userName);
-            this.setResultSet(this.getPreparedStatement().executeQuery());
-            return updateFilmGenreViews(filmId, false);
-        } catch (SQLException ex) {
-            return false;
+    private void readWrittenViews(final List<ViewEvent> events,
+                                  final ContentType type,
+                                  final Set<ViewEvent.Key> written) throws SQLException {
+        final List<ViewEvent> selected = events.stream().filter(event -> event.type() == type).toList();
+        if (selected.isEmpty()) {
+            return;
         }
-    }
-
-    private boolean updateSeriesGenreViews(final int seriesId, final boolean inc) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = "UPDATE genere "
-                    + "SET NumeroVisualizzati = NumeroVisualizzati " + (inc ? "+ 1 " : "- 1 ")
-                    + "WHERE Nome IN ( "
-                    + "SELECT categorizzazione_serie.NomeGenere "
-                    + "FROM categorizzazione_serie "
-                    + "WHERE categorizzazione_serie.CodiceSerie = ? )";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
-            this.getPreparedStatement().setInt(FIRST_PARAMETER, seriesId);
-            return this.getPreparedStatement().executeUpdate() >= 0;
-        } catch (SQLException ex) {
-            return false;
+        final boolean films = type == ContentType.FILM;
+        final String row = films ? "(?, ?)" : "(?, ?, ?, ?)";
+        this.prepare((films
+                ? "SELECT CodiceFilm AS Codice, UsernameUtente, 0 AS NumeroStagione, 0 AS NumeroEpisodio "
+                        + "FROM visualizzazioni_film WHERE (CodiceFilm, UsernameUtente) IN ("
+                : "SELECT CodiceSerie AS Codice, UsernameUtente, NumeroStagione, NumeroEpisodio "
+                        + "FROM visualizzazioni_episodio "
+                        + "WHERE (CodiceSerie, UsernameUtente, NumeroStagione, NumeroEpisodio) IN (")
+                + String.join(", ", Collections.nCopies(selected.size(), row)) + ") FOR UPDATE");
+        int index = FIRST_PARAMETER;
+        for (final ViewEvent event : selected) {
+            index = bindViewKey(event, index);
+        }
+        this.setResultSet(this.getPreparedStatement().executeQuery());
+        while (this.getResultSet().next()) {
+            written.add(new ViewEvent.Key(type,
+                    this.getResultSet().getString("UsernameUtente"),
+                    this.getResultSet().getInt(ID_NAME),
+                    this.getResultSet().getInt("NumeroStagione"),
+                    this.getResultSet().getInt("NumeroEpisodio")));
         }
     }
 
-    private boolean updateFilmGenreViews(final int filmId, final boolean inc) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = "UPDATE genere "
-                    + "SET NumeroVisualizzati = NumeroVisualizzati " + (inc ? "+ 1 " : "- 1 ")
-                    + "WHERE Nome IN ( "
-                    + "SELECT categorizzazione_film.NomeGenere "
-                    + "FROM categorizzazione_film "
-                    + "WHERE categorizzazione_film.CodiceFilm = ? )";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
-            this.getPreparedStatement().setInt(FIRST_PARAMETER, filmId);
-            return this.getPreparedStatement().executeUpdate() >= 0;
-        } catch (SQLException ex) {
-            return false;
+    private void batchViewEvents(final List<ViewEvent> events,
+                                 final ContentType type,
+                                 final String query) throws SQLException {
+        final List<ViewEvent> selected = events.stream().filter(event -> event.type() == type).toList();
+        if (selected.isEmpty()) {
+            return;
+        }
+        this.prepare(query);
+        for (final ViewEvent event : selected) {
+            final int next = bindViewKey(event, FIRST_PARAMETER);
+            if (event.viewed() && type == ContentType.SERIES) {
+                this.getPreparedStatement().setDate(next, Date.valueOf(event.date()));
+            }
+            this.getPreparedStatement().addBatch();
         }
+        this.getPreparedStatement().executeBatch();
     }
 
-    /**
-     * Remove a visualization of an episode.
-     *
-     * @param seriesId  The specific series id.
-     * @param seasonId  The specific season id.
-     * @param episodeId The specific episode id.
-     * @param userName  The username of the visualizer.
-     * @return True if the operation was successful, false otherwise.
-     */
-    public boolean forgetEpisode(final int seriesId, final int seasonId, final int episodeId, final String userName) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = "DELETE FROM visualizzazioni_episodio WHERE "
-                    + "UsernameUtente = ? AND "
-                    + "CodiceSerie = ? AND "
-                    + "NumeroEpisodio = ? AND "
-                    + "NumeroStagione = ?";
-            forgetCommons(seriesId, seasonId, episodeId, userName, query);
-            return updateSeriesGenreViews(seriesId, false);
-        } catch (SQLException ex) {
-            return false;
+    private int bindViewKey(final ViewEvent event, final int first) throws SQLException {
+        int index = first;
+        this.getPreparedStatement().setInt(index++, event.code());
+        this.getPreparedStatement().setString(index++, event.username());
+        if (event.type() == ContentType.SERIES) {
+            this.getPreparedStatement().setInt(index++, event.season());
+            this.getPreparedStatement().setInt(index++, event.episode());
         }
+        return index;
     }
 
-    private void forgetCommons(final int seriesId,
-                               final int seasonId,
-                               final int episodeId,
-                               final String userName,
-                               final String query) throws SQLException {
-        this.setPreparedStatement(this.getConnection().prepareStatement(query));
-        this.getPreparedStatement().setString(FIRST_PARAMETER, userName);
-        this.getPreparedStatement().setInt(SECOND_PARAMETER, seriesId);
-        this.getPreparedStatement().setInt(THIRD_PARAMETER, episodeId);
-        this.getPreparedStatement().setInt(FOURTH_PARAMETER, seasonId);
+    private void addGenreDeltas(final Map<String, Long> genreDeltas,
+                                final Map<Integer, Long> contentDeltas,
+                                final String genreQuery) throws SQLException {
+        contentDeltas.values().removeIf(delta -> delta == 0);
+        if (contentDeltas.isEmpty()) {
+            return;
+        }
+        this.prepare(genreQuery + placeholders(contentDeltas.size()) + ")");
+        bindCodes(contentDeltas.keySet());
         this.setResultSet(this.getPreparedStatement().executeQuery());
+        while (this.getResultSet().next()) {
+            genreDeltas.merge(this.getResultSet().getString(GENRE_NAME),
+                    contentDeltas.get(this.getResultSet().getInt(ID_NAME)), Long::sum);
+        }
     }
 
     /**
-     * Adds a review to the specified series.
+     * Adds a review to the specified series, together with its sections, in a single transaction.
+     * The overall vote is the average of the section scores.
      *
      * @param seriesId The id of the series.
      * @param username The username of the reviewer.
      * @param title    The title of the review (caption).
      * @param desc     Full description of the review.
+     * @param sections The scored sections of the review.
      * @return True if the operation was successful, false otherwise.
      */
     public boolean reviewSeries(final int seriesId,
                                 final String username,
                                 final String title,
-                                final String desc) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = "INSERT INTO recserie(CodiceSerie, UsernameUtente, Titolo, Descrizione) "
-                    + FOUR_VALUES;
-            return commonReviewOperations(seriesId, username, title, desc, query);
-        } catch (SQLException ex) {
-            return false;
-        }
+                                final String desc,
+                                final List<ReviewSection> sections) {
+        final String reviewQuery = "INSERT INTO recserie(CodiceSerie, UsernameUtente, Titolo, Descrizione, VotoComplessivo) "
+                + "VALUES (?,?,?,?,?)";
+        final String sectionQuery = "INSERT INTO sezionamento_serie (NomeSezione, UsernameUtente, CodiceRecSerie, Voto) "
+                + FOUR_VALUES;
+        return submitReview(seriesId, username, title, desc, sections, reviewQuery, sectionQuery);
     }
 
     /**
@@ -841,7 +1046,9 @@ public final class UserOps extends DBManager {
                     + "(UsernameUtenteValutato, CodiceRecSerie, UsernameUtente, Positiva) "
                     + FOUR_VALUES
                     + " ON DUPLICATE KEY UPDATE Positiva = VALUES(Positiva)";
-            return evaluationCommons(recUsername, username, serieRecId, positive, query);
+            final Optional<Boolean> previous =
+                    findMediaCommons(recUsername, username, serieRecId, FIND_SERIES_EVALUATION);
+            return evaluationCommons(recUsername, username, serieRecId, positive, query, previous);
         } catch (SQLException ex) {
             return false;
         }
@@ -862,13 +1069,7 @@ public final class UserOps extends DBManager {
                                                    final int serieRecId) {
         Objects.requireNonNull(this.getConnection());
         try {
-            final String query = """
-                    SELECT * FROM valutazione_serie
-                    WHERE UsernameUtenteValutato = ?
-                    AND CodiceRecSerie = ?
-                    AND UsernameUtente = ?
-                    """;
-            return findMediaCommons(recUsername, username, serieRecId, query);
+            return findMediaCommons(recUsername, username, serieRecId, FIND_SERIES_EVALUATION);
         } catch (SQLException ex) {
             throw new IllegalStateException(ex);
         }
@@ -878,7 +1079,7 @@ public final class UserOps extends DBManager {
                                                final String username,
                                                final int serieRecId,
                                                final String query) throws SQLException {
-        this.setPreparedStatement(this.getConnection().prepareStatement(query));
+        this.prepare(query);
         this.getPreparedStatement().setString(FIRST_PARAMETER, recUsername);
         this.getPreparedStatement().setInt(SECOND_PARAMETER, serieRecId);
         this.getPreparedStatement().setString(THIRD_PARAMETER, username);
@@ -902,16 +1103,13 @@ public final class UserOps extends DBManager {
         Objects.requireNonNull(this.getConnection());
         try {
             final String query = """
-                    DELETE FROM valutazione_serie WHERE\s
-                    UsernameUtenteValutato = ?\s
-                    AND CodiceRecFilm = ?
+                    DELETE FROM valutazione_serie WHERE
+                    UsernameUtenteValutato = ?
+                    AND CodiceRecSerie = ?
                     AND UsernameUtente = ?""";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
-            this.getPreparedStatement().setString(1, usernameOwnerReview);
-            this.getPreparedStatement().setInt(2, idSerie);
-            this.getPreparedStatement().setString(3, username);
-            this.getPreparedStatement().executeUpdate();
-            return true;
+            final Optional<Boolean> previous =
+                    findMediaCommons(usernameOwnerReview, username, idSerie, FIND_SERIES_EVALUATION);
+            return removeEvaluationCommons(usernameOwnerReview, username, idSerie, query, previous);
         } catch (SQLException ex) {
             return false;
         }
@@ -936,7 +1134,9 @@ public final class UserOps extends DBManager {
                     + "(UsernameUtenteValutato, CodiceRecFilm, UsernameUtente, Positiva) "
                     + FOUR_VALUES
                     + " ON DUPLICATE KEY UPDATE Positiva = VALUES(Positiva)";
-            return evaluationCommons(recUsername, username, filmRecId, positive, query);
+            final Optional<Boolean> previous =
+                    findMediaCommons(recUsername, username, filmRecId, FIND_FILM_EVALUATION);
+            return evaluationCommons(recUsername, username, filmRecId, positive, query, previous);
         } catch (SQLException ex) {
             return false;
         }
@@ -946,13 +1146,30 @@ public final class UserOps extends DBManager {
                                       final String username,
                                       final int filmRecId,
                                       final boolean positive,
-                                      final String query) throws SQLException {
-        this.setPreparedStatement(this.getConnection().prepareStatement(query));
+                                      final String query,
+                                      final Optional<Boolean> previous) throws SQLException {
+        this.prepare(query);
         this.getPreparedStatement().setString(1, recUsername);
         this.getPreparedStatement().setInt(2, filmRecId);
         this.getPreparedStatement().setString(3, username);
         this.getPreparedStatement().setBoolean(4, positive);
         this.getPreparedStatement().executeUpdate();
+        ReviewerLeaderboard.getInstance().evaluationChanged(recUsername, previous, Optional.of(positive));
+        return true;
+    }
+
+    private boolean removeEvaluationCommons(final String recUsername,
+                                            final String username,
+                                            final int recId,
+                                            final String query,
+                                            final Optional<Boolean> previous) throws SQLException {
+        this.prepare(query);
+        this.getPreparedStatement().setString(1, recUsername);
+        this.getPreparedStatement().setInt(2, recId);
+        this.getPreparedStatement().setString(3, username);
+        if (this.getPreparedStatement().executeUpdate() > 0) {
+            ReviewerLeaderboard.getInstance().evaluationChanged(recUsername, previous, Optional.empty());
+        }
         return true;
     }
 
@@ -971,13 +1188,7 @@ public final class UserOps extends DBManager {
                                                   final int filmRecId) {
         Objects.requireNonNull(this.getConnection());
         try {
-            final String query = """
-                       SELECT * FROM valutazione_film
-                       WHERE UsernameUtenteValutato = ?
-                       AND CodiceRecFilm = ?
-                       AND UsernameUtente = ?
-                    """;
-            return findMediaCommons(recUsername, username, filmRecId, query);
+            return findMediaCommons(recUsername, username, filmRecId, FIND_FILM_EVALUATION);
         } catch (SQLException ex) {
             throw new IllegalStateException(ex);
         }
@@ -999,110 +1210,86 @@ public final class UserOps extends DBManager {
                     UsernameUtenteValutato = ?
                     AND CodiceRecFilm = ?
                     AND UsernameUtente = ?""";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
-            this.getPreparedStatement().setString(1, usernameOwnerReview);
-            this.getPreparedStatement().setInt(2, idFilm);
-            this.getPreparedStatement().setString(3, username);
-            this.getPreparedStatement().executeUpdate();
-            return true;
+            final Optional<Boolean> previous =
+                    findMediaCommons(usernameOwnerReview, username, idFilm, FIND_FILM_EVALUATION);
+            return removeEvaluationCommons(usernameOwnerReview, username, idFilm, query, previous);
         } catch (SQLException ex) {
             return false;
         }
     }
 
     /**
-     * Adds a review to the specified series.
+     * Adds a review to the specified film, together with its sections, in a single transaction.
+     * The overall vote is the average of the section scores.
      *
      * @param filmId   The id of the film.
      * @param username The username of the reviewer.
      * @param title    The title of the review (caption).
      * @param desc     Full description of the review.
+     * @param sections The scored sections of the review.
      * @return True if the operation was successful, false otherwise.
      */
     public boolean reviewFilm(final int filmId,
                               final String username,
                               final String title,
-                              final String desc) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = "INSERT INTO recfilm(CodiceFilm, UsernameUtente, Titolo, Descrizione) "
-                    + FOUR_VALUES;
-            return commonReviewOperations(filmId, username, title, desc, query);
-        } catch (SQLException ex) {
-            return false;
-        }
-    }
-
-    /**
-     * Calculates the average of the votes from the sections.
-     *
-     * @param filmId   The ID of the movie.
-     * @param username The username of the reviewer.
-     * @return True if the operation succeeds, false otherwise.
-     */
-    public boolean averageSectionFilmVote(final int filmId, final String username) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = """
-                    UPDATE recfilm
-                    SET VotoComplessivo = ( SELECT AVG(Voto) FROM sezionamento_film
-                    WHERE sezionamento_film.UsernameUtente = ?
-                    AND sezionamento_film.CodiceRecFilm = ? )
-                    WHERE recfilm.UsernameUtente = ?
-                    AND recfilm.CodiceFilm = ?""";
-            return averageCommons(filmId, username, query);
-        } catch (SQLException ex) {
-            return false;
-        }
-    }
-
-    private boolean averageCommons(final int id,
-                                   final String username,
-                                   final String query) throws SQLException {
-        this.setPreparedStatement(this.getConnection().prepareStatement(query));
-        this.getPreparedStatement().setString(FIRST_PARAMETER, username);
-        this.getPreparedStatement().setInt(SECOND_PARAMETER, id);
-        this.getPreparedStatement().setString(THIRD_PARAMETER, username);
-        this.getPreparedStatement().setInt(FOURTH_PARAMETER, id);
-        this.setResultSet(this.getPreparedStatement().executeQuery());
-        return true;
+                              final String desc,
+                              final List<ReviewSection> sections) {
+        final String reviewQuery = "INSERT INTO recfilm(CodiceFilm, UsernameUtente, Titolo, Descrizione, VotoComplessivo) "
+                + "VALUES (?,?,?,?,?)";
+        final String sectionQuery = "INSERT INTO sezionamento_film (NomeSezione, UsernameUtente, CodiceRecFilm, Voto) "
+                + FOUR_VALUES;
+        return submitReview(filmId, username, title, desc, sections, reviewQuery, sectionQuery);
     }
 
     /**
-     * Calculates the average of the votes from the sections.
-     *
-     * @param seriesId The ID of the series.
-     * @param username The username of the reviewer.
-     * @return True if the operation succeeds, false otherwise.
+     * Inserts a review and its sections, committing only if every insert succeeds.
+     * The sections are sent as one batch, so the cost does not grow with their number.
      */
-    public boolean averageSectionSeriesVote(final int seriesId, final String username) {
+    private boolean submitReview(final int id,
+                                 final String username,
+                                 final String title,
+                                 final String desc,
+                                 final List<ReviewSection> sections,
+                                 final String reviewQuery,
+                                 final String sectionQuery) {
         Objects.requireNonNull(this.getConnection());
         try {
-            final String query = """
-                    UPDATE recserie
-                    SET VotoComplessivo = ( SELECT AVG(Voto) FROM sezionamento_serie
-                    WHERE sezionamento_serie.UsernameUtente = ?
-                    AND sezionamento_serie.CodiceRecSerie = ? )
-                    WHERE recserie.UsernameUtente = ?
-                    AND recserie.CodiceSerie = ?""";
-            return averageCommons(seriesId, username, query);
+            this.getConnection().setAutoCommit(false);
+            try {
+                this.prepare(reviewQuery);
+                this.getPreparedStatement().setInt(FIRST_PARAMETER, id);
+                this.getPreparedStatement().setString(SECOND_PARAMETER, username);
+                this.getPreparedStatement().setString(THIRD_PARAMETER, title);
+                this.getPreparedStatement().setString(FOURTH_PARAMETER, desc);
+                this.getPreparedStatement().setDouble(FIFTH_PARAMETER, averageScore(sections));
+                this.getPreparedStatement().executeUpdate();
+                if (!sections.isEmpty()) {
+                    this.prepare(sectionQuery);
+                    for (final ReviewSection section : sections) {
+                        this.getPreparedStatement().setString(FIRST_PARAMETER, section.section().name());
+                        this.getPreparedStatement().setString(SECOND_PARAMETER, username);
+                        this.getPreparedStatement().setInt(THIRD_PARAMETER, id);
+                        this.getPreparedStatement().setInt(FOURTH_PARAMETER, section.score());
+                        this.getPreparedStatement().addBatch();
+                    }
+                    this.getPreparedStatement().executeBatch();
+                }
+                this.getConnection().commit();
+                ReviewerLeaderboard.getInstance().reviewAdded(username);
+                return true;
+            } catch (SQLException ex) {
+                this.getConnection().rollback();
+                return false;
+            } finally {
+                this.getConnection().setAutoCommit(true);
+            }
         } catch (SQLException ex) {
             return false;
         }
     }
 
-    private boolean commonReviewOperations(final int id,
-                                           final String username,
-                                           final String title,
-                                           final String desc,
-                                           final String query) throws SQLException {
-        this.setPreparedStatement(this.getConnection().prepareStatement(query));
-        this.getPreparedStatement().setInt(FIRST_PARAMETER, id);
-        this.getPreparedStatement().setString(SECOND_PARAMETER, username);
-        this.getPreparedStatement().setString(THIRD_PARAMETER, title);
-        this.getPreparedStatement().setString(FOURTH_PARAMETER, desc);
-        this.setResultSet(this.getPreparedStatement().executeQuery());
-        return true;
+    private static double averageScore(final List<ReviewSection> sections) {
+        return sections.stream().mapToInt(ReviewSection::score).average().orElse(0);
     }
 
     /**
@@ -1114,7 +1301,7 @@ public final class UserOps extends DBManager {
         Objects.requireNonNull(this.getConnection());
         try {
             final String query = "SELECT * FROM sezione";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             final List<Section> sections = new ArrayList<>();
             while (this.getResultSet().next()) {
@@ -1132,62 +1319,40 @@ public final class UserOps extends DBManager {
 
 
     /**
-     * Sets the sections of the film review.
-     *
-     * @param sectName     The name of the section to review.
-     * @param username     The username of the reviewer.
-     * @param multimediaId The code of the film.
-     * @param score        The score of the section.
-     * @return True if the operation was successful, false otherwise.
-     */
-    public boolean addFilmReviewSections(final String sectName,
-                                         final String username,
-                                         final int multimediaId,
-                                         final int score) {
-        Objects.requireNonNull(this.getConnection());
-        try {
-            final String query = "INSERT INTO sezionamento_film (NomeSezione, UsernameUtente, CodiceRecFilm, Voto) "
-                    + FOUR_VALUES;
-            return commonSectionQueries(sectName, username, multimediaId, score, query);
-        } catch (SQLException ex) {
-            return false;
-        }
-    }
-
-    private boolean commonSectionQueries(final String sectName,
-                                         final String username,
-                                         final int multimediaId,
-                                         final int score,
-                                         final String query) throws SQLException {
-        this.setPreparedStatement(this.getConnection().prepareStatement(query));
-        this.getPreparedStatement().setString(FIRST_PARAMETER, sectName);
-        this.getPreparedStatement().setString(SECOND_PARAMETER, username);
-        this.getPreparedStatement().setInt(THIRD_PARAMETER, multimediaId);
-        this.getPreparedStatement().setInt(FOURTH_PARAMETER, score);
-        this.setResultSet(this.getPreparedStatement().executeQuery());
-        return true;
-    }
-
-    /**
-     * Sets the sections of the series review.
+     * Gets every episode of a series viewed by the user, across all seasons, with a single query.
      *
-     * @param sectName     The name of the section to review.
-     * @param username     The username of the reviewer.
-     * @param multimediaId The code of the review.
-     * @param score        The score of the section.
-     * @return True if the operation was successful, false otherwise.
+     * @param seriesCode The series code.
+     * @param userName   The username.
+     * @return The set of viewed episodes.
      */
-    public boolean addSeriesReviewSection(final String sectName,
-                                          final String username,
-                                          final int multimediaId,
-                                          final int score) {
+    public Set<Episode> getViewedEpisodes(final int seriesCode, final String userName) {
         Objects.requireNonNull(this.getConnection());
         try {
-            final String query = "INSERT INTO sezionamento_serie (NomeSezione, UsernameUtente, CodiceRecSerie, Voto) "
-                    + FOUR_VALUES;
-            return commonSectionQueries(sectName, username, multimediaId, score, query);
+            final String query = """
+                         SELECT episodio.* FROM episodio
+                         JOIN visualizzazioni_episodio
+                             ON visualizzazioni_episodio.NumeroEpisodio = episodio.NumeroEpisodio
+                             AND visualizzazioni_episodio.NumeroStagione = episodio.NumeroStagione
+                             AND visualizzazioni_episodio.CodiceSerie = episodio.CodiceSerie
+                         WHERE visualizzazioni_episodio.UsernameUtente = ?
+                             AND visualizzazioni_episodio.CodiceSerie = ?
+                    """;
+            this.prepare(query);
+            this.getPreparedStatement().setString(FIRST_PARAMETER, userName);
+            this.getPreparedStatement().setInt(SECOND_PARAMETER, seriesCode);
+            this.setResultSet(this.getPreparedStatement().executeQuery());
+            final Set<Episode> eps = new HashSet<>();
+            while (this.getResultSet().next()) {
+                eps.add(new Episode(
+                        this.getResultSet().getInt(ID_SERIES_NAME),
+                        this.getResultSet().getInt("NumeroStagione"),
+                        this.getResultSet().getInt("NumeroEpisodio"),
+                        this.getResultSet().getInt("DurataMin")
+                ));
+            }
+            return eps;
         } catch (SQLException ex) {
-            return false;
+            throw new IllegalStateException(ex);
         }
     }
 
@@ -1214,7 +1379,7 @@ public final class UserOps extends DBManager {
                              AND visualizzazioni_episodio.CodiceSerie = ?
                              AND visualizzazioni_episodio.NumeroStagione = ?
                     """;
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setInt(THIRD_PARAMETER, seasonNumber);
             this.getPreparedStatement().setInt(SECOND_PARAMETER, seriesCode);
             this.getPreparedStatement().setString(FIRST_PARAMETER, userName);
@@ -1222,9 +1387,9 @@ public final class UserOps extends DBManager {
             final List<Episode> eps = new ArrayList<>();
             while (this.getResultSet().next()) {
                 eps.add(
-                        new Episode(this.getResultSet().getInt("NumeroEpisodio"),
-                                this.getResultSet().getInt(ID_SERIES_NAME),
+                        new Episode(this.getResultSet().getInt(ID_SERIES_NAME),
                                 this.getResultSet().getInt("NumeroStagione"),
+                                this.getResultSet().getInt("NumeroEpisodio"),
                                 this.getResultSet().getInt("DurataMin"))
                 );
             }
@@ -1247,7 +1412,7 @@ public final class UserOps extends DBManager {
             final String query = "SELECT UsernameUtente "
                     + "FROM visualizzazioni_film "
                     + "WHERE CodiceFilm = ? AND UsernameUtente = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setInt(FIRST_PARAMETER, filmId);
             this.getPreparedStatement().setString(SECOND_PARAMETER, userName);
             this.setResultSet(this.getPreparedStatement().executeQuery());
@@ -1276,7 +1441,12 @@ public final class UserOps extends DBManager {
                     + "CodiceSerie = ? AND "
                     + "NumeroEpisodio = ? AND "
                     + "NumeroStagione = ?";
-            forgetCommons(seriesId, seasonId, episodeId, userName, query);
+            this.prepare(query);
+            this.getPreparedStatement().setString(FIRST_PARAMETER, userName);
+            this.getPreparedStatement().setInt(SECOND_PARAMETER, seriesId);
+            this.getPreparedStatement().setInt(THIRD_PARAMETER, episodeId);
+            this.getPreparedStatement().setInt(FOURTH_PARAMETER, seasonId);
+            this.setResultSet(this.getPreparedStatement().executeQuery());
             return this.getResultSet().next();
         } catch (SQLException ex) {
             throw new IllegalStateException(ex);
@@ -1312,7 +1482,7 @@ public final class UserOps extends DBManager {
                     JOIN partecipazione_cast ON casting.codice = partecipazione_cast.CodiceCast
                     JOIN membrocast ON partecipazione_cast.CodiceMembro = membrocast.Codice""";
 
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.setResultSet(this.getPreparedStatement().executeQuery());
 
             final Map<Integer, Film> filmsMap = new HashMap<>();
@@ -1342,7 +1512,7 @@ public final class UserOps extends DBManager {
                     FROM categorizzazione_film
                     JOIN genere ON categorizzazione_film.NomeGenere = genere.Nome""";
 
-            this.setPreparedStatement(this.getConnection().prepareStatement(genreQuery));
+            this.prepare(genreQuery);
             this.setResultSet(this.getPreparedStatement().executeQuery());
 
             while (this.getResultSet().next()) {
@@ -1413,54 +1583,38 @@ public final class UserOps extends DBManager {
                     + "JOIN membrocast ON membrocast.Codice = partecipazione_cast.CodiceMembro "
                     + "ORDER BY CodiceSerie";
 
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.setResultSet(this.getPreparedStatement().executeQuery());
-            final Map<Integer, Serie> seriesMap = new HashMap<>();
+            final SeriesCatalogBuilder builder = new SeriesCatalogBuilder();
 
             while (this.getResultSet().next()) {
                 final int seriesCode = this.getResultSet().getInt(ID_SERIES_NAME);
 
-                if (!seriesMap.containsKey(seriesCode)) {
-                    final Serie serie = new Serie(
+                if (!builder.containsSerie(seriesCode)) {
+                    builder.addSerie(new Serie(
                             seriesCode,
                             this.getResultSet().getString("TitoloSerie"),
                             this.getResultSet().getInt("EtaLimiteSerie"),
                             this.getResultSet().getString("TramaSerie"),
                             this.getResultSet().getInt("DurataComplessivaSerie"),
                             this.getResultSet().getInt("NumeroEpisodiSerie")
-                    );
-                    seriesMap.put(seriesCode, serie);
+                    ));
                 }
 
-                final Season season = new Season(
+                final int seasonNumber = this.getResultSet().getInt("NumeroStagione");
+                builder.addSeason(
                         seriesCode,
-                        this.getResultSet().getInt("NumeroStagione"),
+                        seasonNumber,
                         this.getResultSet().getString("SuntoStagione"),
                         this.getResultSet().getInt("CodiceCast")
                 );
-                final Episode episode = new Episode(
+                builder.addEpisode(new Episode(
                         seriesCode,
-                        this.getResultSet().getInt("NumeroStagione"),
+                        seasonNumber,
                         this.getResultSet().getInt("NumeroEpisodio"),
                         this.getResultSet().getInt("DurataEpisodio")
-                );
-                final CastMember castMember = getNewCastMember();
-
-                final Serie serie = seriesMap.get(seriesCode);
-
-                if (!serie.getSeasons().contains(season)) {
-                    season.addEpisode(episode);
-                    season.addCastMember(castMember);
-                    serie.addSeason(season);
-                } else {
-                    final Season existingSeason = serie.getSeason(season);
-                    if (!existingSeason.getEpisodes().contains(episode)) {
-                        existingSeason.addEpisode(episode);
-                    }
-                    if (!existingSeason.getCast().getCastMemberList().contains(castMember)) {
-                        existingSeason.addCastMember(castMember);
-                    }
-                }
+                ));
+                builder.addCastMember(seriesCode, seasonNumber, getNewCastMember());
             }
 
             final String genreQuery = """
@@ -1468,29 +1622,106 @@ public final class UserOps extends DBManager {
                     FROM categorizzazione_serie
                     JOIN genere ON categorizzazione_serie.NomeGenere = genere.Nome""";
 
-            this.setPreparedStatement(this.getConnection().prepareStatement(genreQuery));
+            this.prepare(genreQuery);
             this.setResultSet(this.getPreparedStatement().executeQuery());
 
             while (this.getResultSet().next()) {
-                final int seriesCode = this.getResultSet().getInt(ID_SERIES_NAME);
-                final Genre genre = new Genre(
+                builder.addGenre(this.getResultSet().getInt(ID_SERIES_NAME), new Genre(
                         this.getResultSet().getString(GENRE_NAME),
                         this.getResultSet().getString(DESC_NAME),
                         this.getResultSet().getInt(NUM_VIEWS_NAME)
+                ));
+            }
+
+            return builder.build();
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+
+    /**
+     * Retrieves a single series with its seasons, episodes and season casts.
+     * Seasons, episodes and cast members are fetched with separate queries filtered by series,
+     * so the cost does not depend on the size of the rest of the catalog.
+     *
+     * @param seriesId The ID of the series.
+     * @return An Optional containing the detailed series if found, empty otherwise.
+     * @throws IllegalArgumentException If an SQL exception occurs.
+     */
+    public Optional<Serie> getSeriesDetails(final int seriesId) {
+        Objects.requireNonNull(this.getConnection());
+        final Optional<Serie> header = this.getSerie(seriesId);
+        if (header.isEmpty()) {
+            return header;
+        }
+        try {
+            final SeriesCatalogBuilder builder = new SeriesCatalogBuilder();
+            builder.addSerie(header.get());
+            final String seasonQuery = "SELECT NumeroStagione, Sunto, CodiceCast FROM stagione "
+                    + "WHERE CodiceSerie = ? ORDER BY NumeroStagione";
+            this.prepare(seasonQuery);
+            this.getPreparedStatement().setInt(FIRST_PARAMETER, seriesId);
+            this.setResultSet(this.getPreparedStatement().executeQuery());
+            final Set<Integer> seasons = new HashSet<>();
+            while (this.getResultSet().next()) {
+                final int seasonNumber = this.getResultSet().getInt("NumeroStagione");
+                builder.addSeason(
+                        seriesId,
+                        seasonNumber,
+                        this.getResultSet().getString("Sunto"),
+                        this.getResultSet().getInt("CodiceCast")
                 );
+                seasons.add(seasonNumber);
+            }
+
+            final String episodeQuery = "SELECT NumeroStagione, NumeroEpisodio, DurataMin FROM episodio "
+                    + "WHERE CodiceSerie = ? ORDER BY NumeroStagione, NumeroEpisodio";
+            this.prepare(episodeQuery);
+            this.getPreparedStatement().setInt(FIRST_PARAMETER, seriesId);
+            this.setResultSet(this.getPreparedStatement().executeQuery());
+            while (this.getResultSet().next()) {
+                final int seasonNumber = this.getResultSet().getInt("NumeroStagione");
+                if (seasons.contains(seasonNumber)) {
+                    builder.addEpisode(new Episode(
+                            seriesId,
+                            seasonNumber,
+                            this.getResultSet().getInt("NumeroEpisodio"),
+                            this.getResultSet().getInt("DurataMin")
+                    ));
+                }
+            }
 
-                if (seriesMap.containsKey(seriesCode)) {
-                    seriesMap.get(seriesCode).addGenre(genre);
+            final String castQuery = """
+                    SELECT stagione.NumeroStagione,
+                    membrocast.Codice AS CodiceMembroCast,
+                    membrocast.Nome AS NomeMembroCast,
+                    membrocast.Cognome AS CognomeMembroCast,
+                    membrocast.DataNascita AS DataNascitaMembroCast,
+                    membrocast.DataDebuttoCarriera AS DataDebuttoCarrieraMembroCast,
+                    membrocast.NomeArte AS NomeArteMembroCast,
+                    membrocast.TipoAttore AS TipoAttoreMembroCast,
+                    membrocast.TipoRegista AS TipoRegistaMembroCast
+                    FROM stagione
+                    JOIN partecipazione_cast ON partecipazione_cast.CodiceCast = stagione.CodiceCast
+                    JOIN membrocast ON membrocast.Codice = partecipazione_cast.CodiceMembro
+                    WHERE stagione.CodiceSerie = ?""";
+            this.prepare(castQuery);
+            this.getPreparedStatement().setInt(FIRST_PARAMETER, seriesId);
+            this.setResultSet(this.getPreparedStatement().executeQuery());
+            while (this.getResultSet().next()) {
+                final int seasonNumber = this.getResultSet().getInt("NumeroStagione");
+                if (seasons.contains(seasonNumber)) {
+                    builder.addCastMember(seriesId, seasonNumber, getNewCastMember());
                 }
             }
 
-            return List.copyOf(seriesMap.values());
+            return Optional.of(builder.build().get(0));
         } catch (SQLException ex) {
             throw new IllegalArgumentException(ex);
         }
     }
 
-
     private CastMember getNewCastMember() throws SQLException {
         final int code = this.getResultSet().getInt("CodiceMembroCast");
         final String name = this.getResultSet().getString("NomeMembroCast");
@@ -1530,7 +1761,7 @@ public final class UserOps extends DBManager {
                         genere.NumeroVisualizzati
                     FROM genere
                     ORDER BY genere.NumeroVisualizzati DESC""";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             return getGenreList();
         } catch (SQLException ex) {
@@ -1556,7 +1787,7 @@ public final class UserOps extends DBManager {
                         genere.NumeroVisualizzati
                     FROM genere
                     ORDER BY genere.NumeroVisualizzati DESC""";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             return getGenreList();
         } catch (SQLException ex) {
@@ -1575,4 +1806,91 @@ public final class UserOps extends DBManager {
         }
         return List.copyOf(genres);
     }
+
+    /**
+     * Retrieves the searchable text of the films whose code is in the given range.
+     *
+     * @param fromCode The lowest code to read, inclusive.
+     * @param toCode   The highest code to read, inclusive.
+     * @return The searchable documents of the films.
+     */
+    public List<SearchDocument> getFilmSearchDocuments(final int fromCode, final int toCode) {
+        return getSearchDocuments(ContentType.FILM, "SELECT film.Codice, film.Titolo, film.Trama, film.EtaLimite, "
+                + "membrocast.Nome, membrocast.Cognome, membrocast.NomeArte "
+                + "FROM film "
+                + "LEFT JOIN partecipazione_cast ON partecipazione_cast.CodiceCast = film.CodiceCast "
+                + "LEFT JOIN membrocast ON membrocast.Codice = partecipazione_cast.CodiceMembro "
+                + "WHERE film.Codice BETWEEN ? AND ? "
+                + "ORDER BY film.Codice", fromCode, toCode);
+    }
+
+    /**
+     * Retrieves the searchable text of the series whose code is in the given range,
+     * with the cast members of all their seasons.
+     *
+     * @param fromCode The lowest code to read, inclusive.
+     * @param toCode   The highest code to read, inclusive.
+     * @return The searchable documents of the series.
+     */
+    public List<SearchDocument> getSeriesSearchDocuments(final int fromCode, final int toCode) {
+        return getSearchDocuments(ContentType.SERIES, "SELECT serie.Codice, serie.Titolo, serie.Trama, serie.EtaLimite, "
+                + "membrocast.Nome, membrocast.Cognome, membrocast.NomeArte "
+                + "FROM serie "
+                + "LEFT JOIN stagione ON stagione.CodiceSerie = serie.Codice "
+                + "LEFT JOIN partecipazione_cast ON partecipazione_cast.CodiceCast = stagione.CodiceCast "
+                + "LEFT JOIN membrocast ON membrocast.Codice = partecipazione_cast.CodiceMembro "
+                + "WHERE serie.Codice BETWEEN ? AND ? "
+                + "ORDER BY serie.Codice", fromCode, toCode);
+    }
+
+    private List<SearchDocument> getSearchDocuments(final ContentType type,
+                                                    final String query,
+                                                    final int fromCode,
+                                                    final int toCode) {
+        Objects.requireNonNull(this.getConnection());
+        try {
+            this.prepare(query);
+            this.getPreparedStatement().setInt(FIRST_PARAMETER, fromCode);
+            this.getPreparedStatement().setInt(SECOND_PARAMETER, toCode);
+            this.setResultSet(this.getPreparedStatement().executeQuery());
+            final Map<Integer, SearchDocument> headers = new LinkedHashMap<>();
+            final Map<Integer, Set<String>> castNames = new HashMap<>();
+            while (this.getResultSet().next()) {
+                final int code = this.getResultSet().getInt(ID_NAME);
+                if (!headers.containsKey(code)) {
+                    headers.put(code, new SearchDocument(
+                            type,
+                            code,
+                            this.getResultSet().getString(TITLE_NAME),
+                            this.getResultSet().getString(PLOT_NAME),
+                            this.getResultSet().getInt(LIMIT_AGE_NAME),
+                            List.of()));
+                }
+                final Set<String> names = castNames.computeIfAbsent(code, c -> new LinkedHashSet<>());
+                for (final String column : List.of(NAME_NAME, "Cognome", "NomeArte")) {
+                    final String name = this.getResultSet().getString(column);
+                    if (!Objects.isNull(name)) {
+                        names.add(name);
+                    }
+                }
+            }
+            return headers.values().stream()
+                    .map(doc -> new SearchDocument(type, doc.code(), doc.title(), doc.plot(), doc.ageLimit(),
+                            List.copyOf(castNames.get(doc.code()))))
+                    .toList();
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private static String placeholders(final int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private void bindCodes(final Collection<Integer> codes) throws SQLException {
+        int index = FIRST_PARAMETER;
+        for (final int code : codes) {
+            this.getPreparedStatement().setInt(index++, code);
+        }
+    }
 }
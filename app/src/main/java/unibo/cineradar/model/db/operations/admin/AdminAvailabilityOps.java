@@ -3,7 +3,10 @@ package unibo.cineradar.model.db.operations.admin;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import unibo.cineradar.model.db.DBManager;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Objects;
 
 /**
@@ -18,6 +21,15 @@ import java.util.Objects;
 )
 public final class AdminAvailabilityOps extends DBManager {
 
+    /**
+     * Creates the availability operations on the connection of the admin operations using them.
+     *
+     * @param connection The connection to use, which stays open when these operations are closed.
+     */
+    AdminAvailabilityOps(final Connection connection) {
+        super(connection);
+    }
+
     /**
      * Checks if a specific season of a series is available.
      *
@@ -32,7 +44,7 @@ public final class AdminAvailabilityOps extends DBManager {
                     + "FROM serie, stagione "
                     + "WHERE serie.Codice = stagione.CodiceSerie "
                     + "AND Codice = ? AND NumeroStagione = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, seriesId);
             getPreparedStatement().setInt(2, seasonId);
             setResultSet(getPreparedStatement().executeQuery());
@@ -53,7 +65,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT Codice FROM serie"
                     + " WHERE Codice = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, seriesId);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -73,7 +85,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT Codice FROM film"
                     + " WHERE Codice = ? ";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, filmId);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -93,7 +105,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT Codice FROM membrocast"
                     + " WHERE Codice = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, castMemberId);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -113,7 +125,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT Codice FROM casting"
                     + " WHERE Codice = ? ";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, castId);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -133,7 +145,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT CodiceTemplatePromo FROM promo "
                     + "WHERE CodiceTemplatePromo = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, promoId);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -153,7 +165,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT Codice FROM cinema "
                     + "WHERE Codice = ? ";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, cinemaId);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -174,7 +186,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT * FROM TESSERA "
                     + "WHERE UsernameUtente = ? AND CodiceCinema = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, username);
             getPreparedStatement().setInt(2, cinemaCode);
             setResultSet(getPreparedStatement().executeQuery());
@@ -196,7 +208,7 @@ public final class AdminAvailabilityOps extends DBManager {
             final String query = "SELECT * FROM casting, partecipazione_cast "
                     + "WHERE casting.Codice = partecipazione_cast.CodiceCast "
                     + "AND casting.Codice = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, castId);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -217,7 +229,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT * FROM partecipazione_cast "
                     + "WHERE partecipazione_cast.CodiceCast = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, castId);
             setResultSet(getPreparedStatement().executeQuery());
             return !getResultSet().next();
@@ -239,7 +251,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT * FROM CATEGORIZZAZIONE_FILM "
                     + "WHERE CodiceFilm = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, filmCode);
             setResultSet(getPreparedStatement().executeQuery());
             return !getResultSet().next();
@@ -261,7 +273,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT * FROM CATEGORIZZAZIONE_SERIE "
                     + "WHERE CodiceSerie = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, seriesCode);
             setResultSet(getPreparedStatement().executeQuery());
             return !getResultSet().next();
@@ -281,7 +293,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT * FROM STAGIONE "
                     + "WHERE CodiceSerie = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, seriesCode);
             setResultSet(getPreparedStatement().executeQuery());
             return !getResultSet().next();
@@ -302,7 +314,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT * FROM EPISODIO "
                     + "WHERE CodiceSerie = ? AND NumeroStagione = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, seriesCode);
             getPreparedStatement().setInt(2, seasonNumber);
             setResultSet(getPreparedStatement().executeQuery());
@@ -325,7 +337,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT CodicePromo FROM TEMPLATEPROMO "
                     + "WHERE CodicePromo = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, codePromo);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -347,7 +359,7 @@ public final class AdminAvailabilityOps extends DBManager {
         try {
             final String query = "SELECT CodiceTemplatePromo FROM MULTIPLO "
                     + "WHERE CodiceTemplatePromo = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, genrePromo);
             setResultSet(getPreparedStatement().executeQuery());
             return getResultSet().next();
@@ -355,4 +367,62 @@ public final class AdminAvailabilityOps extends DBManager {
             throw new IllegalArgumentException(ex.getMessage(), ex);
         }
     }
+
+    /**
+     * Reads every key of a kind into a set.
+     *
+     * @param kind The kind of the keys to read.
+     * @param keys The set the keys are added to.
+     */
+    void loadKeys(final AvailabilitySnapshot.Kind kind, final LongHashSet keys) {
+        Objects.requireNonNull(getConnection());
+        try {
+            final String columns = kind.isPaired()
+                    ? kind.getFirstColumn() + ", " + kind.getSecondColumn()
+                    : kind.getFirstColumn();
+            prepare("SELECT DISTINCT " + columns + " FROM " + kind.getTable());
+            setResultSet(getPreparedStatement().executeQuery());
+            while (getResultSet().next()) {
+                keys.add(kind.isPaired()
+                        ? AvailabilitySnapshot.pair(getResultSet().getInt(1), getResultSet().getInt(2))
+                        : getResultSet().getInt(1));
+            }
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Finds which of the given single-column keys exist, with one query.
+     *
+     * @param kind  The kind of the keys, which must not be paired.
+     * @param codes The keys to look for.
+     * @return The keys that exist, sorted and without duplicates.
+     */
+    int[] findExisting(final AvailabilitySnapshot.Kind kind, final int... codes) {
+        Objects.requireNonNull(getConnection());
+        if (codes.length == 0) {
+            return codes;
+        }
+        try {
+            final String query = "SELECT DISTINCT " + kind.getFirstColumn() + " FROM " + kind.getTable()
+                    + " WHERE " + kind.getFirstColumn() + " IN ("
+                    + String.join(", ", Collections.nCopies(codes.length, "?")) + ")";
+            prepare(query);
+            for (int i = 0; i < codes.length; i++) {
+                getPreparedStatement().setInt(i + 1, codes[i]);
+            }
+            setResultSet(getPreparedStatement().executeQuery());
+            int[] found = new int[codes.length];
+            int count = 0;
+            while (getResultSet().next()) {
+                found[count++] = getResultSet().getInt(1);
+            }
+            found = Arrays.copyOf(found, count);
+            Arrays.sort(found);
+            return found;
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+    }
 }
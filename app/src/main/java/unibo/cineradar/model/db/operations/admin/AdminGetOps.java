@@ -9,6 +9,9 @@ import unibo.cineradar.model.cast.Casting;
 import unibo.cineradar.model.cast.Director;
 import unibo.cineradar.model.cinema.Cinema;
 import unibo.cineradar.model.db.DBManager;
+import unibo.cineradar.model.db.Page;
+import unibo.cineradar.model.db.PageCursor;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.multimedia.Genre;
 import unibo.cineradar.model.promo.GenrePromo;
@@ -17,14 +20,17 @@ import unibo.cineradar.model.promo.SinglePromo;
 import unibo.cineradar.model.promo.TemplatePromo;
 import unibo.cineradar.model.request.Request;
 import unibo.cineradar.model.serie.Episode;
-import unibo.cineradar.model.serie.Season;
 import unibo.cineradar.model.serie.Serie;
+import unibo.cineradar.model.serie.SeriesCatalogBuilder;
 import unibo.cineradar.model.utente.Registrar;
 import unibo.cineradar.model.utente.User;
 
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +53,15 @@ public final class AdminGetOps extends DBManager {
     private static final String SURNAME = "Cognome";
     private static final int DEBUT_DATE = 7;
 
+    /**
+     * Creates the read operations on the connection of the admin operations using them.
+     *
+     * @param connection The connection to use, which stays open when these operations are closed.
+     */
+    AdminGetOps(final Connection connection) {
+        super(connection);
+    }
+
     /**
      * Retrieves the list of all requests.
      *
@@ -57,7 +72,7 @@ public final class AdminGetOps extends DBManager {
         try {
             final String query = "SELECT * "
                     + "FROM richiesta";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             final List<Request> requests = new ArrayList<>();
             while (this.getResultSet().next()) {
@@ -87,7 +102,7 @@ public final class AdminGetOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT * FROM film";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<Film> films = new ArrayList<>();
             while (getResultSet().next()) {
@@ -116,7 +131,7 @@ public final class AdminGetOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT * FROM serie";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<Serie> series = new ArrayList<>();
             while (getResultSet().next()) {
@@ -136,12 +151,115 @@ public final class AdminGetOps extends DBManager {
         }
     }
 
+    /**
+     * Retrieves a page of the films.
+     *
+     * @param request The page to retrieve.
+     * @return The requested page of films.
+     */
+    public Page<Film> getFilmsPage(final PageRequest request) {
+        Objects.requireNonNull(getConnection());
+        try {
+            final String query = "SELECT * FROM film WHERE "
+                    + request.keysetCondition("film")
+                    + request.orderAndLimit("film");
+            prepare(query);
+            request.bind(getPreparedStatement(), 1);
+            setResultSet(getPreparedStatement().executeQuery());
+            final List<Film> films = new ArrayList<>();
+            while (getResultSet().next()) {
+                films.add(new Film(
+                        getResultSet().getInt(CODE),
+                        getResultSet().getString("Titolo"),
+                        getResultSet().getInt("EtaLimite"),
+                        getResultSet().getString("Trama"),
+                        getResultSet().getInt("Durata"),
+                        getResultSet().getInt("CodiceCast")
+                ));
+            }
+            return Page.of(request, films, film -> new PageCursor(film.getFilmId(), film.getTitle()));
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Retrieves a page of the series.
+     *
+     * @param request The page to retrieve.
+     * @return The requested page of series.
+     */
+    public Page<Serie> getSeriesPage(final PageRequest request) {
+        Objects.requireNonNull(getConnection());
+        try {
+            final String query = "SELECT * FROM serie WHERE "
+                    + request.keysetCondition("serie")
+                    + request.orderAndLimit("serie");
+            prepare(query);
+            request.bind(getPreparedStatement(), 1);
+            setResultSet(getPreparedStatement().executeQuery());
+            final List<Serie> series = new ArrayList<>();
+            while (getResultSet().next()) {
+                series.add(new Serie(
+                        getResultSet().getInt(CODE),
+                        getResultSet().getString("Titolo"),
+                        getResultSet().getInt("EtaLimite"),
+                        getResultSet().getString("Trama"),
+                        getResultSet().getInt("DurataComplessiva"),
+                        getResultSet().getInt("NumeroEpisodi")
+                ));
+            }
+            return Page.of(request, series, serie -> new PageCursor(serie.getSeriesId(), serie.getTitle()));
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException(ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Retrieves details of films including their cast from the database.
      *
      * @return A map containing films as keys and their corresponding cast as values.
      */
     public Map<Film, Cast> getFilmsDetails() {
+        return getFilmsDetails(List.of(), false);
+    }
+
+    /**
+     * Retrieves details of some films including their cast from the database.
+     *
+     * @param filmCodes The codes of the films to retrieve.
+     * @return A map containing the films that still exist as keys and their corresponding cast as values.
+     */
+    public Map<Film, Cast> getFilmsDetails(final Collection<Integer> filmCodes) {
+        if (filmCodes.isEmpty()) {
+            return Map.of();
+        }
+        return getFilmsDetails(filmCodes, true);
+    }
+
+    /**
+     * Retrieves detailed information about series, including seasons, episodes, and cast members.
+     *
+     * @return A list of Series objects containing detailed information about series, seasons, episodes, and cast members.
+     */
+    public List<Serie> getDetailedSeries() {
+        return getDetailedSeries(List.of(), false);
+    }
+
+    /**
+     * Retrieves detailed information about some series, including seasons, episodes, and cast members.
+     *
+     * @param seriesCodes The codes of the series to retrieve.
+     * @return The series that still exist, ordered by code.
+     */
+    public List<Serie> getDetailedSeries(final Collection<Integer> seriesCodes) {
+        if (seriesCodes.isEmpty()) {
+            return List.of();
+        }
+        return getDetailedSeries(seriesCodes, true);
+    }
+
+    private Map<Film, Cast> getFilmsDetails(final Collection<Integer> filmCodes, final boolean filtered) {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT film.Codice AS CodiceFilm, "
@@ -161,8 +279,10 @@ public final class AdminGetOps extends DBManager {
                     + "FROM film "
                     + "JOIN casting ON film.CodiceCast = casting.Codice "
                     + "JOIN partecipazione_cast ON casting.codice = partecipazione_cast.CodiceCast "
-                    + "JOIN membrocast ON partecipazione_cast.CodiceMembro = membrocast.Codice";
-            setPreparedStatement(getConnection().prepareStatement(query));
+                    + "JOIN membrocast ON partecipazione_cast.CodiceMembro = membrocast.Codice"
+                    + (filtered ? " WHERE film.Codice IN (" + placeholders(filmCodes.size()) + ")" : "");
+            prepare(query);
+            setCodes(1, filmCodes);
             setResultSet(getPreparedStatement().executeQuery());
             final Map<Film, Cast> detailedFilms = new HashMap<>();
             while (getResultSet().next()) {
@@ -192,12 +312,7 @@ public final class AdminGetOps extends DBManager {
         }
     }
 
-    /**
-     * Retrieves detailed information about series, including seasons, episodes, and cast members.
-     *
-     * @return A list of Series objects containing detailed information about series, seasons, episodes, and cast members.
-     */
-    public List<Serie> getDetailedSeries() {
+    private List<Serie> getDetailedSeries(final Collection<Integer> seriesCodes, final boolean filtered) {
         Objects.requireNonNull(this.getConnection());
         try {
             final String query = "SELECT serie.Codice AS CodiceSerie,"
@@ -228,10 +343,12 @@ public final class AdminGetOps extends DBManager {
                     + " AND episodio.CodiceSerie = stagione.CodiceSerie"
                     + " JOIN partecipazione_cast ON partecipazione_cast.CodiceCast = casting.Codice"
                     + " JOIN membrocast ON membrocast.Codice = partecipazione_cast.CodiceMembro"
+                    + (filtered ? " WHERE serie.Codice IN (" + placeholders(seriesCodes.size()) + ")" : "")
                     + " ORDER BY CodiceSerie";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
+            setCodes(1, seriesCodes);
             this.setResultSet(this.getPreparedStatement().executeQuery());
-            return processResultSet();
+            return processResultSet(seriesCodes, filtered);
         } catch (SQLException ex) {
             throw new IllegalArgumentException(ex.getMessage(), ex);
         }
@@ -246,7 +363,7 @@ public final class AdminGetOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT * FROM membrocast";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<CastMember> members = new ArrayList<>();
             while (getResultSet().next()) {
@@ -295,7 +412,7 @@ public final class AdminGetOps extends DBManager {
     public List<Casting> getCasting() {
         final String query = "SELECT * FROM casting";
         try {
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<Casting> casting = new ArrayList<>();
             while (getResultSet().next()) {
@@ -310,84 +427,6 @@ public final class AdminGetOps extends DBManager {
         }
     }
 
-    /**
-     * Retrieves the ID of the last added series from the database.
-     *
-     * @return The ID of the last series added to the system.
-     */
-    public Integer getLastSeriesId() {
-        Objects.requireNonNull(getConnection());
-        try {
-            final String query = "SELECT Codice"
-                    + " FROM serie"
-                    + " ORDER BY Codice DESC"
-                    + " LIMIT 1";
-            setPreparedStatement(getConnection().prepareStatement(query));
-            setResultSet(getPreparedStatement().executeQuery());
-
-            if (getResultSet().next()) {
-                return getResultSet().getInt(1);
-            } else {
-                throw new SQLException("Error retrieving series id");
-            }
-        } catch (SQLException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
-    }
-
-    /**
-     * Retrieves the ID of the last added film from the database.
-     *
-     * @return The ID of the last film added to the system.
-     */
-    public int getLastFilmId() {
-        Objects.requireNonNull(getConnection());
-        try {
-            final String query = "SELECT Codice"
-                    + " FROM film"
-                    + " ORDER BY Codice DESC"
-                    + " LIMIT 1";
-            setPreparedStatement(getConnection().prepareStatement(query));
-            setResultSet(getPreparedStatement().executeQuery());
-
-            if (getResultSet().next()) {
-                return getResultSet().getInt(1);
-            } else {
-                throw new SQLException("Error retrieving film id");
-            }
-        } catch (SQLException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
-    }
-
-    /**
-     * Retrieves the ID of the last added season for a given series from the database.
-     *
-     * @param seriesCode The code identifying the series.
-     * @return The ID of the last season added to the specified series.
-     */
-    public Integer getLastSeasonId(final int seriesCode) {
-        Objects.requireNonNull(getConnection());
-        try {
-            final String query = "SELECT NumeroStagione"
-                    + " FROM stagione"
-                    + " WHERE stagione.CodiceSerie = ?"
-                    + " ORDER BY NumeroStagione DESC "
-                    + "LIMIT 1";
-            setPreparedStatement(getConnection().prepareStatement(query));
-            getPreparedStatement().setInt(1, seriesCode);
-            setResultSet(getPreparedStatement().executeQuery());
-
-            if (getResultSet().next()) {
-                return getResultSet().getInt(1);
-            } else {
-                throw new SQLException("Error retrieving season id");
-            }
-        } catch (SQLException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
-    }
-
     /**
      * Retrieves the list of promotional offers from the database.
      * This method executes an SQL query to fetch promo details by joining the 'templatepromo' and 'promo' tables.
@@ -400,7 +439,7 @@ public final class AdminGetOps extends DBManager {
             final String query = "SELECT templatepromo.CodicePromo, templatepromo.PercentualeSconto, promo.Scadenza"
                     + " FROM templatepromo"
                     + " JOIN promo ON templatepromo.CodicePromo = promo.CodiceTemplatePromo";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<Promo> promos = new ArrayList<>();
             while (getResultSet().next()) {
@@ -427,7 +466,7 @@ public final class AdminGetOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT * FROM tessera";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<CardReg> cards = new ArrayList<>();
             while (getResultSet().next()) {
@@ -459,7 +498,7 @@ public final class AdminGetOps extends DBManager {
                     + "FROM membrocast "
                     + "INNER JOIN partecipazione_cast ON membrocast.Codice = partecipazione_cast.CodiceMembro "
                     + "WHERE partecipazione_cast.CodiceCast = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, castId);
             setResultSet(getPreparedStatement().executeQuery());
             final List<CastMember> castMembers = new ArrayList<>();
@@ -492,7 +531,7 @@ public final class AdminGetOps extends DBManager {
                     + "utente.DataNascita, utente.TargaPremio "
                     + "FROM account, utente "
                     + "WHERE account.Username = utente.Username";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<User> users = new ArrayList<>();
             while (getResultSet().next()) {
@@ -522,7 +561,7 @@ public final class AdminGetOps extends DBManager {
                     + "registratore.EmailCinema, registratore.CodiceCinema "
                     + "FROM account, registratore "
                     + "WHERE account.Username = registratore.Username";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<Registrar> registrars = new ArrayList<>();
             while (getResultSet().next()) {
@@ -550,7 +589,7 @@ public final class AdminGetOps extends DBManager {
         try {
             final String query = "SELECT Codice, Nome, Ind_Via, "
                     + "Ind_CAP, Ind_Civico, Ind_Citta FROM cinema";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<Cinema> cinemas = new ArrayList<>();
             while (getResultSet().next()) {
@@ -570,30 +609,6 @@ public final class AdminGetOps extends DBManager {
         }
     }
 
-    /**
-     * Retrieves the ID of the most recently added cast.
-     *
-     * @return the ID of the last cast.
-     */
-    public Integer getLastCastId() {
-        Objects.requireNonNull(getConnection());
-        try {
-            final String query = "SELECT Codice"
-                    + " FROM casting"
-                    + " ORDER BY Codice DESC "
-                    + "LIMIT 1";
-            setPreparedStatement(getConnection().prepareStatement(query));
-            setResultSet(getPreparedStatement().executeQuery());
-            if (getResultSet().next()) {
-                return getResultSet().getInt(1);
-            } else {
-                throw new SQLException();
-            }
-        } catch (SQLException ex) {
-            throw new IllegalArgumentException("Error retrieving last cast id", ex);
-        }
-    }
-
     /**
      * Retrieves a list of cast member codes that are linked to a specified cast member.
      * This method executes a SQL query to fetch the linked cast members from the database.
@@ -606,7 +621,7 @@ public final class AdminGetOps extends DBManager {
         try {
             final String query = "SELECT CodiceCast FROM partecipazione_cast "
                     + "WHERE partecipazione_cast.CodiceMembro = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, castMemberCode);
             setResultSet(getPreparedStatement().executeQuery());
             final List<Integer> castCodes = new ArrayList<>();
@@ -628,7 +643,7 @@ public final class AdminGetOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT CodiceTemplatePromo FROM MULTIPLO";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<Integer> multipleCodes = new ArrayList<>();
             while (getResultSet().next()) {
@@ -649,7 +664,7 @@ public final class AdminGetOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT * FROM TEMPLATEPROMO";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<TemplatePromo> templatePromos = new ArrayList<>();
             while (getResultSet().next()) {
@@ -673,7 +688,7 @@ public final class AdminGetOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT * FROM SINGOLO";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<SinglePromo> singlePromos = new ArrayList<>();
             while (getResultSet().next()) {
@@ -698,7 +713,7 @@ public final class AdminGetOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "SELECT * FROM PROMO_GENERE";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
             final List<GenrePromo> genrePromos = new ArrayList<>();
             while (getResultSet().next()) {
@@ -713,57 +728,49 @@ public final class AdminGetOps extends DBManager {
         }
     }
 
-    private List<Serie> processResultSet() throws SQLException {
-        final Map<Integer, Serie> seriesMap = new HashMap<>();
-        processSeries(seriesMap);
-        processGenres(seriesMap);
-        return List.copyOf(seriesMap.values());
+    private List<Serie> processResultSet(final Collection<Integer> seriesCodes,
+                                         final boolean filtered) throws SQLException {
+        final SeriesCatalogBuilder builder = new SeriesCatalogBuilder();
+        processSeries(builder);
+        processGenres(builder, seriesCodes, filtered);
+        return builder.build();
     }
 
-    private void processSeries(final Map<Integer, Serie> seriesMap) throws SQLException {
+    private void processSeries(final SeriesCatalogBuilder builder) throws SQLException {
         while (this.getResultSet().next()) {
             final int seriesCode = this.getResultSet().getInt(SERIES_CODE);
-            final Serie serie = seriesMap.computeIfAbsent(seriesCode, k -> {
-                try {
-                    return createSerie(seriesCode);
-                } catch (SQLException e) {
-                    throw new IllegalArgumentException(e.getMessage(), e);
-                }
-            });
-            final Season season = createSeason(seriesCode);
-            final Episode episode = createEpisode(seriesCode);
-            final CastMember castMember = getNewCastMember();
-
-            if (!serie.getSeasons().contains(season)) {
-                season.addEpisode(episode);
-                season.addCastMember(castMember);
-                serie.addSeason(season);
-            } else {
-                final Season existingSeason = serie.getSeason(season);
-                addEpisodeIfNotExists(existingSeason, episode);
-                addCastMemberIfNotExists(existingSeason, castMember);
+            if (!builder.containsSerie(seriesCode)) {
+                builder.addSerie(createSerie(seriesCode));
             }
+            final int seasonNumber = this.getResultSet().getInt("NumeroStagione");
+            builder.addSeason(
+                    seriesCode,
+                    seasonNumber,
+                    this.getResultSet().getString("SuntoStagione"),
+                    this.getResultSet().getInt("CodiceCast"));
+            builder.addEpisode(createEpisode(seriesCode));
+            builder.addCastMember(seriesCode, seasonNumber, getNewCastMember());
         }
     }
 
-    private void processGenres(final Map<Integer, Serie> seriesMap) throws SQLException {
+    private void processGenres(final SeriesCatalogBuilder builder,
+                               final Collection<Integer> seriesCodes,
+                               final boolean filtered) throws SQLException {
         final String genreQuery = """
         SELECT NomeGenere, CodiceSerie, Descrizione, NumeroVisualizzati
         FROM categorizzazione_serie
         JOIN genere ON categorizzazione_serie.NomeGenere = genere.Nome""";
-        this.setPreparedStatement(this.getConnection().prepareStatement(genreQuery));
+        this.prepare(filtered
+                ? genreQuery + " WHERE CodiceSerie IN (" + placeholders(seriesCodes.size()) + ")"
+                : genreQuery);
+        setCodes(1, seriesCodes);
         this.setResultSet(this.getPreparedStatement().executeQuery());
 
         while (this.getResultSet().next()) {
-            final int seriesCode = this.getResultSet().getInt("CodiceSerie");
-            final Genre genre = new Genre(
+            builder.addGenre(this.getResultSet().getInt("CodiceSerie"), new Genre(
                     this.getResultSet().getString("NomeGenere"),
                     this.getResultSet().getString("Descrizione"),
-                    this.getResultSet().getInt("NumeroVisualizzati"));
-
-            if (seriesMap.containsKey(seriesCode)) {
-                seriesMap.get(seriesCode).addGenre(genre);
-            }
+                    this.getResultSet().getInt("NumeroVisualizzati")));
         }
     }
 
@@ -777,14 +784,6 @@ public final class AdminGetOps extends DBManager {
                 this.getResultSet().getInt("NumeroEpisodiSerie"));
     }
 
-    private Season createSeason(final int seriesCode) throws SQLException {
-        return new Season(
-                seriesCode,
-                this.getResultSet().getInt("NumeroStagione"),
-                this.getResultSet().getString("SuntoStagione"),
-                this.getResultSet().getInt("CodiceCast"));
-    }
-
     private Episode createEpisode(final int seriesCode) throws SQLException {
         return new Episode(
                 seriesCode,
@@ -793,18 +792,6 @@ public final class AdminGetOps extends DBManager {
                 this.getResultSet().getInt("DurataEpisodio"));
     }
 
-    private void addEpisodeIfNotExists(final Season season, final Episode episode) {
-        if (!season.getEpisodes().contains(episode)) {
-            season.addEpisode(episode);
-        }
-    }
-
-    private void addCastMemberIfNotExists(final Season season, final CastMember castMember) {
-        if (!season.getCast().getCastMemberList().contains(castMember)) {
-            season.addCastMember(castMember);
-        }
-    }
-
     private CastMember getNewCastMember() throws SQLException {
         final int memberCastCode =
                 this.getResultSet().getInt("CodiceMembroCast");
@@ -847,4 +834,15 @@ public final class AdminGetOps extends DBManager {
         }
         throw new IllegalArgumentException("Unable to determine member type");
     }
+
+    private void setCodes(final int firstIndex, final Collection<Integer> codes) throws SQLException {
+        int index = firstIndex;
+        for (final int code : codes) {
+            this.getPreparedStatement().setInt(index++, code);
+        }
+    }
+
+    private static String placeholders(final int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
 }
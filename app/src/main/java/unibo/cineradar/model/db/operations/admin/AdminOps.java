@@ -8,16 +8,23 @@ import unibo.cineradar.model.cast.CastMember;
 import unibo.cineradar.model.cast.Casting;
 import unibo.cineradar.model.cast.Director;
 import unibo.cineradar.model.cinema.Cinema;
+import unibo.cineradar.model.db.CatalogCache;
 import unibo.cineradar.model.db.DBManager;
+import unibo.cineradar.model.db.Page;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.promo.GenrePromo;
 import unibo.cineradar.model.promo.Promo;
+import unibo.cineradar.model.promo.PromoDistribution;
 import unibo.cineradar.model.promo.SinglePromo;
 import unibo.cineradar.model.promo.TemplatePromo;
-import unibo.cineradar.model.ranking.CastRanking;
-import unibo.cineradar.model.ranking.EvalType;
-import unibo.cineradar.model.ranking.UserRanking;
+import unibo.cineradar.model.ranking.RankingEntry;
+import unibo.cineradar.model.ranking.RankingQuery;
+import unibo.cineradar.model.ranking.ReviewerLeaderboard;
+import unibo.cineradar.model.ranking.ReviewerStanding;
 import unibo.cineradar.model.request.Request;
+import unibo.cineradar.model.search.CatalogSearch;
+import unibo.cineradar.model.search.ContentType;
 import unibo.cineradar.model.serie.Episode;
 import unibo.cineradar.model.serie.Season;
 import unibo.cineradar.model.serie.Serie;
@@ -25,15 +32,22 @@ import unibo.cineradar.model.utente.Administrator;
 import unibo.cineradar.model.utente.Registrar;
 import unibo.cineradar.model.utente.User;
 
+import java.sql.Connection;
 import java.sql.Date;
-import java.sql.ResultSet;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
 
 /**
  * Database operations that the Admin can perform.
@@ -47,8 +61,122 @@ import java.util.Optional;
 public final class AdminOps extends DBManager {
 
     private static final int PARAMETER_INDEX = 5;
+    private static final int CONTENT_COLUMNS = 5;
     private static final int DEBUT_DATE = 6;
     private static final int STAGE_NAME = 7;
+    private static final LocalDate FIRST_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate LAST_DATE = LocalDate.of(9999, 12, 31);
+
+    private final AvailabilitySnapshot snapshot;
+    private final CommitHooks commitHooks;
+    private AdminGetOps reads;
+    private AdminAvailabilityOps checks;
+
+    /**
+     * Creates the admin operations on a connection borrowed from the shared pool.
+     * Reads and availability checks run on the same connection as the writes.
+     */
+    public AdminOps() {
+        super();
+        this.snapshot = AvailabilitySnapshot.getInstance();
+        this.commitHooks = new CommitHooks();
+    }
+
+    /**
+     * Creates the admin operations on a connection provided by the caller.
+     *
+     * @param connection The connection to use, which the caller stays responsible for closing.
+     */
+    public AdminOps(final Connection connection) {
+        this(connection, AvailabilitySnapshot.getInstance());
+    }
+
+    /**
+     * Creates the admin operations on a connection provided by the caller, checking keys against a given snapshot.
+     *
+     * @param connection The connection to use, which the caller stays responsible for closing.
+     * @param snapshot   The snapshot of the keys, kept in sync by these operations.
+     */
+    AdminOps(final Connection connection, final AvailabilitySnapshot snapshot) {
+        this(connection, snapshot, new CommitHooks());
+    }
+
+    private AdminOps(final Connection connection, final AvailabilitySnapshot snapshot, final CommitHooks commitHooks) {
+        super(connection);
+        this.snapshot = Objects.requireNonNull(snapshot);
+        this.commitHooks = commitHooks;
+    }
+
+    /**
+     * Creates other admin operations working on the same connection as these ones,
+     * and inside their transaction if one is running.
+     * Closing them leaves the connection open.
+     *
+     * @return The admin operations on the same connection.
+     */
+    public AdminOps onSameConnection() {
+        return new AdminOps(getConnection(), this.snapshot, this.commitHooks);
+    }
+
+    /**
+     * Runs some operations as a single unit of work, in one transaction on the connection of these operations.
+     * The transaction is committed if the work completes and rolled back if it throws.
+     * If a transaction is already running, the work simply becomes part of it.
+     * The updates of the process-wide caches made by the work, here or on {@link #onSameConnection()},
+     * are held back until the transaction commits, and dropped if it is rolled back.
+     *
+     * @param work The work to run, given these operations.
+     * @param <T>  The type of the result of the work.
+     * @return The result of the work.
+     */
+    public <T> T inTransaction(final Function<? super AdminOps, ? extends T> work) {
+        final boolean started;
+        try {
+            started = beginTransaction();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        }
+        if (started) {
+            this.commitHooks.open = true;
+        }
+        boolean completed = false;
+        try {
+            final T result = work.apply(this);
+            completed = true;
+            return result;
+        } finally {
+            boolean committed = false;
+            try {
+                endTransaction(started, completed);
+                committed = completed;
+            } catch (SQLException ex) {
+                if (completed) {
+                    throw new IllegalStateException(ex);
+                }
+            } finally {
+                if (started) {
+                    endUnitOfWork(committed);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes the read and availability operations together with these ones.
+     */
+    @Override
+    public void close() {
+        try {
+            if (!Objects.isNull(this.reads)) {
+                this.reads.close();
+            }
+            if (!Objects.isNull(this.checks)) {
+                this.checks.close();
+            }
+        } finally {
+            super.close();
+        }
+    }
 
     /**
      * Gets the details of an administrator given its username.
@@ -63,7 +191,7 @@ public final class AdminOps extends DBManager {
                     + "FROM amministratore JOIN account "
                     + "ON amministratore.Username = account.Username "
                     + "WHERE account.Username = ?";
-            this.setPreparedStatement(this.getConnection().prepareStatement(query));
+            this.prepare(query);
             this.getPreparedStatement().setString(1, username);
             this.setResultSet(this.getPreparedStatement().executeQuery());
             if (this.getResultSet().next()) {
@@ -87,11 +215,7 @@ public final class AdminOps extends DBManager {
      * @return The list of all requests.
      */
     public List<Request> getRequests() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getRequests();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getRequests();
     }
 
     /**
@@ -100,11 +224,7 @@ public final class AdminOps extends DBManager {
      * @return The list of all films.
      */
     public List<Film> getFilms() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getFilms();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getFilms();
     }
 
     /**
@@ -113,11 +233,27 @@ public final class AdminOps extends DBManager {
      * @return The list of all the series.
      */
     public List<Serie> getSeries() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getSeries();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getSeries();
+    }
+
+    /**
+     * Retrieves a page of the films.
+     *
+     * @param request The page to retrieve.
+     * @return The requested page of films.
+     */
+    public Page<Film> getFilmsPage(final PageRequest request) {
+        return reads().getFilmsPage(request);
+    }
+
+    /**
+     * Retrieves a page of the series.
+     *
+     * @param request The page to retrieve.
+     * @return The requested page of series.
+     */
+    public Page<Serie> getSeriesPage(final PageRequest request) {
+        return reads().getSeriesPage(request);
     }
 
     /**
@@ -130,9 +266,13 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "DELETE FROM serie WHERE Codice = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, code);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.SERIES, code);
+            seriesRemoved(code);
+            afterCommit(() -> CatalogSearch.getInstance().contentRemoved(ContentType.SERIES, code));
+            afterCommit(() -> ReviewerLeaderboard.getInstance().invalidate());
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting series: " + ex.getMessage(), ex);
@@ -149,9 +289,14 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "DELETE FROM film WHERE Codice = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, code);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.FILMS, code);
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.FILM, code));
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, code));
+            afterCommit(() -> CatalogSearch.getInstance().contentRemoved(ContentType.FILM, code));
+            afterCommit(() -> ReviewerLeaderboard.getInstance().invalidate());
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting film: " + ex.getMessage(), ex);
@@ -162,20 +307,44 @@ public final class AdminOps extends DBManager {
      * Adds a new film to the database.
      *
      * @param film The film object to add to the database.
+     * @return The code the database generated for the film.
+     */
+    public int addFilm(final Film film) {
+        return addFilms(List.of(film))[0];
+    }
+
+    /**
+     * Adds new films to the database with a single insertion.
+     *
+     * @param films The films to add to the database.
+     * @return The codes the database generated for the films, in the same order.
      */
-    public void addFilm(final Film film) {
+    public int[] addFilms(final List<Film> films) {
         Objects.requireNonNull(getConnection());
+        if (films.isEmpty()) {
+            return new int[0];
+        }
         try {
             final String query = "INSERT "
                     + "INTO film (Titolo, EtaLimite, Trama, Durata, CodiceCast) "
-                    + "VALUES (?, ?, ?, ?, ?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
-            getPreparedStatement().setString(1, film.getTitle());
-            getPreparedStatement().setInt(2, film.getAgeLimit());
-            getPreparedStatement().setString(3, film.getPlot());
-            getPreparedStatement().setInt(4, film.getDuration());
-            getPreparedStatement().setInt(PARAMETER_INDEX, film.getCastId());
-            getPreparedStatement().executeUpdate();
+                    + "VALUES " + valueRows(films.size(), CONTENT_COLUMNS) + " "
+                    + "RETURNING Codice";
+            prepare(query);
+            int index = 1;
+            for (final Film film : films) {
+                getPreparedStatement().setString(index++, film.getTitle());
+                getPreparedStatement().setInt(index++, film.getAgeLimit());
+                getPreparedStatement().setString(index++, film.getPlot());
+                getPreparedStatement().setInt(index++, film.getDuration());
+                getPreparedStatement().setInt(index++, film.getCastId());
+            }
+            final int[] filmIds = executeReturningKeys(films.size());
+            for (final int filmId : filmIds) {
+                catalogChanged(CatalogCache.Section.FILMS, filmId);
+                remember(AvailabilitySnapshot.Kind.FILM, filmId);
+                afterCommit(() -> CatalogSearch.getInstance().contentChanged(ContentType.FILM, filmId));
+            }
+            return filmIds;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding film: " + ex.getMessage(), ex);
         }
@@ -185,20 +354,44 @@ public final class AdminOps extends DBManager {
      * Adds a new series to the database.
      *
      * @param serie The series object to add to the database.
+     * @return The code the database generated for the series.
+     */
+    public int addSeries(final Serie serie) {
+        return addSeries(List.of(serie))[0];
+    }
+
+    /**
+     * Adds new series to the database with a single insertion.
+     *
+     * @param series The series to add to the database.
+     * @return The codes the database generated for the series, in the same order.
      */
-    public void addSeries(final Serie serie) {
+    public int[] addSeries(final List<Serie> series) {
         Objects.requireNonNull(getConnection());
+        if (series.isEmpty()) {
+            return new int[0];
+        }
         try {
             final String query = "INSERT "
                     + "INTO serie (Titolo, EtaLimite, Trama, DurataComplessiva, NumeroEpisodi) "
-                    + "VALUES (?, ?, ?, ?, ?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
-            getPreparedStatement().setString(1, serie.getTitle());
-            getPreparedStatement().setInt(2, serie.getAgeLimit());
-            getPreparedStatement().setString(3, serie.getPlot());
-            getPreparedStatement().setInt(4, serie.getDuration());
-            getPreparedStatement().setInt(PARAMETER_INDEX, serie.getNumberOfEpisodes());
-            getPreparedStatement().executeUpdate();
+                    + "VALUES " + valueRows(series.size(), CONTENT_COLUMNS) + " "
+                    + "RETURNING Codice";
+            prepare(query);
+            int index = 1;
+            for (final Serie serie : series) {
+                getPreparedStatement().setString(index++, serie.getTitle());
+                getPreparedStatement().setInt(index++, serie.getAgeLimit());
+                getPreparedStatement().setString(index++, serie.getPlot());
+                getPreparedStatement().setInt(index++, serie.getDuration());
+                getPreparedStatement().setInt(index++, serie.getNumberOfEpisodes());
+            }
+            final int[] seriesIds = executeReturningKeys(series.size());
+            for (final int seriesId : seriesIds) {
+                catalogChanged(CatalogCache.Section.SERIES, seriesId);
+                remember(AvailabilitySnapshot.Kind.SERIES, seriesId);
+                afterCommit(() -> CatalogSearch.getInstance().contentChanged(ContentType.SERIES, seriesId));
+            }
+            return seriesIds;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding series: " + ex.getMessage(), ex);
         }
@@ -210,11 +403,7 @@ public final class AdminOps extends DBManager {
      * @return A map containing films as keys and their corresponding cast as values.
      */
     public Map<Film, Cast> getFilmsDetails() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getFilmsDetails();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getFilmsDetails();
     }
 
     /**
@@ -223,11 +412,27 @@ public final class AdminOps extends DBManager {
      * @return A list of Series objects containing detailed information about series, seasons, episodes, and cast members.
      */
     public List<Serie> getDetailedSeries() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getDetailedSeries();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getDetailedSeries();
+    }
+
+    /**
+     * Retrieves details of some films including their cast from the database.
+     *
+     * @param filmCodes The codes of the films to retrieve.
+     * @return A map containing the films that still exist as keys and their corresponding cast as values.
+     */
+    public Map<Film, Cast> getFilmsDetails(final Collection<Integer> filmCodes) {
+        return reads().getFilmsDetails(filmCodes);
+    }
+
+    /**
+     * Retrieves detailed information about some series, including seasons, episodes, and cast members.
+     *
+     * @param seriesCodes The codes of the series to retrieve.
+     * @return The series that still exist, ordered by code.
+     */
+    public List<Serie> getDetailedSeries(final Collection<Integer> seriesCodes) {
+        return reads().getDetailedSeries(seriesCodes);
     }
 
     /**
@@ -243,7 +448,7 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT"
                     + " INTO membrocast (Nome, Cognome, DataNascita, TipoAttore, TipoRegista, DataDebuttoCarriera, NomeArte)"
                     + " VALUES (?, ?, ?, ?, ?, ?, ?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, castMember.getName());
             getPreparedStatement().setString(2, castMember.getLastName());
             getPreparedStatement().setDate(3, Date.valueOf(castMember.getBirthDate()));
@@ -280,9 +485,13 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "DELETE FROM membrocast WHERE Codice = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, code);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            invalidateCatalog(CatalogCache.Section.FILMS, CatalogCache.Section.SERIES);
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.CAST_MEMBER, code));
+            unlearn(() -> snapshot().forget(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS));
+            afterCommit(() -> CatalogSearch.getInstance().invalidate());
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting cast member: " + ex.getMessage(), ex);
@@ -293,18 +502,24 @@ public final class AdminOps extends DBManager {
      * Adds a new season to the database.
      *
      * @param season The season object to add to the database.
+     * @return The number of the season, which identifies it within its series.
      */
-    public void addSeason(final Season season) {
+    public int addSeason(final Season season) {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "INSERT INTO "
                     + "stagione (CodiceSerie, NumeroStagione, Sunto, CodiceCast) VALUES (?, ?, ?, ?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, season.getSeriesId());
             getPreparedStatement().setInt(2, season.getId());
             getPreparedStatement().setString(3, season.getSummary());
             getPreparedStatement().setInt(4, season.getIdCast());
             getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.SERIES, season.getSeriesId());
+            remember(AvailabilitySnapshot.Kind.SEASON, season.getSeriesId(), season.getId());
+            remember(AvailabilitySnapshot.Kind.SERIES_WITH_SEASONS, season.getSeriesId());
+            afterCommit(() -> CatalogSearch.getInstance().contentChanged(ContentType.SERIES, season.getSeriesId()));
+            return season.getId();
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding season: " + ex.getMessage(), ex);
         }
@@ -323,7 +538,7 @@ public final class AdminOps extends DBManager {
             final String retrieveEpisodesInfoQuery = "SELECT DurataMin FROM episodio "
                     + "WHERE CodiceSerie = ? AND NumeroStagione = ?";
             final String seasonQuery = "DELETE FROM stagione WHERE CodiceSerie = ? AND NumeroStagione = ?";
-            setPreparedStatement(getConnection().prepareStatement(retrieveEpisodesInfoQuery));
+            prepare(retrieveEpisodesInfoQuery);
             getPreparedStatement().setInt(1, seriesCode);
             getPreparedStatement().setInt(2, seasonNumber);
             setResultSet(getPreparedStatement().executeQuery());
@@ -331,10 +546,15 @@ public final class AdminOps extends DBManager {
                 final int duration = getResultSet().getInt("DurataMin");
                 updateSeries(seriesCode, duration, false);
             }
-            setPreparedStatement(getConnection().prepareStatement(seasonQuery));
+            prepare(seasonQuery);
             getPreparedStatement().setInt(1, seriesCode);
             getPreparedStatement().setInt(2, seasonNumber);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.SERIES, seriesCode);
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.SEASON, seriesCode, seasonNumber));
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.SEASON_WITH_EPISODES, seriesCode, seasonNumber));
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.SERIES_WITH_SEASONS, seriesCode));
+            afterCommit(() -> CatalogSearch.getInstance().contentChanged(ContentType.SERIES, seriesCode));
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting season: " + ex.getMessage(), ex);
@@ -352,13 +572,15 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT"
                     + " INTO episodio (NumeroEpisodio, CodiceSerie, NumeroStagione, DurataMin) "
                     + "VALUES (?, ?, ?, ?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, episode.id());
             getPreparedStatement().setInt(2, episode.seriesId());
             getPreparedStatement().setInt(3, episode.seasonId());
             getPreparedStatement().setInt(4, episode.duration());
             getPreparedStatement().executeUpdate();
             updateSeries(episode.seriesId(), episode.duration(), true);
+            catalogChanged(CatalogCache.Section.SERIES, episode.seriesId());
+            remember(AvailabilitySnapshot.Kind.SEASON_WITH_EPISODES, episode.seriesId(), episode.seasonId());
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding episode: " + ex.getMessage(), ex);
         }
@@ -377,7 +599,7 @@ public final class AdminOps extends DBManager {
         try {
             final String retrieveEpisodeInfoQuery = "SELECT DurataMin FROM episodio "
                     + "WHERE CodiceSerie = ? AND NumeroStagione = ? AND NumeroEpisodio = ?";
-            setPreparedStatement(getConnection().prepareStatement(retrieveEpisodeInfoQuery));
+            prepare(retrieveEpisodeInfoQuery);
             getPreparedStatement().setInt(1, seriesCode);
             getPreparedStatement().setInt(2, seasonNumber);
             getPreparedStatement().setInt(3, episodeNumber);
@@ -390,11 +612,13 @@ public final class AdminOps extends DBManager {
             }
             final String episodeQuery = "DELETE FROM episodio "
                     + "WHERE CodiceSerie = ? AND NumeroStagione = ? AND NumeroEpisodio = ?";
-            setPreparedStatement(getConnection().prepareStatement(episodeQuery));
+            prepare(episodeQuery);
             getPreparedStatement().setInt(1, seriesCode);
             getPreparedStatement().setInt(2, seasonNumber);
             getPreparedStatement().setInt(3, episodeNumber);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.SERIES, seriesCode);
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.SEASON_WITH_EPISODES, seriesCode, seasonNumber));
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting episode: " + ex.getMessage(), ex);
@@ -412,15 +636,21 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String secQuery = "DELETE FROM sezionamento_film WHERE CodiceRecFilm = ? AND UsernameUtente = ?";
-            setPreparedStatement(getConnection().prepareStatement(secQuery));
+            prepare(secQuery);
             getPreparedStatement().setInt(1, filmId);
             getPreparedStatement().setString(2, authorUsername);
             getPreparedStatement().executeUpdate();
+            final ReviewerStanding evaluations =
+                    getReviewEvaluations("valutazione_film", "CodiceRecFilm", filmId, authorUsername);
             final String query = "DELETE FROM recfilm WHERE recfilm.CodiceFilm = ? AND recfilm.UsernameUtente = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, filmId);
             getPreparedStatement().setString(2, authorUsername);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            if (rowsAffected > 0) {
+                afterCommit(() -> ReviewerLeaderboard.getInstance().reviewRemoved(
+                        authorUsername, evaluations.evaluations(), evaluations.usefulness()));
+            }
             return rowsAffected >= 0;
         } catch (SQLException ex) {
             return false;
@@ -438,15 +668,21 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String secQuery = "DELETE FROM sezionamento_serie WHERE CodiceRecSerie = ? AND UsernameUtente = ?";
-            setPreparedStatement(getConnection().prepareStatement(secQuery));
+            prepare(secQuery);
             getPreparedStatement().setInt(1, seriesId);
             getPreparedStatement().setString(2, authorUsername);
             getPreparedStatement().executeUpdate();
+            final ReviewerStanding evaluations =
+                    getReviewEvaluations("valutazione_serie", "CodiceRecSerie", seriesId, authorUsername);
             final String query = "DELETE FROM recserie WHERE recserie.CodiceSerie = ? AND recserie.UsernameUtente = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, seriesId);
             getPreparedStatement().setString(2, authorUsername);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            if (rowsAffected > 0) {
+                afterCommit(() -> ReviewerLeaderboard.getInstance().reviewRemoved(
+                        authorUsername, evaluations.evaluations(), evaluations.usefulness()));
+            }
             return rowsAffected >= 0;
         } catch (SQLException ex) {
             return false;
@@ -454,58 +690,77 @@ public final class AdminOps extends DBManager {
     }
 
     /**
-     * Retrieves a list of user rankings based on the provided evaluation type.
-     *
-     * @param evaluationType The type of evaluation for which rankings are requested.
-     *                       Possible values include:
-     *                       - "MigliorNumeroValutazioni": Retrieves top users based on the highest number of reviews given.
-     *                       - "PeggiorMediaUtilità": Retrieves users with the lowest average usefulness rating for reviews.
-     *                       - "MigliorMediaUtilità": Retrieves users with the highest average usefulness rating for reviews.
-     * @return A list of UserRanking objects representing the rankings for the specified evaluation type.
-     */
-    public List<UserRanking> getRankings(final String evaluationType) {
-        return switch (evaluationType) {
-            case "MigliorNumeroValutazioni" -> getBestReviewersRanking();
-            case "PeggiorMediaUtilità" -> getWorstUtilityReviewersRanking();
-            case "MigliorMediaUtilità" -> getBestUtilityReviewersRanking();
-            default -> throw new IllegalArgumentException("Invalid evaluation type: " + evaluationType);
+     * Retrieves a ranking.
+     * The reviewer rankings are kept in memory by the {@link ReviewerLeaderboard};
+     * the others are computed by a single query, whose cost does not depend on the size of the ranking.
+     *
+     * @param query The kind, size and date window of the ranking.
+     * @return The entries of the ranking, in order of position.
+     */
+    public List<RankingEntry> getRankings(final RankingQuery query) {
+        return switch (query.type()) {
+            case MOST_REVIEWS -> rank(ReviewerLeaderboard.getInstance().mostReviews(query.size()),
+                    ReviewerStanding::reviews);
+            case WORST_USEFULNESS -> rank(ReviewerLeaderboard.getInstance().worstUsefulness(query.size()),
+                    ReviewerStanding::averageUsefulness);
+            case BEST_USEFULNESS -> rank(ReviewerLeaderboard.getInstance().bestUsefulness(query.size()),
+                    ReviewerStanding::averageUsefulness);
+            case BEST_DIRECTORS -> getRanking(castRankingQuery("TipoRegista"), query);
+            case BEST_ACTORS -> getRanking(castRankingQuery("TipoAttore"), query);
+            case MOST_VIEWED_FILMS -> getRanking(
+                    "SELECT film.Titolo AS Nome, film.Codice AS Codice, COUNT(*) AS Punteggio, "
+                            + "RANK() OVER (ORDER BY COUNT(*) DESC) AS Posizione "
+                            + "FROM visualizzazioni_film "
+                            + "JOIN film ON film.Codice = visualizzazioni_film.CodiceFilm "
+                            + "GROUP BY film.Codice, film.Titolo", query);
+            case MOST_VIEWED_SERIES -> getRanking(
+                    "SELECT serie.Titolo AS Nome, serie.Codice AS Codice, "
+                            + "COUNT(DISTINCT visualizzazioni_episodio.UsernameUtente) AS Punteggio, "
+                            + "RANK() OVER (ORDER BY COUNT(DISTINCT visualizzazioni_episodio.UsernameUtente) DESC) "
+                            + "AS Posizione "
+                            + "FROM visualizzazioni_episodio "
+                            + "JOIN serie ON serie.Codice = visualizzazioni_episodio.CodiceSerie "
+                            + "WHERE visualizzazioni_episodio.DataVisualizzazione BETWEEN ? AND ? "
+                            + "GROUP BY serie.Codice, serie.Titolo", query);
         };
     }
 
     /**
-     * Retrieves a list of cast rankings based on the provided evaluation type.
+     * Retrieves the number of reviews written and the evaluations received by every user who has any.
+     * Used to build the reviewer rankings, which are then kept up to date in memory.
      *
-     * @param evaluationType The type of evaluation for which rankings are requested.
-     *                       Possible value is "BestDirectors",
-     *                       which retrieves top directors based on the number of appearances in cast.
-     * @return A list of CastRanking objects representing the rankings for the specified evaluation type.
+     * @return The standings of the users.
      */
-    public List<CastRanking> getCastRankings(final EvalType evaluationType) {
+    public List<ReviewerStanding> getReviewerStandings() {
         Objects.requireNonNull(getConnection());
         try {
-            final String query = switch (evaluationType) {
-                case BEST_DIRECTORS -> "SELECT Nome, Cognome, COUNT(*) AS NumeroPresenze "
-                        + "FROM partecipazione_cast "
-                        + "JOIN membrocast ON membrocast.Codice = partecipazione_cast.CodiceMembro "
-                        + "WHERE membrocast.TipoRegista "
-                        + "GROUP BY Nome, Cognome "
-                        + "ORDER BY NumeroPresenze"
-                        + " LIMIT 5";
-                default -> throw new IllegalArgumentException("Invalid evaluation type: " + evaluationType);
-            };
-            setPreparedStatement(getConnection().prepareStatement(query));
+            final String query = "SELECT UsernameUtente, SUM(Recensioni), SUM(Valutazioni), SUM(Utilita) "
+                    + "FROM ("
+                    + "SELECT UsernameUtente, COUNT(*) AS Recensioni, 0 AS Valutazioni, 0 AS Utilita "
+                    + "FROM recfilm GROUP BY UsernameUtente "
+                    + "UNION ALL "
+                    + "SELECT UsernameUtente, COUNT(*), 0, 0 "
+                    + "FROM recserie GROUP BY UsernameUtente "
+                    + "UNION ALL "
+                    + "SELECT UsernameUtenteValutato, 0, COUNT(*), SUM(CASE WHEN Positiva THEN 1 ELSE -1 END) "
+                    + "FROM valutazione_film GROUP BY UsernameUtenteValutato "
+                    + "UNION ALL "
+                    + "SELECT UsernameUtenteValutato, 0, COUNT(*), SUM(CASE WHEN Positiva THEN 1 ELSE -1 END) "
+                    + "FROM valutazione_serie GROUP BY UsernameUtenteValutato) AS Totali "
+                    + "GROUP BY UsernameUtente";
+            prepare(query);
             setResultSet(getPreparedStatement().executeQuery());
-            final List<CastRanking> rankings = new ArrayList<>();
-            final ResultSet resultSet = getResultSet();
-            while (resultSet.next()) {
-                rankings.add(new CastRanking(
-                        resultSet.getString(1),
-                        resultSet.getString(2),
-                        resultSet.getInt(3)));
+            final List<ReviewerStanding> standings = new ArrayList<>();
+            while (getResultSet().next()) {
+                standings.add(new ReviewerStanding(
+                        getResultSet().getString(1),
+                        getResultSet().getInt(2),
+                        getResultSet().getInt(3),
+                        getResultSet().getInt(4)));
             }
-            return rankings;
+            return standings;
         } catch (SQLException ex) {
-            throw new IllegalArgumentException("Error retrieving cast rankings: " + ex.getMessage(), ex);
+            throw new IllegalArgumentException("Error retrieving rankings: " + ex.getMessage(), ex);
         }
     }
 
@@ -515,11 +770,7 @@ public final class AdminOps extends DBManager {
      * @return A list of CastMember objects representing the cast members.
      */
     public List<CastMember> getCastMembers() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getCastMembers();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getCastMembers();
     }
 
     /**
@@ -528,31 +779,31 @@ public final class AdminOps extends DBManager {
      * @return A list of Casting objects representing the casting details.
      */
     public List<Casting> getCasting() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getCasting();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getCasting();
     }
 
     /**
      * Adds a new casting detail with the given name to the database.
      *
      * @param name The name of the casting detail to be added.
+     * @return The code the database generated for the casting.
      */
-    public void addCast(final Optional<String> name) {
+    public int addCast(final Optional<String> name) {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "INSERT"
                     + " INTO casting (Nome)"
                     + " VALUES (?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepareReturningKeys(query);
             if (name.isPresent()) {
                 getPreparedStatement().setString(1, name.get());
             } else {
                 getPreparedStatement().setNull(1, java.sql.Types.VARCHAR);
             }
             getPreparedStatement().executeUpdate();
+            final int castId = getGeneratedKeys(1)[0];
+            remember(AvailabilitySnapshot.Kind.CAST, castId);
+            return castId;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding casting: " + ex.getMessage(), ex);
         }
@@ -568,55 +819,18 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "DELETE FROM casting WHERE Codice = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, id);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            invalidateCatalog(CatalogCache.Section.FILMS, CatalogCache.Section.SERIES);
+            unlearn(snapshot()::clear);
+            afterCommit(() -> CatalogSearch.getInstance().invalidate());
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting casting: " + ex.getMessage(), ex);
         }
     }
 
-    /**
-     * Retrieves the ID of the last added series from the database.
-     *
-     * @return The ID of the last series added to the system.
-     */
-    public Integer getLastSeriesId() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getLastSeriesId();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
-    }
-
-    /**
-     * Retrieves the ID of the last added film from the database.
-     *
-     * @return The ID of the last film added to the system.
-     */
-    public int getLastFilmId() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getLastFilmId();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
-    }
-
-    /**
-     * Retrieves the ID of the last added season for a given series from the database.
-     *
-     * @param seriesCode The code identifying the series.
-     * @return The ID of the last season added to the specified series.
-     */
-    public Integer getLastSeasonId(final int seriesCode) {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getLastSeasonId(seriesCode);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
-    }
-
     /**
      * Marks a request as complete in the database.
      *
@@ -629,7 +843,7 @@ public final class AdminOps extends DBManager {
             final String query = "UPDATE richiesta"
                     + " SET richiesta.Chiusa = 1"
                     + " WHERE richiesta.Numero = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, code);
             final int rowsAffected = getPreparedStatement().executeUpdate();
             return rowsAffected > 0;
@@ -645,11 +859,7 @@ public final class AdminOps extends DBManager {
      * @return a list of {@link Promo} objects representing the current promotional offers.
      */
     public List<Promo> getPromos() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getPromos();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getPromos();
     }
 
     /**
@@ -661,10 +871,10 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         final String multipleQuery = "INSERT INTO MULTIPLO (CodiceTemplatePromo) VALUES (?)";
         try {
-            setPreparedStatement(getConnection().prepareStatement(multipleQuery));
+            prepare(multipleQuery);
             getPreparedStatement().setInt(1, percentage);
             getPreparedStatement().executeUpdate();
-            getConnection().commit();
+            remember(AvailabilitySnapshot.Kind.MULTIPLE, percentage);
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting multiple promo: " + ex.getMessage(), ex);
         }
@@ -681,7 +891,7 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         final String genreQuery = "INSERT INTO PROMO_GENERE (NomeGenere, CodiceTemplateMultiplo) VALUES (?,?)";
         try {
-            setPreparedStatement(getConnection().prepareStatement(genreQuery));
+            prepare(genreQuery);
             getPreparedStatement().setString(1, genre);
             getPreparedStatement().setInt(2, multipleId);
             getPreparedStatement().executeUpdate();
@@ -701,7 +911,7 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         final String singleQuery = "INSERT INTO SINGOLO (CodiceTemplatePromo, CodiceSerie, CodiceFilm) VALUES (?,?,?)";
         try {
-            setPreparedStatement(getConnection().prepareStatement(singleQuery));
+            prepare(singleQuery);
             getPreparedStatement().setInt(1, templateCode);
             if ("Serie".equals(multimediaType)) {
                 getPreparedStatement().setInt(2, multimediaCode);
@@ -730,10 +940,11 @@ public final class AdminOps extends DBManager {
             final String deletePromoQuery = "DELETE FROM PROMO "
                     + "WHERE CodiceTemplatePromo = ? "
                     + "AND Scadenza = ?";
-            setPreparedStatement(getConnection().prepareStatement(deletePromoQuery));
+            prepare(deletePromoQuery);
             getPreparedStatement().setInt(1, code);
             getPreparedStatement().setDate(2, Date.valueOf(expiration));
             final int rowsAffectedPromo = getPreparedStatement().executeUpdate();
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.PROMO, code));
             return rowsAffectedPromo > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting promo: " + ex.getMessage(), ex);
@@ -747,11 +958,7 @@ public final class AdminOps extends DBManager {
      * @return a list of {@link CardReg} objects representing the cards.
      */
     public List<CardReg> getCards() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getCards();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getCards();
     }
 
     /**
@@ -769,7 +976,7 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO"
                     + " premi_tessera(CodicePromoPromo, Scadenza, CodiceCinema, UsernameUtente)"
                     + " VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE CodicePromoPromo = CodicePromoPromo";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, promoCode);
             getPreparedStatement().setDate(2, Date.valueOf(expiration));
             getPreparedStatement().setInt(3, cinemaCode);
@@ -787,11 +994,7 @@ public final class AdminOps extends DBManager {
      * @return A list of CastMember objects representing detailed information about the cast.
      */
     public List<CastMember> getDetailedCast(final int castId) {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getDetailedCast(castId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getDetailedCast(castId);
     }
 
     /**
@@ -806,10 +1009,13 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO "
                     + "partecipazione_cast(CodiceMembro, CodiceCast)"
                     + " VALUES (?, ?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, castMemberCode);
             getPreparedStatement().setInt(2, castCode);
             getPreparedStatement().executeUpdate();
+            invalidateCatalog(CatalogCache.Section.FILMS, CatalogCache.Section.SERIES);
+            remember(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS, castCode);
+            afterCommit(() -> CatalogSearch.getInstance().invalidate());
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding castmember to cast: " + ex.getMessage(), ex);
         }
@@ -828,10 +1034,13 @@ public final class AdminOps extends DBManager {
             final String deletePromoQuery = "DELETE FROM partecipazione_cast "
                     + "WHERE CodiceMembro = ? "
                     + "AND CodiceCast = ?";
-            setPreparedStatement(getConnection().prepareStatement(deletePromoQuery));
+            prepare(deletePromoQuery);
             getPreparedStatement().setInt(1, castMemberCode);
             getPreparedStatement().setInt(2, castCode);
             final int rowsAffectedPromo = getPreparedStatement().executeUpdate();
+            invalidateCatalog(CatalogCache.Section.FILMS, CatalogCache.Section.SERIES);
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS, castCode));
+            afterCommit(() -> CatalogSearch.getInstance().invalidate());
             return rowsAffectedPromo > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting castmember from cast: " + ex.getMessage(), ex);
@@ -839,21 +1048,44 @@ public final class AdminOps extends DBManager {
     }
 
     /**
-     * Assigns the best five reviewers to a promotional event.
+     * Hands a promotional offer to the reviewers of a ranking and gives them the prize tag, all or nothing.
+     * Each reviewer receives the offer on one of their cards; reviewers without a card
+     * or already holding the offer are skipped.
      *
-     * @param promoCode         The unique identifier of the promotional event.
-     * @param expiration        The expiration date of the promotional event.
-     * @param bestNumberRatings A list of UserRanking objects representing the best reviewers.
+     * @param promoCode  The code of the promotional offer.
+     * @param expiration The expiration date of the promotional offer.
+     * @param reviewers  The ranking of the reviewers to reward.
+     * @return How many reviewers have been rewarded or skipped.
      */
-    public void assignPromoBestFiveReviewers(
-            final int promoCode, final LocalDate expiration, final List<UserRanking> bestNumberRatings) {
-        for (final UserRanking userRanking : bestNumberRatings) {
-            final Optional<Integer> cinemaCode = getCinemaCode(userRanking.username());
-            cinemaCode.ifPresent(integer -> {
-                assignPromo(promoCode, expiration, integer, userRanking.username());
-                assignPrizeTag(userRanking.username());
-            });
+    public PromoDistribution assignPromoToReviewers(
+            final int promoCode, final LocalDate expiration, final List<RankingEntry> reviewers) {
+        final List<String> usernames = reviewers.stream().map(RankingEntry::name).distinct().toList();
+        if (usernames.isEmpty()) {
+            return new PromoDistribution(0, 0);
         }
+        final String condition = "tessera.UsernameUtente IN ("
+                + String.join(", ", Collections.nCopies(usernames.size(), "?")) + ")";
+        return distributePromo(promoCode, expiration, condition, (statement, index) -> {
+            int next = index;
+            for (final String username : usernames) {
+                statement.setString(next++, username);
+            }
+        }, usernames.size(), true);
+    }
+
+    /**
+     * Hands a promotional offer to every holder of a card of a cinema, all or nothing.
+     * Card holders already holding the offer are skipped.
+     *
+     * @param promoCode  The code of the promotional offer.
+     * @param expiration The expiration date of the promotional offer.
+     * @param cinemaCode The code of the cinema.
+     * @return How many card holders have been rewarded or skipped.
+     */
+    public PromoDistribution assignPromoToCinema(
+            final int promoCode, final LocalDate expiration, final int cinemaCode) {
+        return distributePromo(promoCode, expiration, "tessera.CodiceCinema = ?",
+                (statement, index) -> statement.setInt(index, cinemaCode), 0, false);
     }
 
     /**
@@ -867,9 +1099,11 @@ public final class AdminOps extends DBManager {
         try {
             final String deletePromoQuery = "DELETE FROM account "
                     + "WHERE Username = ? ";
-            setPreparedStatement(getConnection().prepareStatement(deletePromoQuery));
+            prepare(deletePromoQuery);
             getPreparedStatement().setString(1, username);
             final int rowsAffectedPromo = getPreparedStatement().executeUpdate();
+            unlearn(() -> snapshot().removeCards(username));
+            afterCommit(() -> ReviewerLeaderboard.getInstance().invalidate());
             return rowsAffectedPromo > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting user: " + ex.getMessage(), ex);
@@ -887,7 +1121,7 @@ public final class AdminOps extends DBManager {
         try {
             final String deletePromoQuery = "DELETE FROM account "
                     + "WHERE Username = ? ";
-            setPreparedStatement(getConnection().prepareStatement(deletePromoQuery));
+            prepare(deletePromoQuery);
             getPreparedStatement().setString(1, username);
             final int rowsAffectedPromo = getPreparedStatement().executeUpdate();
             return rowsAffectedPromo > 0;
@@ -904,11 +1138,9 @@ public final class AdminOps extends DBManager {
      * @return true if the season is not available, false otherwise.
      */
     public boolean isSeasonAvailable(final int seriesId, final int seasonId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isSeasonAvailable(seriesId, seasonId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.SEASON, seriesId, seasonId)
+                || learn(AvailabilitySnapshot.Kind.SEASON, seriesId, seasonId,
+                checks().isSeasonAvailable(seriesId, seasonId));
     }
 
     /**
@@ -918,11 +1150,8 @@ public final class AdminOps extends DBManager {
      * @return true if the series is not available, false otherwise.
      */
     public boolean isSeriesAvailable(final int seriesId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isSeriesAvailable(seriesId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.SERIES, seriesId)
+                || learn(AvailabilitySnapshot.Kind.SERIES, seriesId, checks().isSeriesAvailable(seriesId));
     }
 
     /**
@@ -932,11 +1161,8 @@ public final class AdminOps extends DBManager {
      * @return true if the film is not available, false otherwise.
      */
     public boolean isFilmAvailable(final int filmId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isFilmAvailable(filmId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.FILM, filmId)
+                || learn(AvailabilitySnapshot.Kind.FILM, filmId, checks().isFilmAvailable(filmId));
     }
 
     /**
@@ -946,11 +1172,9 @@ public final class AdminOps extends DBManager {
      * @return true if the cast member is not available, false otherwise.
      */
     public boolean isCastMemberAvailable(final int castMemberId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isCastMemberAvailable(castMemberId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.CAST_MEMBER, castMemberId)
+                || learn(AvailabilitySnapshot.Kind.CAST_MEMBER, castMemberId,
+                checks().isCastMemberAvailable(castMemberId));
     }
 
     /**
@@ -960,11 +1184,8 @@ public final class AdminOps extends DBManager {
      * @return true if the cast session is unavailable, false otherwise.
      */
     public boolean isCastAvailable(final int castId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isCastAvailable(castId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.CAST, castId)
+                || learn(AvailabilitySnapshot.Kind.CAST, castId, checks().isCastAvailable(castId));
     }
 
     /**
@@ -974,11 +1195,8 @@ public final class AdminOps extends DBManager {
      * @return true if the promo is not available, false otherwise.
      */
     public boolean isPromoAvailable(final int promoId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isPromoAvailable(promoId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.PROMO, promoId)
+                || learn(AvailabilitySnapshot.Kind.PROMO, promoId, checks().isPromoAvailable(promoId));
     }
 
     /**
@@ -988,11 +1206,8 @@ public final class AdminOps extends DBManager {
      * @return true if the cinema is not available, false otherwise.
      */
     public boolean isCinemaAvailable(final int cinemaId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isCinemaAvailable(cinemaId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.CINEMA, cinemaId)
+                || learn(AvailabilitySnapshot.Kind.CINEMA, cinemaId, checks().isCinemaAvailable(cinemaId));
     }
 
     /**
@@ -1003,11 +1218,34 @@ public final class AdminOps extends DBManager {
      * @return true if the user is not available, false otherwise.
      */
     public boolean isCardAvailable(final String username, final int cinemaCode) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isCardAvailable(username, cinemaCode);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
+        if (snapshot().containsCard(username, cinemaCode)) {
+            return true;
+        }
+        final boolean found = checks().isCardAvailable(username, cinemaCode);
+        if (found) {
+            rememberCard(username, cinemaCode);
         }
+        return found;
+    }
+
+    /**
+     * Finds which of the given codes do not exist, checking many of them at once.
+     * The codes known to the availability snapshot are not looked up, the others are looked up with a single query.
+     *
+     * @param kind  The kind of the codes, which must be a single-column one.
+     * @param codes The codes to check.
+     * @return The codes that do not exist, in the order given.
+     */
+    public int[] findMissing(final AvailabilitySnapshot.Kind kind, final int... codes) {
+        if (kind.isPaired()) {
+            throw new IllegalArgumentException("Cannot check " + kind + " keys by a single code");
+        }
+        final int[] unknown = Arrays.stream(codes).filter(code -> !knows(kind, code)).toArray();
+        final int[] existing = checks().findExisting(kind, unknown);
+        for (final int code : existing) {
+            remember(kind, code);
+        }
+        return Arrays.stream(unknown).filter(code -> Arrays.binarySearch(existing, code) < 0).toArray();
     }
 
     /**
@@ -1016,11 +1254,7 @@ public final class AdminOps extends DBManager {
      * @return a list of User objects.
      */
     public List<User> getUsers() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getUsers();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getUsers();
     }
 
     /**
@@ -1029,11 +1263,7 @@ public final class AdminOps extends DBManager {
      * @return a list of Registrar objects.
      */
     public List<Registrar> getRegistrars() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getRegistrars();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getRegistrars();
     }
 
     /**
@@ -1047,19 +1277,24 @@ public final class AdminOps extends DBManager {
         final String accountQuery = "INSERT INTO ACCOUNT (Username, PASSWORD, Nome, Cognome) VALUES (?,?,?,?)";
         final String regQuery = "INSERT INTO REGISTRATORE (Username, EmailCinema, CodiceCinema) VALUES (?,?,?)";
         try {
-            getConnection().setAutoCommit(false);
-            setPreparedStatement(getConnection().prepareStatement(accountQuery));
-            getPreparedStatement().setString(1, registrar.getUsername());
-            getPreparedStatement().setString(2, password);
-            getPreparedStatement().setString(3, registrar.getName());
-            getPreparedStatement().setString(4, registrar.getLastName());
-            getPreparedStatement().executeUpdate();
-            setPreparedStatement(getConnection().prepareStatement(regQuery));
-            getPreparedStatement().setString(1, registrar.getUsername());
-            getPreparedStatement().setString(2, registrar.getEmailCinema());
-            getPreparedStatement().setInt(3, registrar.getCinema());
-            getPreparedStatement().executeUpdate();
-            getConnection().commit();
+            final boolean started = beginTransaction();
+            boolean completed = false;
+            try {
+                prepare(accountQuery);
+                getPreparedStatement().setString(1, registrar.getUsername());
+                getPreparedStatement().setString(2, password);
+                getPreparedStatement().setString(3, registrar.getName());
+                getPreparedStatement().setString(4, registrar.getLastName());
+                getPreparedStatement().executeUpdate();
+                prepare(regQuery);
+                getPreparedStatement().setString(1, registrar.getUsername());
+                getPreparedStatement().setString(2, registrar.getEmailCinema());
+                getPreparedStatement().setInt(3, registrar.getCinema());
+                getPreparedStatement().executeUpdate();
+                completed = true;
+            } finally {
+                endTransaction(started, completed);
+            }
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding registrar: " + ex.getMessage(), ex);
         }
@@ -1071,11 +1306,7 @@ public final class AdminOps extends DBManager {
      * @return a list of Cinema objects.
      */
     public List<Cinema> getCinemas() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getCinemas();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getCinemas();
     }
 
     /**
@@ -1089,7 +1320,7 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO CINEMA "
                     + "(Nome, Ind_Via, Ind_CAP, Ind_Civico, Ind_Citta)"
                     + " VALUES (?,?,?,?,?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, cinema.nome());
             getPreparedStatement().setString(2, cinema.indVia());
             getPreparedStatement().setString(3, cinema.indCAP());
@@ -1112,9 +1343,11 @@ public final class AdminOps extends DBManager {
         try {
             final String deletePromoQuery = "DELETE FROM CINEMA "
                     + "WHERE Codice = ? ";
-            setPreparedStatement(getConnection().prepareStatement(deletePromoQuery));
+            prepare(deletePromoQuery);
             getPreparedStatement().setInt(1, code);
             final int rowsAffectedPromo = getPreparedStatement().executeUpdate();
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.CINEMA, code));
+            unlearn(() -> snapshot().removeCinemaCards(code));
             return rowsAffectedPromo > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting cinema: " + ex.getMessage(), ex);
@@ -1128,24 +1361,8 @@ public final class AdminOps extends DBManager {
      * @return {@code true} if a cast with the specified ID exists, {@code false} otherwise.
      */
     public boolean isCast(final int castId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isCast(castId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
-    }
-
-    /**
-     * Retrieves the ID of the most recently added cast.
-     *
-     * @return the ID of the last cast.
-     */
-    public Integer getLastCastId() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getLastCastId();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS, castId)
+                || learn(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS, castId, checks().isCast(castId));
     }
 
     /**
@@ -1155,11 +1372,8 @@ public final class AdminOps extends DBManager {
      * @return {@code true} if the cast is empty, {@code false} otherwise.
      */
     public boolean isEmptyCast(final int castId) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isEmptyCast(castId);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return !knows(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS, castId)
+                && !learn(AvailabilitySnapshot.Kind.CAST_WITH_MEMBERS, castId, !checks().isEmptyCast(castId));
     }
 
     /**
@@ -1169,11 +1383,8 @@ public final class AdminOps extends DBManager {
      * @return {@code true} if the film genres is empty, {@code false} otherwise.
      */
     public boolean isEmptyGenreFilm(final int filmCode) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isEmptyGenreFilm(filmCode);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return !knows(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, filmCode)
+                && !learn(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, filmCode, !checks().isEmptyGenreFilm(filmCode));
     }
 
     /**
@@ -1183,11 +1394,9 @@ public final class AdminOps extends DBManager {
      * @return {@code true} if the series genres is empty, {@code false} otherwise.
      */
     public boolean isEmptyGenreSeries(final int seriesCode) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isEmptyGenreSeries(seriesCode);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return !knows(AvailabilitySnapshot.Kind.SERIES_WITH_GENRES, seriesCode)
+                && !learn(AvailabilitySnapshot.Kind.SERIES_WITH_GENRES, seriesCode,
+                !checks().isEmptyGenreSeries(seriesCode));
     }
 
     /**
@@ -1197,11 +1406,9 @@ public final class AdminOps extends DBManager {
      * @return {@code true} if the series is empty, {@code false} otherwise.
      */
     public boolean isEmptySeries(final int seriesCode) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isEmptySeries(seriesCode);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return !knows(AvailabilitySnapshot.Kind.SERIES_WITH_SEASONS, seriesCode)
+                && !learn(AvailabilitySnapshot.Kind.SERIES_WITH_SEASONS, seriesCode,
+                !checks().isEmptySeries(seriesCode));
     }
 
     /**
@@ -1212,11 +1419,9 @@ public final class AdminOps extends DBManager {
      * @return {@code true} if the series is empty, {@code false} otherwise.
      */
     public boolean isEmptySeason(final int seriesCode, final int seasonNumber) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isEmptySeason(seriesCode, seasonNumber);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return !knows(AvailabilitySnapshot.Kind.SEASON_WITH_EPISODES, seriesCode, seasonNumber)
+                && !learn(AvailabilitySnapshot.Kind.SEASON_WITH_EPISODES, seriesCode, seasonNumber,
+                !checks().isEmptySeason(seriesCode, seasonNumber));
     }
 
     /**
@@ -1229,27 +1434,31 @@ public final class AdminOps extends DBManager {
         try {
             final String seriesQuery = "SELECT DISTINCT CodiceSerie FROM STAGIONE "
                     + "WHERE CodiceCast = ?";
-            setPreparedStatement(getConnection().prepareStatement(seriesQuery));
+            prepare(seriesQuery);
             getPreparedStatement().setInt(1, castId);
             setResultSet(getPreparedStatement().executeQuery());
             while (getResultSet().next()) {
                 final int seriesId = getResultSet().getInt("CodiceSerie");
                 final String seasonDeleteQuery = "DELETE FROM STAGIONE "
                         + "WHERE CodiceCast = ?";
-                setPreparedStatement(getConnection().prepareStatement(seasonDeleteQuery));
+                prepare(seasonDeleteQuery);
                 getPreparedStatement().setInt(1, castId);
                 getPreparedStatement().executeUpdate();
                 final String seriesDeleteQuery = "DELETE FROM SERIE "
                         + "WHERE Codice = ?";
-                setPreparedStatement(getConnection().prepareStatement(seriesDeleteQuery));
+                prepare(seriesDeleteQuery);
                 getPreparedStatement().setInt(1, seriesId);
                 getPreparedStatement().executeUpdate();
             }
             final String filmQuery = "DELETE FROM FILM "
                     + "WHERE CodiceCast = ?";
-            setPreparedStatement(getConnection().prepareStatement(filmQuery));
+            prepare(filmQuery);
             getPreparedStatement().setInt(1, castId);
             getPreparedStatement().executeUpdate();
+            invalidateCatalog(CatalogCache.Section.FILMS, CatalogCache.Section.SERIES);
+            unlearn(snapshot()::clear);
+            afterCommit(() -> CatalogSearch.getInstance().invalidate());
+            afterCommit(() -> ReviewerLeaderboard.getInstance().invalidate());
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting cinema: " + ex.getMessage(), ex);
         }
@@ -1263,11 +1472,7 @@ public final class AdminOps extends DBManager {
      * @return a list of integers representing the codes of the cast members linked to the specified cast member
      */
     public List<Integer> getCastLinked(final int castMemberCode) {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getCastLinked(castMemberCode);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getCastLinked(castMemberCode);
     }
 
     /**
@@ -1276,11 +1481,7 @@ public final class AdminOps extends DBManager {
      * @return a list of integers representing the multiples.
      */
     public List<Integer> getMultiples() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getMultiples();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getMultiples();
     }
 
     /**
@@ -1294,7 +1495,7 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO TEMPLATEPROMO "
                     + "(PercentualeSconto) "
                     + "VALUES (?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, percentage);
             getPreparedStatement().executeUpdate();
         } catch (SQLException ex) {
@@ -1308,11 +1509,7 @@ public final class AdminOps extends DBManager {
      * @return a list of TemplatePromo objects.
      */
     public List<TemplatePromo> getTemplatePromos() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getTemplatePromos();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getTemplatePromos();
     }
 
     /**
@@ -1321,11 +1518,7 @@ public final class AdminOps extends DBManager {
      * @return a list of SinglePromo objects.
      */
     public List<SinglePromo> getSinglePromos() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getSinglePromos();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getSinglePromos();
     }
 
     /**
@@ -1334,11 +1527,7 @@ public final class AdminOps extends DBManager {
      * @return a list of GenrePromo objects.
      */
     public List<GenrePromo> getGenrePromos() {
-        try (AdminGetOps mgr = new AdminGetOps()) {
-            return mgr.getGenrePromos();
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return reads().getGenrePromos();
     }
 
     /**
@@ -1353,10 +1542,11 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO PROMO "
                     + "(CodiceTemplatePromo, Scadenza)"
                     + " VALUES (?,?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, code);
             getPreparedStatement().setDate(2, Date.valueOf(expiration));
             getPreparedStatement().executeUpdate();
+            remember(AvailabilitySnapshot.Kind.PROMO, code);
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding promo: " + ex.getMessage(), ex);
         }
@@ -1369,11 +1559,9 @@ public final class AdminOps extends DBManager {
      * @return {@code true} if the template promotion is available, {@code false} otherwise.
      */
     public boolean isTemplatePromoAvailable(final int codePromo) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isTemplatePromoAvailable(codePromo);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.TEMPLATE_PROMO, codePromo)
+                || learn(AvailabilitySnapshot.Kind.TEMPLATE_PROMO, codePromo,
+                checks().isTemplatePromoAvailable(codePromo));
     }
 
     /**
@@ -1383,11 +1571,8 @@ public final class AdminOps extends DBManager {
      * @return {@code true} if the multiple is available, {@code false} otherwise.
      */
     public boolean isMultipleAvailable(final int genrePromo) {
-        try (AdminAvailabilityOps mgr = new AdminAvailabilityOps()) {
-            return mgr.isMultipleAvailable(genrePromo);
-        } catch (IllegalArgumentException ex) {
-            throw new IllegalArgumentException(ex.getMessage(), ex);
-        }
+        return knows(AvailabilitySnapshot.Kind.MULTIPLE, genrePromo)
+                || learn(AvailabilitySnapshot.Kind.MULTIPLE, genrePromo, checks().isMultipleAvailable(genrePromo));
     }
 
     /**
@@ -1400,9 +1585,12 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "DELETE FROM TEMPLATEPROMO WHERE CodicePromo = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setInt(1, code);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.TEMPLATE_PROMO, code));
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.MULTIPLE, code));
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.PROMO, code));
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting template promo: " + ex.getMessage(), ex);
@@ -1421,7 +1609,7 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO GENERE "
                     + "(Nome, Descrizione)"
                     + " VALUES (?,?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, genre);
             getPreparedStatement().setString(2, description);
             getPreparedStatement().executeUpdate();
@@ -1440,7 +1628,7 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "DELETE FROM SEZIONE WHERE Nome = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, section);
             final int rowsAffected = getPreparedStatement().executeUpdate();
             return rowsAffected > 0;
@@ -1461,7 +1649,7 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO SEZIONE "
                     + "(Nome, Dettaglio)"
                     + " VALUES (?,?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, section);
             getPreparedStatement().setString(2, description);
             getPreparedStatement().executeUpdate();
@@ -1480,9 +1668,12 @@ public final class AdminOps extends DBManager {
         Objects.requireNonNull(getConnection());
         try {
             final String query = "DELETE FROM GENERE WHERE Nome = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, genre);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            invalidateCatalog(CatalogCache.Section.FILMS, CatalogCache.Section.SERIES);
+            unlearn(() -> snapshot().forget(AvailabilitySnapshot.Kind.FILM_WITH_GENRES));
+            unlearn(() -> snapshot().forget(AvailabilitySnapshot.Kind.SERIES_WITH_GENRES));
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting genre: " + ex.getMessage(), ex);
@@ -1501,15 +1692,46 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO CATEGORIZZAZIONE_FILM "
                     + "(NomeGenere, CodiceFilm) "
                     + "VALUES (?,?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, genre);
             getPreparedStatement().setInt(2, filmId);
             getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.FILMS, filmId);
+            remember(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, filmId);
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding genre to film: " + ex.getMessage(), ex);
         }
     }
 
+    /**
+     * Associates several genres with a film in the database with a single insertion.
+     *
+     * @param filmId The ID of the film to which the genres will be added.
+     * @param genres The names of the genres to add to the film.
+     */
+    public void addGenresToFilm(final int filmId, final Collection<String> genres) {
+        Objects.requireNonNull(getConnection());
+        if (genres.isEmpty()) {
+            return;
+        }
+        try {
+            final String query = "INSERT INTO CATEGORIZZAZIONE_FILM "
+                    + "(NomeGenere, CodiceFilm) "
+                    + "VALUES " + valueRows(genres.size(), 2);
+            prepare(query);
+            int index = 1;
+            for (final String genre : genres) {
+                getPreparedStatement().setString(index++, genre);
+                getPreparedStatement().setInt(index++, filmId);
+            }
+            getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.FILMS, filmId);
+            remember(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, filmId);
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException("Error adding genres to film: " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Removes a genre association from a film in the database.
      *
@@ -1522,10 +1744,12 @@ public final class AdminOps extends DBManager {
         try {
             final String query = "DELETE FROM CATEGORIZZAZIONE_FILM "
                     + "WHERE NomeGenere = ? AND CodiceFilm = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, genre);
             getPreparedStatement().setInt(2, filmCode);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.FILMS, filmCode);
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, filmCode));
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting genre from film: " + ex.getMessage(), ex);
@@ -1544,15 +1768,46 @@ public final class AdminOps extends DBManager {
             final String query = "INSERT INTO CATEGORIZZAZIONE_SERIE "
                     + "(NomeGenere, CodiceSerie) "
                     + "VALUES (?,?)";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, genre);
             getPreparedStatement().setInt(2, seriesId);
             getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.SERIES, seriesId);
+            remember(AvailabilitySnapshot.Kind.SERIES_WITH_GENRES, seriesId);
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error adding genre to series: " + ex.getMessage(), ex);
         }
     }
 
+    /**
+     * Associates several genres with a series in the database with a single insertion.
+     *
+     * @param seriesId The ID of the series to which the genres will be added.
+     * @param genres   The names of the genres to add to the series.
+     */
+    public void addGenresToSeries(final int seriesId, final Collection<String> genres) {
+        Objects.requireNonNull(getConnection());
+        if (genres.isEmpty()) {
+            return;
+        }
+        try {
+            final String query = "INSERT INTO CATEGORIZZAZIONE_SERIE "
+                    + "(NomeGenere, CodiceSerie) "
+                    + "VALUES " + valueRows(genres.size(), 2);
+            prepare(query);
+            int index = 1;
+            for (final String genre : genres) {
+                getPreparedStatement().setString(index++, genre);
+                getPreparedStatement().setInt(index++, seriesId);
+            }
+            getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.SERIES, seriesId);
+            remember(AvailabilitySnapshot.Kind.SERIES_WITH_GENRES, seriesId);
+        } catch (SQLException ex) {
+            throw new IllegalArgumentException("Error adding genres to series: " + ex.getMessage(), ex);
+        }
+    }
+
     /**
      * Removes a genre association from a series in the database.
      *
@@ -1565,86 +1820,209 @@ public final class AdminOps extends DBManager {
         try {
             final String query = "DELETE FROM CATEGORIZZAZIONE_SERIE "
                     + "WHERE NomeGenere = ? AND CodiceSerie = ?";
-            setPreparedStatement(getConnection().prepareStatement(query));
+            prepare(query);
             getPreparedStatement().setString(1, genre);
             getPreparedStatement().setInt(2, seriesCode);
             final int rowsAffected = getPreparedStatement().executeUpdate();
+            catalogChanged(CatalogCache.Section.SERIES, seriesCode);
+            unlearn(() -> snapshot().remove(AvailabilitySnapshot.Kind.SERIES_WITH_GENRES, seriesCode));
             return rowsAffected > 0;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error deleting genre from serie: " + ex.getMessage(), ex);
         }
     }
 
-    private Optional<Integer> getCinemaCode(final String username) {
+    private void endUnitOfWork(final boolean committed) {
+        final List<Runnable> hooks = List.copyOf(this.commitHooks.pending);
+        this.commitHooks.pending.clear();
+        this.commitHooks.open = false;
+        if (committed) {
+            hooks.forEach(Runnable::run);
+        } else {
+            snapshot().clear();
+        }
+    }
+
+    private void invalidateCatalog(final CatalogCache.Section... sections) {
+        afterCommit(() -> CatalogCache.getInstance().invalidate(sections));
+    }
+
+    private void catalogChanged(final CatalogCache.Section section, final int id) {
+        afterCommit(() -> CatalogCache.getInstance().changed(section, id));
+    }
+
+    /**
+     * Runs an update of the process-wide caches once the changes it reflects are visible to everyone:
+     * at once outside of a unit of work, when its transaction commits otherwise.
+     *
+     * @param hook The update to run.
+     */
+    private void afterCommit(final Runnable hook) {
+        if (this.commitHooks.open) {
+            this.commitHooks.pending.add(hook);
+        } else {
+            hook.run();
+        }
+    }
+
+    private static String valueRows(final int rows, final int columns) {
+        final String row = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return String.join(", ", Collections.nCopies(rows, row));
+    }
+
+    private AvailabilitySnapshot snapshot() {
+        return this.snapshot;
+    }
+
+    private boolean knows(final AvailabilitySnapshot.Kind kind, final int code) {
+        loadSnapshot();
+        return snapshot().contains(kind, code);
+    }
+
+    private boolean knows(final AvailabilitySnapshot.Kind kind, final int first, final int second) {
+        loadSnapshot();
+        return snapshot().contains(kind, first, second);
+    }
+
+    /**
+     * Loads the availability snapshot if needed, but not from inside a unit of work,
+     * whose connection would read the rows its transaction has not committed yet.
+     */
+    private void loadSnapshot() {
+        if (!this.commitHooks.open) {
+            snapshot().ensureLoaded(checks());
+        }
+    }
+
+    private boolean learn(final AvailabilitySnapshot.Kind kind, final int code, final boolean found) {
+        if (found) {
+            remember(kind, code);
+        }
+        return found;
+    }
+
+    private boolean learn(final AvailabilitySnapshot.Kind kind,
+                          final int first,
+                          final int second,
+                          final boolean found) {
+        if (found) {
+            remember(kind, first, second);
+        }
+        return found;
+    }
+
+    /**
+     * Adds a key to the availability snapshot once the transaction that found or inserted it commits,
+     * so that other connections never learn of rows they cannot see yet.
+     *
+     * @param kind The kind of the key.
+     * @param code The key.
+     */
+    private void remember(final AvailabilitySnapshot.Kind kind, final int code) {
+        afterCommit(() -> snapshot().add(kind, code));
+    }
+
+    private void remember(final AvailabilitySnapshot.Kind kind, final int first, final int second) {
+        afterCommit(() -> snapshot().add(kind, first, second));
+    }
+
+    private void rememberCard(final String username, final int cinemaCode) {
+        afterCommit(() -> snapshot().addCard(username, cinemaCode));
+    }
+
+    /**
+     * Removes keys from the availability snapshot at once, and again when the transaction commits
+     * so that an addition queued earlier in the same unit of work does not bring them back.
+     *
+     * @param removal The removal from the snapshot.
+     */
+    private void unlearn(final Runnable removal) {
+        removal.run();
+        if (this.commitHooks.open) {
+            this.commitHooks.pending.add(removal);
+        }
+    }
+
+    private void seriesRemoved(final int code) {
+        unlearn(() -> {
+            snapshot().remove(AvailabilitySnapshot.Kind.SERIES, code);
+            snapshot().remove(AvailabilitySnapshot.Kind.SERIES_WITH_SEASONS, code);
+            snapshot().remove(AvailabilitySnapshot.Kind.SERIES_WITH_GENRES, code);
+            snapshot().removeFirst(AvailabilitySnapshot.Kind.SEASON, code);
+            snapshot().removeFirst(AvailabilitySnapshot.Kind.SEASON_WITH_EPISODES, code);
+        });
+    }
+
+    /**
+     * Reads the evaluations received by a review, which are deleted together with it.
+     */
+    private ReviewerStanding getReviewEvaluations(final String table,
+                                                  final String reviewColumn,
+                                                  final int contentId,
+                                                  final String authorUsername) throws SQLException {
+        final String query = "SELECT COUNT(*), COALESCE(SUM(CASE WHEN Positiva THEN 1 ELSE -1 END), 0) "
+                + "FROM " + table + " WHERE UsernameUtenteValutato = ? AND " + reviewColumn + " = ?";
+        prepare(query);
+        getPreparedStatement().setString(1, authorUsername);
+        getPreparedStatement().setInt(2, contentId);
+        setResultSet(getPreparedStatement().executeQuery());
+        return getResultSet().next()
+                ? new ReviewerStanding(authorUsername, 0, getResultSet().getInt(1), getResultSet().getInt(2))
+                : new ReviewerStanding(authorUsername, 0, 0, 0);
+    }
+
+    /**
+     * Gives their positions to standings already in order, tied ones sharing the same position.
+     */
+    private static List<RankingEntry> rank(final List<ReviewerStanding> standings,
+                                           final ToDoubleFunction<ReviewerStanding> score) {
+        final List<RankingEntry> entries = new ArrayList<>();
+        for (final ReviewerStanding standing : standings) {
+            final double value = score.applyAsDouble(standing);
+            final int position = entries.isEmpty() || entries.get(entries.size() - 1).score() != value
+                    ? entries.size() + 1
+                    : entries.get(entries.size() - 1).position();
+            entries.add(new RankingEntry(position, standing.username(), value));
+        }
+        return entries;
+    }
+
+    private static String castRankingQuery(final String roleColumn) {
+        return "SELECT CONCAT(membrocast.Nome, ' ', membrocast.Cognome) AS Nome, membrocast.Codice AS Codice, "
+                + "COUNT(*) AS Punteggio, RANK() OVER (ORDER BY COUNT(*) DESC) AS Posizione "
+                + "FROM partecipazione_cast "
+                + "JOIN membrocast ON membrocast.Codice = partecipazione_cast.CodiceMembro "
+                + "WHERE membrocast." + roleColumn + " "
+                + "GROUP BY membrocast.Codice, membrocast.Nome, membrocast.Cognome";
+    }
+
+    /**
+     * Reads the first positions of a ranking computed by the database, ties included.
+     * The ranked query must return the columns Nome, Codice, Punteggio and Posizione, the last computed with RANK(),
+     * and take the first and last day of the date window as its parameters if the ranking is windowed.
+     */
+    private List<RankingEntry> getRanking(final String rankedQuery, final RankingQuery query) {
         Objects.requireNonNull(getConnection());
         try {
-            final String query = "SELECT CodiceCinema FROM tessera WHERE UsernameUtente = ? LIMIT 1";
-            setPreparedStatement(getConnection().prepareStatement(query));
-            getPreparedStatement().setString(1, username);
-            setResultSet(getPreparedStatement().executeQuery());
-            if (getResultSet().next()) {
-                return Optional.of(getResultSet().getInt("CodiceCinema"));
+            final String rankingQuery = "SELECT Nome, Punteggio, Posizione FROM (" + rankedQuery + ") AS Classifica "
+                    + "WHERE Posizione <= ? "
+                    + "ORDER BY Posizione, Nome, Codice";
+            prepare(rankingQuery);
+            int index = 1;
+            if (query.type().isWindowed()) {
+                getPreparedStatement().setDate(index++, Date.valueOf(query.from().orElse(FIRST_DATE)));
+                getPreparedStatement().setDate(index++, Date.valueOf(query.to().orElse(LAST_DATE)));
             }
-            return Optional.empty();
-        } catch (SQLException ex) {
-            throw new IllegalArgumentException("Error retrieving cinemaCode: " + ex.getMessage(), ex);
-        }
-    }
-
-    private List<UserRanking> getBestReviewersRanking() {
-        final String query =
-                "SELECT UsernameUtente, SUM(NumeroValutazioni) AS TotaleValutazioni "
-                        + "FROM ("
-                        + "SELECT UsernameUtente, COUNT(*) AS NumeroValutazioni "
-                        + "FROM recfilm "
-                        + "GROUP BY UsernameUtente "
-                        + "UNION ALL "
-                        + "SELECT UsernameUtente, COUNT(*) AS NumeroValutazioni "
-                        + "FROM recserie "
-                        + "GROUP BY UsernameUtente) AS RecensioniTotali "
-                        + "GROUP BY UsernameUtente "
-                        + "ORDER BY TotaleValutazioni DESC "
-                        + "LIMIT 5";
-        return getResult(query);
-    }
-
-    private List<UserRanking> getWorstUtilityReviewersRanking() {
-        final String query =
-                "SELECT UsernameUtenteValutato, "
-                        + "SUM(CASE WHEN Positiva = TRUE THEN 1 ELSE -1 END) / COUNT(*) AS MediaValutazione "
-                        + "FROM (SELECT UsernameUtenteValutato, Positiva FROM valutazione_film "
-                        + "UNION ALL "
-                        + "SELECT UsernameUtenteValutato, Positiva FROM valutazione_serie) AS AllReviews "
-                        + "GROUP BY UsernameUtenteValutato "
-                        + "ORDER BY MediaValutazione ASC "
-                        + "LIMIT 5";
-        return getResult(query);
-    }
-
-    private List<UserRanking> getBestUtilityReviewersRanking() {
-        final String query =
-                "SELECT UsernameUtenteValutato, "
-                        + "SUM(CASE WHEN Positiva = TRUE THEN 1 ELSE -1 END) / COUNT(*) AS MediaValutazione "
-                        + "FROM (SELECT UsernameUtenteValutato, Positiva FROM valutazione_film "
-                        + "UNION ALL "
-                        + "SELECT UsernameUtenteValutato, Positiva FROM valutazione_serie) AS AllReviews "
-                        + "GROUP BY UsernameUtenteValutato "
-                        + "ORDER BY MediaValutazione "
-                        + "LIMIT 5";
-        return getResult(query);
-    }
-
-    private List<UserRanking> getResult(final String query) {
-        try {
-            setPreparedStatement(getConnection().prepareStatement(query));
+            getPreparedStatement().setInt(index, query.size());
             setResultSet(getPreparedStatement().executeQuery());
-            final List<UserRanking> rankings = new ArrayList<>();
+            final List<RankingEntry> entries = new ArrayList<>();
             while (getResultSet().next()) {
-                rankings.add(new UserRanking(
-                        getResultSet().getString(1),
-                        getResultSet().getInt(2)));
+                entries.add(new RankingEntry(
+                        getResultSet().getInt("Posizione"),
+                        getResultSet().getString("Nome"),
+                        getResultSet().getDouble("Punteggio")));
             }
-            return rankings;
+            return entries;
         } catch (SQLException ex) {
             throw new IllegalArgumentException("Error retrieving rankings: " + ex.getMessage(), ex);
         }
@@ -1662,9 +2040,9 @@ public final class AdminOps extends DBManager {
                     + "NumeroEpisodi = NumeroEpisodi - 1 "
                     + "WHERE Codice = ?";
             if (add) {
-                setPreparedStatement(getConnection().prepareStatement(addQuery));
+                prepare(addQuery);
             } else {
-                setPreparedStatement(getConnection().prepareStatement(subtractQuery));
+                prepare(subtractQuery);
             }
             getPreparedStatement().setInt(1, duration);
             getPreparedStatement().setInt(2, seriesCode);
@@ -1674,17 +2052,107 @@ public final class AdminOps extends DBManager {
         }
     }
 
-    private void assignPrizeTag(final String username) {
+    /**
+     * Hands a promotional offer to the card holders matching a condition in a single transaction.
+     * The cards are resolved with one query, the offers inserted in one batch
+     * and the prize tags, if requested, assigned with one update.
+     *
+     * @param requested The number of users requested, if known, so that those without a card count as skipped.
+     */
+    private PromoDistribution distributePromo(final int promoCode,
+                                              final LocalDate expiration,
+                                              final String cardCondition,
+                                              final ParameterBinder binder,
+                                              final int requested,
+                                              final boolean prizeTag) {
         Objects.requireNonNull(getConnection());
         try {
-            final String query = "UPDATE UTENTE "
-                    + "SET TargaPremio = 1 "
-                    + "WHERE Username = ? ";
-            setPreparedStatement(getConnection().prepareStatement(query));
-            getPreparedStatement().setString(1, username);
-            getPreparedStatement().executeUpdate();
+            final boolean started = beginTransaction();
+            boolean completed = false;
+            try {
+                final Map<String, Integer> cards = new LinkedHashMap<>();
+                int holders = 0;
+                final String cardQuery = "SELECT tessera.UsernameUtente, MIN(tessera.CodiceCinema) AS CodiceCinema, "
+                        + "COUNT(premi_tessera.UsernameUtente) AS Premi "
+                        + "FROM tessera "
+                        + "LEFT JOIN premi_tessera ON premi_tessera.CodiceCinema = tessera.CodiceCinema "
+                        + "AND premi_tessera.UsernameUtente = tessera.UsernameUtente "
+                        + "AND premi_tessera.CodicePromoPromo = ? AND premi_tessera.Scadenza = ? "
+                        + "WHERE " + cardCondition + " "
+                        + "GROUP BY tessera.UsernameUtente";
+                prepare(cardQuery);
+                getPreparedStatement().setInt(1, promoCode);
+                getPreparedStatement().setDate(2, Date.valueOf(expiration));
+                binder.bind(getPreparedStatement(), 3);
+                setResultSet(getPreparedStatement().executeQuery());
+                while (getResultSet().next()) {
+                    holders++;
+                    if (getResultSet().getInt("Premi") == 0) {
+                        cards.put(getResultSet().getString("UsernameUtente"), getResultSet().getInt("CodiceCinema"));
+                    }
+                }
+                if (!cards.isEmpty()) {
+                    final String prizeQuery = "INSERT INTO"
+                            + " premi_tessera(CodicePromoPromo, Scadenza, CodiceCinema, UsernameUtente)"
+                            + " VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE CodicePromoPromo = CodicePromoPromo";
+                    prepare(prizeQuery);
+                    for (final Map.Entry<String, Integer> card : cards.entrySet()) {
+                        getPreparedStatement().setInt(1, promoCode);
+                        getPreparedStatement().setDate(2, Date.valueOf(expiration));
+                        getPreparedStatement().setInt(3, card.getValue());
+                        getPreparedStatement().setString(4, card.getKey());
+                        getPreparedStatement().addBatch();
+                    }
+                    getPreparedStatement().executeBatch();
+                    if (prizeTag) {
+                        final String tagQuery = "UPDATE UTENTE SET TargaPremio = 1 WHERE Username IN ("
+                                + String.join(", ", Collections.nCopies(cards.size(), "?")) + ")";
+                        prepare(tagQuery);
+                        int index = 1;
+                        for (final String username : cards.keySet()) {
+                            getPreparedStatement().setString(index++, username);
+                        }
+                        getPreparedStatement().executeUpdate();
+                    }
+                }
+                completed = true;
+                return new PromoDistribution(cards.size(), Math.max(requested, holders) - cards.size());
+            } finally {
+                endTransaction(started, completed);
+            }
         } catch (SQLException ex) {
-            throw new IllegalArgumentException("Error assigning Prize Tag: " + ex.getMessage(), ex);
+            throw new IllegalArgumentException("Error assigning promo: " + ex.getMessage(), ex);
         }
     }
+
+    /**
+     * Sets the parameters of a query condition.
+     */
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement statement, int firstIndex) throws SQLException;
+    }
+
+    private AdminGetOps reads() {
+        if (Objects.isNull(this.reads)) {
+            this.reads = new AdminGetOps(getConnection());
+        }
+        return this.reads;
+    }
+
+    private AdminAvailabilityOps checks() {
+        if (Objects.isNull(this.checks)) {
+            this.checks = new AdminAvailabilityOps(getConnection());
+        }
+        return this.checks;
+    }
+
+    /**
+     * The updates of the process-wide caches waiting for the transaction of a unit of work to commit,
+     * shared by the operations working on its connection.
+     */
+    private static final class CommitHooks {
+        private final List<Runnable> pending = new ArrayList<>();
+        private boolean open;
+    }
 }
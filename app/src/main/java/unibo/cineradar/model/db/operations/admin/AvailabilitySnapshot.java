@@ -0,0 +1,399 @@
+package unibo.cineradar.model.db.operations.admin;
+
+import unibo.cineradar.model.db.DBConfig;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A process-wide snapshot of the keys the administrator checks before editing the catalog.
+ * The keys are loaded all at once, one query per kind, and kept in sync by the admin write paths,
+ * so that the availability checks become lookups in primitive hash sets.
+ * The snapshot only answers positively: a key it does not know is looked up in the database and learnt if found,
+ * so a key added by another process is never reported as missing.
+ * Every key, learnt or loaded, is forgotten once the time to live expires, and loaded again the next time
+ * the snapshot is used, which bounds how long a key deleted elsewhere is seen.
+ * The keys are read without holding the lock of the snapshot, so lookups are answered while they load.
+ */
+public final class AvailabilitySnapshot {
+    private static final AvailabilitySnapshot INSTANCE = new AvailabilitySnapshot(DBConfig.getCatalogTtl());
+    private static final long LOW_BITS = 0xFFFF_FFFFL;
+
+    private final Duration ttl;
+    private final Map<Kind, LongHashSet> keys = new EnumMap<>(Kind.class);
+    private final Map<String, LongHashSet> cards = new HashMap<>();
+    private boolean loaded;
+    private boolean loading;
+    private long removals;
+    private long since = System.nanoTime();
+
+    /**
+     * Creates an empty snapshot.
+     *
+     * @param ttl How long the loaded keys are trusted.
+     */
+    public AvailabilitySnapshot(final Duration ttl) {
+        this.ttl = Objects.requireNonNull(ttl);
+        for (final Kind kind : Kind.values()) {
+            this.keys.put(kind, new LongHashSet());
+        }
+    }
+
+    /**
+     * Gets the snapshot shared by the whole application.
+     *
+     * @return The application availability snapshot.
+     */
+    public static AvailabilitySnapshot getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether the snapshot knows a single-column key.
+     *
+     * @param kind The kind of the key.
+     * @param code The key.
+     * @return True if the key is known to exist, false if it has to be looked up in the database.
+     */
+    public synchronized boolean contains(final Kind kind, final int code) {
+        return isTrusted() && this.keys.get(kind).contains(code);
+    }
+
+    /**
+     * Checks whether the snapshot knows a two-column key.
+     *
+     * @param kind   The kind of the key.
+     * @param first  The first column of the key.
+     * @param second The second column of the key.
+     * @return True if the key is known to exist, false if it has to be looked up in the database.
+     */
+    public synchronized boolean contains(final Kind kind, final int first, final int second) {
+        return isTrusted() && this.keys.get(kind).contains(pair(first, second));
+    }
+
+    /**
+     * Checks whether the snapshot knows a card.
+     *
+     * @param username   The owner of the card.
+     * @param cinemaCode The cinema of the card.
+     * @return True if the card is known to exist, false if it has to be looked up in the database.
+     */
+    public synchronized boolean containsCard(final String username, final int cinemaCode) {
+        if (!isTrusted()) {
+            return false;
+        }
+        final LongHashSet cinemas = this.cards.get(username);
+        return !Objects.isNull(cinemas) && cinemas.contains(cinemaCode);
+    }
+
+    /**
+     * Records that a single-column key exists.
+     *
+     * @param kind The kind of the key.
+     * @param code The key.
+     */
+    public synchronized void add(final Kind kind, final int code) {
+        this.keys.get(kind).add(code);
+    }
+
+    /**
+     * Records that a two-column key exists.
+     *
+     * @param kind   The kind of the key.
+     * @param first  The first column of the key.
+     * @param second The second column of the key.
+     */
+    public synchronized void add(final Kind kind, final int first, final int second) {
+        this.keys.get(kind).add(pair(first, second));
+    }
+
+    /**
+     * Records that a card exists.
+     *
+     * @param username   The owner of the card.
+     * @param cinemaCode The cinema of the card.
+     */
+    public synchronized void addCard(final String username, final int cinemaCode) {
+        this.cards.computeIfAbsent(username, k -> new LongHashSet()).add(cinemaCode);
+    }
+
+    /**
+     * Forgets a single-column key, which may no longer exist.
+     *
+     * @param kind The kind of the key.
+     * @param code The key.
+     */
+    public synchronized void remove(final Kind kind, final int code) {
+        this.removals++;
+        this.keys.get(kind).remove(code);
+    }
+
+    /**
+     * Forgets a two-column key, which may no longer exist.
+     *
+     * @param kind   The kind of the key.
+     * @param first  The first column of the key.
+     * @param second The second column of the key.
+     */
+    public synchronized void remove(final Kind kind, final int first, final int second) {
+        this.removals++;
+        this.keys.get(kind).remove(pair(first, second));
+    }
+
+    /**
+     * Forgets every two-column key with the given first column, such as the seasons of a deleted series.
+     *
+     * @param kind  The kind of the keys.
+     * @param first The first column of the keys.
+     */
+    public synchronized void removeFirst(final Kind kind, final int first) {
+        this.removals++;
+        this.keys.get(kind).removeIf(key -> (int) (key >>> Integer.SIZE) == first);
+    }
+
+    /**
+     * Forgets every key of a kind, when a change may have removed any of them.
+     *
+     * @param kind The kind of the keys to forget.
+     */
+    public synchronized void forget(final Kind kind) {
+        this.removals++;
+        this.keys.get(kind).clear();
+    }
+
+    /**
+     * Forgets the cards of a user.
+     *
+     * @param username The owner of the cards.
+     */
+    public synchronized void removeCards(final String username) {
+        this.removals++;
+        this.cards.remove(username);
+    }
+
+    /**
+     * Forgets the cards of a cinema.
+     *
+     * @param cinemaCode The cinema of the cards.
+     */
+    public synchronized void removeCinemaCards(final int cinemaCode) {
+        this.removals++;
+        this.cards.values().forEach(cinemas -> cinemas.remove(cinemaCode));
+    }
+
+    /**
+     * Forgets every key, so that the snapshot is loaded again the next time it is used.
+     */
+    public synchronized void clear() {
+        this.removals++;
+        reset();
+    }
+
+    /**
+     * Loads every key from the database, unless they have been loaded and are still trusted
+     * or another caller is already loading them.
+     * The keys are read into new sets without holding the lock, and swapped in once they are all read;
+     * they are thrown away if a key was forgotten meanwhile, since it may have been read before its deletion.
+     * Cards are not loaded, since there is one per user and cinema: they are learnt as they are looked up.
+     *
+     * @param ops The operations used to read the keys.
+     */
+    void ensureLoaded(final AdminAvailabilityOps ops) {
+        final long removalsBefore;
+        synchronized (this) {
+            if (this.loading || this.loaded && !isExpired()) {
+                return;
+            }
+            this.loading = true;
+            removalsBefore = this.removals;
+        }
+        final long started = System.nanoTime();
+        Map<Kind, LongHashSet> read = null;
+        try {
+            read = readKeys(ops);
+        } finally {
+            install(read, started, removalsBefore);
+        }
+    }
+
+    /**
+     * Gets how many keys of a kind are known.
+     *
+     * @param kind The kind of the keys.
+     * @return The number of known keys.
+     */
+    public synchronized int size(final Kind kind) {
+        return this.keys.get(kind).size();
+    }
+
+    /**
+     * Checks that the known keys are still trusted, forgetting them all if the time to live has expired.
+     *
+     * @return True if the known keys can be used, false if they have just been forgotten.
+     */
+    private boolean isTrusted() {
+        if (isExpired()) {
+            reset();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads every key from the database into new sets.
+     *
+     * @param ops The operations used to read the keys.
+     * @return The keys of each kind.
+     */
+    private static Map<Kind, LongHashSet> readKeys(final AdminAvailabilityOps ops) {
+        final Map<Kind, LongHashSet> read = new EnumMap<>(Kind.class);
+        for (final Kind kind : Kind.values()) {
+            final LongHashSet kindKeys = new LongHashSet();
+            ops.loadKeys(kind, kindKeys);
+            read.put(kind, kindKeys);
+        }
+        return read;
+    }
+
+    /**
+     * Ends a load, swapping in the keys it read unless a key was forgotten while they were being read.
+     *
+     * @param read           The keys read by the load, or null if it failed.
+     * @param started        When the load started, which the time to live of its keys counts from.
+     * @param removalsBefore How many removals had been made when the load started.
+     */
+    private synchronized void install(final Map<Kind, LongHashSet> read,
+                                      final long started,
+                                      final long removalsBefore) {
+        this.loading = false;
+        if (Objects.isNull(read) || this.removals != removalsBefore) {
+            return;
+        }
+        this.keys.putAll(read);
+        this.cards.clear();
+        this.loaded = true;
+        this.since = started;
+    }
+
+    private void reset() {
+        this.keys.values().forEach(LongHashSet::clear);
+        this.cards.clear();
+        this.loaded = false;
+        this.since = System.nanoTime();
+    }
+
+    private boolean isExpired() {
+        return System.nanoTime() - this.since >= this.ttl.toNanos();
+    }
+
+    /**
+     * Packs a two-column key into a long.
+     *
+     * @param first  The first column, in the high bits.
+     * @param second The second column, in the low bits.
+     * @return The packed key.
+     */
+    static long pair(final int first, final int second) {
+        return (long) first << Integer.SIZE | second & LOW_BITS;
+    }
+
+    /**
+     * The kinds of keys in the snapshot, each one read from a column, or a pair of columns, of a table.
+     */
+    public enum Kind {
+        /**
+         * The codes of the films.
+         */
+        FILM("film", "Codice"),
+        /**
+         * The codes of the series.
+         */
+        SERIES("serie", "Codice"),
+        /**
+         * The seasons, as series code and season number.
+         */
+        SEASON("stagione", "CodiceSerie", "NumeroStagione"),
+        /**
+         * The codes of the casts.
+         */
+        CAST("casting", "Codice"),
+        /**
+         * The codes of the cast members.
+         */
+        CAST_MEMBER("membrocast", "Codice"),
+        /**
+         * The codes of the cinemas.
+         */
+        CINEMA("cinema", "Codice"),
+        /**
+         * The template codes of the promos.
+         */
+        PROMO("promo", "CodiceTemplatePromo"),
+        /**
+         * The codes of the promo templates.
+         */
+        TEMPLATE_PROMO("TEMPLATEPROMO", "CodicePromo"),
+        /**
+         * The template codes of the multiple promos.
+         */
+        MULTIPLE("MULTIPLO", "CodiceTemplatePromo"),
+        /**
+         * The codes of the casts with at least one member.
+         */
+        CAST_WITH_MEMBERS("partecipazione_cast", "CodiceCast"),
+        /**
+         * The codes of the films with at least one genre.
+         */
+        FILM_WITH_GENRES("CATEGORIZZAZIONE_FILM", "CodiceFilm"),
+        /**
+         * The codes of the series with at least one genre.
+         */
+        SERIES_WITH_GENRES("CATEGORIZZAZIONE_SERIE", "CodiceSerie"),
+        /**
+         * The codes of the series with at least one season.
+         */
+        SERIES_WITH_SEASONS("STAGIONE", "CodiceSerie"),
+        /**
+         * The seasons with at least one episode, as series code and season number.
+         */
+        SEASON_WITH_EPISODES("EPISODIO", "CodiceSerie", "NumeroStagione");
+
+        private final String table;
+        private final String first;
+        private final String second;
+
+        Kind(final String table, final String column) {
+            this(table, column, null);
+        }
+
+        Kind(final String table, final String first, final String second) {
+            this.table = table;
+            this.first = first;
+            this.second = second;
+        }
+
+        /**
+         * Checks whether the keys of this kind span two columns.
+         *
+         * @return True for two-column keys, false for single-column ones.
+         */
+        public boolean isPaired() {
+            return !Objects.isNull(this.second);
+        }
+
+        String getTable() {
+            return this.table;
+        }
+
+        String getFirstColumn() {
+            return this.first;
+        }
+
+        String getSecondColumn() {
+            return this.second;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package unibo.cineradar.model.db.operations.admin;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * A set of primitive longs, with open addressing and linear probing.
+ * Lookups neither box the key nor allocate.
+ */
+final class LongHashSet {
+    private static final long FREE = Long.MIN_VALUE;
+    private static final long PHI = 0x9E37_79B9_7F4A_7C15L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] slots;
+    private int size;
+    private boolean hasFree;
+
+    /**
+     * Creates an empty set.
+     */
+    LongHashSet() {
+        this.slots = newSlots(MIN_CAPACITY);
+    }
+
+    /**
+     * Checks whether a key is in the set.
+     *
+     * @param key The key to look for.
+     * @return True if the key is in the set, false otherwise.
+     */
+    boolean contains(final long key) {
+        if (key == FREE) {
+            return this.hasFree;
+        }
+        final int mask = this.slots.length - 1;
+        for (int i = home(key, mask); this.slots[i] != FREE; i = (i + 1) & mask) {
+            if (this.slots[i] == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds a key to the set.
+     *
+     * @param key The key to add.
+     * @return True if the key was not in the set, false otherwise.
+     */
+    boolean add(final long key) {
+        if (key == FREE) {
+            final boolean added = !this.hasFree;
+            this.hasFree = true;
+            return added;
+        }
+        if ((this.size + 1) * 2 > this.slots.length) {
+            rehash(this.slots.length * 2);
+        }
+        final int mask = this.slots.length - 1;
+        int i = home(key, mask);
+        while (this.slots[i] != FREE) {
+            if (this.slots[i] == key) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        this.slots[i] = key;
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Removes a key from the set.
+     * The keys following it in its probe sequence are shifted back, so that no tombstone is left.
+     *
+     * @param key The key to remove.
+     * @return True if the key was in the set, false otherwise.
+     */
+    boolean remove(final long key) {
+        if (key == FREE) {
+            final boolean removed = this.hasFree;
+            this.hasFree = false;
+            return removed;
+        }
+        final int mask = this.slots.length - 1;
+        int hole = home(key, mask);
+        while (this.slots[hole] != key) {
+            if (this.slots[hole] == FREE) {
+                return false;
+            }
+            hole = (hole + 1) & mask;
+        }
+        for (int i = (hole + 1) & mask; this.slots[i] != FREE; i = (i + 1) & mask) {
+            final int wanted = home(this.slots[i], mask);
+            final boolean reachable = hole <= i ? hole < wanted && wanted <= i : hole < wanted || wanted <= i;
+            if (!reachable) {
+                this.slots[hole] = this.slots[i];
+                hole = i;
+            }
+        }
+        this.slots[hole] = FREE;
+        this.size--;
+        return true;
+    }
+
+    /**
+     * Removes every key matching a condition.
+     *
+     * @param condition The condition of the keys to remove.
+     */
+    void removeIf(final LongPredicate condition) {
+        if (this.hasFree && condition.test(FREE)) {
+            this.hasFree = false;
+        }
+        final long[] old = this.slots;
+        this.slots = newSlots(old.length);
+        this.size = 0;
+        for (final long key : old) {
+            if (key != FREE && !condition.test(key)) {
+                add(key);
+            }
+        }
+    }
+
+    /**
+     * Removes every key.
+     */
+    void clear() {
+        this.slots = newSlots(MIN_CAPACITY);
+        this.size = 0;
+        this.hasFree = false;
+    }
+
+    /**
+     * Gets the number of keys in the set.
+     *
+     * @return The size of the set.
+     */
+    int size() {
+        return this.size + (this.hasFree ? 1 : 0);
+    }
+
+    private void rehash(final int capacity) {
+        final long[] old = this.slots;
+        this.slots = newSlots(capacity);
+        this.size = 0;
+        for (final long key : old) {
+            if (key != FREE) {
+                add(key);
+            }
+        }
+    }
+
+    private static int home(final long key, final int mask) {
+        final long mixed = key * PHI;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+
+    private static long[] newSlots(final int capacity) {
+        final long[] slots = new long[capacity];
+        Arrays.fill(slots, FREE);
+        return slots;
+    }
+}
@@ -1,8 +1,5 @@
 package unibo.cineradar.model.login;
 
-import unibo.cineradar.model.db.operations.admin.AdminOps;
-import unibo.cineradar.model.db.operations.RegistrarOps;
-import unibo.cineradar.model.db.operations.UserOps;
 import unibo.cineradar.utilities.security.HashingAlgorithm;
 import unibo.cineradar.utilities.security.HashingUtilities;
 import unibo.cineradar.utilities.security.PasswordChecker;
@@ -54,34 +51,28 @@ public final class Logger {
      */
     public static Optional<? extends Account> logIn(final String username,
                                                     final char[] password) {
+        return logIn(username, password, new LoginTimings());
+    }
+
+    /**
+     * Logs an account, reading its password hash, its role and its profile with a single query.
+     *
+     * @param username The username of the account to log.
+     * @param password The password of the account to log.
+     * @param timings  Where the duration of the lookup and of the password check are recorded.
+     * @return An instance of Account of the specific type inside an Optional if successful, empty otherwise.
+     */
+    public static Optional<? extends Account> logIn(final String username,
+                                                    final char[] password,
+                                                    final LoginTimings timings) {
+        final Optional<StoredAccount> stored;
         try (DBManager def = new DBManager()) {
-            final Optional<String> gotPassword = def.getAccountCredentials(username);
-            if (gotPassword.isPresent()
-                    && new PasswordChecker(HashingAlgorithm.SHA_512)
-                    .checkPassword(password, gotPassword.get())) {
-                final LoginType type = def.getAccountType(username);
-                switch (type) {
-                    case ADMINISTRATION -> {
-                        try (AdminOps mgr = new AdminOps()) {
-                            return mgr.getAdministrationDetails(username);
-                        }
-                    }
-                    case REGISTRATION -> {
-                        try (RegistrarOps mgr = new RegistrarOps()) {
-                            return mgr.getRegistrarDetails(username);
-                        }
-                    }
-                    case USER -> {
-                        try (UserOps mgr = new UserOps()) {
-                            return mgr.getUserDetails(username);
-                        }
-                    }
-                    default -> throw new IllegalStateException("Unhandled LoginType: " + type);
-                }
-            }
+            stored = def.getStoredAccount(username);
         }
-        return Optional.empty();
+        timings.mark(LoginTimings.LOOKUP);
+        final boolean valid = stored.isPresent()
+                && new PasswordChecker(HashingAlgorithm.SHA_512).checkPassword(password, stored.get().hashedPassword());
+        timings.mark(LoginTimings.PASSWORD);
+        return valid ? stored.map(StoredAccount::account) : Optional.empty();
     }
-
-
 }
@@ -0,0 +1,106 @@
+package unibo.cineradar.model.login;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * How long each phase of a login took, from the credentials being submitted to the catalog being loaded.
+ * Each phase lasts from the end of the previous one, or from the creation of the timings for the first.
+ */
+public final class LoginTimings {
+    /**
+     * Reading the password hash, the role and the profile of the account.
+     */
+    public static final String LOOKUP = "lookup";
+    /**
+     * Checking the password against its hash.
+     */
+    public static final String PASSWORD = "password";
+    /**
+     * Building the session context.
+     */
+    public static final String CONTEXT = "context";
+    /**
+     * Building the session controller.
+     */
+    public static final String CONTROLLER = "controller";
+    /**
+     * Building and showing the home page.
+     */
+    public static final String HOME_PAGE = "home page";
+    /**
+     * Loading the catalog in background, after the home page is shown.
+     */
+    public static final String CATALOG = "catalog";
+
+    private final LongSupplier clock;
+    private final long start;
+    private final List<Phase> phases = new ArrayList<>();
+    private long last;
+
+    /**
+     * Starts timing a login.
+     */
+    public LoginTimings() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * Starts timing a login with a given clock.
+     *
+     * @param clock The clock, in nanoseconds.
+     */
+    public LoginTimings(final LongSupplier clock) {
+        this.clock = clock;
+        this.start = clock.getAsLong();
+        this.last = this.start;
+    }
+
+    /**
+     * Ends a phase.
+     *
+     * @param name The name of the phase.
+     */
+    public synchronized void mark(final String name) {
+        final long now = this.clock.getAsLong();
+        this.phases.add(new Phase(name, Duration.ofNanos(now - this.last)));
+        this.last = now;
+    }
+
+    /**
+     * Gets the phases ended so far.
+     *
+     * @return The phases, in the order they ended.
+     */
+    public synchronized List<Phase> getPhases() {
+        return List.copyOf(this.phases);
+    }
+
+    /**
+     * Gets the time from the start of the login to the end of the last phase.
+     *
+     * @return The total time of the phases.
+     */
+    public synchronized Duration getTotal() {
+        return Duration.ofNanos(this.last - this.start);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return this.phases.stream()
+                .map(phase -> phase.name() + " " + phase.duration().toMillis() + " ms")
+                .collect(Collectors.joining(", ", "", " (total " + getTotal().toMillis() + " ms)"));
+    }
+
+    /**
+     * A phase of the login.
+     *
+     * @param name     The name of the phase.
+     * @param duration How long the phase took.
+     */
+    public record Phase(String name, Duration duration) {
+    }
+}
@@ -0,0 +1,24 @@
+package unibo.cineradar.model.login;
+
+import unibo.cineradar.model.utente.Account;
+
+import java.util.Objects;
+
+/**
+ * An account as stored in the database, with everything needed to log it in.
+ *
+ * @param hashedPassword The hash of the password of the account.
+ * @param account        The account, already of its specific type with its profile details.
+ */
+public record StoredAccount(String hashedPassword, Account account) {
+    /**
+     * Creates a stored account.
+     *
+     * @param hashedPassword The hash of the password of the account.
+     * @param account        The account, already of its specific type with its profile details.
+     */
+    public StoredAccount {
+        Objects.requireNonNull(hashedPassword);
+        Objects.requireNonNull(account);
+    }
+}
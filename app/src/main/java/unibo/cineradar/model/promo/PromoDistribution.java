@@ -0,0 +1,11 @@
+package unibo.cineradar.model.promo;
+
+/**
+ * The outcome of handing a promotional offer to many users at once.
+ *
+ * @param rewarded The number of users who received the promotional offer.
+ * @param skipped  The number of users left out, because they have no card
+ *                 or already had the promotional offer.
+ */
+public record PromoDistribution(int rewarded, int skipped) {
+}
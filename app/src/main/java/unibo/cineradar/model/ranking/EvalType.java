@@ -1,15 +1,51 @@
 package unibo.cineradar.model.ranking;
 
 /**
- * Evaluation types for cast members.
+ * Evaluation types of the rankings.
  */
 public enum EvalType {
+    /**
+     * Rank users by number of reviews written.
+     */
+    MOST_REVIEWS(false),
+    /**
+     * Rank users by average usefulness of their reviews, the least useful first.
+     */
+    WORST_USEFULNESS(false),
+    /**
+     * Rank users by average usefulness of their reviews, the most useful first.
+     */
+    BEST_USEFULNESS(false),
     /**
      * Rank by directors.
      */
-    BEST_DIRECTORS,
+    BEST_DIRECTORS(false),
     /**
      * Rank by actors.
      */
-    BEST_ACTORS
+    BEST_ACTORS(false),
+    /**
+     * Rank films by number of views.
+     */
+    MOST_VIEWED_FILMS(false),
+    /**
+     * Rank series by number of users who viewed at least one of their episodes.
+     */
+    MOST_VIEWED_SERIES(true);
+
+    private final boolean windowed;
+
+    EvalType(final boolean windowed) {
+        this.windowed = windowed;
+    }
+
+    /**
+     * Tells if the ranking can be restricted to a date window.
+     * Only episode views record the date they happened on.
+     *
+     * @return True if a date window can be given, false otherwise.
+     */
+    public boolean isWindowed() {
+        return this.windowed;
+    }
 }
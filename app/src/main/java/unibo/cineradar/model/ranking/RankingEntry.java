@@ -0,0 +1,12 @@
+package unibo.cineradar.model.ranking;
+
+/**
+ * Represents an entry of a ranking.
+ * Entries with the same score share the same position, and the following position is skipped.
+ *
+ * @param position The position in the ranking, starting from 1.
+ * @param name     The name of the user, cast member or title ranked.
+ * @param score    The score the entry is ranked by.
+ */
+public record RankingEntry(int position, String name, double score) {
+}
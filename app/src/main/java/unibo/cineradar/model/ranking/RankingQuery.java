@@ -0,0 +1,63 @@
+package unibo.cineradar.model.ranking;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A request for a ranking.
+ * The ranking holds the first entries up to the given size, plus the ones tied with the last of them;
+ * entries with the same score are ordered by name.
+ *
+ * @param type The kind of ranking.
+ * @param size The number of positions to return.
+ * @param from The first day of the window the ranking is restricted to, if any.
+ * @param to   The last day of the window the ranking is restricted to, if any.
+ */
+public record RankingQuery(EvalType type, int size, Optional<LocalDate> from, Optional<LocalDate> to) {
+
+    /**
+     * Creates a ranking request.
+     *
+     * @param type The kind of ranking.
+     * @param size The number of positions to return.
+     * @param from The first day of the window the ranking is restricted to, if any.
+     * @param to   The last day of the window the ranking is restricted to, if any.
+     */
+    public RankingQuery {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        if (size <= 0) {
+            throw new IllegalArgumentException("The ranking size must be positive.");
+        }
+        if ((from.isPresent() || to.isPresent()) && !type.isWindowed()) {
+            throw new IllegalArgumentException("The ranking " + type + " cannot be restricted to a date window.");
+        }
+        if (from.isPresent() && to.isPresent() && from.get().isAfter(to.get())) {
+            throw new IllegalArgumentException("Invalid date window.");
+        }
+    }
+
+    /**
+     * Creates the request for the first entries of a ranking over all time.
+     *
+     * @param type The kind of ranking.
+     * @param size The number of positions to return.
+     * @return The ranking request.
+     */
+    public static RankingQuery top(final EvalType type, final int size) {
+        return new RankingQuery(type, size, Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Restricts the ranking to a date window.
+     *
+     * @param first The first day of the window, if any.
+     * @param last  The last day of the window, if any.
+     * @return The restricted request.
+     */
+    public RankingQuery between(final Optional<LocalDate> first, final Optional<LocalDate> last) {
+        return new RankingQuery(this.type, this.size, first, last);
+    }
+}
@@ -0,0 +1,267 @@
+package unibo.cineradar.model.ranking;
+
+import unibo.cineradar.model.db.operations.admin.AdminOps;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * The reviewer rankings shared by every session, kept in memory.
+ * The standings are read from the database on the first request and then updated
+ * as reviews and evaluations are added or removed, so a ranking of K users costs O(K).
+ * Changes that affect many users at once, like the deletion of a content or of an account,
+ * discard the standings, which are read again on the next request.
+ */
+public final class ReviewerLeaderboard {
+    private static final ReviewerLeaderboard INSTANCE = new ReviewerLeaderboard(ReviewerLeaderboard::loadStandings);
+    private static final Comparator<ReviewerStanding> REVIEWS = Comparator.comparingInt(ReviewerStanding::reviews);
+    private static final Comparator<ReviewerStanding> USEFULNESS = ReviewerLeaderboard::compareUsefulness;
+    private static final Comparator<ReviewerStanding> BY_REVIEWS =
+            REVIEWS.reversed().thenComparing(ReviewerStanding::username);
+    private static final Comparator<ReviewerStanding> BY_LEAST_USEFUL =
+            USEFULNESS.thenComparing(ReviewerStanding::username);
+    private static final Comparator<ReviewerStanding> BY_MOST_USEFUL =
+            USEFULNESS.reversed().thenComparing(ReviewerStanding::username);
+
+    private final StandingsLoader loader;
+    private final Map<String, ReviewerStanding> standings = new HashMap<>();
+    private final NavigableSet<ReviewerStanding> byReviews = new TreeSet<>(BY_REVIEWS);
+    private final NavigableSet<ReviewerStanding> byLeastUseful = new TreeSet<>(BY_LEAST_USEFUL);
+    private final NavigableSet<ReviewerStanding> byMostUseful = new TreeSet<>(BY_MOST_USEFUL);
+    private boolean built;
+    private long changes;
+
+    /**
+     * Creates a leaderboard.
+     *
+     * @param loader The function used to read the standings from the database.
+     */
+    public ReviewerLeaderboard(final StandingsLoader loader) {
+        this.loader = Objects.requireNonNull(loader);
+    }
+
+    /**
+     * Gets the leaderboard shared by the whole application.
+     *
+     * @return The application leaderboard.
+     */
+    public static ReviewerLeaderboard getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Gets the users who wrote the most reviews.
+     *
+     * @param count The number of users.
+     * @return The standings of the users, the one with the most reviews first, followed by the ones tied with the last.
+     */
+    public List<ReviewerStanding> mostReviews(final int count) {
+        ensureBuilt();
+        synchronized (this) {
+            return first(this.byReviews.iterator(), count, REVIEWS);
+        }
+    }
+
+    /**
+     * Gets the users whose reviews have been evaluated as the most useful on average.
+     *
+     * @param count The number of users.
+     * @return The standings of the users, the most useful first, followed by the ones tied with the last.
+     */
+    public List<ReviewerStanding> bestUsefulness(final int count) {
+        ensureBuilt();
+        synchronized (this) {
+            return first(this.byMostUseful.iterator(), count, USEFULNESS);
+        }
+    }
+
+    /**
+     * Gets the users whose reviews have been evaluated as the least useful on average.
+     *
+     * @param count The number of users.
+     * @return The standings of the users, the least useful first, followed by the ones tied with the last.
+     */
+    public List<ReviewerStanding> worstUsefulness(final int count) {
+        ensureBuilt();
+        synchronized (this) {
+            return first(this.byLeastUseful.iterator(), count, USEFULNESS);
+        }
+    }
+
+    /**
+     * Records that a user wrote a review.
+     *
+     * @param username The username of the author.
+     */
+    public synchronized void reviewAdded(final String username) {
+        update(username, 1, 0, 0);
+    }
+
+    /**
+     * Records that a review has been deleted together with its evaluations.
+     *
+     * @param username    The username of the author.
+     * @param evaluations The number of evaluations the review had received.
+     * @param usefulness  The positive evaluations the review had received minus the negative ones.
+     */
+    public synchronized void reviewRemoved(final String username, final int evaluations, final int usefulness) {
+        update(username, -1, -evaluations, -usefulness);
+    }
+
+    /**
+     * Records that the evaluation given to a review has been added, changed or removed.
+     *
+     * @param username The username of the author of the review.
+     * @param previous The previous evaluation, true if positive, empty if there was none.
+     * @param current  The new evaluation, true if positive, empty if it has been removed.
+     */
+    public synchronized void evaluationChanged(final String username,
+                                               final Optional<Boolean> previous,
+                                               final Optional<Boolean> current) {
+        if (!previous.equals(current)) {
+            update(username, 0,
+                    count(current) - count(previous),
+                    usefulness(current) - usefulness(previous));
+        }
+    }
+
+    /**
+     * Discards the standings, which will be read again on the next request.
+     */
+    public synchronized void invalidate() {
+        this.built = false;
+        this.changes++;
+    }
+
+    /**
+     * Reads the standings if they have been discarded.
+     * The database is read outside the lock; if anything changes meanwhile
+     * the standings read are used but will be read again on the next request,
+     * since they may or may not include the change.
+     */
+    private void ensureBuilt() {
+        final long start;
+        synchronized (this) {
+            if (this.built) {
+                return;
+            }
+            start = this.changes;
+        }
+        final List<ReviewerStanding> loaded = this.loader.load();
+        synchronized (this) {
+            this.standings.clear();
+            this.byReviews.clear();
+            this.byLeastUseful.clear();
+            this.byMostUseful.clear();
+            loaded.forEach(this::put);
+            this.built = this.changes == start;
+        }
+    }
+
+    /**
+     * Applies a change to the standing of a user.
+     * A change that would make a count negative means the standings missed something, so they are read again.
+     */
+    private void update(final String username, final int reviews, final int evaluations, final int usefulness) {
+        this.changes++;
+        if (!this.built) {
+            return;
+        }
+        final ReviewerStanding previous = this.standings.get(username);
+        if (Objects.nonNull(previous)) {
+            remove(previous);
+        }
+        final ReviewerStanding current = Objects.isNull(previous)
+                ? new ReviewerStanding(username, reviews, evaluations, usefulness)
+                : new ReviewerStanding(username,
+                previous.reviews() + reviews,
+                previous.evaluations() + evaluations,
+                previous.usefulness() + usefulness);
+        if (current.reviews() < 0 || current.evaluations() < 0) {
+            this.built = false;
+            return;
+        }
+        put(current);
+    }
+
+    private void put(final ReviewerStanding standing) {
+        if (standing.isEmpty()) {
+            return;
+        }
+        this.standings.put(standing.username(), standing);
+        if (standing.reviews() > 0) {
+            this.byReviews.add(standing);
+        }
+        if (standing.evaluations() > 0) {
+            this.byLeastUseful.add(standing);
+            this.byMostUseful.add(standing);
+        }
+    }
+
+    private void remove(final ReviewerStanding standing) {
+        this.standings.remove(standing.username());
+        this.byReviews.remove(standing);
+        this.byLeastUseful.remove(standing);
+        this.byMostUseful.remove(standing);
+    }
+
+    /**
+     * Takes the first standings up to the given count, plus the following ones with the same score as the last.
+     */
+    private static List<ReviewerStanding> first(final Iterator<ReviewerStanding> iterator,
+                                                final int count,
+                                                final Comparator<ReviewerStanding> score) {
+        final List<ReviewerStanding> result = new ArrayList<>();
+        while (iterator.hasNext()) {
+            final ReviewerStanding next = iterator.next();
+            if (result.size() >= count && score.compare(result.get(result.size() - 1), next) != 0) {
+                break;
+            }
+            result.add(next);
+        }
+        return result;
+    }
+
+    private static int count(final Optional<Boolean> evaluation) {
+        return evaluation.isPresent() ? 1 : 0;
+    }
+
+    private static int usefulness(final Optional<Boolean> evaluation) {
+        return evaluation.map(positive -> positive ? 1 : -1).orElse(0);
+    }
+
+    /**
+     * Compares the exact average usefulness of two users with evaluations, without rounding.
+     */
+    private static int compareUsefulness(final ReviewerStanding first, final ReviewerStanding second) {
+        return Long.compare((long) first.usefulness() * second.evaluations(),
+                (long) second.usefulness() * first.evaluations());
+    }
+
+    private static List<ReviewerStanding> loadStandings() {
+        try (AdminOps mgr = new AdminOps()) {
+            return mgr.getReviewerStandings();
+        }
+    }
+
+    /**
+     * Reads the standings of every user from the database.
+     */
+    @FunctionalInterface
+    public interface StandingsLoader {
+        /**
+         * Reads the standings of every user with reviews or evaluations.
+         *
+         * @return The standings read.
+         */
+        List<ReviewerStanding> load();
+    }
+}
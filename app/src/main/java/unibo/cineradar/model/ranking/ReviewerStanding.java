@@ -0,0 +1,30 @@
+package unibo.cineradar.model.ranking;
+
+/**
+ * The review activity of a user, as used by the reviewer rankings.
+ *
+ * @param username    The username of the user.
+ * @param reviews     The number of reviews written by the user.
+ * @param evaluations The number of evaluations received by the reviews of the user.
+ * @param usefulness  The positive evaluations received minus the negative ones.
+ */
+public record ReviewerStanding(String username, int reviews, int evaluations, int usefulness) {
+
+    /**
+     * Gets the average usefulness of the reviews of the user, between -1 and 1.
+     *
+     * @return The usefulness divided by the number of evaluations, 0 if there are none.
+     */
+    public double averageUsefulness() {
+        return this.evaluations == 0 ? 0 : (double) this.usefulness / this.evaluations;
+    }
+
+    /**
+     * Tells if the user has neither reviews nor evaluations.
+     *
+     * @return True if there is nothing to rank the user on, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.reviews == 0 && this.evaluations == 0;
+    }
+}
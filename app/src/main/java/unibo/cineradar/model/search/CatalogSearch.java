@@ -0,0 +1,198 @@
+package unibo.cineradar.model.search;
+
+import unibo.cineradar.model.db.operations.UserOps;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The catalog search shared by every session.
+ * The index is built on the first search and then kept in sync with the changes made by the administrators:
+ * removed contents leave the index at once, while added or modified ones are read before the next search.
+ * The documents are read without holding the lock taken by those updates, so they never wait for a build.
+ */
+public final class CatalogSearch {
+    private static final CatalogSearch INSTANCE = new CatalogSearch(CatalogSearch::loadDocuments);
+
+    private final DocumentLoader loader;
+    private final SearchIndex index = new SearchIndex();
+    private final Object readLock = new Object();
+    private final Set<PendingChange> pendingChanges = new HashSet<>();
+    private boolean built;
+    private long removals;
+
+    /**
+     * Creates a catalog search.
+     *
+     * @param loader The function used to read the searchable documents.
+     */
+    public CatalogSearch(final DocumentLoader loader) {
+        this.loader = Objects.requireNonNull(loader);
+    }
+
+    /**
+     * Gets the search shared by the whole application.
+     *
+     * @return The application catalog search.
+     */
+    public static CatalogSearch getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Searches the catalog.
+     *
+     * @param query    The words to search.
+     * @param type     The kind of content to search.
+     * @param maxAge   The age limit that the results must respect.
+     * @param maxCount The maximum number of results.
+     * @return The matching contents, the most relevant first.
+     */
+    public List<SearchResult> search(final String query, final ContentType type, final int maxAge, final int maxCount) {
+        synchronize();
+        return this.index.search(query, type, maxAge, maxCount);
+    }
+
+    /**
+     * Records that a content has been added or modified; it will be read before the next search.
+     *
+     * @param type The kind of content.
+     * @param code The code of the content.
+     */
+    public synchronized void contentChanged(final ContentType type, final int code) {
+        this.pendingChanges.add(new PendingChange(type, code));
+    }
+
+    /**
+     * Removes a deleted content from the search.
+     *
+     * @param type The kind of content.
+     * @param code The code of the content.
+     */
+    public synchronized void contentRemoved(final ContentType type, final int code) {
+        this.pendingChanges.remove(new PendingChange(type, code));
+        this.index.remove(type, code);
+        this.removals++;
+    }
+
+    /**
+     * Discards the whole index, which will be built again on the next search.
+     * Used when a change may affect many contents at once, like a change to a cast.
+     */
+    public synchronized void invalidate() {
+        this.built = false;
+        this.removals++;
+    }
+
+    /**
+     * Brings the index up to date; searches running at the same time wait for each other here,
+     * but not the updates recorded by the administrators, which only need the instance lock.
+     */
+    private void synchronize() {
+        synchronized (this.readLock) {
+            boolean current;
+            do {
+                current = refresh();
+            } while (!current);
+        }
+    }
+
+    /**
+     * Reads the whole catalog, or the contents changed since the last refresh, and installs them in the index.
+     * The documents are read without holding the instance lock, and thrown away if a content was removed
+     * or the index invalidated meanwhile, since they may have been read before that.
+     *
+     * @return True if the index is up to date, false if the documents read had to be thrown away.
+     */
+    private boolean refresh() {
+        final boolean rebuild;
+        final Set<PendingChange> changes;
+        final long removalsBefore;
+        synchronized (this) {
+            rebuild = !this.built;
+            changes = Set.copyOf(this.pendingChanges);
+            this.pendingChanges.clear();
+            removalsBefore = this.removals;
+        }
+        if (!rebuild && changes.isEmpty()) {
+            return true;
+        }
+        boolean installed = false;
+        try {
+            final List<SearchDocument> documents = rebuild ? readAll() : read(changes);
+            installed = install(rebuild, changes, documents, removalsBefore);
+            return installed;
+        } finally {
+            if (!installed) {
+                requeue(changes);
+            }
+        }
+    }
+
+    private synchronized boolean install(final boolean rebuild,
+                                         final Set<PendingChange> changes,
+                                         final List<SearchDocument> documents,
+                                         final long removalsBefore) {
+        if (this.removals != removalsBefore) {
+            return false;
+        }
+        if (rebuild) {
+            this.index.clear();
+            this.built = true;
+        } else {
+            changes.forEach(change -> this.index.remove(change.type(), change.code()));
+        }
+        documents.forEach(this.index::add);
+        return true;
+    }
+
+    private synchronized void requeue(final Set<PendingChange> changes) {
+        this.pendingChanges.addAll(changes);
+    }
+
+    private List<SearchDocument> readAll() {
+        final List<SearchDocument> documents = new ArrayList<>();
+        for (final ContentType type : ContentType.values()) {
+            documents.addAll(this.loader.load(type, 0, Integer.MAX_VALUE));
+        }
+        return documents;
+    }
+
+    private List<SearchDocument> read(final Set<PendingChange> changes) {
+        final List<SearchDocument> documents = new ArrayList<>();
+        for (final PendingChange change : changes) {
+            documents.addAll(this.loader.load(change.type(), change.code(), change.code()));
+        }
+        return documents;
+    }
+
+    private static List<SearchDocument> loadDocuments(final ContentType type, final int fromCode, final int toCode) {
+        try (UserOps mgr = new UserOps()) {
+            return type == ContentType.FILM
+                    ? mgr.getFilmSearchDocuments(fromCode, toCode)
+                    : mgr.getSeriesSearchDocuments(fromCode, toCode);
+        }
+    }
+
+    /**
+     * Reads the searchable documents of a range of contents.
+     */
+    @FunctionalInterface
+    public interface DocumentLoader {
+        /**
+         * Reads the searchable documents of the contents whose code is in the given range.
+         *
+         * @param type     The kind of content.
+         * @param fromCode The lowest code to read, inclusive.
+         * @param toCode   The highest code to read, inclusive.
+         * @return The documents of the contents found.
+         */
+        List<SearchDocument> load(ContentType type, int fromCode, int toCode);
+    }
+
+    private record PendingChange(ContentType type, int code) {
+    }
+}
@@ -0,0 +1,15 @@
+package unibo.cineradar.model.search;
+
+/**
+ * The kinds of content that can be searched.
+ */
+public enum ContentType {
+    /**
+     * A film.
+     */
+    FILM,
+    /**
+     * A TV series.
+     */
+    SERIES
+}
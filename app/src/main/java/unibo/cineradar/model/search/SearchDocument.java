@@ -0,0 +1,38 @@
+package unibo.cineradar.model.search;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The searchable text of a film or series.
+ *
+ * @param type      The kind of content.
+ * @param code      The code of the film or series.
+ * @param title     The title.
+ * @param plot      The plot.
+ * @param ageLimit  The age limit.
+ * @param castNames The names, surnames and stage names of the cast members.
+ */
+public record SearchDocument(ContentType type,
+                             int code,
+                             String title,
+                             String plot,
+                             int ageLimit,
+                             List<String> castNames) {
+    /**
+     * Creates a searchable document.
+     *
+     * @param type      The kind of content.
+     * @param code      The code of the film or series.
+     * @param title     The title.
+     * @param plot      The plot.
+     * @param ageLimit  The age limit.
+     * @param castNames The names, surnames and stage names of the cast members.
+     */
+    public SearchDocument {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(title);
+        plot = Objects.requireNonNullElse(plot, "");
+        castNames = List.copyOf(castNames);
+    }
+}
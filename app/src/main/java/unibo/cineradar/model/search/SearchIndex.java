@@ -0,0 +1,304 @@
+package unibo.cineradar.model.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory inverted index over the titles, plots and cast names of films and series.
+ * Every query word matches the indexed words equal to it, starting with it or one typo away from it;
+ * a content matches when all the query words do, and results are ranked by field weight and word rarity.
+ * Typos are found through a dictionary of the words with one letter deleted, so no scan of the vocabulary is needed.
+ */
+public final class SearchIndex {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double CAST_WEIGHT = 2.0;
+    private static final double PLOT_WEIGHT = 1.0;
+    private static final double PREFIX_FACTOR = 0.6;
+    private static final double TYPO_FACTOR = 0.4;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MIN_TYPO_LENGTH = 4;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final Map<Key, SearchDocument> documents = new HashMap<>();
+    private final NavigableMap<String, Map<Key, Double>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds a document to the index, replacing the previous version of the same content.
+     *
+     * @param document The document to add.
+     */
+    public void add(final SearchDocument document) {
+        this.lock.writeLock().lock();
+        try {
+            final Key key = new Key(document.type(), document.code());
+            removeDocument(key);
+            this.documents.put(key, document);
+            weights(document).forEach((term, weight) -> {
+                final Map<Key, Double> posting = this.postings.computeIfAbsent(term, t -> {
+                    registerDeletions(t);
+                    return new HashMap<>();
+                });
+                posting.put(key, weight);
+            });
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a content from the index.
+     *
+     * @param type The kind of content.
+     * @param code The code of the content.
+     * @return True if the content was indexed, false otherwise.
+     */
+    public boolean remove(final ContentType type, final int code) {
+        this.lock.writeLock().lock();
+        try {
+            return removeDocument(new Key(type, code));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every content from the index.
+     */
+    public void clear() {
+        this.lock.writeLock().lock();
+        try {
+            this.documents.clear();
+            this.postings.clear();
+            this.deletions.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed contents.
+     *
+     * @return The number of indexed contents.
+     */
+    public int size() {
+        this.lock.readLock().lock();
+        try {
+            return this.documents.size();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param query    The words to search.
+     * @param type     The kind of content to search.
+     * @param maxAge   The age limit that the results must respect.
+     * @param maxCount The maximum number of results.
+     * @return The matching contents, the most relevant first.
+     */
+    public List<SearchResult> search(final String query, final ContentType type, final int maxAge, final int maxCount) {
+        final List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        this.lock.readLock().lock();
+        try {
+            Map<Key, Double> scores = null;
+            for (final String word : words) {
+                final Map<Key, Double> wordScores = match(word);
+                if (Objects.isNull(scores)) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((key, score) -> score + wordScores.get(key));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            final List<SearchResult> results = new ArrayList<>();
+            scores.forEach((key, score) -> {
+                final SearchDocument document = this.documents.get(key);
+                if (key.type() == type && document.ageLimit() <= maxAge) {
+                    results.add(new SearchResult(key.type(), key.code(), document.title(), score));
+                }
+            });
+            results.sort(Comparator.comparingDouble(SearchResult::score).reversed()
+                    .thenComparing(SearchResult::title)
+                    .thenComparingInt(SearchResult::code));
+            return List.copyOf(results.subList(0, Math.min(maxCount, results.size())));
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits a text in lowercase words without accents.
+     *
+     * @param text The text to split.
+     * @return The words of the text.
+     */
+    static List<String> tokenize(final String text) {
+        final String plain = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        final List<String> words = new ArrayList<>();
+        for (final String word : SEPARATORS.split(plain.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private Map<Key, Double> match(final String word) {
+        final Map<Key, Double> scores = new HashMap<>();
+        collect(scores, word, 1.0);
+        if (word.length() >= MIN_PREFIX_LENGTH) {
+            int expansions = 0;
+            for (final String term : this.postings.subMap(word, false, word + Character.MAX_VALUE, false).keySet()) {
+                if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                collect(scores, term, PREFIX_FACTOR);
+            }
+        }
+        if (word.length() >= MIN_TYPO_LENGTH) {
+            final Set<String> candidates = new HashSet<>();
+            addAll(candidates, this.deletions.get(word));
+            for (final String deletion : deletionsOf(word)) {
+                if (this.postings.containsKey(deletion)) {
+                    candidates.add(deletion);
+                }
+                addAll(candidates, this.deletions.get(deletion));
+            }
+            candidates.remove(word);
+            for (final String term : candidates) {
+                if (isOneEditAway(word, term)) {
+                    collect(scores, term, TYPO_FACTOR);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void collect(final Map<Key, Double> scores, final String term, final double factor) {
+        final Map<Key, Double> posting = this.postings.get(term);
+        if (Objects.isNull(posting)) {
+            return;
+        }
+        final double rarity = Math.log(1 + (double) this.documents.size() / posting.size());
+        posting.forEach((key, weight) -> scores.merge(key, weight * factor * rarity, Math::max));
+    }
+
+    private boolean removeDocument(final Key key) {
+        final SearchDocument previous = this.documents.remove(key);
+        if (Objects.isNull(previous)) {
+            return false;
+        }
+        for (final String term : weights(previous).keySet()) {
+            final Map<Key, Double> posting = this.postings.get(term);
+            posting.remove(key);
+            if (posting.isEmpty()) {
+                this.postings.remove(term);
+                unregisterDeletions(term);
+            }
+        }
+        return true;
+    }
+
+    private void registerDeletions(final String term) {
+        if (term.length() >= MIN_TYPO_LENGTH) {
+            deletionsOf(term).forEach(d -> this.deletions.computeIfAbsent(d, x -> new HashSet<>()).add(term));
+        }
+    }
+
+    private void unregisterDeletions(final String term) {
+        if (term.length() >= MIN_TYPO_LENGTH) {
+            for (final String deletion : deletionsOf(term)) {
+                final Set<String> terms = this.deletions.get(deletion);
+                terms.remove(term);
+                if (terms.isEmpty()) {
+                    this.deletions.remove(deletion);
+                }
+            }
+        }
+    }
+
+    private static Map<String, Double> weights(final SearchDocument document) {
+        final Map<String, Double> weights = new HashMap<>();
+        addWeights(weights, List.of(document.title()), TITLE_WEIGHT);
+        addWeights(weights, document.castNames(), CAST_WEIGHT);
+        addWeights(weights, List.of(document.plot()), PLOT_WEIGHT);
+        return weights;
+    }
+
+    private static void addWeights(final Map<String, Double> weights, final List<String> texts, final double weight) {
+        final Set<String> fieldTerms = new HashSet<>();
+        texts.forEach(text -> fieldTerms.addAll(tokenize(text)));
+        fieldTerms.forEach(term -> weights.merge(term, weight, Double::sum));
+    }
+
+    private static Set<String> deletionsOf(final String word) {
+        final Set<String> result = new HashSet<>();
+        for (int i = 0; i < word.length(); i++) {
+            result.add(word.substring(0, i) + word.substring(i + 1));
+        }
+        return result;
+    }
+
+    private static void addAll(final Set<String> target, final Set<String> source) {
+        if (!Objects.isNull(source)) {
+            target.addAll(source);
+        }
+    }
+
+    /**
+     * Checks if two words differ by one insertion, deletion, substitution or swap of adjacent letters.
+     */
+    private static boolean isOneEditAway(final String first, final String second) {
+        final int lengthDifference = first.length() - second.length();
+        if (Math.abs(lengthDifference) > 1) {
+            return false;
+        }
+        final String shorter = lengthDifference <= 0 ? first : second;
+        final String longer = lengthDifference <= 0 ? second : first;
+        int i = 0;
+        while (i < shorter.length() && shorter.charAt(i) == longer.charAt(i)) {
+            i++;
+        }
+        if (i == shorter.length()) {
+            return true;
+        }
+        if (lengthDifference != 0) {
+            return shorter.substring(i).equals(longer.substring(i + 1));
+        }
+        if (shorter.substring(i + 1).equals(longer.substring(i + 1))) {
+            return true;
+        }
+        return i + 1 < shorter.length()
+                && shorter.charAt(i) == longer.charAt(i + 1)
+                && shorter.charAt(i + 1) == longer.charAt(i)
+                && shorter.substring(i + 2).equals(longer.substring(i + 2));
+    }
+
+    private record Key(ContentType type, int code) {
+    }
+}
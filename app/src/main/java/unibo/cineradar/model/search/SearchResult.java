@@ -0,0 +1,12 @@
+package unibo.cineradar.model.search;
+
+/**
+ * A film or series matching a search.
+ *
+ * @param type  The kind of content.
+ * @param code  The code of the film or series.
+ * @param title The title.
+ * @param score How well the content matches the search, the higher the better.
+ */
+public record SearchResult(ContentType type, int code, String title, double score) {
+}
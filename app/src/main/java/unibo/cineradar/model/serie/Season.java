@@ -4,6 +4,7 @@ import unibo.cineradar.model.cast.Cast;
 import unibo.cineradar.model.cast.CastMember;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -15,7 +16,7 @@ public final class Season {
     private final int id;
     private final String summary;
     private final List<Episode> episodes;
-    private final Cast castSeries;
+    private final List<CastMember> castMembers;
     private final int idCast;
 
     /**
@@ -31,7 +32,32 @@ public final class Season {
         this.summary = summary;
         this.seriesId = seriesId;
         this.episodes = new ArrayList<>();
-        this.castSeries = new Cast();
+        this.castMembers = new ArrayList<>();
+        this.idCast = idCast;
+    }
+
+    /**
+     * Constructs a Season object that already contains its episodes and cast.
+     * The caller guarantees that the episodes and the cast members are distinct.
+     *
+     * @param seriesId    The code of the series.
+     * @param id          The code of the season.
+     * @param summary     Summary of the season.
+     * @param idCast      The code of the cast.
+     * @param episodes    The episodes of the season.
+     * @param castMembers The members of the season cast.
+     */
+    Season(final int seriesId,
+           final int id,
+           final String summary,
+           final int idCast,
+           final Collection<Episode> episodes,
+           final Collection<CastMember> castMembers) {
+        this.id = id;
+        this.summary = summary;
+        this.seriesId = seriesId;
+        this.episodes = new ArrayList<>(episodes);
+        this.castMembers = new ArrayList<>(castMembers);
         this.idCast = idCast;
     }
 
@@ -77,7 +103,7 @@ public final class Season {
      * @return The cast of the season.
      */
     public Cast getCast() {
-        return new Cast(this.castSeries.getCastMemberList());
+        return new Cast(this.castMembers);
     }
 
     /**
@@ -89,26 +115,6 @@ public final class Season {
         return this.idCast;
     }
 
-    /**
-     * Adds an episode to the list of the episodes.
-     *
-     * @param episode The episode to add to the list.
-     */
-    public void addEpisode(final Episode episode) {
-        if (!this.episodes.contains(episode)) {
-            this.episodes.add(episode);
-        }
-    }
-
-    /**
-     * Adds a cast member to the cast.
-     *
-     * @param castMember The cast member to add to the cast.
-     */
-    public void addCastMember(final CastMember castMember) {
-        this.castSeries.addCastMember(castMember);
-    }
-
     @Override
     public int hashCode() {
         return Objects.hash(this.id, this.seriesId);
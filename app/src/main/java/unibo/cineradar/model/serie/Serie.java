@@ -3,6 +3,7 @@ package unibo.cineradar.model.serie;
 import unibo.cineradar.model.multimedia.Multimedia;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -47,14 +48,12 @@ public final class Serie extends Multimedia {
     }
 
     /**
-     * Adds a season to the list of the seasons.
+     * Adds seasons known to be distinct from each other and from the ones already present.
      *
-     * @param season The season to add to the list.
+     * @param toAdd The seasons to add.
      */
-    public void addSeason(final Season season) {
-        if (!this.seasons.contains(season)) {
-            this.seasons.add(season);
-        }
+    void addDistinctSeasons(final Collection<Season> toAdd) {
+        this.seasons.addAll(toAdd);
     }
 
     /**
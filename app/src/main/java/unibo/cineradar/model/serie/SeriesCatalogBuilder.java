@@ -0,0 +1,144 @@
+package unibo.cineradar.model.serie;
+
+import unibo.cineradar.model.cast.CastMember;
+import unibo.cineradar.model.multimedia.Genre;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Assembles detailed series from denormalized rows.
+ * Seasons, episodes and cast members are indexed by their codes, so adding a row costs constant time
+ * no matter how many rows have already been added.
+ */
+public final class SeriesCatalogBuilder {
+    private final Map<Integer, SerieDraft> series = new LinkedHashMap<>();
+
+    /**
+     * Checks if a series has already been added.
+     *
+     * @param seriesId The ID of the series.
+     * @return True if the series is already present, false otherwise.
+     */
+    public boolean containsSerie(final int seriesId) {
+        return this.series.containsKey(seriesId);
+    }
+
+    /**
+     * Adds a series, ignoring it if a series with the same ID is already present.
+     *
+     * @param serie The series to add, without seasons.
+     */
+    public void addSerie(final Serie serie) {
+        this.series.putIfAbsent(serie.getSeriesId(), new SerieDraft(serie));
+    }
+
+    /**
+     * Adds a season to an already added series, ignoring it if it is already present.
+     *
+     * @param seriesId The ID of the series.
+     * @param seasonId The number of the season.
+     * @param summary  The summary of the season.
+     * @param castId   The code of the cast of the season.
+     */
+    public void addSeason(final int seriesId, final int seasonId, final String summary, final int castId) {
+        draft(seriesId).seasons.computeIfAbsent(seasonId, k -> new SeasonDraft(seriesId, seasonId, summary, castId));
+    }
+
+    /**
+     * Adds an episode to an already added season, ignoring it if it is already present.
+     *
+     * @param episode The episode to add.
+     */
+    public void addEpisode(final Episode episode) {
+        season(episode.seriesId(), episode.seasonId()).episodes.putIfAbsent(episode.id(), episode);
+    }
+
+    /**
+     * Adds a member to the cast of an already added season, ignoring it if it is already present.
+     *
+     * @param seriesId   The ID of the series.
+     * @param seasonId   The number of the season.
+     * @param castMember The cast member to add.
+     */
+    public void addCastMember(final int seriesId, final int seasonId, final CastMember castMember) {
+        season(seriesId, seasonId).cast.putIfAbsent(castMember.getId(), castMember);
+    }
+
+    /**
+     * Adds a genre to a series, if the series has been added.
+     *
+     * @param seriesId The ID of the series.
+     * @param genre    The genre to add.
+     */
+    public void addGenre(final int seriesId, final Genre genre) {
+        final SerieDraft draft = this.series.get(seriesId);
+        if (!Objects.isNull(draft)) {
+            draft.serie.addGenre(genre);
+        }
+    }
+
+    /**
+     * Builds the series with their seasons, episodes and casts.
+     * Must be called only once.
+     *
+     * @return The detailed series, in the order they were added.
+     */
+    public List<Serie> build() {
+        final List<Serie> built = new ArrayList<>(this.series.size());
+        for (final SerieDraft draft : this.series.values()) {
+            final List<Season> seasons = new ArrayList<>(draft.seasons.size());
+            for (final SeasonDraft season : draft.seasons.values()) {
+                seasons.add(new Season(season.seriesId, season.id, season.summary, season.castId,
+                        season.episodes.values(), season.cast.values()));
+            }
+            draft.serie.addDistinctSeasons(seasons);
+            built.add(draft.serie);
+        }
+        return List.copyOf(built);
+    }
+
+    private SerieDraft draft(final int seriesId) {
+        final SerieDraft draft = this.series.get(seriesId);
+        if (Objects.isNull(draft)) {
+            throw new IllegalStateException("Series " + seriesId + " has not been added.");
+        }
+        return draft;
+    }
+
+    private SeasonDraft season(final int seriesId, final int seasonId) {
+        final SeasonDraft season = draft(seriesId).seasons.get(seasonId);
+        if (Objects.isNull(season)) {
+            throw new IllegalStateException("Season " + seasonId + " of series " + seriesId + " has not been added.");
+        }
+        return season;
+    }
+
+    private static final class SerieDraft {
+        private final Serie serie;
+        private final Map<Integer, SeasonDraft> seasons = new LinkedHashMap<>();
+
+        SerieDraft(final Serie serie) {
+            this.serie = serie;
+        }
+    }
+
+    private static final class SeasonDraft {
+        private final int seriesId;
+        private final int id;
+        private final String summary;
+        private final int castId;
+        private final Map<Integer, Episode> episodes = new LinkedHashMap<>();
+        private final Map<Integer, CastMember> cast = new LinkedHashMap<>();
+
+        SeasonDraft(final int seriesId, final int id, final String summary, final int castId) {
+            this.seriesId = seriesId;
+            this.id = id;
+            this.summary = summary;
+            this.castId = castId;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package unibo.cineradar.model.views;
+
+import java.util.List;
+
+/**
+ * The views recorded since the last write, ready to be written together.
+ * There is at most one event for each film or episode of a user, the latest one.
+ *
+ * @param events The view events to write.
+ */
+public record ViewBatch(List<ViewEvent> events) {
+
+    /**
+     * Creates a batch of views.
+     *
+     * @param events The view events to write.
+     */
+    public ViewBatch {
+        events = List.copyOf(events);
+    }
+
+    /**
+     * Checks if there is nothing to write.
+     *
+     * @return True if the batch is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return this.events.isEmpty();
+    }
+}
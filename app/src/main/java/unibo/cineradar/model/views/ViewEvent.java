@@ -0,0 +1,94 @@
+package unibo.cineradar.model.views;
+
+import unibo.cineradar.model.search.ContentType;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A user marking a film or an episode as viewed, or taking the mark back.
+ *
+ * @param type     The kind of content: a film, or an episode of a series.
+ * @param username The username of the user.
+ * @param code     The code of the film or of the series.
+ * @param season   The season number of the episode, zero for films.
+ * @param episode  The episode number, zero for films.
+ * @param viewed   True if the content has been viewed, false if the view is taken back.
+ * @param date     The day of the event.
+ */
+public record ViewEvent(ContentType type,
+                        String username,
+                        int code,
+                        int season,
+                        int episode,
+                        boolean viewed,
+                        LocalDate date) {
+
+    /**
+     * Creates a view event.
+     *
+     * @param type     The kind of content: a film, or an episode of a series.
+     * @param username The username of the user.
+     * @param code     The code of the film or of the series.
+     * @param season   The season number of the episode, zero for films.
+     * @param episode  The episode number, zero for films.
+     * @param viewed   True if the content has been viewed, false if the view is taken back.
+     * @param date     The day of the event.
+     */
+    public ViewEvent {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(username);
+        Objects.requireNonNull(date);
+    }
+
+    /**
+     * Creates the event of a film view.
+     *
+     * @param username The username of the user.
+     * @param filmId   The code of the film.
+     * @param viewed   True if the film has been viewed, false if the view is taken back.
+     * @return The view event.
+     */
+    public static ViewEvent film(final String username, final int filmId, final boolean viewed) {
+        return new ViewEvent(ContentType.FILM, username, filmId, 0, 0, viewed, LocalDate.now());
+    }
+
+    /**
+     * Creates the event of an episode view.
+     *
+     * @param username The username of the user.
+     * @param seriesId The code of the series.
+     * @param season   The season number.
+     * @param episode  The episode number.
+     * @param viewed   True if the episode has been viewed, false if the view is taken back.
+     * @return The view event.
+     */
+    public static ViewEvent episode(final String username,
+                                    final int seriesId,
+                                    final int season,
+                                    final int episode,
+                                    final boolean viewed) {
+        return new ViewEvent(ContentType.SERIES, username, seriesId, season, episode, viewed, LocalDate.now());
+    }
+
+    /**
+     * Gets what the event is about, regardless of whether it marks or unmarks it.
+     *
+     * @return The key identifying the viewed content of the user.
+     */
+    public Key key() {
+        return new Key(this.type, this.username, this.code, this.season, this.episode);
+    }
+
+    /**
+     * Identifies a film or an episode viewed by a user.
+     *
+     * @param type     The kind of content.
+     * @param username The username of the user.
+     * @param code     The code of the film or of the series.
+     * @param season   The season number of the episode, zero for films.
+     * @param episode  The episode number, zero for films.
+     */
+    public record Key(ContentType type, String username, int code, int season, int episode) {
+    }
+}
@@ -0,0 +1,348 @@
+package unibo.cineradar.model.views;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import unibo.cineradar.model.db.ConnectionPool;
+import unibo.cineradar.model.db.DBConfig;
+import unibo.cineradar.model.db.operations.UserOps;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Records the films and episodes viewed by the users and writes them to the database in batches.
+ * Events about the same film or episode of a user are coalesced, keeping only the latest,
+ * and the view counters of the genres are updated once per genre for each write,
+ * with the views the write actually added or removed.
+ * Views are written every few seconds, as soon as too many are waiting, and when the application exits;
+ * a failed write is retried with the next one.
+ * If the database rejects a batch, its views are written one at a time, so that a single bad view,
+ * such as the view of a film deleted in the meantime, does not hold back the others:
+ * a view rejected on its own three times is logged and dropped.
+ */
+public final class ViewRecorder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ViewRecorder.class);
+    private static final int MAX_REJECTIONS = 3;
+    private static final Predicate<ViewEvent.Key> EVERY_VIEW = key -> true;
+    private static final ViewRecorder INSTANCE = new ViewRecorder(
+            ViewRecorder::writeBatch,
+            DBConfig.getViewFlushInterval(),
+            DBConfig.getViewMaxPending()
+    );
+
+    private final BatchWriter writer;
+    private final int maxPending;
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+    private final LongAdder recorded = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Map<ViewEvent.Key, Integer> rejections = new ConcurrentHashMap<>();
+    private Map<ViewEvent.Key, ViewEvent> pending = new ConcurrentHashMap<>();
+    private volatile Map<ViewEvent.Key, ViewEvent> inFlight = Map.of();
+    private volatile boolean shutdown;
+
+    static {
+        ConnectionPool.getInstance().onShutdown(INSTANCE::shutdown);
+    }
+
+    /**
+     * Creates a view recorder.
+     *
+     * @param writer        The function used to write the batches of views.
+     * @param flushInterval How often the recorded views are written.
+     * @param maxPending    How many waiting views trigger a write before the scheduled one.
+     */
+    public ViewRecorder(final BatchWriter writer, final Duration flushInterval, final int maxPending) {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("The maximum number of pending views must be positive.");
+        }
+        this.writer = Objects.requireNonNull(writer);
+        this.maxPending = maxPending;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "cineradar-view-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = Math.max(1, flushInterval.toMillis());
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the recorder shared by the whole application.
+     *
+     * @return The application view recorder.
+     */
+    public static ViewRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a view event, to be written with the next batch.
+     * Once the recorder has been shut down the event is written at once, by the calling thread;
+     * if that write fails the event is kept and retried with the next one, like any other.
+     *
+     * @param event The event to record.
+     */
+    public void record(final ViewEvent event) {
+        final int size;
+        this.swapLock.readLock().lock();
+        try {
+            this.pending.put(event.key(), event);
+            size = this.pending.size();
+        } finally {
+            this.swapLock.readLock().unlock();
+        }
+        this.recorded.increment();
+        if (this.shutdown) {
+            flushQuietly();
+        } else if (size >= this.maxPending) {
+            try {
+                this.flusher.execute(this::flushQuietly);
+            } catch (RejectedExecutionException ex) {
+                flushQuietly();
+            }
+        }
+    }
+
+    /**
+     * Tells if a film or an episode has been marked or unmarked as viewed without being written yet.
+     *
+     * @param key The film or episode of the user.
+     * @return True if it has been viewed, false if the view has been taken back,
+     *         empty if nothing is waiting to be written about it.
+     */
+    public Optional<Boolean> pendingView(final ViewEvent.Key key) {
+        final ViewEvent event;
+        this.swapLock.readLock().lock();
+        try {
+            event = this.pending.get(key);
+        } finally {
+            this.swapLock.readLock().unlock();
+        }
+        return Optional.ofNullable(Objects.isNull(event) ? this.inFlight.get(key) : event).map(ViewEvent::viewed);
+    }
+
+    /**
+     * Gets the latest events recorded about some films or episodes and not written yet.
+     *
+     * @param selected Which films or episodes of which users to look at.
+     * @return The events waiting to be written about them, at most one for each film or episode.
+     */
+    public List<ViewEvent> pendingViews(final Predicate<ViewEvent.Key> selected) {
+        final Map<ViewEvent.Key, ViewEvent> events = new HashMap<>();
+        this.inFlight.forEach((key, event) -> {
+            if (selected.test(key)) {
+                events.put(key, event);
+            }
+        });
+        this.swapLock.readLock().lock();
+        try {
+            this.pending.forEach((key, event) -> {
+                if (selected.test(key)) {
+                    events.put(key, event);
+                }
+            });
+        } finally {
+            this.swapLock.readLock().unlock();
+        }
+        return List.copyOf(events.values());
+    }
+
+    /**
+     * Writes every recorded view now.
+     * Used before reading data that depends on the views, and when the application exits.
+     *
+     * Views rejected by the database are written one at a time, and the rest of the batch is written anyway.
+     *
+     * @throws IllegalStateException If the views could not be written; they will be retried later.
+     */
+    public void flush() {
+        flush(EVERY_VIEW);
+    }
+
+    /**
+     * Writes now the recorded views of some films or episodes, leaving the others for the next write.
+     * Used before an operation that depends on the views of a single user, such as a review,
+     * so that it neither waits for nor fails because of the views of the other users.
+     *
+     * @param selected Which films or episodes of which users to write.
+     * @throws IllegalStateException If the selected views could not be written; they will be retried later.
+     */
+    public void flush(final Predicate<ViewEvent.Key> selected) {
+        this.flushLock.lock();
+        try {
+            final Map<ViewEvent.Key, ViewEvent> events;
+            this.swapLock.writeLock().lock();
+            try {
+                if (selected == EVERY_VIEW) {
+                    events = this.pending;
+                    this.pending = new ConcurrentHashMap<>();
+                } else {
+                    events = new HashMap<>();
+                    this.pending.values().removeIf(event -> selected.test(event.key())
+                            && Objects.isNull(events.put(event.key(), event)));
+                }
+                this.inFlight = events;
+            } finally {
+                this.swapLock.writeLock().unlock();
+            }
+            final ViewBatch batch = new ViewBatch(new ArrayList<>(events.values()));
+            if (batch.isEmpty()) {
+                return;
+            }
+            final long start = System.nanoTime();
+            try {
+                write(batch);
+            } catch (IllegalArgumentException ex) {
+                writeOneByOne(batch.events());
+            } catch (RuntimeException ex) {
+                this.failedFlushes.incrementAndGet();
+                restore(batch.events());
+                throw new IllegalStateException("Could not write the recorded views.", ex);
+            } finally {
+                this.inFlight = Map.of();
+            }
+            final long elapsed = System.nanoTime() - start;
+            this.flushes.incrementAndGet();
+            this.totalFlushNanos.addAndGet(elapsed);
+            this.maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        } finally {
+            this.flushLock.unlock();
+        }
+    }
+
+    /**
+     * Gets a snapshot of the recorder usage.
+     *
+     * @return The current recorder statistics.
+     */
+    public ViewRecorderStatistics getStatistics() {
+        final int size;
+        this.swapLock.readLock().lock();
+        try {
+            size = this.pending.size();
+        } finally {
+            this.swapLock.readLock().unlock();
+        }
+        final long count = this.flushes.get();
+        return new ViewRecorderStatistics(
+                size,
+                this.recorded.sum(),
+                this.written.get(),
+                count,
+                this.failedFlushes.get(),
+                Duration.ofNanos(count == 0 ? 0 : this.totalFlushNanos.get() / count),
+                Duration.ofNanos(this.maxFlushNanos.get()),
+                this.dropped.get()
+        );
+    }
+
+    /**
+     * Stops the scheduled writes and writes the remaining views.
+     * Views recorded afterwards are written at once, by the thread recording them.
+     */
+    public void shutdown() {
+        this.shutdown = true;
+        this.flusher.shutdown();
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IllegalStateException ex) {
+            LOGGER.warn("Could not write the recorded views, they will be retried with the next write", ex);
+        }
+    }
+
+    private void write(final ViewBatch batch) {
+        this.writer.write(batch);
+        this.written.addAndGet(batch.events().size());
+        if (!this.rejections.isEmpty()) {
+            batch.events().forEach(event -> this.rejections.remove(event.key()));
+        }
+    }
+
+    /*
+     * Writes each view of a rejected batch on its own, keeping the rejected views for a later write
+     * until they have been rejected too many times. A failure other than a rejection stops the writes,
+     * and the views not written yet are kept.
+     */
+    private void writeOneByOne(final List<ViewEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            final ViewEvent event = events.get(i);
+            try {
+                write(new ViewBatch(List.of(event)));
+            } catch (IllegalArgumentException ex) {
+                reject(event, ex);
+            } catch (RuntimeException ex) {
+                this.failedFlushes.incrementAndGet();
+                restore(events.subList(i, events.size()));
+                throw new IllegalStateException("Could not write the recorded views.", ex);
+            }
+        }
+    }
+
+    private void reject(final ViewEvent event, final RuntimeException cause) {
+        final int count = this.rejections.merge(event.key(), 1, Integer::sum);
+        if (count < MAX_REJECTIONS) {
+            restore(List.of(event));
+            return;
+        }
+        this.rejections.remove(event.key());
+        LOGGER.warn("Dropped the view {} rejected {} times by the database, {} views dropped so far",
+                event, count, this.dropped.incrementAndGet(), cause);
+    }
+
+    private void restore(final List<ViewEvent> events) {
+        this.swapLock.readLock().lock();
+        try {
+            events.forEach(event -> this.pending.putIfAbsent(event.key(), event));
+        } finally {
+            this.swapLock.readLock().unlock();
+        }
+    }
+
+    private static void writeBatch(final ViewBatch batch) {
+        try (UserOps mgr = new UserOps()) {
+            mgr.writeViews(batch);
+        }
+    }
+
+    /**
+     * Writes a batch of views to the database.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        /**
+         * Writes the views and the changes to the genre counters, all or nothing.
+         *
+         * @param batch The views to write.
+         * @throws IllegalArgumentException If the database rejected some of the views, which then make
+         *                                  the same batch fail again however many times it is written.
+         */
+        void write(ViewBatch batch);
+    }
+}
@@ -0,0 +1,25 @@
+package unibo.cineradar.model.views;
+
+import java.time.Duration;
+
+/**
+ * A snapshot of the state of the view recorder.
+ *
+ * @param pending       The number of views waiting to be written.
+ * @param recorded      The total number of recorded view events.
+ * @param written       The total number of view events written to the database.
+ * @param flushes       The total number of successful writes.
+ * @param failedFlushes The total number of writes that failed and were retried later.
+ * @param averageFlush  The average time spent by a write.
+ * @param maxFlush      The longest time spent by a write.
+ * @param dropped       The total number of views dropped after being rejected by the database too many times.
+ */
+public record ViewRecorderStatistics(int pending,
+                                     long recorded,
+                                     long written,
+                                     long flushes,
+                                     long failedFlushes,
+                                     Duration averageFlush,
+                                     Duration maxFlush,
+                                     long dropped) {
+}
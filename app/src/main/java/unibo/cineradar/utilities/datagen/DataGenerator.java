@@ -0,0 +1,527 @@
+package unibo.cineradar.utilities.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import unibo.cineradar.utilities.security.HashingAlgorithm;
+import unibo.cineradar.utilities.security.HashingUtilities;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates a synthetic data set for the CineRadar schema, respecting its keys, foreign keys and triggers:
+ * every account has a single role, users review only the films they have seen and the series
+ * whose episodes they have all seen, and nobody evaluates their own reviews.
+ * Films, series, genres, cast members and cinemas are drawn with Zipfian popularity, and the earliest reviews
+ * collect most of the evaluations.
+ * The rows are streamed to a {@link RowSink} a thousand users at a time, so the size of the data set is bound
+ * by the disk and not by the memory.
+ * Every account has the password {@value #PASSWORD}.
+ */
+public final class DataGenerator {
+    /**
+     * The password of every generated account.
+     */
+    public static final String PASSWORD = "cineradar";
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
+    private static final int USERS_PER_FLUSH = 1000;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int DAYS_PER_YEAR = 365;
+    private static final int DAYS = 5 * DAYS_PER_YEAR;
+    private static final int FIRST_BIRTH_YEAR = 1940;
+    private static final int BIRTH_YEARS = 65;
+    private static final int MIN_DEBUT_AGE = 16;
+    private static final int DEBUT_AGES = 15;
+    private static final int FIRST_CAP = 10_000;
+    private static final int CAPS = 90_000;
+    private static final int MAX_CIVIC = 200;
+    private static final int PROMO_YEARS = 5;
+    private static final int[] AGE_LIMITS = {0, 6, 14, 18};
+    private static final int MIN_FILM_LENGTH = 80;
+    private static final int FILM_LENGTHS = 100;
+    private static final int MIN_EPISODE_LENGTH = 20;
+    private static final int EPISODE_LENGTHS = 40;
+    private static final int MAX_GENRES_PER_TITLE = 2;
+    private static final int MAX_PREFERENCES = 3;
+    private static final int MAX_SECTIONS_PER_REVIEW = 3;
+    private static final int MAX_SCORE = 10;
+    private static final int MIN_DISCOUNT = 5;
+    private static final int DISCOUNTS = 46;
+    private static final double POSITIVE_RATE = 0.7;
+    private static final double PRIZE_RATE = 0.2;
+    private static final double DIRECTOR_ONLY_RATE = 0.1;
+    private static final double DIRECTOR_RATE = 0.2;
+    private static final double STAGE_NAME_RATE = 0.1;
+    private static final int ATTEMPTS_PER_DRAW = 4;
+    private static final String[] GENRES = {
+        "Horror", "Thriller", "Azione", "Commedia", "Drammatico", "Fantascienza", "Animazione", "Avventura",
+        "Documentario", "Fantasy", "Giallo", "Romantico", "Storico", "Western", "Musical", "Guerra",
+    };
+    private static final String[] SECTIONS = {
+        "Trama", "Sonoro", "Regia", "Fotografia", "Recitazione", "Effetti", "Cast",
+    };
+    private static final String[] NAMES = {
+        "Luca", "Anna", "Marco", "Giulia", "Paolo", "Sara", "Matteo", "Elena", "Andrea", "Chiara",
+    };
+    private static final String[] SURNAMES = {
+        "Rossi", "Bianchi", "Verdi", "Ferrari", "Russo", "Esposito", "Romano", "Colombo", "Ricci", "Marino",
+    };
+    private static final String[] CITIES = {
+        "Cesena", "Bologna", "Rimini", "Forli", "Ravenna", "Milano", "Roma", "Torino", "Napoli", "Firenze",
+    };
+    private static final String[] STREETS = {"Via Roma", "Via Emilia", "Corso Cavour", "Via Garibaldi"};
+    private static final String[] TITLE_STARTS = {
+        "La notte", "Il ritorno", "L'ombra", "Il segreto", "La citta", "Il viaggio", "La promessa", "Il silenzio",
+    };
+    private static final String[] TITLE_ENDS = {"perduta", "del re", "infinita", "nascosta", "di ghiaccio", "d'estate"};
+    private static final String[] REVIEW_TITLES = {
+        "Da non perdere", "Bello ma lento", "Capolavoro", "Deludente", "Nella media", "Sorprendente",
+    };
+    private static final String[] REVIEW_TEXTS = {
+        "Una storia coinvolgente con un cast all'altezza.",
+        "Qualche momento riuscito, ma nel complesso poco convincente.",
+        "Regia e fotografia eccellenti, lo rivedrei volentieri.",
+        "Troppo lungo per quello che ha da raccontare.",
+    };
+
+    private final GeneratorSettings settings;
+    private final RowSink sink;
+    private final SplittableRandom random;
+    private final String hashedPassword;
+    private final Map<Table, Long> counts = new EnumMap<>(Table.class);
+    private final ZipfSampler filmPopularity;
+    private final ZipfSampler seriesPopularity;
+    private final ZipfSampler genrePopularity;
+    private final ZipfSampler memberPopularity;
+    private final ZipfSampler cinemaPopularity;
+    private final int[][] filmGenres;
+    private final int[][] seriesGenres;
+    private final int[][] seasonEpisodes;
+    private final LocalDate[] promoExpirations;
+    private final int[] cardNumbers;
+    private final long[] genreViews;
+    private final IntList filmReviews = new IntList();
+    private final IntList seriesReviews = new IntList();
+    private int nextCast = 1;
+    private int nextRequest = 1;
+
+    /**
+     * Creates a generator.
+     *
+     * @param settings The sizes and the shape of the data set.
+     * @param sink     Where the rows are sent.
+     */
+    public DataGenerator(final GeneratorSettings settings, final RowSink sink) {
+        this.settings = settings;
+        this.sink = sink;
+        this.random = new SplittableRandom(settings.seed());
+        this.hashedPassword = HashingUtilities.getHashedString(PASSWORD.toCharArray(), HashingAlgorithm.SHA_512);
+        this.filmPopularity = new ZipfSampler(settings.films(), settings.skew());
+        this.seriesPopularity = new ZipfSampler(settings.series(), settings.skew());
+        this.genrePopularity = new ZipfSampler(settings.genres(), settings.skew());
+        this.memberPopularity = new ZipfSampler(settings.castMembers(), settings.skew());
+        this.cinemaPopularity = new ZipfSampler(settings.cinemas(), settings.skew());
+        this.filmGenres = new int[settings.films()][];
+        this.seriesGenres = new int[settings.series()][];
+        this.seasonEpisodes = new int[settings.series()][];
+        this.promoExpirations = new LocalDate[settings.promos()];
+        this.cardNumbers = new int[settings.cinemas()];
+        this.genreViews = new long[settings.genres()];
+    }
+
+    /**
+     * Generates the data set, sending every row to the sink.
+     * The genre view counters are set at the end, with a statement each.
+     *
+     * @return The number of rows generated, by table.
+     * @throws IOException If the sink could not write the rows.
+     */
+    public Map<Table, Long> generate() throws IOException {
+        administrators();
+        cinemas();
+        genres();
+        sections();
+        castMembers();
+        films();
+        series();
+        promos();
+        this.sink.flush();
+        for (int user = 1; user <= this.settings.users(); user++) {
+            user(user);
+            if (user % USERS_PER_FLUSH == 0) {
+                this.sink.flush();
+            }
+        }
+        for (int genre = 1; genre <= this.settings.genres(); genre++) {
+            if (this.genreViews[genre - 1] > 0) {
+                this.sink.execute("UPDATE genere SET NumeroVisualizzati = " + this.genreViews[genre - 1]
+                        + " WHERE Nome = " + SqlInsertWriter.literal(genreName(genre)));
+            }
+        }
+        this.sink.flush();
+        return Collections.unmodifiableMap(new EnumMap<>(this.counts));
+    }
+
+    /**
+     * Generates a data set from the command line.
+     * Options are written as {@code --name=value}: {@code format} is {@code sql} (default) for a script of
+     * multi-row INSERT statements or {@code load} for LOAD DATA files, {@code output} the directory written
+     * ({@code build/generated-data} by default), {@code batch} the most rows per INSERT statement (1000 by
+     * default); the others are read by {@link GeneratorSettings#parse(Map)}.
+     *
+     * @param args The options.
+     * @throws IOException If the files could not be written.
+     */
+    public static void main(final String[] args) throws IOException {
+        final Map<String, String> options = new HashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Options are written as --name=value, found " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        final String format = options.getOrDefault("format", "sql");
+        final Path output = Path.of(options.getOrDefault("output", "build/generated-data"));
+        final int batchSize = Integer.parseInt(options.getOrDefault("batch", "1000"));
+        options.keySet().removeAll(Set.of("format", "output", "batch"));
+        final GeneratorSettings settings = GeneratorSettings.parse(options);
+        final long start = System.nanoTime();
+        final Map<Table, Long> counts;
+        try (RowSink sink = switch (format) {
+            case "sql" -> SqlInsertWriter.open(Files.createDirectories(output).resolve("data.sql"), batchSize);
+            case "load" -> new LoadDataWriter(output);
+            default -> throw new IllegalArgumentException("Unknown format " + format + ", use sql or load");
+        }) {
+            counts = new DataGenerator(settings, sink).generate();
+        }
+        counts.forEach((table, rows) -> LOGGER.info("{}: {} rows", table.getName(), rows));
+        LOGGER.info("{} rows written to {} in {}", counts.values().stream().mapToLong(Long::longValue).sum(),
+                output.toAbsolutePath(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void administrators() throws IOException {
+        for (int admin = 1; admin <= this.settings.administrators(); admin++) {
+            final String username = "admin" + admin;
+            account(username);
+            row(Table.AMMINISTRATORE, username, String.format(Locale.ROOT, "3%09d", admin));
+        }
+    }
+
+    private void cinemas() throws IOException {
+        for (int cinema = 1; cinema <= this.settings.cinemas(); cinema++) {
+            final String city = pick(CITIES);
+            row(Table.CINEMA, cinema, "Cinema " + city + " " + cinema, pick(STREETS),
+                    String.format(Locale.ROOT, "%05d", FIRST_CAP + this.random.nextInt(CAPS)),
+                    1 + this.random.nextInt(MAX_CIVIC), city);
+            final String registrar = "registrar" + cinema;
+            account(registrar);
+            row(Table.REGISTRATORE, registrar, "cinema" + cinema + "@cineradar.it", cinema);
+        }
+    }
+
+    private void genres() throws IOException {
+        for (int genre = 1; genre <= this.settings.genres(); genre++) {
+            row(Table.GENERE, genreName(genre), "Contenuti del genere " + genreName(genre), 0);
+        }
+    }
+
+    private void sections() throws IOException {
+        for (final String section : SECTIONS) {
+            row(Table.SEZIONE, section, "Giudizio su " + section.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private void castMembers() throws IOException {
+        for (int member = 1; member <= this.settings.castMembers(); member++) {
+            final LocalDate birth = birthDate();
+            // Nine members out of ten act, one out of five directs, every member does at least one of the two
+            final double role = this.random.nextDouble();
+            row(Table.MEMBROCAST, member, pick(NAMES), pick(SURNAMES), birth, role >= DIRECTOR_ONLY_RATE,
+                    role < DIRECTOR_RATE,
+                    birth.plusYears(MIN_DEBUT_AGE + this.random.nextInt(DEBUT_AGES)),
+                    this.random.nextDouble() < STAGE_NAME_RATE ? "Artista " + member : null);
+        }
+    }
+
+    private void films() throws IOException {
+        for (int film = 1; film <= this.settings.films(); film++) {
+            final String title = title(film);
+            final int cast = cast("Cast di " + title);
+            row(Table.FILM, film, title, AGE_LIMITS[this.random.nextInt(AGE_LIMITS.length)],
+                    "Trama di " + title + ".", MIN_FILM_LENGTH + this.random.nextInt(FILM_LENGTHS), cast);
+            this.filmGenres[film - 1] = distinct(this.genrePopularity, 1 + this.random.nextInt(MAX_GENRES_PER_TITLE));
+            for (final int genre : this.filmGenres[film - 1]) {
+                row(Table.CATEGORIZZAZIONE_FILM, genreName(genre), film);
+            }
+        }
+    }
+
+    private void series() throws IOException {
+        for (int series = 1; series <= this.settings.series(); series++) {
+            final String title = title(series);
+            final int[] episodes = new int[around(this.settings.seasons())];
+            final int[][] lengths = new int[episodes.length][];
+            int totalLength = 0;
+            for (int season = 0; season < episodes.length; season++) {
+                episodes[season] = around(this.settings.episodes());
+                lengths[season] = new int[episodes[season]];
+                for (int episode = 0; episode < episodes[season]; episode++) {
+                    lengths[season][episode] = MIN_EPISODE_LENGTH + this.random.nextInt(EPISODE_LENGTHS);
+                    totalLength += lengths[season][episode];
+                }
+            }
+            this.seasonEpisodes[series - 1] = episodes;
+            row(Table.SERIE, series, title, AGE_LIMITS[this.random.nextInt(AGE_LIMITS.length)],
+                    "Trama di " + title + ".", totalLength, Arrays.stream(episodes).sum());
+            for (int season = 1; season <= episodes.length; season++) {
+                final int cast = cast("Cast di " + title + " " + season);
+                row(Table.STAGIONE, series, season, "Stagione " + season + " di " + title + ".", cast);
+                for (int episode = 1; episode <= episodes[season - 1]; episode++) {
+                    row(Table.EPISODIO, series, season, episode, lengths[season - 1][episode - 1]);
+                }
+            }
+            this.seriesGenres[series - 1] = distinct(this.genrePopularity,
+                    1 + this.random.nextInt(MAX_GENRES_PER_TITLE));
+            for (final int genre : this.seriesGenres[series - 1]) {
+                row(Table.CATEGORIZZAZIONE_SERIE, genreName(genre), series);
+            }
+        }
+    }
+
+    private void promos() throws IOException {
+        for (int promo = 1; promo <= this.settings.promos(); promo++) {
+            row(Table.TEMPLATEPROMO, promo, MIN_DISCOUNT + this.random.nextInt(DISCOUNTS));
+            this.promoExpirations[promo - 1] = day().plusYears(PROMO_YEARS);
+            row(Table.PROMO, promo, this.promoExpirations[promo - 1]);
+            if (promo % 2 == 1) {
+                final boolean film = this.random.nextBoolean();
+                row(Table.SINGOLO, promo,
+                        film ? null : this.seriesPopularity.sample(this.random),
+                        film ? this.filmPopularity.sample(this.random) : null);
+            } else {
+                row(Table.MULTIPLO, promo);
+                for (final int genre : distinct(this.genrePopularity, 1 + this.random.nextInt(MAX_GENRES_PER_TITLE))) {
+                    row(Table.PROMO_GENERE, genreName(genre), promo);
+                }
+            }
+        }
+    }
+
+    private void user(final int user) throws IOException {
+        final String username = "user" + user;
+        account(username);
+        row(Table.UTENTE, username, false, birthDate());
+        for (final int genre : distinct(this.genrePopularity, 1 + this.random.nextInt(MAX_PREFERENCES))) {
+            row(Table.PREFERENZE, genreName(genre), username);
+        }
+        if (this.random.nextDouble() < this.settings.cardRate()) {
+            final int cinema = this.cinemaPopularity.sample(this.random);
+            row(Table.TESSERA, cinema, username, ++this.cardNumbers[cinema - 1], day());
+            if (this.random.nextDouble() < PRIZE_RATE) {
+                final int promo = 1 + this.random.nextInt(this.settings.promos());
+                row(Table.PREMI_TESSERA, promo, this.promoExpirations[promo - 1], cinema, username);
+            }
+        }
+        if (this.random.nextDouble() < this.settings.requestRate()) {
+            row(Table.RICHIESTA, this.nextRequest, this.random.nextBoolean(), "Titolo richiesto " + this.nextRequest,
+                    FIRST_DAY.minusYears(this.random.nextInt(BIRTH_YEARS)).withDayOfYear(1),
+                    "Richiesta di " + username, this.random.nextBoolean(), username);
+            this.nextRequest++;
+        }
+        for (final int film : distinct(this.filmPopularity, around(this.settings.filmViews()))) {
+            row(Table.VISUALIZZAZIONI_FILM, film, username);
+            countViews(this.filmGenres[film - 1]);
+            if (this.random.nextDouble() < this.settings.reviewRate()) {
+                final Scores scores = scores();
+                row(Table.RECFILM, username, film, pick(REVIEW_TITLES), pick(REVIEW_TEXTS), scores.average());
+                for (int i = 0; i < scores.values().length; i++) {
+                    row(Table.SEZIONAMENTO_FILM, username, film, scores.section(i), scores.values()[i]);
+                }
+                this.filmReviews.add(user, film);
+            }
+        }
+        for (final int series : distinct(this.seriesPopularity, around(this.settings.seriesViews()))) {
+            if (watch(username, series) && this.random.nextDouble() < this.settings.reviewRate()) {
+                final Scores scores = scores();
+                row(Table.RECSERIE, username, series, pick(REVIEW_TITLES), pick(REVIEW_TEXTS), scores.average());
+                for (int i = 0; i < scores.values().length; i++) {
+                    row(Table.SEZIONAMENTO_SERIE, scores.section(i), username, series, scores.values()[i]);
+                }
+                this.seriesReviews.add(user, series);
+            }
+        }
+        evaluate(user, username);
+    }
+
+    /**
+     * Sees the episodes of a series in order, either all of them or only the first ones.
+     *
+     * @return True if every episode has been seen.
+     */
+    private boolean watch(final String username, final int series) throws IOException {
+        final int[] episodes = this.seasonEpisodes[series - 1];
+        final int total = Arrays.stream(episodes).sum();
+        final int seen = this.random.nextDouble() < this.settings.completion() ? total : 1 + this.random.nextInt(total);
+        LocalDate date = day();
+        int count = 0;
+        for (int season = 1; season <= episodes.length && count < seen; season++) {
+            for (int episode = 1; episode <= episodes[season - 1] && count < seen; episode++) {
+                row(Table.VISUALIZZAZIONI_EPISODIO, username, series, season, episode, date);
+                date = date.plusDays(this.random.nextInt(2));
+                count++;
+            }
+        }
+        countViews(this.seriesGenres[series - 1]);
+        return seen == total;
+    }
+
+    /**
+     * Evaluates some of the reviews written so far, never the user's own and never the same twice.
+     */
+    private void evaluate(final int user, final String username) throws IOException {
+        final int reviews = this.filmReviews.pairs() + this.seriesReviews.pairs();
+        final int wanted = Math.min(around(this.settings.evaluations()), reviews);
+        final Set<Long> evaluated = new HashSet<>();
+        for (int attempt = 0; attempt < wanted * ATTEMPTS_PER_DRAW && evaluated.size() < wanted; attempt++) {
+            final boolean film = this.random.nextInt(reviews) < this.filmReviews.pairs();
+            final IntList list = film ? this.filmReviews : this.seriesReviews;
+            final int index = ZipfSampler.skewedIndex(this.random, list.pairs(), this.settings.skew());
+            if (list.first(index) != user && evaluated.add(film ? index : -index - 1L)) {
+                row(film ? Table.VALUTAZIONE_FILM : Table.VALUTAZIONE_SERIE, "user" + list.first(index),
+                        list.second(index), username, this.random.nextDouble() < POSITIVE_RATE);
+            }
+        }
+    }
+
+    private void account(final String username) throws IOException {
+        row(Table.ACCOUNT, username, this.hashedPassword, pick(NAMES), pick(SURNAMES));
+    }
+
+    private int cast(final String name) throws IOException {
+        final int cast = this.nextCast++;
+        row(Table.CASTING, cast, name);
+        for (final int member : distinct(this.memberPopularity, this.settings.castSize())) {
+            row(Table.PARTECIPAZIONE_CAST, member, cast);
+        }
+        return cast;
+    }
+
+    private void row(final Table table, final Object... values) throws IOException {
+        this.sink.row(table, values);
+        this.counts.merge(table, 1L, Long::sum);
+    }
+
+    private void countViews(final int... genres) {
+        for (final int genre : genres) {
+            this.genreViews[genre - 1]++;
+        }
+    }
+
+    /**
+     * Draws distinct ranks, fewer than asked when the popular ones keep coming up.
+     */
+    private int[] distinct(final ZipfSampler sampler, final int count) {
+        final int wanted = Math.min(count, sampler.size());
+        final Set<Integer> drawn = new LinkedHashSet<>();
+        for (int attempt = 0; attempt < wanted * ATTEMPTS_PER_DRAW && drawn.size() < wanted; attempt++) {
+            drawn.add(sampler.sample(this.random));
+        }
+        return drawn.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Draws a count whose mean is the given one, at least 1 unless the mean is 0.
+     */
+    private int around(final int mean) {
+        return mean == 0 ? 0 : 1 + this.random.nextInt(2 * mean - 1);
+    }
+
+    /**
+     * Draws the scores of a review on a few consecutive sections.
+     */
+    private Scores scores() {
+        final int[] values = new int[1 + this.random.nextInt(MAX_SECTIONS_PER_REVIEW)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + this.random.nextInt(MAX_SCORE);
+        }
+        return new Scores(this.random.nextInt(SECTIONS.length), values);
+    }
+
+    private LocalDate day() {
+        return FIRST_DAY.plusDays(this.random.nextInt(DAYS));
+    }
+
+    private LocalDate birthDate() {
+        return LocalDate.of(FIRST_BIRTH_YEAR + this.random.nextInt(BIRTH_YEARS), 1, 1)
+                .plusDays(this.random.nextInt(DAYS_PER_YEAR));
+    }
+
+    private String title(final int number) {
+        return pick(TITLE_STARTS) + " " + pick(TITLE_ENDS) + " " + number;
+    }
+
+    private String pick(final String... values) {
+        return values[this.random.nextInt(values.length)];
+    }
+
+    private static String genreName(final int genre) {
+        final String name = GENRES[(genre - 1) % GENRES.length];
+        return genre <= GENRES.length ? name : name + " " + ((genre - 1) / GENRES.length + 1);
+    }
+
+    /**
+     * The scores given by a review, starting from a section and going on with the following ones.
+     */
+    private record Scores(int first, int[] values) {
+        String section(final int index) {
+            return SECTIONS[(this.first + index) % SECTIONS.length];
+        }
+
+        double average() {
+            return Arrays.stream(this.values).average().orElse(0);
+        }
+    }
+
+    /**
+     * A growing list of pairs of integers, kept in a single array to hold millions of reviews cheaply.
+     */
+    private static final class IntList {
+        private static final int INITIAL_CAPACITY = 64;
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void add(final int first, final int second) {
+            if (this.size + 2 > this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.values.length * 2);
+            }
+            this.values[this.size++] = first;
+            this.values[this.size++] = second;
+        }
+
+        int pairs() {
+            return this.size / 2;
+        }
+
+        int first(final int pair) {
+            return this.values[2 * pair];
+        }
+
+        int second(final int pair) {
+            return this.values[2 * pair + 1];
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package unibo.cineradar.utilities.datagen;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The sizes and the shape of a generated data set.
+ * The means are per user, season or series; the actual counts vary around them.
+ *
+ * @param users          The number of users.
+ * @param administrators The number of administrators.
+ * @param cinemas        The number of cinemas, each with a registrar.
+ * @param films          The number of films.
+ * @param series         The number of series.
+ * @param seasons        The mean number of seasons of a series.
+ * @param episodes       The mean number of episodes of a season.
+ * @param castMembers    The number of cast members.
+ * @param castSize       The number of members of each cast.
+ * @param genres         The number of genres.
+ * @param filmViews      The mean number of films seen by a user.
+ * @param seriesViews    The mean number of series started by a user.
+ * @param completion     The probability that a user sees every episode of a series started.
+ * @param reviewRate     The probability that a user reviews a film seen or a series completed.
+ * @param evaluations    The mean number of reviews evaluated by a user.
+ * @param promos         The number of promo templates.
+ * @param cardRate       The probability that a user has a cinema card.
+ * @param requestRate    The probability that a user has sent a request.
+ * @param skew           The exponent of the Zipf distributions deciding how popular contents, genres,
+ *                       cast members and reviews are; 0 makes them all equally popular.
+ * @param seed           The seed of the random generator, the same settings always giving the same data.
+ */
+public record GeneratorSettings(int users,
+                                int administrators,
+                                int cinemas,
+                                int films,
+                                int series,
+                                int seasons,
+                                int episodes,
+                                int castMembers,
+                                int castSize,
+                                int genres,
+                                int filmViews,
+                                int seriesViews,
+                                double completion,
+                                double reviewRate,
+                                int evaluations,
+                                int promos,
+                                double cardRate,
+                                double requestRate,
+                                double skew,
+                                long seed) {
+    private static final String SCALE = "scale";
+
+    /**
+     * Creates the settings of a data set.
+     *
+     * @param users          The number of users.
+     * @param administrators The number of administrators.
+     * @param cinemas        The number of cinemas, each with a registrar.
+     * @param films          The number of films.
+     * @param series         The number of series.
+     * @param seasons        The mean number of seasons of a series.
+     * @param episodes       The mean number of episodes of a season.
+     * @param castMembers    The number of cast members.
+     * @param castSize       The number of members of each cast.
+     * @param genres         The number of genres.
+     * @param filmViews      The mean number of films seen by a user.
+     * @param seriesViews    The mean number of series started by a user.
+     * @param completion     The probability that a user sees every episode of a series started.
+     * @param reviewRate     The probability that a user reviews a film seen or a series completed.
+     * @param evaluations    The mean number of reviews evaluated by a user.
+     * @param promos         The number of promo templates.
+     * @param cardRate       The probability that a user has a cinema card.
+     * @param requestRate    The probability that a user has sent a request.
+     * @param skew           The exponent of the Zipf distributions.
+     * @param seed           The seed of the random generator.
+     */
+    public GeneratorSettings {
+        if (users <= 0 || cinemas <= 0 || films <= 0 || series <= 0 || seasons <= 0 || episodes <= 0
+                || castMembers <= 0 || genres <= 0 || promos <= 0) {
+            throw new IllegalArgumentException("Every catalog needs at least one user, cinema, film, series, "
+                    + "season, episode, cast member, genre and promo.");
+        }
+        if (administrators < 0 || filmViews < 0 || seriesViews < 0 || evaluations < 0
+                || castSize <= 0 || castSize > castMembers) {
+            throw new IllegalArgumentException("Invalid sizes.");
+        }
+        for (final double probability : new double[]{completion, reviewRate, cardRate, requestRate}) {
+            if (!(probability >= 0 && probability <= 1)) {
+                throw new IllegalArgumentException("Invalid probability " + probability);
+            }
+        }
+        if (!(skew >= 0)) {
+            throw new IllegalArgumentException("The skew cannot be negative.");
+        }
+    }
+
+    /**
+     * Gets the settings of a data set shaped like the sample data of DataEntry.sql, the sizes multiplied by a scale.
+     *
+     * @param scale How many times larger than the sample data the catalog is.
+     * @return The settings for the given scale.
+     */
+    public static GeneratorSettings ofScale(final int scale) {
+        return parse(Map.of(SCALE, Integer.toString(scale)));
+    }
+
+    /**
+     * Reads the settings from named options, the option {@code scale} giving the defaults of the missing ones
+     * as in {@link #ofScale(int)}.
+     * The other options have the names of the record components.
+     *
+     * @param options The options, by name.
+     * @return The settings read.
+     */
+    public static GeneratorSettings parse(final Map<String, String> options) {
+        final Map<String, String> values = defaults(Integer.parseInt(options.getOrDefault(SCALE, "1")));
+        for (final Map.Entry<String, String> option : options.entrySet()) {
+            if (!SCALE.equals(option.getKey()) && values.replace(option.getKey(), option.getValue()) == null) {
+                throw new IllegalArgumentException("Unknown option " + option.getKey()
+                        + ", known ones are " + SCALE + ", " + String.join(", ", values.keySet()));
+            }
+        }
+        return new GeneratorSettings(
+                integer(values, "users"),
+                integer(values, "administrators"),
+                integer(values, "cinemas"),
+                integer(values, "films"),
+                integer(values, "series"),
+                integer(values, "seasons"),
+                integer(values, "episodes"),
+                integer(values, "castMembers"),
+                integer(values, "castSize"),
+                integer(values, "genres"),
+                integer(values, "filmViews"),
+                integer(values, "seriesViews"),
+                real(values, "completion"),
+                real(values, "reviewRate"),
+                integer(values, "evaluations"),
+                integer(values, "promos"),
+                real(values, "cardRate"),
+                real(values, "requestRate"),
+                real(values, "skew"),
+                seed(values.get("seed"))
+        );
+    }
+
+    // CHECKSTYLE: MagicNumber OFF
+    // The default sizes follow the proportions of the sample data.
+    private static Map<String, String> defaults(final int scale) {
+        if (scale <= 0) {
+            throw new IllegalArgumentException("The scale must be positive.");
+        }
+        final Map<String, String> values = new LinkedHashMap<>();
+        values.put("users", Integer.toString(10 * scale));
+        values.put("administrators", Integer.toString(1 + scale / 1000));
+        values.put("cinemas", Integer.toString(Math.max(2, scale / 10)));
+        values.put("films", Integer.toString(5 * scale));
+        values.put("series", Integer.toString(2 * scale));
+        values.put("seasons", "3");
+        values.put("episodes", "5");
+        values.put("castMembers", Integer.toString(24 * scale));
+        values.put("castSize", "3");
+        values.put("genres", "7");
+        values.put("filmViews", "20");
+        values.put("seriesViews", "3");
+        values.put("completion", "0.5");
+        values.put("reviewRate", "0.3");
+        values.put("evaluations", "10");
+        values.put("promos", Integer.toString(Math.max(3, scale / 10)));
+        values.put("cardRate", "0.3");
+        values.put("requestRate", "0.05");
+        values.put("skew", "1.0");
+        values.put("seed", "42");
+        return values;
+    }
+    // CHECKSTYLE: MagicNumber ON
+
+    private static int integer(final Map<String, String> values, final String name) {
+        try {
+            return Integer.parseInt(values.get(name));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Option " + name + " must be an integer.", ex);
+        }
+    }
+
+    private static long seed(final String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Option seed must be an integer.", ex);
+        }
+    }
+
+    private static double real(final Map<String, String> values, final String name) {
+        try {
+            return Double.parseDouble(values.get(name));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Option " + name + " must be a number.", ex);
+        }
+    }
+}
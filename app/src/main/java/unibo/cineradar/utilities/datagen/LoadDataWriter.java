@@ -0,0 +1,127 @@
+package unibo.cineradar.utilities.datagen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the rows as one tab separated file per table, plus a {@code load.sql} script loading them
+ * with LOAD DATA in the order of {@link Table}.
+ * The script reads the files from the directory it is run from, for instance
+ * {@code mysql --local-infile=1 cineradar < load.sql} inside the output directory.
+ */
+public final class LoadDataWriter implements RowSink {
+    /**
+     * The name of the script loading the files.
+     */
+    public static final String SCRIPT = "load.sql";
+    private static final String EXTENSION = ".tsv";
+
+    private final Path directory;
+    private final Map<Table, Writer> files = new EnumMap<>(Table.class);
+    private final List<String> statements = new ArrayList<>();
+
+    /**
+     * Creates a writer.
+     *
+     * @param directory The directory the files are written to, created if missing.
+     * @throws IOException If the directory could not be created.
+     */
+    public LoadDataWriter(final Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public void row(final Table table, final Object... values) throws IOException {
+        if (values.length != table.getColumns().size()) {
+            throw new IllegalArgumentException("Wrong number of values for table " + table.getName());
+        }
+        Writer file = this.files.get(table);
+        if (Objects.isNull(file)) {
+            file = Files.newBufferedWriter(this.directory.resolve(table.getName() + EXTENSION), StandardCharsets.UTF_8);
+            this.files.put(table, file);
+        }
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                file.write('\t');
+            }
+            file.write(field(values[i]));
+        }
+        file.write('\n');
+    }
+
+    @Override
+    public void execute(final String statement) {
+        this.statements.add(statement);
+    }
+
+    /**
+     * Does nothing, since the files are loaded in the order of the tables whatever the order of the rows.
+     */
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        for (final Writer file : this.files.values()) {
+            try {
+                file.close();
+            } catch (IOException ex) {
+                if (Objects.isNull(failure)) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (!Objects.isNull(failure)) {
+            throw failure;
+        }
+        try (Writer script = Files.newBufferedWriter(this.directory.resolve(SCRIPT), StandardCharsets.UTF_8)) {
+            script.write("SET autocommit = 0;\n");
+            for (final Table table : this.files.keySet()) {
+                script.write("LOAD DATA LOCAL INFILE '" + table.getName() + EXTENSION + "'\n"
+                        + "    INTO TABLE " + table.getName() + " CHARACTER SET utf8mb4\n"
+                        + "    (" + String.join(", ", table.getColumns()) + ");\n");
+            }
+            for (final String statement : this.statements) {
+                script.write(statement + ";\n");
+            }
+            script.write("COMMIT;\n");
+        }
+    }
+
+    /**
+     * Writes a value in the default LOAD DATA format: tab separated, backslash escaped, NULL as \N.
+     *
+     * @param value The value to write.
+     * @return The field.
+     */
+    static String field(final Object value) {
+        if (Objects.isNull(value)) {
+            return "\\N";
+        } else if (value instanceof Boolean bool) {
+            return bool ? "1" : "0";
+        }
+        final StringBuilder field = new StringBuilder();
+        for (final char c : value.toString().toCharArray()) {
+            switch (c) {
+                case '\t' -> field.append("\\t");
+                case '\n' -> field.append("\\n");
+                case '\\' -> field.append("\\\\");
+                case '\0' -> field.append("\\0");
+                default -> field.append(c);
+            }
+        }
+        return field.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package unibo.cineradar.utilities.datagen;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives the rows produced by the generator.
+ * Rows may be buffered, but whatever is written must reach the database in the order of {@link Table},
+ * so that each row finds the rows it references already there.
+ */
+public interface RowSink extends Closeable {
+    /**
+     * Adds a row to a table.
+     * The values are null, numbers, booleans, strings or local dates, given in the order of the table columns.
+     *
+     * @param table  The table the row belongs to.
+     * @param values The values of the row.
+     * @throws IOException If the row could not be written.
+     */
+    void row(Table table, Object... values) throws IOException;
+
+    /**
+     * Adds a statement to run once the rows added so far are in the database.
+     *
+     * @param statement The SQL statement.
+     * @throws IOException If the statement could not be written.
+     */
+    void execute(String statement) throws IOException;
+
+    /**
+     * Marks the rows added so far as complete, so that they can be written together.
+     *
+     * @throws IOException If the rows could not be written.
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,133 @@
+package unibo.cineradar.utilities.datagen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the rows as a SQL script of multi-row INSERT statements, to be run on the schema of CineRadar.ddl.
+ * Rows are buffered by table; as soon as a table has a full batch, every buffered table is written in the order
+ * of {@link Table} and committed, so no statement refers to rows of a later one.
+ */
+public final class SqlInsertWriter implements RowSink {
+    private final Writer out;
+    private final int batchSize;
+    private final Map<Table, StringBuilder> buffers = new EnumMap<>(Table.class);
+    private final Map<Table, Integer> buffered = new EnumMap<>(Table.class);
+
+    /**
+     * Creates a writer.
+     *
+     * @param out       Where the script is written.
+     * @param batchSize The most rows in a single INSERT statement.
+     * @throws IOException If the script could not be started.
+     */
+    public SqlInsertWriter(final Writer out, final int batchSize) throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        this.out = Objects.requireNonNull(out);
+        this.batchSize = batchSize;
+        this.out.write("SET autocommit = 0;\n");
+    }
+
+    /**
+     * Creates a writer on a new file.
+     *
+     * @param file      The file the script is written to.
+     * @param batchSize The most rows in a single INSERT statement.
+     * @return The writer.
+     * @throws IOException If the file could not be created.
+     */
+    public static SqlInsertWriter open(final Path file, final int batchSize) throws IOException {
+        return new SqlInsertWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), batchSize);
+    }
+
+    @Override
+    public void row(final Table table, final Object... values) throws IOException {
+        if (values.length != table.getColumns().size()) {
+            throw new IllegalArgumentException("Wrong number of values for table " + table.getName());
+        }
+        final StringBuilder buffer = this.buffers.computeIfAbsent(table, t -> new StringBuilder());
+        buffer.append(buffer.isEmpty() ? "(" : ",\n       (");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                buffer.append(", ");
+            }
+            buffer.append(literal(values[i]));
+        }
+        buffer.append(')');
+        if (this.buffered.merge(table, 1, Integer::sum) >= this.batchSize) {
+            flush();
+        }
+    }
+
+    @Override
+    public void execute(final String statement) throws IOException {
+        flush();
+        this.out.write(statement);
+        this.out.write(";\nCOMMIT;\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (this.buffered.isEmpty()) {
+            return;
+        }
+        for (final Map.Entry<Table, StringBuilder> entry : this.buffers.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                this.out.write("INSERT INTO " + entry.getKey().getName()
+                        + " (" + String.join(", ", entry.getKey().getColumns()) + ")\nVALUES ");
+                this.out.append(entry.getValue()).write(";\n");
+                entry.getValue().setLength(0);
+            }
+        }
+        this.buffered.clear();
+        this.out.write("COMMIT;\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            this.out.close();
+        }
+    }
+
+    /**
+     * Writes a value as a SQL literal.
+     *
+     * @param value The value to write.
+     * @return The literal.
+     */
+    static String literal(final Object value) {
+        if (Objects.isNull(value)) {
+            return "NULL";
+        } else if (value instanceof Number) {
+            return value.toString();
+        } else if (value instanceof Boolean bool) {
+            return bool ? "TRUE" : "FALSE";
+        } else if (value instanceof LocalDate || value instanceof String) {
+            final StringBuilder literal = new StringBuilder("'");
+            for (final char c : value.toString().toCharArray()) {
+                switch (c) {
+                    case '\'' -> literal.append("''");
+                    case '\\' -> literal.append("\\\\");
+                    case '\n' -> literal.append("\\n");
+                    case '\r' -> literal.append("\\r");
+                    case '\0' -> literal.append("\\0");
+                    default -> literal.append(c);
+                }
+            }
+            return literal.append('\'').toString();
+        }
+        throw new IllegalArgumentException("Unsupported value " + value);
+    }
+}
@@ -0,0 +1,170 @@
+package unibo.cineradar.utilities.datagen;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The tables of the CineRadar schema filled by the generator, with the columns it writes.
+ * The constants are declared so that every table follows the tables it references,
+ * triggers included: views come before the reviews they allow, reviews before their sections and evaluations.
+ */
+public enum Table {
+    /**
+     * The accounts of every kind.
+     */
+    ACCOUNT("Username", "PASSWORD", "Nome", "Cognome"),
+    /**
+     * The administrators.
+     */
+    AMMINISTRATORE("Username", "NumeroTelefono"),
+    /**
+     * The cinemas.
+     */
+    CINEMA("Codice", "Nome", "Ind_Via", "Ind_CAP", "Ind_Civico", "Ind_Citta"),
+    /**
+     * The registrars, each working for a cinema.
+     */
+    REGISTRATORE("Username", "EmailCinema", "CodiceCinema"),
+    /**
+     * The users.
+     */
+    UTENTE("Username", "TargaPremio", "DataNascita"),
+    /**
+     * The genres.
+     */
+    GENERE("Nome", "Descrizione", "NumeroVisualizzati"),
+    /**
+     * The sections a review can be split into.
+     */
+    SEZIONE("Nome", "Dettaglio"),
+    /**
+     * The genres preferred by the users.
+     */
+    PREFERENZE("NomeGenere", "UsernameUtente"),
+    /**
+     * The cast members.
+     */
+    MEMBROCAST("Codice", "Nome", "Cognome", "DataNascita", "TipoAttore", "TipoRegista",
+            "DataDebuttoCarriera", "NomeArte"),
+    /**
+     * The casts of the films and of the seasons.
+     */
+    CASTING("Codice", "Nome"),
+    /**
+     * The members of each cast.
+     */
+    PARTECIPAZIONE_CAST("CodiceMembro", "CodiceCast"),
+    /**
+     * The films.
+     */
+    FILM("Codice", "Titolo", "EtaLimite", "Trama", "Durata", "CodiceCast"),
+    /**
+     * The genres of the films.
+     */
+    CATEGORIZZAZIONE_FILM("NomeGenere", "CodiceFilm"),
+    /**
+     * The series.
+     */
+    SERIE("Codice", "Titolo", "EtaLimite", "Trama", "DurataComplessiva", "NumeroEpisodi"),
+    /**
+     * The seasons of the series.
+     */
+    STAGIONE("CodiceSerie", "NumeroStagione", "Sunto", "CodiceCast"),
+    /**
+     * The episodes of the seasons.
+     */
+    EPISODIO("CodiceSerie", "NumeroStagione", "NumeroEpisodio", "DurataMin"),
+    /**
+     * The genres of the series.
+     */
+    CATEGORIZZAZIONE_SERIE("NomeGenere", "CodiceSerie"),
+    /**
+     * The promo templates.
+     */
+    TEMPLATEPROMO("CodicePromo", "PercentualeSconto"),
+    /**
+     * The promos issued from the templates.
+     */
+    PROMO("CodiceTemplatePromo", "Scadenza"),
+    /**
+     * The templates valid for a single film or series.
+     */
+    SINGOLO("CodiceTemplatePromo", "CodiceSerie", "CodiceFilm"),
+    /**
+     * The templates valid for whole genres.
+     */
+    MULTIPLO("CodiceTemplatePromo"),
+    /**
+     * The genres of the multiple templates.
+     */
+    PROMO_GENERE("NomeGenere", "CodiceTemplateMultiplo"),
+    /**
+     * The cinema cards of the users.
+     */
+    TESSERA("CodiceCinema", "UsernameUtente", "NumeroTessera", "DataRinnovo"),
+    /**
+     * The promos given to the card holders.
+     */
+    PREMI_TESSERA("CodicePromoPromo", "Scadenza", "CodiceCinema", "UsernameUtente"),
+    /**
+     * The requests of the users.
+     */
+    RICHIESTA("Numero", "Tipo", "Titolo", "AnnoUscita", "Descrizione", "Chiusa", "UsernameUtente"),
+    /**
+     * The films seen by the users.
+     */
+    VISUALIZZAZIONI_FILM("CodiceFilm", "UsernameUtente"),
+    /**
+     * The episodes seen by the users.
+     */
+    VISUALIZZAZIONI_EPISODIO("UsernameUtente", "CodiceSerie", "NumeroStagione", "NumeroEpisodio",
+            "DataVisualizzazione"),
+    /**
+     * The film reviews.
+     */
+    RECFILM("UsernameUtente", "CodiceFilm", "Titolo", "Descrizione", "VotoComplessivo"),
+    /**
+     * The section scores of the film reviews.
+     */
+    SEZIONAMENTO_FILM("UsernameUtente", "CodiceRecFilm", "NomeSezione", "Voto"),
+    /**
+     * The series reviews.
+     */
+    RECSERIE("UsernameUtente", "CodiceSerie", "Titolo", "Descrizione", "VotoComplessivo"),
+    /**
+     * The section scores of the series reviews.
+     */
+    SEZIONAMENTO_SERIE("NomeSezione", "UsernameUtente", "CodiceRecSerie", "Voto"),
+    /**
+     * The usefulness votes on the film reviews.
+     */
+    VALUTAZIONE_FILM("UsernameUtenteValutato", "CodiceRecFilm", "UsernameUtente", "Positiva"),
+    /**
+     * The usefulness votes on the series reviews.
+     */
+    VALUTAZIONE_SERIE("UsernameUtenteValutato", "CodiceRecSerie", "UsernameUtente", "Positiva");
+
+    private final List<String> columns;
+
+    Table(final String... columns) {
+        this.columns = List.of(columns);
+    }
+
+    /**
+     * Gets the name of the table, as used by the queries.
+     *
+     * @return The lower case name of the table.
+     */
+    public String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Gets the columns written by the generator, in the order the values are given.
+     *
+     * @return The columns of the table.
+     */
+    public List<String> getColumns() {
+        return this.columns;
+    }
+}
@@ -0,0 +1,68 @@
+package unibo.cineradar.utilities.datagen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws ranks from 1 to n with Zipfian probabilities, the rank k being drawn with weight 1 / k^s.
+ * An exponent of 0 draws uniformly; the higher the exponent, the more the first ranks are favoured.
+ */
+public final class ZipfSampler {
+    private final double[] cumulative;
+
+    /**
+     * Creates a sampler.
+     *
+     * @param size     The number of ranks.
+     * @param exponent The exponent of the distribution, not negative.
+     */
+    public ZipfSampler(final int size, final double exponent) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one rank.");
+        }
+        if (exponent < 0 || Double.isNaN(exponent)) {
+            throw new IllegalArgumentException("The exponent of a Zipf distribution cannot be negative.");
+        }
+        this.cumulative = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            this.cumulative[rank - 1] = total;
+        }
+    }
+
+    /**
+     * Gets the number of ranks.
+     *
+     * @return The number of ranks.
+     */
+    public int size() {
+        return this.cumulative.length;
+    }
+
+    /**
+     * Draws a rank.
+     *
+     * @param random The source of randomness.
+     * @return A rank between 1 and the number of ranks.
+     */
+    public int sample(final RandomGenerator random) {
+        final double target = random.nextDouble() * this.cumulative[this.cumulative.length - 1];
+        final int found = Arrays.binarySearch(this.cumulative, target);
+        // The rank k covers the weights from cumulative[k - 2], inclusive, to cumulative[k - 1], exclusive
+        return found >= 0 ? Math.min(found + 2, this.cumulative.length) : -found;
+    }
+
+    /**
+     * Draws a position among the first elements of a growing collection, favouring the earliest ones
+     * as a Zipf distribution would without knowing the final size in advance.
+     *
+     * @param random   The source of randomness.
+     * @param bound    The number of elements, positive.
+     * @param exponent The exponent of the skew, 0 for a uniform draw.
+     * @return A position between 0, inclusive, and the bound, exclusive.
+     */
+    public static int skewedIndex(final RandomGenerator random, final int bound, final double exponent) {
+        return (int) Math.min(bound - 1, Math.floor(bound * Math.pow(random.nextDouble(), 1 + exponent)));
+    }
+}
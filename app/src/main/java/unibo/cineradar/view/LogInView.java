@@ -1,9 +1,13 @@
 package unibo.cineradar.view;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import unibo.cineradar.model.db.DBManager;
+import unibo.cineradar.model.login.LoginTimings;
 import unibo.cineradar.view.homepage.AdminHomePageView;
 import unibo.cineradar.view.homepage.RegistrarHomePageView;
 import unibo.cineradar.view.homepage.UserHomePageView;
+import unibo.cineradar.view.utilities.BackgroundTasks;
 import unibo.cineradar.view.utilities.ViewUtilities;
 
 import javax.swing.ImageIcon;
@@ -33,6 +37,7 @@ import java.util.Arrays;
  * The view managing the login page to the application.
  */
 public final class LogInView extends CineRadarViewFrameImpl {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogInView.class);
     private final JTextField usernameField = new JTextField();
     private final JPasswordField passwordField = new JPasswordField();
     private final JLabel statusLabel = new JLabel();
@@ -144,6 +149,15 @@ public final class LogInView extends CineRadarViewFrameImpl {
         this.getMainFrame().setContentPane(contentPane);
     }
 
+    private static void preloadCatalog(final ViewContext loggedContext) {
+        final LoginTimings timings = loggedContext.getLoginTimings();
+        timings.mark(LoginTimings.HOME_PAGE);
+        BackgroundTasks.run(loggedContext.getController()::preloadCatalog, () -> {
+            timings.mark(LoginTimings.CATALOG);
+            LOGGER.info("Login of {}: {}", loggedContext.getController().getAccount().getUsername(), timings);
+        }, error -> LOGGER.warn("Could not preload the catalog, it will be loaded on demand", error));
+    }
+
     private JButton createLoginButton() {
         final JButton loginButton = new JButton("Login");
         loginButton.addActionListener(e -> {
@@ -161,6 +175,7 @@ public final class LogInView extends CineRadarViewFrameImpl {
                     default -> throw new IllegalStateException("Unknown User Type");
                 }
                 this.destroy();
+                preloadCatalog(this.context);
             } else {
                 statusLabel.setForeground(Color.RED);
                 statusLabel.setText("NON AUTORIZZATO");
@@ -2,6 +2,7 @@ package unibo.cineradar.view;
 
 import unibo.cineradar.controller.SessionController;
 import unibo.cineradar.controller.SessionControllerImpl;
+import unibo.cineradar.model.login.LoginTimings;
 
 import java.util.Objects;
 
@@ -10,6 +11,7 @@ import java.util.Objects;
  */
 public final class ViewContext {
     private final SessionController controller;
+    private final LoginTimings loginTimings = new LoginTimings();
 
     /**
      * Creates the view context.
@@ -18,7 +20,7 @@ public final class ViewContext {
      * @param password The password for authentication.
      */
     public ViewContext(final String username, final char[] password) {
-        this.controller = SessionControllerImpl.of(username, password).orElse(null);
+        this.controller = SessionControllerImpl.of(username, password, this.loginTimings).orElse(null);
     }
 
     /**
@@ -38,4 +40,13 @@ public final class ViewContext {
     public SessionController getController() {
         return this.controller;
     }
+
+    /**
+     * Gets how long each phase of the login took so far.
+     *
+     * @return The timings of the login.
+     */
+    public LoginTimings getLoginTimings() {
+        return this.loginTimings;
+    }
 }
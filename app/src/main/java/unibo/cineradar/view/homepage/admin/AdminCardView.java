@@ -5,6 +5,7 @@ import unibo.cineradar.controller.administrator.AdminSessionController;
 import unibo.cineradar.model.cinema.Cinema;
 import unibo.cineradar.model.utente.User;
 import unibo.cineradar.view.ViewContext;
+import unibo.cineradar.view.utilities.BackgroundTasks;
 
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -44,6 +45,9 @@ public class AdminCardView extends AdminPanel {
         final JButton assignPromo = new JButton("Assegna Promo");
         assignPromo.addActionListener(e -> assignPromoDialog());
         buttonPanel.add(assignPromo);
+        final JButton assignCinemaPromo = new JButton("Assegna Promo a un Cinema");
+        assignCinemaPromo.addActionListener(e -> assignCinemaPromoDialog());
+        buttonPanel.add(assignCinemaPromo);
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
@@ -163,6 +167,79 @@ public class AdminCardView extends AdminPanel {
                 null, options, options[0]);
     }
 
+    private void assignCinemaPromoDialog() {
+        final AdminSessionController controller = (AdminSessionController) getCurrentSessionContext().getController();
+        if (controller.getCinemas().isEmpty()) {
+            JOptionPane.showMessageDialog(null,
+                    "Errore: Nessun Cinema inserito",
+                    ERRORE, JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        final JTextField idPromoField = new JTextField(5);
+        final DatePicker expPromoField = new DatePicker();
+        final JComboBox<Integer> cinemaBox = new JComboBox<>(
+                controller.getCinemas()
+                        .stream()
+                        .map(Cinema::codice)
+                        .toArray(Integer[]::new)
+        );
+
+        final JPanel panel = new JPanel();
+        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+        panel.add(new JLabel("ID Cinema:"));
+        panel.add(cinemaBox);
+        panel.add(new JLabel("Scadenza Promo:"));
+        panel.add(expPromoField);
+        panel.add(new JLabel("ID Promo:"));
+        panel.add(idPromoField);
+
+        final JButton okButton = new JButton("OK");
+        okButton.setEnabled(false);
+        final Runnable checkFields = () -> okButton.setEnabled(isFieldFilled(idPromoField.getText())
+                && isFieldFilled(expPromoField.getText()));
+        idPromoField.getDocument().addDocumentListener(new ViewDocumentListener(checkFields));
+
+        okButton.addActionListener(e -> {
+            if (!expPromoField.getDate().isAfter(LocalDate.now())) {
+                JOptionPane.showMessageDialog(null,
+                        "Inserisci una scadenza valida per la Promo.",
+                        ERRORE, JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (isNonNegativeNumber(idPromoField.getText())) {
+                JOptionPane.showMessageDialog(null,
+                        "Errore: Inserire Codici Validi",
+                        ERRORE, JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            final int promoCode = Integer.parseInt(idPromoField.getText());
+            final LocalDate expiration = expPromoField.getDate();
+            final int cinemaCode = (Integer) cinemaBox.getSelectedItem();
+            okButton.setEnabled(false);
+            BackgroundTasks.submit(() -> {
+                if (controller.isPromoAvailable(promoCode)) {
+                    throw new IllegalArgumentException("Promo non inserita");
+                }
+                return controller.assignPromoToCinema(promoCode, expiration, cinemaCode);
+            }, distribution -> {
+                JOptionPane.getRootFrame().dispose();
+                JOptionPane.showMessageDialog(null,
+                        "Promo assegnata a " + distribution.rewarded() + " tesserati, "
+                                + distribution.skipped() + " esclusi perche' gia' premiati.");
+            }, ex -> {
+                okButton.setEnabled(true);
+                JOptionPane.showMessageDialog(null,
+                        "Errore del database: " + ex.getMessage(),
+                        ERRORE, JOptionPane.ERROR_MESSAGE);
+            });
+        });
+
+        final Object[] options = {okButton, "Cancel"};
+        JOptionPane.showOptionDialog(null, panel, "Assegna Promo a un Cinema",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE,
+                null, options, options[0]);
+    }
+
     private void assignPromo(
             final int promoCode, final LocalDate expiration, final int cinemaCode, final String username) {
         ((AdminSessionController) this.getCurrentSessionContext().getController())
@@ -329,7 +329,7 @@ public class AdminCastView extends AdminPanel {
      * @param name        The name of the cast.
      */
     private void addCast(final Optional<String> name) {
-        ((AdminSessionController) getCurrentSessionContext().getController())
+        final int castId = ((AdminSessionController) getCurrentSessionContext().getController())
                 .addCast(name);
         updateCastTable();
 
@@ -341,19 +341,14 @@ public class AdminCastView extends AdminPanel {
         if (option == JOptionPane.YES_OPTION) {
             final boolean isMemberAdded = addCastMemberDialog();
             if (!isMemberAdded) {
-                deleteCast(((AdminSessionController) getCurrentSessionContext().getController())
-                        .getLastCastId());
+                deleteCast(castId);
                 updateCastTable();
                 return;
             }
         }
-        final boolean isMemberToCastAdded = addCastMemberToCastDialog(
-                Optional.of(
-                        ((AdminSessionController) getCurrentSessionContext().getController())
-                                .getLastCastId()));
+        final boolean isMemberToCastAdded = addCastMemberToCastDialog(Optional.of(castId));
         if (!isMemberToCastAdded) {
-            deleteCast(((AdminSessionController) getCurrentSessionContext().getController())
-                    .getLastCastId());
+            deleteCast(castId);
             updateCastTable();
         }
     }
@@ -4,6 +4,7 @@ import unibo.cineradar.controller.administrator.AdminSessionController;
 import unibo.cineradar.model.cast.Casting;
 import unibo.cineradar.model.multimedia.Genre;
 import unibo.cineradar.view.ViewContext;
+import unibo.cineradar.view.utilities.BackgroundTasks;
 
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -20,6 +21,7 @@ import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.io.Serial;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -53,7 +55,10 @@ public final class AdminFilmView extends AdminPanel {
         this.add(this.filmScrollPane, BorderLayout.CENTER);
         final JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         final JButton addButton = new JButton("Aggiungi Film");
-        addButton.addActionListener(e -> addFilmDialog());
+        addButton.addActionListener(e -> BackgroundTasks.submit(
+                ((AdminSessionController) getCurrentSessionContext().getController())::getCasting,
+                this::addFilmDialog,
+                BackgroundTasks.showError(this)));
         buttonPanel.add(addButton);
         final JButton deleteButton = new JButton("Elimina Film");
         deleteButton.addActionListener(e -> deleteFilmDialog());
@@ -79,9 +84,11 @@ public final class AdminFilmView extends AdminPanel {
     /**
      * Displays a dialog for adding a movie.
      * The dialog prompts the administrator to enter the title, age limit, plot, duration, and cast ID.
+     *
+     * @param castings The castings the film can be assigned to.
      */
-    private void addFilmDialog() {
-        if (((AdminSessionController) getCurrentSessionContext().getController()).getCasting().isEmpty()) {
+    private void addFilmDialog(final List<Casting> castings) {
+        if (castings.isEmpty()) {
             JOptionPane.showMessageDialog(null,
                     "Errore: Nessun casting disponibile",
                     ERROR, JOptionPane.ERROR_MESSAGE);
@@ -92,8 +99,7 @@ public final class AdminFilmView extends AdminPanel {
         final JTextArea plotArea = new JTextArea(5, 20);
         final JTextField durationField = new JTextField(5);
         final JComboBox<Integer> castBox = new JComboBox<>(
-                ((AdminSessionController) getCurrentSessionContext().getController()).getCasting()
-                        .stream()
+                castings.stream()
                         .map(Casting::id)
                         .toArray(Integer[]::new)
         );
@@ -169,17 +175,13 @@ public final class AdminFilmView extends AdminPanel {
      */
     private void addFilm(
             final String title, final int ageLimit, final String plot, final int duration, final int idCast) {
-        ((AdminSessionController) this.getCurrentSessionContext().getController())
+        final int filmId = ((AdminSessionController) this.getCurrentSessionContext().getController())
                 .addFilm(title, ageLimit, plot, duration, idCast);
         updateFilmTable();
 
-        final boolean isGenreAdded = addGenreToFilmDialog(Optional.of(
-                ((AdminSessionController) this.getCurrentSessionContext().getController())
-                        .getLastFilmId()
-        ));
+        final boolean isGenreAdded = addGenreToFilmDialog(Optional.of(filmId));
         if (!isGenreAdded) {
-            deleteFilm(((AdminSessionController) getCurrentSessionContext().getController())
-                    .getLastFilmId());
+            deleteFilm(filmId);
             updateFilmTable();
         }
     }
@@ -388,8 +390,8 @@ public final class AdminFilmView extends AdminPanel {
     }
 
     private void updateFilmTable() {
-        remove(this.filmScrollPane);
         ((AdminSessionController) getCurrentSessionContext().getController()).updateDetailedFilms();
+        remove(this.filmScrollPane);
         this.filmTable = super.createFilmTable();
         this.filmScrollPane = new JScrollPane(this.filmTable);
         add(this.filmScrollPane, BorderLayout.CENTER);
@@ -7,6 +7,8 @@ import unibo.cineradar.model.cast.CastMember;
 import unibo.cineradar.model.cast.Casting;
 import unibo.cineradar.model.cast.Director;
 import unibo.cineradar.model.cinema.Cinema;
+import unibo.cineradar.model.db.CatalogSort;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.multimedia.Multimedia;
 import unibo.cineradar.model.promo.GenrePromo;
@@ -20,6 +22,8 @@ import unibo.cineradar.view.ViewContext;
 import unibo.cineradar.view.homepage.admin.details.AdminCastDetailsView;
 import unibo.cineradar.view.homepage.admin.details.AdminFilmDetailsView;
 import unibo.cineradar.view.homepage.admin.details.AdminSeriesDetailsView;
+import unibo.cineradar.view.utilities.BackgroundTasks;
+import unibo.cineradar.view.utilities.PagedTableModel;
 
 import javax.swing.DefaultListSelectionModel;
 import javax.swing.JPanel;
@@ -46,6 +50,9 @@ public abstract class AdminPanel extends JPanel {
     @Serial
     private static final long serialVersionUID = 5442349602104022450L;
     private static final String CODE = "Codice";
+    private static final int PAGE_SIZE = 50;
+    private static final List<String> MULTIMEDIA_COLUMNS =
+            List.of("ID", "Titolo", "Limite di eta'", "Trama", "Durata(min)");
 
     private final ViewContext currentSessionContext;
 
@@ -83,24 +90,17 @@ public abstract class AdminPanel extends JPanel {
      */
     protected JTable createMultimediaTable(final List<? extends Multimedia> multimediaList) {
         final DefaultTableModel filmTableModel = new DefaultTableModel();
-        filmTableModel.addColumn("ID");
-        filmTableModel.addColumn("Titolo");
-        filmTableModel.addColumn("Limite di eta'");
-        filmTableModel.addColumn("Trama");
-        filmTableModel.addColumn("Durata(min)");
+        MULTIMEDIA_COLUMNS.forEach(filmTableModel::addColumn);
 
         for (final Multimedia multimedia : multimediaList) {
-            filmTableModel.addRow(new Object[]{
-                    multimedia instanceof Film film
-                            ? film.getFilmId() : multimedia instanceof Serie serie
-                            ? serie.getSeriesId() : -1,
-                    multimedia.getTitle(),
-                    multimedia.getAgeLimit(),
-                    multimedia.getPlot(),
-                    multimedia.getDuration()});
+            filmTableModel.addRow(toRow(multimedia));
         }
 
-        final JTable table = this.createCustomTable(filmTableModel);
+        return createMultimediaTable(filmTableModel);
+    }
+
+    private JTable createMultimediaTable(final TableModel multimediaTableModel) {
+        final JTable table = this.createCustomTable(multimediaTableModel);
         final DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
         centerRenderer.setHorizontalAlignment(JLabel.CENTER);
         table.setDefaultRenderer(Object.class, centerRenderer);
@@ -112,6 +112,17 @@ public abstract class AdminPanel extends JPanel {
         return table;
     }
 
+    private static Object[] toRow(final Multimedia multimedia) {
+        return new Object[]{
+                multimedia instanceof Film film
+                        ? film.getFilmId() : multimedia instanceof Serie serie
+                        ? serie.getSeriesId() : -1,
+                multimedia.getTitle(),
+                multimedia.getAgeLimit(),
+                multimedia.getPlot(),
+                multimedia.getDuration()};
+    }
+
     /**
      * Creates the table of the template promo.
      *
@@ -303,14 +314,18 @@ public abstract class AdminPanel extends JPanel {
     }
 
     /**
-     * Creates a table of films.
+     * Creates a table of films, read one page at a time as the admin scrolls.
      *
      * @return A JTable of films.
      */
     protected JTable createFilmTable() {
-        final JTable filmTable = createMultimediaTable(
-                ((AdminSessionController) currentSessionContext.getController()).getFilms()
-        );
+        final AdminSessionController controller = (AdminSessionController) currentSessionContext.getController();
+        final JTable filmTable = createMultimediaTable(new PagedTableModel<>(
+                controller::getFilmsPage,
+                PageRequest.first(CatalogSort.CODE_ASCENDING, PAGE_SIZE),
+                MULTIMEDIA_COLUMNS,
+                AdminPanel::toRow,
+                BackgroundTasks.showError(this)));
 
         final ListSelectionListener filmSelectionListener = e -> {
             if (!e.getValueIsAdjusting()) {
@@ -328,14 +343,18 @@ public abstract class AdminPanel extends JPanel {
     }
 
     /**
-     * Creates a table of series.
+     * Creates a table of series, read one page at a time as the admin scrolls.
      *
      * @return A JTable of series.
      */
     protected JTable createSerieTable() {
-        final JTable serieTable = createMultimediaTable(
-                ((AdminSessionController) currentSessionContext.getController()).getSeries()
-        );
+        final AdminSessionController controller = (AdminSessionController) currentSessionContext.getController();
+        final JTable serieTable = createMultimediaTable(new PagedTableModel<>(
+                controller::getSeriesPage,
+                PageRequest.first(CatalogSort.CODE_ASCENDING, PAGE_SIZE),
+                MULTIMEDIA_COLUMNS,
+                AdminPanel::toRow,
+                BackgroundTasks.showError(this)));
 
         final ListSelectionListener serieSelectionListener = e -> {
             if (!e.getValueIsAdjusting()) {
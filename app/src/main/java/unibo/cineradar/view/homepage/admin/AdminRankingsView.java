@@ -2,10 +2,12 @@ package unibo.cineradar.view.homepage.admin;
 
 import com.github.lgooddatepicker.components.DatePicker;
 import unibo.cineradar.controller.administrator.AdminSessionController;
-import unibo.cineradar.model.ranking.CastRanking;
+import unibo.cineradar.model.promo.PromoDistribution;
 import unibo.cineradar.model.ranking.EvalType;
-import unibo.cineradar.model.ranking.UserRanking;
+import unibo.cineradar.model.ranking.RankingEntry;
+import unibo.cineradar.model.ranking.RankingQuery;
 import unibo.cineradar.view.ViewContext;
+import unibo.cineradar.view.utilities.BackgroundTasks;
 
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -13,16 +15,23 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JSpinner;
 import javax.swing.JTable;
 import javax.swing.JTextField;
+import javax.swing.SpinnerNumberModel;
 import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.FlowLayout;
+import java.awt.GridLayout;
 import java.io.Serial;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 /**
  * Rankings view of the Admin.
@@ -31,15 +40,19 @@ public class AdminRankingsView extends AdminPanel {
     @Serial
     private static final long serialVersionUID = -924897837382651458L;
     private static final int ROW_HEIGHT = 20;
+    private static final int DEFAULT_RANKING_SIZE = 5;
+    private static final int MAX_RANKING_SIZE = 100;
+    private static final int PROMO_RANKING_SIZE = 5;
+    private static final int MAX_PROMO_RANKING_SIZE = 1000;
+    private static final int BUTTON_COLUMNS = 4;
     private static final String ERROR = "Errore";
-    private static final String BEST_REVIEWERS_FOR_NUMBER =
-            "5 Migliori Recensori per Numero";
-    private static final String WORST_REVIEWERS_FOR_UTILITY =
-            "5 Peggiori Recensori per Utilita'";
-    private static final String BEST_REVIEWERS_FOR_UTILITY =
-            "5 Migliori Recensori per Utilita'";
-    private static final String BEST_DIRECTORS =
-            "5 Migliori Registi";
+    private final transient BackgroundTasks.Latest rankingLoad = new BackgroundTasks.Latest();
+    private final JSpinner sizeField =
+            new JSpinner(new SpinnerNumberModel(DEFAULT_RANKING_SIZE, 1, MAX_RANKING_SIZE, 1));
+    private final DatePicker fromField = new DatePicker();
+    private final DatePicker toField = new DatePicker();
+    private EvalType shownType = EvalType.MOST_REVIEWS;
+    private JScrollPane rankingScrollPane;
 
     /**
      * Constructor of the admin rankings view.
@@ -48,13 +61,15 @@ public class AdminRankingsView extends AdminPanel {
      */
     public AdminRankingsView(final ViewContext currentSessionContext) {
         super(currentSessionContext);
-        final JTable fiveBestReviewersTable = createRankingTable();
-        addBestReviewersRankingData(fiveBestReviewersTable);
         final JPanel buttonPanel = getButtonPanel();
-        final JPanel showRankingsPanel = getRankingsButtonPanel();
+        final JPanel showRankingsPanel = new JPanel(new BorderLayout());
+        showRankingsPanel.add(getRankingsButtonPanel(), BorderLayout.CENTER);
+        showRankingsPanel.add(getRankingOptionsPanel(), BorderLayout.SOUTH);
         this.add(buttonPanel, BorderLayout.SOUTH);
         this.add(showRankingsPanel, BorderLayout.NORTH);
-        this.add(new JScrollPane(fiveBestReviewersTable), BorderLayout.CENTER);
+        this.rankingScrollPane = new JScrollPane();
+        this.add(this.rankingScrollPane, BorderLayout.CENTER);
+        showRanking(EvalType.MOST_REVIEWS);
     }
 
     /**
@@ -67,54 +82,76 @@ public class AdminRankingsView extends AdminPanel {
     }
 
     private JPanel getRankingsButtonPanel() {
-        final JPanel rankingsButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        final JButton fiveBestReviewersButton = new JButton(BEST_REVIEWERS_FOR_NUMBER);
-        fiveBestReviewersButton.addActionListener(e -> showRanking(BEST_REVIEWERS_FOR_NUMBER));
-        rankingsButtonPanel.add(fiveBestReviewersButton);
-        final JButton fiveWorstUtilitiesButton = new JButton(WORST_REVIEWERS_FOR_UTILITY);
-        fiveWorstUtilitiesButton.addActionListener(e -> showRanking(WORST_REVIEWERS_FOR_UTILITY));
-        rankingsButtonPanel.add(fiveWorstUtilitiesButton);
-        final JButton fiveBestUtilitiesButton = new JButton(BEST_REVIEWERS_FOR_UTILITY);
-        fiveBestUtilitiesButton.addActionListener(e -> showRanking(BEST_REVIEWERS_FOR_UTILITY));
-        rankingsButtonPanel.add(fiveBestUtilitiesButton);
-        final JButton fiveBestDirectorsButton = new JButton(BEST_DIRECTORS);
-        fiveBestDirectorsButton.addActionListener(e -> showRanking(BEST_DIRECTORS));
-        rankingsButtonPanel.add(fiveBestDirectorsButton);
+        final JPanel rankingsButtonPanel = new JPanel(new GridLayout(0, BUTTON_COLUMNS));
+        for (final EvalType type : EvalType.values()) {
+            final JButton rankingButton = new JButton(getTitle(type));
+            rankingButton.addActionListener(e -> showRanking(type));
+            rankingsButtonPanel.add(rankingButton);
+        }
         return rankingsButtonPanel;
     }
 
-    private void showRanking(final String text) {
-        this.remove(2);
-        final JTable table = switch (text) {
-            case BEST_REVIEWERS_FOR_NUMBER,
-                 WORST_REVIEWERS_FOR_UTILITY,
-                 BEST_REVIEWERS_FOR_UTILITY -> createRankingTable();
-            case BEST_DIRECTORS -> createCastRankingTable();
-            default -> throw new IllegalStateException("Unexpected value: " + text);
-        };
-        switch (text) {
-            case BEST_REVIEWERS_FOR_NUMBER -> addBestReviewersRankingData(table);
-            case WORST_REVIEWERS_FOR_UTILITY -> addWorstUtilitiesRankingData(table);
-            case BEST_REVIEWERS_FOR_UTILITY -> addBestUtilitiesRankingData(table);
-            case BEST_DIRECTORS -> addBestDirectorsRankingData(table);
-            default -> throw new IllegalStateException("Unexpected value: " + text);
+    private JPanel getRankingOptionsPanel() {
+        final JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        optionsPanel.add(new JLabel("Posizioni:"));
+        optionsPanel.add(this.sizeField);
+        optionsPanel.add(new JLabel("Serie viste dal:"));
+        optionsPanel.add(this.fromField);
+        optionsPanel.add(new JLabel("al:"));
+        optionsPanel.add(this.toField);
+        final JButton refreshButton = new JButton("Aggiorna");
+        refreshButton.addActionListener(e -> showRanking(this.shownType));
+        optionsPanel.add(refreshButton);
+        return optionsPanel;
+    }
+
+    private void showRanking(final EvalType type) {
+        this.shownType = type;
+        final RankingQuery query;
+        try {
+            query = getRankingQuery(type);
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(null, "Periodo non valido.", ERROR, JOptionPane.ERROR_MESSAGE);
+            return;
         }
-        this.add(new JScrollPane(table), BorderLayout.CENTER);
+        final JTable table = createRankingTable(type);
+        setRankingContent(new JLabel("Caricamento...", JLabel.CENTER));
+        this.rankingLoad.submit(() -> getRankingData(query), rows -> {
+            final DefaultTableModel tableModel = (DefaultTableModel) table.getModel();
+            rows.forEach(tableModel::addRow);
+            setRankingContent(table);
+        }, BackgroundTasks.showError(this));
+    }
+
+    private RankingQuery getRankingQuery(final EvalType type) {
+        final RankingQuery query = RankingQuery.top(type, (Integer) this.sizeField.getValue());
+        return type.isWindowed()
+                ? query.between(Optional.ofNullable(this.fromField.getDate()),
+                Optional.ofNullable(this.toField.getDate()))
+                : query;
+    }
+
+    private void setRankingContent(final Component content) {
+        this.remove(this.rankingScrollPane);
+        this.rankingScrollPane = new JScrollPane(content);
+        this.add(this.rankingScrollPane, BorderLayout.CENTER);
         this.revalidate();
         this.repaint();
     }
 
     private JPanel getButtonPanel() {
         final JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        final JButton addMemberButton = new JButton("Assegna Promo ai Migliori 5 Recensori");
-        addMemberButton.addActionListener(e -> assignPromoBestFiveReviewersDialog());
+        final JButton addMemberButton = new JButton("Assegna Promo ai Migliori Recensori");
+        addMemberButton.addActionListener(e -> assignPromoBestReviewersDialog());
         buttonPanel.add(addMemberButton);
         return buttonPanel;
     }
 
-    private void assignPromoBestFiveReviewersDialog() {
+    private void assignPromoBestReviewersDialog() {
         final JTextField promoCodeField = new JTextField(5);
         final DatePicker expirationField = new DatePicker();
+        final JSpinner reviewersField =
+                new JSpinner(new SpinnerNumberModel(PROMO_RANKING_SIZE, 1, MAX_PROMO_RANKING_SIZE, 1));
 
         final JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
@@ -122,6 +159,8 @@ public class AdminRankingsView extends AdminPanel {
         panel.add(expirationField);
         panel.add(new JLabel("Codice Promo:"));
         panel.add(promoCodeField);
+        panel.add(new JLabel("Numero Recensori:"));
+        panel.add(reviewersField);
 
         final JButton okButton = new JButton("OK");
         okButton.setEnabled(false);
@@ -135,11 +174,26 @@ public class AdminRankingsView extends AdminPanel {
 
         okButton.addActionListener(e -> {
             try {
-                assignPromoBestFiveReviewers(
-                        Integer.parseInt(promoCodeField.getText()),
-                        expirationField.getDate()
-                );
-                JOptionPane.getRootFrame().dispose();
+                final int promoCode = Integer.parseInt(promoCodeField.getText());
+                final LocalDate expiration = expirationField.getDate();
+                final int reviewers = (Integer) reviewersField.getValue();
+                okButton.setEnabled(false);
+                BackgroundTasks.submit(
+                        () -> assignPromoBestReviewers(promoCode, expiration, reviewers),
+                        distribution -> {
+                            JOptionPane.getRootFrame().dispose();
+                            JOptionPane.showMessageDialog(null,
+                                    "Promo assegnata a " + distribution.rewarded() + " recensori, "
+                                            + distribution.skipped()
+                                            + " esclusi perche' senza tessera o gia' premiati.");
+                        },
+                        ex -> {
+                            okButton.setEnabled(true);
+                            JOptionPane.showMessageDialog(
+                                    null,
+                                    "Errore del database: " + ex.getMessage(),
+                                    ERROR, JOptionPane.ERROR_MESSAGE);
+                        });
             } catch (IllegalArgumentException ex) {
                 JOptionPane.showMessageDialog(
                         null,
@@ -149,25 +203,26 @@ public class AdminRankingsView extends AdminPanel {
         });
 
         final Object[] options = {okButton, "Cancel"};
-        JOptionPane.showOptionDialog(null, panel, "Aggiungi Membro Cast",
+        JOptionPane.showOptionDialog(null, panel, "Assegna Promo",
                 JOptionPane.DEFAULT_OPTION, JOptionPane.PLAIN_MESSAGE,
                 null, options, options[0]);
     }
 
-    private void assignPromoBestFiveReviewers(final int promoCode, final LocalDate expiration) {
-        ((AdminSessionController) this.getCurrentSessionContext().getController())
-                .assignPromoBestFiveReviewers(
-                        promoCode,
-                        expiration,
-                        ((AdminSessionController) this.getCurrentSessionContext().getController())
-                                .getRankings("MigliorNumeroValutazioni"));
+    private PromoDistribution assignPromoBestReviewers(
+            final int promoCode, final LocalDate expiration, final int reviewers) {
+        final AdminSessionController controller =
+                (AdminSessionController) this.getCurrentSessionContext().getController();
+        return controller.assignPromoToReviewers(
+                promoCode,
+                expiration,
+                controller.getRankings(RankingQuery.top(EvalType.MOST_REVIEWS, reviewers)));
     }
 
-    private JTable createCastRankingTable() {
+    private JTable createRankingTable(final EvalType type) {
         final DefaultTableModel tableModel = new DefaultTableModel();
-        tableModel.addColumn("Nome");
-        tableModel.addColumn("Cognome");
-        tableModel.addColumn("NumeroPresenze");
+        tableModel.addColumn("Posizione");
+        tableModel.addColumn(getNameHeader(type));
+        tableModel.addColumn(getScoreHeader(type));
         final JTable table = super.createCustomTable(tableModel);
         final DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
         centerRenderer.setHorizontalAlignment(JLabel.CENTER);
@@ -179,60 +234,54 @@ public class AdminRankingsView extends AdminPanel {
         return table;
     }
 
-    private JTable createRankingTable() {
-        final DefaultTableModel tableModel = new DefaultTableModel();
-        tableModel.addColumn("Username");
-        tableModel.addColumn("Valutazione");
-        final JTable table = super.createCustomTable(tableModel);
-        final DefaultTableCellRenderer centerRenderer = new DefaultTableCellRenderer();
-        centerRenderer.setHorizontalAlignment(JLabel.CENTER);
-        table.setDefaultRenderer(Object.class, centerRenderer);
-        table.setDefaultEditor(Object.class, null);
-        table.setRowHeight(ROW_HEIGHT);
-        this.customizeTableHeader(table);
-
-        return table;
-    }
-
-    private void addBestReviewersRankingData(final JTable table) {
-        addRankingTableDataTwoAttributes(table, "MigliorNumeroValutazioni");
-    }
-
-    private void addWorstUtilitiesRankingData(final JTable table) {
-        addRankingTableDataTwoAttributes(table, "PeggiorMediaUtilità");
+    private List<Object[]> getRankingData(final RankingQuery query) {
+        final List<RankingEntry> entries = ((AdminSessionController) this.getCurrentSessionContext().getController())
+                .getRankings(query);
+        final List<Object[]> rows = new ArrayList<>();
+        for (final RankingEntry entry : entries) {
+            rows.add(new Object[]{
+                    entry.position(),
+                    entry.name(),
+                    formatScore(query.type(), entry.score())
+            });
+        }
+        return rows;
     }
 
-    private void addBestUtilitiesRankingData(final JTable table) {
-        addRankingTableDataTwoAttributes(table, "MigliorMediaUtilità");
+    private static String getTitle(final EvalType type) {
+        return switch (type) {
+            case MOST_REVIEWS -> "Migliori Recensori per Numero";
+            case WORST_USEFULNESS -> "Peggiori Recensori per Utilita'";
+            case BEST_USEFULNESS -> "Migliori Recensori per Utilita'";
+            case BEST_DIRECTORS -> "Migliori Registi";
+            case BEST_ACTORS -> "Migliori Attori";
+            case MOST_VIEWED_FILMS -> "Film piu' Visti";
+            case MOST_VIEWED_SERIES -> "Serie piu' Viste";
+        };
     }
 
-    private void addBestDirectorsRankingData(final JTable table) {
-        addRankingTableDataThreeAttributes(table);
+    private static String getNameHeader(final EvalType type) {
+        return switch (type) {
+            case MOST_REVIEWS, WORST_USEFULNESS, BEST_USEFULNESS -> "Username";
+            case BEST_DIRECTORS, BEST_ACTORS -> "Nome";
+            case MOST_VIEWED_FILMS, MOST_VIEWED_SERIES -> "Titolo";
+        };
     }
 
-    private void addRankingTableDataTwoAttributes(final JTable table, final String evaluationType) {
-        final DefaultTableModel tableModel = (DefaultTableModel) table.getModel();
-        final List<UserRanking> userRankings = ((AdminSessionController) this.getCurrentSessionContext().getController())
-                .getRankings(evaluationType);
-        for (final UserRanking userRanking : userRankings) {
-            tableModel.addRow(new Object[]{
-                    userRanking.username(),
-                    userRanking.evaluation()
-            });
-        }
+    private static String getScoreHeader(final EvalType type) {
+        return switch (type) {
+            case MOST_REVIEWS -> "NumeroRecensioni";
+            case WORST_USEFULNESS, BEST_USEFULNESS -> "MediaUtilita'";
+            case BEST_DIRECTORS, BEST_ACTORS -> "NumeroPresenze";
+            case MOST_VIEWED_FILMS -> "Visualizzazioni";
+            case MOST_VIEWED_SERIES -> "Spettatori";
+        };
     }
 
-    private void addRankingTableDataThreeAttributes(final JTable table) {
-        final DefaultTableModel tableModel = (DefaultTableModel) table.getModel();
-        final List<CastRanking> castRankings = ((AdminSessionController) this.getCurrentSessionContext().getController())
-                .getCastRankings(EvalType.BEST_DIRECTORS);
-        for (final CastRanking castRanking : castRankings) {
-            tableModel.addRow(new Object[]{
-                    castRanking.name(),
-                    castRanking.surname(),
-                    castRanking.evaluation()
-            });
-        }
+    private static String formatScore(final EvalType type, final double score) {
+        return type == EvalType.WORST_USEFULNESS || type == EvalType.BEST_USEFULNESS
+                ? String.format(Locale.ITALIAN, "%.2f", score)
+                : String.valueOf(Math.round(score));
     }
 
     private boolean isFieldFilled(final String text) {
@@ -4,6 +4,7 @@ import unibo.cineradar.controller.administrator.AdminSessionController;
 import unibo.cineradar.model.cast.Casting;
 import unibo.cineradar.model.multimedia.Genre;
 import unibo.cineradar.view.ViewContext;
+import unibo.cineradar.view.utilities.BackgroundTasks;
 
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -20,6 +21,7 @@ import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Font;
 import java.io.Serial;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -72,7 +74,10 @@ public final class AdminSerieView extends AdminPanel {
     private JPanel getButtonPanel() {
         final JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         final JButton addSeriesButton = new JButton("Aggiungi Serie");
-        addSeriesButton.addActionListener(e -> addSeriesDialog());
+        addSeriesButton.addActionListener(e -> BackgroundTasks.submit(
+                ((AdminSessionController) getCurrentSessionContext().getController())::getCasting,
+                this::addSeriesDialog,
+                BackgroundTasks.showError(this)));
         buttonPanel.add(addSeriesButton);
         final JButton deleteSeriesButton = new JButton("Elimina Serie");
         deleteSeriesButton.addActionListener(e -> deleteSeriesDialog());
@@ -105,8 +110,8 @@ public final class AdminSerieView extends AdminPanel {
      * Refreshes the table of series with updated data.
      */
     private void refreshSeriesTable() {
-        remove(this.seriesScrollPane);
         ((AdminSessionController) getCurrentSessionContext().getController()).updateDetailedSeries();
+        remove(this.seriesScrollPane);
         this.seriesTable = super.createSerieTable();
         this.seriesScrollPane = new JScrollPane(this.seriesTable);
         add(this.seriesScrollPane, BorderLayout.CENTER);
@@ -117,9 +122,11 @@ public final class AdminSerieView extends AdminPanel {
     /**
      * Displays a dialog for adding a TV series.
      * The dialog prompts the administrator to enter the title, age limit, plot, duration, and number of episodes.
+     *
+     * @param castings The castings available for the seasons of the series.
      */
-    private void addSeriesDialog() {
-        if (((AdminSessionController) getCurrentSessionContext().getController()).getCasting().isEmpty()) {
+    private void addSeriesDialog(final List<Casting> castings) {
+        if (castings.isEmpty()) {
             JOptionPane.showMessageDialog(null,
                     "Errore: Nessun casting disponibile",
                     ERROR, JOptionPane.ERROR_MESSAGE);
@@ -189,28 +196,20 @@ public final class AdminSerieView extends AdminPanel {
      * @param plot           The plot summary of the TV series.
      */
     private void addSeries(final String title, final int ageLimit, final String plot) {
-        ((AdminSessionController) this.getCurrentSessionContext().getController())
+        final int seriesId = ((AdminSessionController) this.getCurrentSessionContext().getController())
                 .addSeries(title, ageLimit, plot);
         refreshSeriesTable();
 
-        final boolean isGenreAdded = addGenreToSeriesDialog(Optional.of(
-                ((AdminSessionController) this.getCurrentSessionContext().getController())
-                        .getLastSeriesId()
-        ));
+        final boolean isGenreAdded = addGenreToSeriesDialog(Optional.of(seriesId));
         if (!isGenreAdded) {
-            deleteSeries(((AdminSessionController) getCurrentSessionContext().getController())
-                    .getLastSeriesId());
+            deleteSeries(seriesId);
             refreshSeriesTable();
             return;
         }
 
-        final boolean isSeasonAdded = addSeasonDialog(Optional.of(
-                ((AdminSessionController) this.getCurrentSessionContext().getController())
-                        .getLastSeriesId()
-        ));
+        final boolean isSeasonAdded = addSeasonDialog(Optional.of(seriesId));
         if (!isSeasonAdded) {
-            deleteSeries(((AdminSessionController) getCurrentSessionContext().getController())
-                    .getLastSeriesId());
+            deleteSeries(seriesId);
             refreshSeriesTable();
         }
     }
@@ -365,16 +364,11 @@ public final class AdminSerieView extends AdminPanel {
      */
     private void addSeason(
             final int seriesCode, final int seasonNumber, final String summary, final int idCast) {
-        ((AdminSessionController) getCurrentSessionContext().getController())
+        final int seasonId = ((AdminSessionController) getCurrentSessionContext().getController())
                 .addSeason(seriesCode, seasonNumber, summary, idCast);
         refreshSeriesTable();
 
-        final boolean isEpisodeAdded = addEpisodeDialog(
-                Optional.of(seriesCode),
-                Optional.of(
-                        ((AdminSessionController) this.getCurrentSessionContext().getController())
-                                .getLastSeasonId(seriesCode)
-        ));
+        final boolean isEpisodeAdded = addEpisodeDialog(Optional.of(seriesCode), Optional.of(seasonId));
         if (!isEpisodeAdded) {
             deleteSeries(seriesCode);
             deleteSeason(seriesCode, seasonNumber);
@@ -404,13 +398,16 @@ public final class AdminSerieView extends AdminPanel {
             try {
                 final int seriesCode = Integer.parseInt(seriesCodeField.getText());
                 final int seasonNumber = Integer.parseInt(seasonNumberField.getText());
-                final boolean deleted = deleteSeason(seriesCode, seasonNumber);
-                if (deleted) {
-                    if (((AdminSessionController) getCurrentSessionContext().getController())
-                            .isEmptySeries(seriesCode)) {
-                        ((AdminSessionController) getCurrentSessionContext().getController())
-                                .deleteSeries(seriesCode);
+                final AdminSessionController controller =
+                        (AdminSessionController) getCurrentSessionContext().getController();
+                final boolean deleted = controller.inUnitOfWork(() -> {
+                    final boolean seasonDeleted = deleteSeason(seriesCode, seasonNumber);
+                    if (seasonDeleted && controller.isEmptySeries(seriesCode)) {
+                        controller.deleteSeries(seriesCode);
                     }
+                    return seasonDeleted;
+                });
+                if (deleted) {
                     refreshSeriesTable();
                     JOptionPane.showMessageDialog(
                             null,
@@ -507,31 +504,33 @@ public final class AdminSerieView extends AdminPanel {
         durationField.getDocument().addDocumentListener(listener);
 
         okButton.addActionListener(e -> {
-            if (((AdminSessionController) getCurrentSessionContext().getController())
-                    .isSeriesAvailable(Integer.parseInt(seriesCodeField.getText()))) {
-                JOptionPane.showMessageDialog(null,
-                        SERIES_NOT_PRESENT,
-                        ERROR, JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            if (((AdminSessionController) getCurrentSessionContext().getController())
-                    .isSeasonAvailable(
-                            Integer.parseInt(seriesCodeField.getText()),
-                            Integer.parseInt(seasonNumberField.getText()))) {
-                JOptionPane.showMessageDialog(null,
-                        "Errore: Stagione non inserita",
-                        ERROR, JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+            final int seriesCode = Integer.parseInt(seriesCodeField.getText());
+            final int seasonNumber = Integer.parseInt(seasonNumberField.getText());
             try {
                 if (Integer.parseInt(durationField.getText()) < 0) {
                     throw new NumberFormatException();
                 }
-                addEpisode(
-                        Integer.parseInt(seriesCodeField.getText()),
-                        Integer.parseInt(seasonNumberField.getText()),
-                        Integer.parseInt(episodeNumberField.getText()),
-                        Integer.parseInt(durationField.getText()));
+                final int episodeNumber = Integer.parseInt(episodeNumberField.getText());
+                final int duration = Integer.parseInt(durationField.getText());
+                final AdminSessionController controller =
+                        (AdminSessionController) getCurrentSessionContext().getController();
+                final Optional<String> error = controller.inUnitOfWork(() -> {
+                    if (controller.isSeriesAvailable(seriesCode)) {
+                        return Optional.of(SERIES_NOT_PRESENT);
+                    }
+                    if (controller.isSeasonAvailable(seriesCode, seasonNumber)) {
+                        return Optional.of("Errore: Stagione non inserita");
+                    }
+                    controller.addEpisode(seriesCode, seasonNumber, episodeNumber, duration);
+                    return Optional.empty();
+                });
+                if (error.isPresent()) {
+                    JOptionPane.showMessageDialog(null,
+                            error.get(),
+                            ERROR, JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                refreshSeriesTable();
                 JOptionPane.getRootFrame().dispose();
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
@@ -552,21 +551,6 @@ public final class AdminSerieView extends AdminPanel {
         return option == -1;
     }
 
-    /**
-     * Adds an episode to a TV series season with the specified details.
-     *
-     * @param seriesCode      The code of the TV series to which the episode belongs.
-     * @param seasonNumber    The number of the season to which the episode belongs.
-     * @param episodeNumber   The number of the episode.
-     * @param duration        The duration of the episode in minutes.
-     */
-    private void addEpisode(
-            final int seriesCode, final int seasonNumber, final int episodeNumber, final int duration) {
-        ((AdminSessionController) getCurrentSessionContext().getController())
-                .addEpisode(seriesCode, seasonNumber, episodeNumber, duration);
-        refreshSeriesTable();
-    }
-
     /**
      * Displays a dialog for deleting an episode from a TV series season.
      * The dialog prompts the administrator to enter the series code, season number, and episode number.
@@ -593,18 +577,21 @@ public final class AdminSerieView extends AdminPanel {
                 final int seriesCode = Integer.parseInt(seriesCodeField.getText());
                 final int seasonNumber = Integer.parseInt(seasonNumberField.getText());
                 final int episodeNumber = Integer.parseInt(episodeNumberField.getText());
-                final boolean deleted = deleteEpisode(seriesCode, seasonNumber, episodeNumber);
-                if (deleted) {
-                    if (((AdminSessionController) getCurrentSessionContext().getController())
-                            .isEmptySeason(seriesCode, seasonNumber)) {
-                        ((AdminSessionController) getCurrentSessionContext().getController())
-                                .deleteSeason(seriesCode, seasonNumber);
-                    }
-                    if (((AdminSessionController) getCurrentSessionContext().getController())
-                            .isEmptySeries(seriesCode)) {
-                        ((AdminSessionController) getCurrentSessionContext().getController())
-                                .deleteSeries(seriesCode);
+                final AdminSessionController controller =
+                        (AdminSessionController) getCurrentSessionContext().getController();
+                final boolean deleted = controller.inUnitOfWork(() -> {
+                    final boolean episodeDeleted = deleteEpisode(seriesCode, seasonNumber, episodeNumber);
+                    if (episodeDeleted) {
+                        if (controller.isEmptySeason(seriesCode, seasonNumber)) {
+                            controller.deleteSeason(seriesCode, seasonNumber);
+                        }
+                        if (controller.isEmptySeries(seriesCode)) {
+                            controller.deleteSeries(seriesCode);
+                        }
                     }
+                    return episodeDeleted;
+                });
+                if (deleted) {
                     refreshSeriesTable();
                     JOptionPane.showMessageDialog(
                             null,
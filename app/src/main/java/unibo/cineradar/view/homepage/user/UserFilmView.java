@@ -1,7 +1,11 @@
 package unibo.cineradar.view.homepage.user;
 
 import unibo.cineradar.controller.user.UserSessionController;
+import unibo.cineradar.model.db.CatalogSort;
+import unibo.cineradar.model.film.Film;
 import unibo.cineradar.model.multimedia.Genre;
+import unibo.cineradar.model.search.ContentType;
+import unibo.cineradar.model.search.SearchResult;
 import unibo.cineradar.view.ViewContext;
 
 import javax.swing.JOptionPane;
@@ -12,11 +16,9 @@ import java.util.List;
 /**
  * Film view of the user.
  */
-public final class UserFilmView extends UserFilteredView {
+public final class UserFilmView extends UserFilteredView<Film> {
     @Serial
     private static final long serialVersionUID = 6530405035905149718L;
-    private final transient ViewContext currentSessionContext;
-
 
     /**
      * Constructor of the user film view.
@@ -27,17 +29,35 @@ public final class UserFilmView extends UserFilteredView {
         super(currentSessionContext, "Benvenuto "
                 + currentSessionContext.getController().getAccountDetails().get(0)
                 + " nella pagina dei film.");
-        this.currentSessionContext = currentSessionContext;
     }
 
     @Override
-    protected JTable createContentTable(final int age) {
-        return super.createFilmTable(age);
+    protected JTable createContentTable(final int age, final CatalogSort sort) {
+        return super.createFilmTable(age, sort);
+    }
+
+    @Override
+    protected List<Film> loadPreferredContent(final int age) {
+        return getController().getPreferredFilms(age);
     }
 
     @Override
-    protected void showGenreRanking() {
-        final List<Genre> genreRanking = ((UserSessionController) currentSessionContext.getController()).getFilmGenresRanking();
+    protected JTable createContentTable(final List<Film> content) {
+        return super.createFilmTable(content);
+    }
+
+    @Override
+    protected List<SearchResult> search(final String query, final int age) {
+        return getController().search(query, ContentType.FILM, age);
+    }
+
+    @Override
+    protected List<Genre> loadGenreRanking() {
+        return getController().getFilmGenresRanking();
+    }
+
+    @Override
+    protected void showGenreRanking(final List<Genre> genreRanking) {
         final StringBuilder message = new StringBuilder("Classifica dei generi:\n\n");
         genreRanking.forEach(g -> {
             message.append(g.name()).append(": ")
@@ -47,10 +67,7 @@ public final class UserFilmView extends UserFilteredView {
                 "Classifica dei generi - Film", JOptionPane.INFORMATION_MESSAGE);
     }
 
-    @Override
-    protected JTable showPreferredGenres(final int age) {
-        return super.createPreferredFilmTable(age,
-                ((UserSessionController) currentSessionContext.getController()).getUserPrefs());
+    private UserSessionController getController() {
+        return (UserSessionController) getCurrentSessionContext().getController();
     }
-
 }
@@ -1,32 +1,54 @@
 package unibo.cineradar.view.homepage.user;
 
+import unibo.cineradar.model.db.CatalogSort;
+import unibo.cineradar.model.multimedia.Genre;
+import unibo.cineradar.model.multimedia.Multimedia;
+import unibo.cineradar.model.search.SearchResult;
 import unibo.cineradar.model.utente.User;
 import unibo.cineradar.view.ViewContext;
+import unibo.cineradar.view.utilities.BackgroundTasks;
 
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.JTextArea;
+import javax.swing.JTextField;
 import java.awt.BorderLayout;
+import java.awt.Component;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.event.ActionListener;
 import java.io.Serial;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 
 // CHECKSTYLE: MagicNumber OFF
 
 /**
  * Abstract class for user views with filtering capability.
+ * The catalog is read one page at a time as the user scrolls, in the chosen order,
+ * and can be searched by title, plot and cast;
+ * the content of the preferred genres is loaded in background, showing a placeholder meanwhile.
+ * A newer filter request discards the result of the older one.
+ *
+ * @param <T> The type of the multimedia items shown.
  */
-public abstract class UserFilteredView extends UserPanel {
+public abstract class UserFilteredView<T extends Multimedia> extends UserPanel {
     @Serial
     private static final long serialVersionUID = 1L;
+    private static final String[] SORT_LABELS = {"Codice crescente", "Codice decrescente", "Titolo A-Z", "Titolo Z-A"};
 
-    private JTable contentTable;
+    private final transient BackgroundTasks.Latest contentLoad = new BackgroundTasks.Latest();
+    private final JLabel loadingLabel = new JLabel("Caricamento...", JLabel.CENTER);
     private JScrollPane scrollPane;
     private boolean isPreferredGenresFiltered;
+    private CatalogSort sort = CatalogSort.CODE_ASCENDING;
+    private int shownAge;
 
     /**
      * Constructor of the user filtered view.
@@ -46,15 +68,19 @@ public abstract class UserFilteredView extends UserPanel {
         this.add(welcomeLabel, BorderLayout.NORTH);
         this.isPreferredGenresFiltered = false;
 
-        if (currentSessionContext.getController().getAccount() instanceof User user) {
-            contentTable = createContentTable(user.getAge());
-        }
-        scrollPane = new JScrollPane(contentTable);
+        scrollPane = new JScrollPane(loadingLabel);
         this.add(scrollPane, BorderLayout.CENTER);
+        resetTable(currentSessionContext);
 
         final JPanel filterPanel = new JPanel();
         filterPanel.setLayout(new FlowLayout());
 
+        final JTextField searchField = new JTextField(15);
+        filterPanel.add(searchField);
+
+        final JButton searchButton = new JButton("Cerca");
+        filterPanel.add(searchButton);
+
         final JCheckBox filterCheckbox = new JCheckBox("Filtra per eta'");
         filterPanel.add(filterCheckbox);
 
@@ -70,6 +96,10 @@ public abstract class UserFilteredView extends UserPanel {
         final JButton preferredGenresButton = new JButton("Filtra in base ai generi preferiti");
         filterPanel.add(preferredGenresButton);
 
+        final JComboBox<String> sortBox = new JComboBox<>(SORT_LABELS);
+        filterPanel.add(new JLabel("Ordina per:"));
+        filterPanel.add(sortBox);
+
         final JButton genreRankingButton = new JButton("Apri classifica generi");
         filterPanel.add(genreRankingButton);
 
@@ -99,24 +129,44 @@ public abstract class UserFilteredView extends UserPanel {
             }
         });
 
+        final ActionListener searchListener = e -> {
+            final String query = searchField.getText().trim();
+            if (query.isEmpty()) {
+                showCatalog(shownAge);
+            } else {
+                loadTable(age -> search(query, age), this::createSearchTable, shownAge);
+            }
+        };
+        searchField.addActionListener(searchListener);
+        searchButton.addActionListener(searchListener);
+
+        sortBox.addActionListener(e -> {
+            sort = CatalogSort.values()[sortBox.getSelectedIndex()];
+            showCatalog(shownAge);
+        });
+
         genreRankingButton.addActionListener(e -> {
-            showGenreRanking();
+            genreRankingButton.setEnabled(false);
+            BackgroundTasks.submit(this::loadGenreRanking, ranking -> {
+                genreRankingButton.setEnabled(true);
+                showGenreRanking(ranking);
+            }, error -> {
+                genreRankingButton.setEnabled(true);
+                BackgroundTasks.showError(this).accept(error);
+            });
         });
 
         preferredGenresButton.addActionListener(f -> {
             isPreferredGenresFiltered = !isPreferredGenresFiltered;
             if (isPreferredGenresFiltered) {
                 preferredGenresButton.setText("Togli filtro sui generi preferiti");
+                sortBox.setEnabled(false);
                 if (currentSessionContext.getController().getAccount() instanceof User user) {
-                    this.remove(scrollPane);
-                    contentTable = showPreferredGenres(user.getAge());
-                    scrollPane = new JScrollPane(contentTable);
-                    this.add(scrollPane, BorderLayout.CENTER);
-                    this.revalidate();
-                    this.repaint();
+                    loadTable(this::loadPreferredContent, this::createContentTable, user.getAge());
                 }
             } else {
                 preferredGenresButton.setText("Filtra in base ai generi preferiti");
+                sortBox.setEnabled(true);
                 resetTable(currentSessionContext);
             }
         });
@@ -128,43 +178,91 @@ public abstract class UserFilteredView extends UserPanel {
     }
 
     private void applyAgeFilter(final int ageLimit) {
-        this.remove(scrollPane);
-        contentTable = createContentTable(ageLimit);
-        scrollPane = new JScrollPane(contentTable);
-        this.add(scrollPane, BorderLayout.CENTER);
-        this.revalidate();
-        this.repaint();
+        showCatalog(ageLimit);
     }
 
     private void resetTable(final ViewContext currentSessionContext) {
-        this.remove(scrollPane);
         if (currentSessionContext.getController().getAccount() instanceof User user) {
-            contentTable = createContentTable(user.getAge());
+            showCatalog(user.getAge());
         }
-        scrollPane = new JScrollPane(contentTable);
+    }
+
+    private void showCatalog(final int age) {
+        contentLoad.cancel();
+        shownAge = age;
+        showTable(createContentTable(age, sort));
+    }
+
+    private <R> void loadTable(final IntFunction<List<R>> loader,
+                               final Function<List<R>, JTable> tableFactory,
+                               final int age) {
+        showTable(loadingLabel);
+        contentLoad.submit(
+                () -> loader.apply(age),
+                content -> showTable(tableFactory.apply(content)),
+                error -> {
+                    showTable(new JLabel("Impossibile caricare i contenuti.", JLabel.CENTER));
+                    BackgroundTasks.showError(this).accept(error);
+                }
+        );
+    }
+
+    private void showTable(final Component content) {
+        this.remove(scrollPane);
+        scrollPane = new JScrollPane(content);
         this.add(scrollPane, BorderLayout.CENTER);
         this.revalidate();
         this.repaint();
     }
 
     /**
-     * Abstract method to create the content table with a specified age filter.
+     * Creates the table of the catalog respecting the specified age limit, read one page at a time.
      *
-     * @param age The age limit to apply to the content.
+     * @param age  The age limit to apply to the content.
+     * @param sort The order of the content.
      * @return The created JTable.
      */
-    protected abstract JTable createContentTable(int age);
+    protected abstract JTable createContentTable(int age, CatalogSort sort);
 
     /**
-     * Abstract method to show the ranking of genres based on the number of views.
+     * Loads the content of the preferred genres of the user respecting the specified age limit.
+     * Runs in background, so it must not touch Swing components.
+     *
+     * @param age The age limit to apply to the content.
+     * @return The content to show.
      */
-    protected abstract void showGenreRanking();
+    protected abstract List<T> loadPreferredContent(int age);
 
     /**
-     * Abstract method to show content based on preferred genres.
+     * Abstract method to create the content table from the loaded content of the preferred genres.
      *
-     * @param age The age limit to apply to the content.
+     * @param content The content to show.
      * @return The created JTable.
      */
-    protected abstract JTable showPreferredGenres(int age);
+    protected abstract JTable createContentTable(List<T> content);
+
+    /**
+     * Searches the content by title, plot and cast respecting the specified age limit.
+     * Runs in background, so it must not touch Swing components.
+     *
+     * @param query The words to search.
+     * @param age   The age limit to apply to the content.
+     * @return The matching content, the most relevant first.
+     */
+    protected abstract List<SearchResult> search(String query, int age);
+
+    /**
+     * Loads the ranking of genres based on the number of views.
+     * Runs in background, so it must not touch Swing components.
+     *
+     * @return The genres ranking.
+     */
+    protected abstract List<Genre> loadGenreRanking();
+
+    /**
+     * Abstract method to show the ranking of genres based on the number of views.
+     *
+     * @param genreRanking The genres ranking to show.
+     */
+    protected abstract void showGenreRanking(List<Genre> genreRanking);
 }
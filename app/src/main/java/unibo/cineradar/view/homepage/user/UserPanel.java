@@ -1,17 +1,22 @@
 package unibo.cineradar.view.homepage.user;
 
 import unibo.cineradar.controller.user.UserSessionController;
+import unibo.cineradar.model.db.CatalogSort;
+import unibo.cineradar.model.db.PageRequest;
 import unibo.cineradar.model.film.Film;
-import unibo.cineradar.model.multimedia.Genre;
 import unibo.cineradar.model.multimedia.Multimedia;
 import unibo.cineradar.model.review.FilmReview;
 import unibo.cineradar.model.review.Review;
 import unibo.cineradar.model.review.SeriesReview;
+import unibo.cineradar.model.search.ContentType;
+import unibo.cineradar.model.search.SearchResult;
 import unibo.cineradar.model.serie.Serie;
 import unibo.cineradar.view.ViewContext;
 import unibo.cineradar.view.homepage.user.details.FilmDetailsView;
 import unibo.cineradar.view.homepage.user.details.ReviewDetailsView;
 import unibo.cineradar.view.homepage.user.details.SeriesDetailsView;
+import unibo.cineradar.view.utilities.BackgroundTasks;
+import unibo.cineradar.view.utilities.PagedTableModel;
 
 import javax.swing.DefaultListSelectionModel;
 import javax.swing.JLabel;
@@ -22,6 +27,7 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableCellRenderer;
+import javax.swing.table.TableModel;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
@@ -39,6 +45,9 @@ public abstract class UserPanel extends JPanel {
 
     @Serial
     private static final long serialVersionUID = 8510766881767725989L;
+    private static final int PAGE_SIZE = 50;
+    private static final List<String> MULTIMEDIA_COLUMNS =
+            List.of("ID", "Titolo", "Limite di eta'", "Trama", "Durata (min)");
 
     private final ViewContext currentSessionContext;
 
@@ -68,7 +77,7 @@ public abstract class UserPanel extends JPanel {
      * @param model The table model to use.
      * @return The created JTable.
      */
-    private JTable createStyledTable(final DefaultTableModel model) {
+    private JTable createStyledTable(final TableModel model) {
         final JTable table = new JTable(model) {
             @Override
             public Component prepareRenderer(final TableCellRenderer renderer, final int row, final int column) {
@@ -103,73 +112,60 @@ public abstract class UserPanel extends JPanel {
     }
 
     /**
-     * Creates a table of multimedia items.
+     * Creates the model of a table of multimedia items.
+     * Package-private so that the benchmarks can measure it.
      *
      * @param multimediaList The list of multimedia items.
-     * @return A JTable of multimedia items.
+     * @return A table model of multimedia items.
      */
-    private JTable createMultimediaTable(final List<? extends Multimedia> multimediaList) {
+    static TableModel createMultimediaModel(final List<? extends Multimedia> multimediaList) {
         final DefaultTableModel model = new DefaultTableModel();
-        model.addColumn("ID");
-        model.addColumn("Titolo");
-        model.addColumn("Limite di eta'");
-        model.addColumn("Trama");
-        model.addColumn("Durata (min)");
+        MULTIMEDIA_COLUMNS.forEach(model::addColumn);
 
         for (final Multimedia multimedia : multimediaList) {
-            model.addRow(new Object[]{multimedia instanceof Film film
-                    ? film.getFilmId() : multimedia instanceof Serie serie
-                    ? serie.getSeriesId() : -1,
-                    multimedia.getTitle(),
-                    multimedia.getAgeLimit(), multimedia.getPlot(), multimedia.getDuration()});
+            model.addRow(toRow(multimedia));
         }
 
-        return createStyledTable(model);
+        return model;
+    }
+
+    private static Object[] toRow(final Multimedia multimedia) {
+        return new Object[]{multimedia instanceof Film film
+                ? film.getFilmId() : multimedia instanceof Serie serie
+                ? serie.getSeriesId() : -1,
+                multimedia.getTitle(),
+                multimedia.getAgeLimit(), multimedia.getPlot(), multimedia.getDuration()};
     }
 
     /**
-     * Creates a table of preferred multimedia items.
+     * Creates a table of films.
      *
-     * @param multimediaList  The list of preferred multimedia items.
-     * @param preferredGenres The list of preferred genres of the user.
-     * @return A JTable of multimedia items.
+     * @param films The films to show.
+     * @return A JTable of films.
      */
-    private JTable createPreferredMultimediaTable(final List<? extends Multimedia> multimediaList,
-                                                  final List<Genre> preferredGenres) {
-        final DefaultTableModel model = new DefaultTableModel();
-        model.addColumn("ID");
-        model.addColumn("Titolo");
-        model.addColumn("Limite di eta'");
-        model.addColumn("Trama");
-        model.addColumn("Durata (min)");
-
-        for (final Multimedia multimedia : multimediaList) {
-            final boolean isPreferred = multimedia.getGenres().stream().anyMatch(preferredGenres::contains);
-            if (isPreferred) {
-                model.addRow(new Object[]{
-                        multimedia instanceof Film ? ((Film) multimedia).getFilmId()
-                                : multimedia instanceof Serie ? ((Serie) multimedia).getSeriesId() : -1,
-                        multimedia.getTitle(),
-                        multimedia.getAgeLimit(),
-                        multimedia.getPlot(),
-                        multimedia.getDuration()
-                });
-            }
-        }
-
-        return createStyledTable(model);
+    protected JTable createFilmTable(final List<Film> films) {
+        return createFilmTable(createMultimediaModel(films));
     }
 
     /**
-     * Creates a table of films.
+     * Creates a table of films, read one page at a time as the user scrolls.
      *
-     * @param age The limited age to be respected.
+     * @param age  The limited age to be respected.
+     * @param sort The order of the films.
      * @return A JTable of films.
      */
-    protected JTable createFilmTable(final int age) {
-        final JTable filmTable = createMultimediaTable(
-                ((UserSessionController) currentSessionContext.getController()).getFilms(age)
-        );
+    protected JTable createFilmTable(final int age, final CatalogSort sort) {
+        final UserSessionController controller = (UserSessionController) currentSessionContext.getController();
+        return createFilmTable(new PagedTableModel<>(
+                request -> controller.getFilmsPage(age, request),
+                PageRequest.first(sort, PAGE_SIZE),
+                MULTIMEDIA_COLUMNS,
+                UserPanel::toRow,
+                BackgroundTasks.showError(this)));
+    }
+
+    private JTable createFilmTable(final TableModel model) {
+        final JTable filmTable = createStyledTable(model);
 
         final ListSelectionListener filmSelectionListener = e -> {
             if (!e.getValueIsAdjusting()) {
@@ -189,83 +185,81 @@ public abstract class UserPanel extends JPanel {
     /**
      * Creates a table of series.
      *
-     * @param age The limited age to be respected.
+     * @param series The series to show.
      * @return A JTable of series.
      */
-    protected JTable createSerieTable(final int age) {
-        final JTable serieTable = createMultimediaTable(
-                ((UserSessionController) currentSessionContext.getController()).getSeries(age)
-        );
-
-        final ListSelectionListener serieSelectionListener = e -> {
-            if (!e.getValueIsAdjusting()) {
-                final int selectedRow = ((DefaultListSelectionModel) e.getSource()).getLeadSelectionIndex();
-                if (selectedRow != -1) {
-                    openSerieDetailsView(this.getCurrentSessionContext(), (int) serieTable.getValueAt(selectedRow, 0));
-                }
-            }
-        };
-
-        serieTable.getSelectionModel().addListSelectionListener(serieSelectionListener);
-
-        return serieTable;
+    protected JTable createSerieTable(final List<Serie> series) {
+        return createSerieTable(createMultimediaModel(series));
     }
 
     /**
-     * Creates a table of preferred films based on user's preferred genres.
+     * Creates a table of series, read one page at a time as the user scrolls.
      *
-     * @param age             The limited age to be respected.
-     * @param preferredGenres The list of preferred genres of the user.
-     * @return A JTable of films filtered by preferred genres.
+     * @param age  The limited age to be respected.
+     * @param sort The order of the series.
+     * @return A JTable of series.
      */
-    protected JTable createPreferredFilmTable(final int age, final List<Genre> preferredGenres) {
-        final JTable filmTable = createPreferredMultimediaTable(
-                ((UserSessionController) currentSessionContext.getController()).getFilms(age),
-                preferredGenres
-        );
+    protected JTable createSerieTable(final int age, final CatalogSort sort) {
+        final UserSessionController controller = (UserSessionController) currentSessionContext.getController();
+        return createSerieTable(new PagedTableModel<>(
+                request -> controller.getSeriesPage(age, request),
+                PageRequest.first(sort, PAGE_SIZE),
+                MULTIMEDIA_COLUMNS,
+                UserPanel::toRow,
+                BackgroundTasks.showError(this)));
+    }
 
-        final ListSelectionListener filmSelectionListener = e -> {
+    private JTable createSerieTable(final TableModel model) {
+        final JTable serieTable = createStyledTable(model);
+
+        final ListSelectionListener serieSelectionListener = e -> {
             if (!e.getValueIsAdjusting()) {
                 final int selectedRow = ((DefaultListSelectionModel) e.getSource()).getLeadSelectionIndex();
                 if (selectedRow != -1) {
-                    openFilmDetailsView(this.getCurrentSessionContext(), (int) filmTable.getValueAt(selectedRow, 0));
+                    openSerieDetailsView(this.getCurrentSessionContext(), (int) serieTable.getValueAt(selectedRow, 0));
                 }
             }
         };
 
-        filmTable.getSelectionModel().addListSelectionListener(filmSelectionListener);
+        serieTable.getSelectionModel().addListSelectionListener(serieSelectionListener);
 
-        return filmTable;
+        return serieTable;
     }
 
     /**
-     * Creates a table of preferred series based on user's preferred genres.
+     * Creates a table of search results; selecting a row opens the details of the content.
      *
-     * @param age             The limited age to be respected.
-     * @param preferredGenres The list of preferred genres of the user.
-     * @return A JTable of series filtered by preferred genres.
+     * @param results The search results to show.
+     * @return A JTable of search results.
      */
-    protected JTable createPreferredSerieTable(final int age, final List<Genre> preferredGenres) {
-        final JTable serieTable = createPreferredMultimediaTable(
-                ((UserSessionController) currentSessionContext.getController()).getSeries(age),
-                preferredGenres
-        );
-
-        final ListSelectionListener serieSelectionListener = e -> {
+    protected JTable createSearchTable(final List<SearchResult> results) {
+        final DefaultTableModel model = new DefaultTableModel();
+        model.addColumn("ID");
+        model.addColumn("Titolo");
+        model.addColumn("Rilevanza");
+        for (final SearchResult result : results) {
+            model.addRow(new Object[]{result.code(), result.title(), String.format("%.2f", result.score())});
+        }
+        final JTable searchTable = createStyledTable(model);
+        final ListSelectionListener searchSelectionListener = e -> {
             if (!e.getValueIsAdjusting()) {
                 final int selectedRow = ((DefaultListSelectionModel) e.getSource()).getLeadSelectionIndex();
                 if (selectedRow != -1) {
-                    openSerieDetailsView(this.getCurrentSessionContext(), (int) serieTable.getValueAt(selectedRow, 0));
+                    final SearchResult result = results.get(selectedRow);
+                    if (result.type() == ContentType.FILM) {
+                        openFilmDetailsView(this.getCurrentSessionContext(), result.code());
+                    } else {
+                        openSerieDetailsView(this.getCurrentSessionContext(), result.code());
+                    }
                 }
             }
         };
 
-        serieTable.getSelectionModel().addListSelectionListener(serieSelectionListener);
+        searchTable.getSelectionModel().addListSelectionListener(searchSelectionListener);
 
-        return serieTable;
+        return searchTable;
     }
 
-
     /**
      * Creates the table of the reviews.
      *
@@ -310,21 +304,21 @@ public abstract class UserPanel extends JPanel {
             if (!e.getValueIsAdjusting()) {
                 final int selectedRow = ((DefaultListSelectionModel) e.getSource()).getLeadSelectionIndex();
                 if (selectedRow != -1) {
+                    final UserSessionController controller =
+                            (UserSessionController) currentSessionContext.getController();
+                    final int multimediaId = Integer.parseInt((String) model.getValueAt(selectedRow, 0));
+                    final String username = controller.getAccount().getUsername();
                     if (Objects.equals(model.getValueAt(selectedRow, 1), "Film")) {
-                        openReviewDetailsView(
-                                this.getCurrentSessionContext(),
-                                ((UserSessionController) currentSessionContext.getController()).getFullFilmReview(
-                                        Integer.parseInt((String) model.getValueAt(selectedRow, 0)),
-                                        currentSessionContext.getController().getAccount().getUsername()
-                                )
+                        BackgroundTasks.submit(
+                                () -> controller.getFullFilmReview(multimediaId, username),
+                                review -> openReviewDetailsView(this.getCurrentSessionContext(), review),
+                                BackgroundTasks.showError(this)
                         );
-                    } else if (Objects.equals((String) model.getValueAt(selectedRow, 1), "Serie")) {
-                        openReviewDetailsView(
-                                this.getCurrentSessionContext(),
-                                ((UserSessionController) currentSessionContext.getController()).getFullSeriesReview(
-                                        Integer.parseInt((String) model.getValueAt(selectedRow, 0)),
-                                        currentSessionContext.getController().getAccount().getUsername()
-                                )
+                    } else if (Objects.equals(model.getValueAt(selectedRow, 1), "Serie")) {
+                        BackgroundTasks.submit(
+                                () -> controller.getFullSeriesReview(multimediaId, username),
+                                review -> openReviewDetailsView(this.getCurrentSessionContext(), review),
+                                BackgroundTasks.showError(this)
                         );
                     }
                 }
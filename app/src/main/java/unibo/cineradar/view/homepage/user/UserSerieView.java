@@ -1,7 +1,11 @@
 package unibo.cineradar.view.homepage.user;
 
 import unibo.cineradar.controller.user.UserSessionController;
+import unibo.cineradar.model.db.CatalogSort;
 import unibo.cineradar.model.multimedia.Genre;
+import unibo.cineradar.model.search.ContentType;
+import unibo.cineradar.model.search.SearchResult;
+import unibo.cineradar.model.serie.Serie;
 import unibo.cineradar.view.ViewContext;
 
 import javax.swing.JOptionPane;
@@ -12,13 +16,12 @@ import java.util.List;
 /**
  * Serie view of the user.
  */
-public final class UserSerieView extends UserFilteredView {
+public final class UserSerieView extends UserFilteredView<Serie> {
     @Serial
     private static final long serialVersionUID = -2884190954467853020L;
-    private final transient ViewContext currentSessionContext;
 
     /**
-     * Constructor of the user serie view.
+     * Constructor of the user film view.
      *
      * @param currentSessionContext The context of the current session.
      */
@@ -26,17 +29,35 @@ public final class UserSerieView extends UserFilteredView {
         super(currentSessionContext, "Benvenuto "
                 + currentSessionContext.getController().getAccountDetails().get(0)
                 + " nella pagina delle serie.");
-        this.currentSessionContext = currentSessionContext;
     }
 
     @Override
-    protected JTable createContentTable(final int age) {
-        return super.createSerieTable(age);
+    protected JTable createContentTable(final int age, final CatalogSort sort) {
+        return super.createSerieTable(age, sort);
     }
 
     @Override
-    protected void showGenreRanking() {
-        final List<Genre> genreRanking = ((UserSessionController) currentSessionContext.getController()).getSeriesGenresRanking();
+    protected List<Serie> loadPreferredContent(final int age) {
+        return getController().getPreferredSeries(age);
+    }
+
+    @Override
+    protected JTable createContentTable(final List<Serie> content) {
+        return super.createSerieTable(content);
+    }
+
+    @Override
+    protected List<SearchResult> search(final String query, final int age) {
+        return getController().search(query, ContentType.SERIES, age);
+    }
+
+    @Override
+    protected List<Genre> loadGenreRanking() {
+        return getController().getSeriesGenresRanking();
+    }
+
+    @Override
+    protected void showGenreRanking(final List<Genre> genreRanking) {
         final StringBuilder message = new StringBuilder("Classifica dei generi:\n\n");
         genreRanking.forEach(g -> {
             message.append(g.name()).append(": ")
@@ -46,9 +67,7 @@ public final class UserSerieView extends UserFilteredView {
                 "Classifica dei generi - Serie", JOptionPane.INFORMATION_MESSAGE);
     }
 
-    @Override
-    protected JTable showPreferredGenres(final int age) {
-        return super.createPreferredSerieTable(age,
-                ((UserSessionController) currentSessionContext.getController()).getUserPrefs());
+    private UserSessionController getController() {
+        return (UserSessionController) getCurrentSessionContext().getController();
     }
 }
@@ -177,15 +177,10 @@ public final class FilmDetailsView extends DetailsView {
         cb.setHorizontalAlignment(SwingConstants.CENTER);
         cb.setSelected(this.uc.isFilmViewed(detailedFilm.getFilmId()));
         cb.addActionListener(e -> {
-            final JCheckBox cbe = (JCheckBox) e.getSource();
             if (cb.isSelected()) {
-                if (!this.uc.visualizeFilm(detailedFilm.getFilmId())) {
-                    cbe.setSelected(false);
-                }
+                this.uc.visualizeFilm(detailedFilm.getFilmId());
             } else {
-                if (!this.uc.forgetFilm(detailedFilm.getFilmId())) {
-                    cbe.setSelected(true);
-                }
+                this.uc.forgetFilm(detailedFilm.getFilmId());
             }
         });
         return cb;
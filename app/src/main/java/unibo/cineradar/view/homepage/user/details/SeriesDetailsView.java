@@ -3,12 +3,14 @@ package unibo.cineradar.view.homepage.user.details;
 import unibo.cineradar.controller.user.UserSessionController;
 import unibo.cineradar.model.cast.CastMember;
 import unibo.cineradar.model.multimedia.Genre;
+import unibo.cineradar.model.review.Review;
 import unibo.cineradar.model.serie.Episode;
 import unibo.cineradar.model.serie.Season;
 import unibo.cineradar.model.serie.Serie;
 import unibo.cineradar.view.ViewContext;
 import unibo.cineradar.view.homepage.user.review.WriteReviewView;
 import unibo.cineradar.view.homepage.user.review.WriteSerieReviewView;
+import unibo.cineradar.view.utilities.BackgroundTasks;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -29,6 +31,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * A view to display detailed information about a serie.
@@ -42,8 +45,9 @@ public final class SeriesDetailsView extends DetailsView {
     private static final int MARGIN = 5;
 
     private final transient UserSessionController uc;
-    private final transient Serie detailedSerie;
+    private transient Serie detailedSerie;
     private JButton reviewButton;
+    private boolean reviewed;
 
     /**
      * Constructs a new SeriesDetailsView.
@@ -57,21 +61,33 @@ public final class SeriesDetailsView extends DetailsView {
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         this.uc = (UserSessionController) currentSessionContext.getController();
 
-        final List<Serie> detailedSeries = uc.getDetailedSeries();
-
-        for (final Serie actualSerie : detailedSeries) {
-            if (actualSerie.getSeriesId() == serieId) {
-                this.detailedSerie = actualSerie;
-                setTitle(actualSerie.getTitle());
-                initComponents(currentSessionContext, actualSerie);
-                return;
-            }
-        }
-
-        throw new IllegalStateException("Detailed series not initialized for ID: " + serieId);
+        setTitle("Caricamento...");
+        add(new JLabel("Caricamento...", JLabel.CENTER));
+        final String username = uc.getAccount().getUsername();
+        BackgroundTasks.submit(() -> {
+            final Serie serie = uc.getDetailedSerie(serieId);
+            return new SeriesPage(
+                    serie,
+                    uc.getViewedEpisodes(serieId),
+                    uc.getSeriesReviews(serieId),
+                    !Objects.isNull(uc.getFullSeriesReview(serieId, username))
+            );
+        }, page -> {
+            this.detailedSerie = page.serie();
+            this.reviewed = page.reviewed();
+            getContentPane().removeAll();
+            setTitle(this.detailedSerie.getTitle());
+            initComponents(currentSessionContext, page);
+            revalidate();
+            repaint();
+        }, error -> {
+            BackgroundTasks.showError(this).accept(error);
+            dispose();
+        });
     }
 
-    private void initComponents(final ViewContext currentSessionContext, final Serie serie) {
+    private void initComponents(final ViewContext currentSessionContext, final SeriesPage page) {
+        final Serie serie = page.serie();
         final JPanel mainPanel = new JPanel();
         mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
 
@@ -100,6 +116,7 @@ public final class SeriesDetailsView extends DetailsView {
         seasonsPanel.setLayout(new BoxLayout(seasonsPanel, BoxLayout.Y_AXIS));
         seasonsPanel.setBorder(BorderFactory.createTitledBorder("Stagioni"));
         final List<JCheckBox> episodeCheckBoxes = new ArrayList<>();
+        final Set<Episode> viewedEpisodes = page.viewedEpisodes();
 
         for (final Season actualSeason : serie.getSeasons()) {
             final JPanel seasonPanel = new JPanel(new BorderLayout());
@@ -131,8 +148,6 @@ public final class SeriesDetailsView extends DetailsView {
             final JPanel episodesPanel = new JPanel(new GridLayout(0, 3));
             episodesPanel.setBorder(BorderFactory.createTitledBorder("Episodi"));
 
-            final List<Episode> viewedEpisodes = uc.getViewedEpisodes(serie.getSeriesId(), actualSeason.getId());
-
             for (final Episode episode : actualSeason.getEpisodes()) {
                 episodesPanel.add(new JLabel("Episodio " + episode.id()));
                 episodesPanel.add(new JLabel("Durata: " + episode.duration()));
@@ -150,13 +165,12 @@ public final class SeriesDetailsView extends DetailsView {
 
         mainPanel.add(seasonsPanel);
 
-        final JPanel reviewsPanel = super.getReviewsPanel(this.uc.getSeriesReviews(serie.getSeriesId()));
+        final JPanel reviewsPanel = super.getReviewsPanel(page.reviews());
         reviewsPanel.setAlignmentX(Component.CENTER_ALIGNMENT);
         mainPanel.add(reviewsPanel);
 
         reviewButton = new JButton();
-        final boolean notReviewedYet = Objects.isNull(uc.getFullSeriesReview(detailedSerie.getSeriesId(),
-                uc.getAccount().getUsername()));
+        final boolean notReviewedYet = !this.reviewed;
 
         if (notReviewedYet) {
             reviewButton.setText("Recensisci");
@@ -172,16 +186,21 @@ public final class SeriesDetailsView extends DetailsView {
             writeSerieReviewView.addWindowListener(new WindowAdapter() {
                 @Override
                 public void windowClosed(final WindowEvent e) {
-                    final boolean notReviewedYet = Objects.isNull(uc.getFullSeriesReview(serie.getSeriesId(),
-                            uc.getAccount().getUsername()));
-
-                    if (notReviewedYet) {
-                        reviewButton.setText("Recensisci");
-                    } else {
-                        reviewButton.setText("Serie gia' recensita");
-                        disableEpisodeCheckBoxes(episodeCheckBoxes);
-                        reviewButton.setEnabled(false);
-                    }
+                    final String username = uc.getAccount().getUsername();
+                    BackgroundTasks.submit(
+                            () -> !Objects.isNull(uc.getFullSeriesReview(serie.getSeriesId(), username)),
+                            nowReviewed -> {
+                                reviewed = nowReviewed;
+                                if (nowReviewed) {
+                                    reviewButton.setText("Serie gia' recensita");
+                                    disableEpisodeCheckBoxes(episodeCheckBoxes);
+                                    reviewButton.setEnabled(false);
+                                } else {
+                                    reviewButton.setText("Recensisci");
+                                }
+                            },
+                            BackgroundTasks.showError(SeriesDetailsView.this)
+                    );
                 }
             });
             writeSerieReviewView.setVisible(true);
@@ -193,35 +212,42 @@ public final class SeriesDetailsView extends DetailsView {
         setVisible(true);
     }
 
-    private JCheckBox createEpisodeCheckBox(final Episode ep, final List<Episode> viewed) {
+    private JCheckBox createEpisodeCheckBox(final Episode ep, final Set<Episode> viewed) {
         final JCheckBox checkBox = new JCheckBox("Visto");
         checkBox.setSelected(viewed.contains(ep));
-        checkBox.setSelected(uc.isEpisodeViewed(ep.seriesId(), ep.seasonId(), ep.id()));
         checkBox.addActionListener(e -> {
-            if (checkBox.isSelected()) {
-                if (!uc.visualizeEpisode(ep.seriesId(), ep.seasonId(), ep.id())) {
-                    checkBox.setSelected(false);
-                }
-            } else {
-                if (!uc.forgetEpisode(ep.seriesId(), ep.seasonId(), ep.id())) {
-                    checkBox.setSelected(true);
-                }
-            }
-            updateReviewButtonState(detailedSerie);
+            final boolean selected = checkBox.isSelected();
+            checkBox.setEnabled(false);
+            BackgroundTasks.run(
+                    () -> {
+                        if (selected) {
+                            uc.visualizeEpisode(ep.seriesId(), ep.seasonId(), ep.id());
+                        } else {
+                            uc.forgetEpisode(ep.seriesId(), ep.seasonId(), ep.id());
+                        }
+                    },
+                    () -> {
+                        checkBox.setEnabled(!reviewed);
+                        updateReviewButtonState(detailedSerie);
+                    },
+                    error -> {
+                        checkBox.setSelected(!selected);
+                        checkBox.setEnabled(!reviewed);
+                        BackgroundTasks.showError(this).accept(error);
+                    }
+            );
         });
         return checkBox;
     }
 
     private void updateReviewButtonState(final Serie serie) {
-        reviewButton.setEnabled(allEpisodesViewed(serie)
-                && Objects.isNull(uc.getFullSeriesReview(detailedSerie.getSeriesId(), uc.getAccount().getUsername())));
+        reviewButton.setEnabled(allEpisodesViewed(serie) && !this.reviewed);
     }
 
     private boolean allEpisodesViewed(final Serie serie) {
+        final Set<Episode> viewedEpisodes = uc.getViewedEpisodes(serie.getSeriesId());
         for (final Season season : serie.getSeasons()) {
-            final int seasonId = season.getId();
-            final List<Episode> viewedEpisodes = uc.getViewedEpisodes(serie.getSeriesId(), seasonId);
-            if (viewedEpisodes.size() != season.getEpisodes().size()) {
+            if (!viewedEpisodes.containsAll(season.getEpisodes())) {
                 return false;
             }
         }
@@ -234,4 +260,7 @@ public final class SeriesDetailsView extends DetailsView {
             checkBox.setSelected(true);
         }
     }
+
+    private record SeriesPage(Serie serie, Set<Episode> viewedEpisodes, List<Review> reviews, boolean reviewed) {
+    }
 }
@@ -153,6 +153,13 @@ public abstract class WriteReviewView extends JFrame {
                         JOptionPane.INFORMATION_MESSAGE
                 );
                 dispose();
+            } else {
+                JOptionPane.showMessageDialog(
+                        this,
+                        "Impossibile inviare la recensione, riprova più tardi.",
+                        "Errore",
+                        JOptionPane.ERROR_MESSAGE
+                );
             }
         });
 
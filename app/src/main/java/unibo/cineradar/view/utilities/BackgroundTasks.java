@@ -0,0 +1,166 @@
+package unibo.cineradar.view.utilities;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs the database work triggered by the views away from the Event Dispatch Thread.
+ * Results and errors are always delivered back on the Event Dispatch Thread.
+ */
+public final class BackgroundTasks {
+    private static final int WORKERS = 4;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(WORKERS, r -> {
+        final Thread thread = new Thread(r, "cineradar-view-worker-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private BackgroundTasks() {
+    }
+
+    /**
+     * Runs some work in background.
+     *
+     * @param work      The work to run, which must not touch Swing components.
+     * @param onSuccess What to do with the result, run on the Event Dispatch Thread.
+     * @param onFailure What to do if the work fails, run on the Event Dispatch Thread.
+     * @param <T>       The type of the result.
+     * @return A handle that can be used to discard the result.
+     */
+    public static <T> Task submit(final Supplier<T> work,
+                                  final Consumer<? super T> onSuccess,
+                                  final Consumer<? super Throwable> onFailure) {
+        final Task task = new Task();
+        CompletableFuture.supplyAsync(work, EXECUTOR).whenComplete((result, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (task.isCancelled()) {
+                        return;
+                    }
+                    task.done = true;
+                    if (Objects.isNull(error)) {
+                        onSuccess.accept(result);
+                    } else {
+                        onFailure.accept(error instanceof CompletionException && !Objects.isNull(error.getCause())
+                                ? error.getCause() : error);
+                    }
+                }));
+        return task;
+    }
+
+    /**
+     * Runs some work that produces no result in background.
+     *
+     * @param work      The work to run, which must not touch Swing components.
+     * @param onSuccess What to do once the work is done, run on the Event Dispatch Thread.
+     * @param onFailure What to do if the work fails, run on the Event Dispatch Thread.
+     * @return A handle that can be used to discard the completion.
+     */
+    public static Task run(final Runnable work,
+                           final Runnable onSuccess,
+                           final Consumer<? super Throwable> onFailure) {
+        return submit(() -> {
+            work.run();
+            return Boolean.TRUE;
+        }, ignored -> onSuccess.run(), onFailure);
+    }
+
+    /**
+     * Builds a failure handler that reports the error in a dialog.
+     *
+     * @param parent The component the dialog belongs to.
+     * @return The failure handler.
+     */
+    public static Consumer<Throwable> showError(final Component parent) {
+        return error -> JOptionPane.showMessageDialog(parent,
+                "Errore del database: " + error.getMessage(),
+                "Errore", JOptionPane.ERROR_MESSAGE);
+    }
+
+    /**
+     * A handle to a submitted piece of work.
+     */
+    public static final class Task {
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        private Task() {
+        }
+
+        /**
+         * Discards the outcome of the work: no callback will be invoked after this call.
+         * The work itself runs to completion, since JDBC calls cannot be safely interrupted.
+         */
+        public void cancel() {
+            this.cancelled = true;
+        }
+
+        /**
+         * Checks if the outcome of the work has been discarded.
+         *
+         * @return True if the task has been cancelled, false otherwise.
+         */
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        /**
+         * Checks if the outcome of the work has been delivered.
+         *
+         * @return True if a callback has been invoked, false otherwise.
+         */
+        public boolean isDone() {
+            return this.done;
+        }
+    }
+
+    /**
+     * Keeps only the latest of a series of requests: submitting a new one discards the previous.
+     * Meant to be used from the Event Dispatch Thread, e.g. for filters changed in rapid succession.
+     */
+    public static final class Latest {
+        private Task current;
+
+        /**
+         * Runs some work in background, discarding the request submitted before it.
+         *
+         * @param work      The work to run, which must not touch Swing components.
+         * @param onSuccess What to do with the result, run on the Event Dispatch Thread.
+         * @param onFailure What to do if the work fails, run on the Event Dispatch Thread.
+         * @param <T>       The type of the result.
+         */
+        public <T> void submit(final Supplier<T> work,
+                               final Consumer<? super T> onSuccess,
+                               final Consumer<? super Throwable> onFailure) {
+            cancel();
+            this.current = BackgroundTasks.submit(work, onSuccess, onFailure);
+        }
+
+        /**
+         * Discards the pending request, if any.
+         */
+        public void cancel() {
+            if (!Objects.isNull(this.current)) {
+                this.current.cancel();
+            }
+        }
+
+        /**
+         * Checks if a request is still waiting for its outcome.
+         *
+         * @return True if a request is pending, false otherwise.
+         */
+        public boolean isPending() {
+            return !Objects.isNull(this.current) && !this.current.isDone() && !this.current.isCancelled();
+        }
+    }
+}
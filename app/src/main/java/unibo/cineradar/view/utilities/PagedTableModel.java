@@ -0,0 +1,119 @@
+package unibo.cineradar.view.utilities;
+
+import unibo.cineradar.model.db.Page;
+import unibo.cineradar.model.db.PageRequest;
+
+import javax.swing.table.AbstractTableModel;
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A table model that reads its rows one page at a time, in background.
+ * The first page is requested on creation and the following ones as soon as the table
+ * renders one of the last rows already read, so only what the user scrolls through is loaded.
+ *
+ * @param <T> The type of the items shown in each row.
+ */
+public final class PagedTableModel<T> extends AbstractTableModel {
+    @Serial
+    private static final long serialVersionUID = 4016425236839522391L;
+    private static final int PREFETCH_ROWS = 10;
+
+    private final transient Function<PageRequest, Page<T>> loader;
+    private final transient Function<T, Object[]> rowMapper;
+    private final transient Consumer<Throwable> onFailure;
+    private final List<String> columns;
+    private final List<Object[]> rows = new ArrayList<>();
+    private transient Optional<PageRequest> next;
+    private boolean loading;
+    private boolean failed;
+
+    /**
+     * Creates a paged table model and starts loading its first page.
+     *
+     * @param loader    Reads a page, in background.
+     * @param first     The request for the first page.
+     * @param columns   The names of the columns.
+     * @param rowMapper Turns an item into the values of its row.
+     * @param onFailure What to do if a page cannot be read.
+     */
+    public PagedTableModel(final Function<PageRequest, Page<T>> loader,
+                           final PageRequest first,
+                           final List<String> columns,
+                           final Function<T, Object[]> rowMapper,
+                           final Consumer<Throwable> onFailure) {
+        super();
+        this.loader = loader;
+        this.rowMapper = rowMapper;
+        this.onFailure = onFailure;
+        this.columns = List.copyOf(columns);
+        this.next = Optional.of(first);
+        loadNextPage();
+    }
+
+    @Override
+    public int getRowCount() {
+        return this.rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return this.columns.size();
+    }
+
+    @Override
+    public String getColumnName(final int column) {
+        return this.columns.get(column);
+    }
+
+    @Override
+    public Object getValueAt(final int rowIndex, final int columnIndex) {
+        if (rowIndex >= this.rows.size() - PREFETCH_ROWS) {
+            loadNextPage();
+        }
+        return this.rows.get(rowIndex)[columnIndex];
+    }
+
+    /**
+     * Checks if a page is being read.
+     *
+     * @return True if a page is being read, false otherwise.
+     */
+    public boolean isLoading() {
+        return this.loading;
+    }
+
+    /**
+     * Checks if there are rows not read yet.
+     *
+     * @return True if another page follows the rows already read, false otherwise.
+     */
+    public boolean hasMoreRows() {
+        return this.next.isPresent();
+    }
+
+    private void loadNextPage() {
+        if (this.loading || this.failed || this.next.isEmpty()) {
+            return;
+        }
+        this.loading = true;
+        final PageRequest request = this.next.get();
+        BackgroundTasks.submit(() -> this.loader.apply(request), page -> {
+            this.loading = false;
+            this.next = page.next();
+            if (!page.items().isEmpty()) {
+                final int firstRow = this.rows.size();
+                page.items().forEach(item -> this.rows.add(this.rowMapper.apply(item)));
+                fireTableRowsInserted(firstRow, this.rows.size() - 1);
+            }
+        }, error -> {
+            this.loading = false;
+            this.failed = true;
+            this.onFailure.accept(error);
+        });
+    }
+}
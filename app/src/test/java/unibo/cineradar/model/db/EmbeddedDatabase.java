@@ -0,0 +1,164 @@
+package unibo.cineradar.model.db;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A MariaDB server started from the test JVM, loaded with the CineRadar schema and one of its fixtures.
+ * The schema is loaded unchanged, triggers included, so the operations behave as on the real server.
+ */
+public final class EmbeddedDatabase implements AutoCloseable {
+    /**
+     * System property selecting the database the tests run against, {@code remote} or {@code embedded}.
+     */
+    public static final String PROFILE_PROPERTY = "cineradar.db.profile";
+    /**
+     * System property selecting the fixture loaded in the embedded database,
+     * {@code full}, {@code slim} or {@code none}.
+     */
+    public static final String FIXTURE_PROPERTY = "cineradar.db.fixture";
+    /**
+     * System property telling where the SQL scripts are; the SQL folder of the project is searched otherwise.
+     */
+    public static final String SQL_DIR_PROPERTY = "cineradar.sql.dir";
+    private static final String SCHEMA = "CineRadar.ddl";
+
+    private final DB db;
+    private final DatabaseEndpoint endpoint;
+
+    private EmbeddedDatabase(final DB db, final DatabaseEndpoint endpoint) {
+        this.db = db;
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Tells if the embedded profile has been selected.
+     *
+     * @return True if the tests should run against the embedded database, false otherwise.
+     */
+    public static boolean isSelected() {
+        return "embedded".equalsIgnoreCase(System.getProperty(PROFILE_PROPERTY, "remote"));
+    }
+
+    /**
+     * Tells if the tests run against the embedded database loaded with the full sample data.
+     * The tests that write to the database, or rely on the sample data, only run in this case.
+     *
+     * @return True if the embedded profile and the full fixture have been selected, false otherwise.
+     */
+    public static boolean hasSampleData() {
+        return isSelected() && selectedFixture() == Fixture.FULL;
+    }
+
+    /**
+     * Starts a database on a free port and loads the schema and the fixture selected by {@link #FIXTURE_PROPERTY}.
+     *
+     * @return The started database.
+     */
+    public static EmbeddedDatabase start() {
+        return start(selectedFixture());
+    }
+
+    /**
+     * Starts a database on a free port and loads the schema and a fixture.
+     *
+     * @param fixture The data to load.
+     * @return The started database.
+     */
+    public static EmbeddedDatabase start(final Fixture fixture) {
+        try {
+            final DB db = DB.newEmbeddedDB(DBConfigurationBuilder.newBuilder()
+                    .setPort(0)
+                    // The schema creates upper case tables, which the queries use in lower case.
+                    .addArg("--lower_case_table_names=1")
+                    .build());
+            db.start();
+            db.run(read(SCHEMA));
+            final StringBuilder accounts = new StringBuilder();
+            for (final String host : List.of("%", "localhost")) {
+                final String account = "'" + DBConfig.getUsername() + "'@'" + host + "'";
+                accounts.append("CREATE USER ").append(account)
+                        .append(" IDENTIFIED BY '").append(DBConfig.getPassword()).append("';")
+                        .append("GRANT ALL PRIVILEGES ON ").append(DBConfig.getDBName()).append(".* TO ")
+                        .append(account).append(';');
+            }
+            db.run(accounts.toString());
+            if (!Objects.isNull(fixture.script)) {
+                db.run(read(fixture.script), null, null, DBConfig.getDBName());
+            }
+            return new EmbeddedDatabase(db, new DatabaseEndpoint("localhost", db.getConfiguration().getPort()));
+        } catch (ManagedProcessException | IOException ex) {
+            throw new IllegalStateException("Could not start the embedded database.", ex);
+        }
+    }
+
+    /**
+     * Gets the endpoint the database listens on.
+     *
+     * @return The endpoint of the database.
+     */
+    public DatabaseEndpoint getEndpoint() {
+        return this.endpoint;
+    }
+
+    /**
+     * Stops the database.
+     */
+    @Override
+    public void close() {
+        try {
+            this.db.stop();
+        } catch (ManagedProcessException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Fixture selectedFixture() {
+        return Fixture.valueOf(System.getProperty(FIXTURE_PROPERTY, "full").toUpperCase(Locale.ROOT));
+    }
+
+    private static String read(final String script) throws IOException {
+        final Path directory = Optional.ofNullable(System.getProperty(SQL_DIR_PROPERTY))
+                .map(Path::of)
+                .or(() -> Stream.of(Path.of("SQL"), Path.of("..", "SQL"))
+                        .filter(path -> Files.isRegularFile(path.resolve(SCHEMA)))
+                        .findFirst())
+                .orElseThrow(() -> new IOException("SQL folder not found, set " + SQL_DIR_PROPERTY));
+        return Files.readString(directory.resolve(script), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The data loaded after the schema.
+     */
+    public enum Fixture {
+        /**
+         * The full sample data.
+         */
+        FULL("DataEntry.sql"),
+        /**
+         * The administrator account, the genres and the review sections only.
+         */
+        SLIM("DataEntrySlim.sql"),
+        /**
+         * No data, only the schema.
+         */
+        NONE(null);
+
+        private final String script;
+
+        Fixture(final String script) {
+            this.script = script;
+        }
+    }
+}
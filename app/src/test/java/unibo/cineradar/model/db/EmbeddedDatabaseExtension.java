@@ -0,0 +1,26 @@
+package unibo.cineradar.model.db;
+
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Points every test at the embedded database when the embedded profile is selected.
+ * The database is started before the first test class and stopped once all tests have run;
+ * with the remote profile the extension does nothing.
+ */
+public final class EmbeddedDatabaseExtension implements BeforeAllCallback {
+    private static final String ENDPOINTS_PROPERTY = "cineradar.db.endpoints";
+
+    @Override
+    public void beforeAll(final ExtensionContext context) {
+        if (!EmbeddedDatabase.isSelected()) {
+            return;
+        }
+        context.getRoot().getStore(ExtensionContext.Namespace.GLOBAL).getOrComputeIfAbsent(
+                EmbeddedDatabase.class, key -> {
+                    final EmbeddedDatabase database = EmbeddedDatabase.start();
+                    System.setProperty(ENDPOINTS_PROPERTY, database.getEndpoint().toString());
+                    return (ExtensionContext.Store.CloseableResource) database::close;
+                }, ExtensionContext.Store.CloseableResource.class);
+    }
+}
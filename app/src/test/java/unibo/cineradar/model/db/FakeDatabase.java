@@ -0,0 +1,354 @@
+package unibo.cineradar.model.db;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * A fake JDBC database, for the tests that check which statements the operations send without a server.
+ * Queries are answered with the rows given for their SQL, updates report how many rows they changed,
+ * and the calls that matter are recorded in order; anything else gets a neutral answer.
+ * What the database itself does with the statements is covered by the tests of the embedded profile.
+ */
+public final class FakeDatabase {
+    private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+    private final List<Execution> executions = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> prepared = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closedStatements = new AtomicInteger();
+    private final AtomicInteger closedResults = new AtomicInteger();
+    private Function<String, List<Map<String, Object>>> rows = sql -> List.of();
+    private ToIntFunction<String> updateCount = sql -> 1;
+    private List<Integer> generatedKeys = List.of();
+    private boolean failingBatches;
+
+    /**
+     * Answers the queries with the rows returned for their SQL.
+     *
+     * @param answers The rows of each query, as column labels and values.
+     * @return This database.
+     */
+    public FakeDatabase answering(final Function<String, List<Map<String, Object>>> answers) {
+        this.rows = Objects.requireNonNull(answers);
+        return this;
+    }
+
+    /**
+     * Sets how many rows each update, or each row of a batch, reports as changed; one by default.
+     *
+     * @param count The number of changed rows for the SQL of the update.
+     * @return This database.
+     */
+    public FakeDatabase updating(final ToIntFunction<String> count) {
+        this.updateCount = Objects.requireNonNull(count);
+        return this;
+    }
+
+    /**
+     * Makes every batch fail.
+     *
+     * @return This database.
+     */
+    public FakeDatabase failingBatches() {
+        this.failingBatches = true;
+        return this;
+    }
+
+    /**
+     * Sets the keys reported as generated by the statements that ask for them.
+     *
+     * @param keys The generated keys.
+     * @return This database.
+     */
+    public FakeDatabase generatingKeys(final Integer... keys) {
+        this.generatedKeys = List.of(keys);
+        return this;
+    }
+
+    /**
+     * Opens a new connection, in auto-commit mode.
+     *
+     * @return The connection.
+     */
+    public Connection connect() {
+        this.opened.incrementAndGet();
+        final AtomicBoolean autoCommit = new AtomicBoolean(true);
+        final AtomicBoolean closed = new AtomicBoolean();
+        return proxy(Connection.class, (connection, method, args) -> switch (method.getName()) {
+            case "getAutoCommit" -> autoCommit.get();
+            case "setAutoCommit" -> {
+                autoCommit.set((Boolean) args[0]);
+                this.calls.add("setAutoCommit " + args[0]);
+                yield null;
+            }
+            case "commit", "rollback" -> {
+                this.calls.add(method.getName());
+                yield null;
+            }
+            case "prepareStatement" -> {
+                final boolean returningKeys = args.length > 1
+                        && Integer.valueOf(Statement.RETURN_GENERATED_KEYS).equals(args[1]);
+                this.calls.add(returningKeys ? "prepareStatement returning keys" : "prepareStatement");
+                this.prepared.add((String) args[0]);
+                yield statement((String) args[0]);
+            }
+            case "close" -> {
+                closed.set(true);
+                yield null;
+            }
+            case "isClosed" -> closed.get();
+            case "isValid" -> !closed.get();
+            default -> neutral(connection, method, args);
+        });
+    }
+
+    /**
+     * Gets the calls made so far, such as {@code prepareStatement}, {@code executeUpdate} or {@code commit}.
+     *
+     * @return The recorded calls, in order.
+     */
+    public List<String> calls() {
+        return List.copyOf(this.calls);
+    }
+
+    /**
+     * Gets the statements of a kind executed so far, with their parameters.
+     *
+     * @param kind The kind of execution: {@code executeQuery}, {@code executeUpdate} or {@code addBatch}.
+     * @return The executions of that kind, in order.
+     */
+    public List<Execution> executions(final String kind) {
+        synchronized (this.executions) {
+            return this.executions.stream().filter(execution -> execution.kind().equals(kind)).toList();
+        }
+    }
+
+    /**
+     * Gets the SQL of the queries executed so far.
+     *
+     * @return The SQL of every executed query, in order.
+     */
+    public List<String> queries() {
+        return executions("executeQuery").stream().map(Execution::sql).toList();
+    }
+
+    /**
+     * Gets the SQL of the statements prepared so far.
+     *
+     * @return The SQL of every prepared statement, in order.
+     */
+    public List<String> prepared() {
+        return List.copyOf(this.prepared);
+    }
+
+    /**
+     * Gets how many connections have been opened.
+     *
+     * @return The number of opened connections.
+     */
+    public int getOpened() {
+        return this.opened.get();
+    }
+
+    /**
+     * Gets how many statements have been closed.
+     *
+     * @return The number of closed statements.
+     */
+    public int getClosedStatements() {
+        return this.closedStatements.get();
+    }
+
+    /**
+     * Gets how many result sets have been closed.
+     *
+     * @return The number of closed result sets.
+     */
+    public int getClosedResults() {
+        return this.closedResults.get();
+    }
+
+    /**
+     * Builds a row from column labels and values; the values can be read by position too.
+     *
+     * @param labelsAndValues The label of each column followed by its value.
+     * @return The row.
+     */
+    public static Map<String, Object> row(final Object... labelsAndValues) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < labelsAndValues.length; i += 2) {
+            row.put((String) labelsAndValues[i], labelsAndValues[i + 1]);
+        }
+        return row;
+    }
+
+    /**
+     * Builds a statement that only records the parameters bound to it, by position.
+     *
+     * @param parameters Where to put the bound parameters.
+     * @return The statement.
+     */
+    public static PreparedStatement parameterSink(final Map<Integer, Object> parameters) {
+        return proxy(PreparedStatement.class, (statement, method, args) -> {
+            if (method.getName().startsWith("set")) {
+                parameters.put((Integer) args[0], args[1]);
+                return null;
+            }
+            return neutral(statement, method, args);
+        });
+    }
+
+    private PreparedStatement statement(final String sql) {
+        final Map<Integer, Object> parameters = new TreeMap<>();
+        final List<Integer> batch = new ArrayList<>();
+        return proxy(PreparedStatement.class, (statement, method, args) -> {
+            final String name = method.getName();
+            if (name.startsWith("set") && !Objects.isNull(args) && args[0] instanceof Integer index) {
+                parameters.put(index, "setNull".equals(name) ? null : args[1]);
+                return null;
+            }
+            switch (name) {
+                case "executeQuery" -> {
+                    record(name, sql, parameters);
+                    return resultSet(this.rows.apply(sql).iterator());
+                }
+                case "executeUpdate" -> {
+                    record(name, sql, parameters);
+                    return this.updateCount.applyAsInt(sql);
+                }
+                case "addBatch" -> {
+                    record(name, sql, parameters);
+                    batch.add(this.updateCount.applyAsInt(sql));
+                    return null;
+                }
+                case "executeBatch" -> {
+                    if (this.failingBatches) {
+                        batch.clear();
+                        throw new BatchUpdateException();
+                    }
+                    this.calls.add(name);
+                    final int[] counts = batch.stream().mapToInt(Integer::intValue).toArray();
+                    batch.clear();
+                    return counts;
+                }
+                case "getGeneratedKeys" -> {
+                    this.calls.add(name);
+                    return resultSet(this.generatedKeys.stream().map(key -> row("Codice", key)).iterator());
+                }
+                case "close" -> {
+                    this.closedStatements.incrementAndGet();
+                    return null;
+                }
+                default -> {
+                    return neutral(statement, method, args);
+                }
+            }
+        });
+    }
+
+    private void record(final String kind, final String sql, final Map<Integer, Object> parameters) {
+        this.calls.add(kind);
+        final List<Object> values = Collections.unmodifiableList(new ArrayList<>(parameters.values()));
+        this.executions.add(new Execution(kind, sql, values));
+    }
+
+    private ResultSet resultSet(final Iterator<Map<String, Object>> source) {
+        final List<Map<String, Object>> current = new ArrayList<>(List.of(Map.of()));
+        final AtomicBoolean lastNull = new AtomicBoolean();
+        return proxy(ResultSet.class, (resultSet, method, args) -> {
+            final String name = method.getName();
+            if ("next".equals(name)) {
+                final boolean more = source.hasNext();
+                current.set(0, more ? source.next() : Map.of());
+                return more;
+            } else if ("close".equals(name)) {
+                this.closedResults.incrementAndGet();
+                return null;
+            } else if ("wasNull".equals(name)) {
+                return lastNull.get();
+            } else if (name.startsWith("get") && !Objects.isNull(args) && args.length == 1) {
+                final Object value = column(current.get(0), args[0]);
+                lastNull.set(Objects.isNull(value));
+                return Objects.isNull(value)
+                        ? neutral(resultSet, method, args)
+                        : convert(value, method.getReturnType());
+            }
+            return neutral(resultSet, method, args);
+        });
+    }
+
+    private static Object column(final Map<String, Object> row, final Object column) {
+        if (column instanceof Integer index) {
+            return row.values().stream().skip(index - 1L).findFirst().orElse(null);
+        }
+        return row.get((String) column);
+    }
+
+    private static Object convert(final Object value, final Class<?> type) {
+        if (type == String.class) {
+            return String.valueOf(value);
+        } else if (value instanceof Number number) {
+            if (type == int.class) {
+                return number.intValue();
+            } else if (type == long.class) {
+                return number.longValue();
+            } else if (type == double.class) {
+                return number.doubleValue();
+            }
+        }
+        return value;
+    }
+
+    private static Object neutral(final Object proxy, final Method method, final Object[] args) {
+        final Class<?> type = method.getReturnType();
+        return switch (method.getName()) {
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "fake " + method.getDeclaringClass().getSimpleName();
+            default -> {
+                if (type == boolean.class) {
+                    yield false;
+                } else if (type == int.class) {
+                    yield 0;
+                } else if (type == long.class) {
+                    yield 0L;
+                } else if (type == double.class) {
+                    yield 0.0d;
+                }
+                yield null;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(FakeDatabase.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * A statement executed on the database.
+     *
+     * @param kind       How it was executed: {@code executeQuery}, {@code executeUpdate} or {@code addBatch}.
+     * @param sql        The SQL of the statement.
+     * @param parameters The parameters bound to it, by position.
+     */
+    public record Execution(String kind, String sql, List<Object> parameters) {
+    }
+}
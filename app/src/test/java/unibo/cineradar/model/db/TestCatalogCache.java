@@ -0,0 +1,168 @@
+package unibo.cineradar.model.db;
+
+import org.junit.jupiter.api.Test;
+import unibo.cineradar.model.serie.Serie;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestCatalogCache {
+
+    @Test
+    void testWarmCacheDoesNotReload() {
+        final CatalogCache cache = new CatalogCache(Duration.ofMinutes(1));
+        final AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            cache.get(CatalogCache.USER_FILMS, () -> {
+                loads.incrementAndGet();
+                return Map.of();
+            });
+        }
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    void testInvalidationOnlyDropsTheChangedSection() {
+        final CatalogCache cache = new CatalogCache(Duration.ofMinutes(1));
+        final AtomicInteger filmLoads = new AtomicInteger();
+        final AtomicInteger seriesLoads = new AtomicInteger();
+        cache.get(CatalogCache.USER_FILMS, () -> countedFilms(filmLoads));
+        cache.get(CatalogCache.ADMIN_FILMS, () -> countedFilms(filmLoads));
+        cache.get(CatalogCache.USER_SERIES, () -> countedSeries(seriesLoads));
+        cache.invalidate(CatalogCache.Section.FILMS);
+        cache.get(CatalogCache.USER_FILMS, () -> countedFilms(filmLoads));
+        cache.get(CatalogCache.ADMIN_FILMS, () -> countedFilms(filmLoads));
+        cache.get(CatalogCache.USER_SERIES, () -> countedSeries(seriesLoads));
+        assertEquals(4, filmLoads.get());
+        assertEquals(1, seriesLoads.get());
+    }
+
+    @Test
+    void testExpiredEntriesAreReloaded() {
+        final CatalogCache cache = new CatalogCache(Duration.ZERO);
+        final AtomicInteger loads = new AtomicInteger();
+        cache.get(CatalogCache.USER_SERIES, () -> countedSeries(loads));
+        cache.get(CatalogCache.USER_SERIES, () -> countedSeries(loads));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testOnlyChangedRowsAreRefreshed() {
+        final CatalogCache cache = new CatalogCache(Duration.ofMinutes(1));
+        final AtomicInteger loads = new AtomicInteger();
+        final List<Set<Integer>> refreshed = new ArrayList<>();
+        cache.get(CatalogCache.ADMIN_SERIES, () -> countedSeries(loads), (series, changed) -> {
+            refreshed.add(changed);
+            return series;
+        });
+        cache.changed(CatalogCache.Section.SERIES, 4);
+        cache.changed(CatalogCache.Section.FILMS, 5);
+        cache.changed(CatalogCache.Section.SERIES, 7);
+        cache.changed(CatalogCache.Section.SERIES, 4);
+        for (int i = 0; i < 2; i++) {
+            cache.get(CatalogCache.ADMIN_SERIES, () -> countedSeries(loads), (series, changed) -> {
+                refreshed.add(changed);
+                return series;
+            });
+        }
+        assertEquals(1, loads.get());
+        assertEquals(List.of(Set.of(4, 7)), refreshed);
+        assertEquals(1, cache.getRefreshes());
+        assertEquals(1, cache.getHits());
+
+        cache.invalidate(CatalogCache.Section.SERIES);
+        cache.get(CatalogCache.ADMIN_SERIES, () -> countedSeries(loads), (series, changed) -> {
+            refreshed.add(changed);
+            return series;
+        });
+        assertEquals(2, loads.get());
+        assertEquals(1, refreshed.size());
+    }
+
+    @Test
+    void testForgottenChangesAreSeenAsWholeSection() {
+        final CatalogJournal journal = new CatalogJournal(2);
+        journal.record(CatalogCache.Section.FILMS, 1);
+        final long seen = journal.getVersion();
+        journal.record(CatalogCache.Section.FILMS, 2);
+        assertEquals(Optional.of(Set.of(2)), journal.changedSince(seen, CatalogCache.Section.FILMS));
+        assertEquals(Optional.of(Set.of()), journal.changedSince(seen, CatalogCache.Section.SERIES));
+        journal.record(CatalogCache.Section.SERIES, 3);
+        assertEquals(Optional.of(Set.of(2)), journal.changedSince(seen, CatalogCache.Section.FILMS));
+        journal.record(CatalogCache.Section.SERIES, 4);
+        assertEquals(Optional.empty(), journal.changedSince(seen, CatalogCache.Section.FILMS));
+        assertEquals(Optional.of(Set.of(4)),
+                journal.changedSince(journal.getVersion() - 1, CatalogCache.Section.SERIES));
+    }
+
+    @Test
+    void testLoaderCanGetOtherEntries() {
+        final CatalogCache cache = new CatalogCache(Duration.ofMinutes(1));
+        final AtomicInteger loads = new AtomicInteger();
+        final List<Serie> series = cache.get(CatalogCache.USER_SERIES, () -> {
+            for (int id = 0; id < 64; id++) {
+                cache.get(CatalogCache.seriesDetails(id), Optional::empty);
+            }
+            return countedSeries(loads);
+        });
+        assertEquals(List.of(), series);
+        assertEquals(1, loads.get());
+        assertEquals(65, cache.getLoads());
+        assertThrows(IllegalStateException.class, () -> cache.get(CatalogCache.ADMIN_SERIES,
+                () -> cache.get(CatalogCache.ADMIN_SERIES, List::of)));
+    }
+
+    @Test
+    void testConcurrentCallersWaitForOneLoad() throws InterruptedException {
+        final CatalogCache cache = new CatalogCache(Duration.ofMinutes(1));
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Thread first = new Thread(() -> cache.get(CatalogCache.USER_FILMS, () -> {
+            loading.countDown();
+            awaitQuietly(release);
+            return countedFilms(loads);
+        }));
+        first.start();
+        loading.await();
+        final Thread second = new Thread(() -> cache.get(CatalogCache.USER_FILMS, () -> countedFilms(loads)));
+        second.start();
+        cache.get(CatalogCache.USER_SERIES, () -> countedSeries(loads));
+        release.countDown();
+        first.join();
+        second.join();
+        assertEquals(2, loads.get());
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <K, V> Map<K, V> countedFilms(final AtomicInteger loads) {
+        loads.incrementAndGet();
+        return Map.of();
+    }
+
+    private static <T> List<T> countedSeries(final AtomicInteger loads) {
+        loads.incrementAndGet();
+        return List.of();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
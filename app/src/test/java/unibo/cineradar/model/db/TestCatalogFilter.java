@@ -0,0 +1,60 @@
+package unibo.cineradar.model.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestCatalogFilter {
+
+    @Test
+    void testAgeOnlyFilter() throws SQLException {
+        final CatalogFilter filter = CatalogFilter.forAge(14);
+        assertEquals("film.EtaLimite <= ? AND film.Durata BETWEEN ? AND ?", filter.condition("film"));
+        final Map<Integer, Object> parameters = new TreeMap<>();
+        assertEquals(4, bind(filter, 1, parameters));
+        assertEquals(Map.of(1, 14, 2, 0, 3, Integer.MAX_VALUE), parameters);
+    }
+
+    @Test
+    void testPreferredGenresAreMatchedByName() throws SQLException {
+        final CatalogFilter filter = CatalogFilter.forAge(18).preferredBy("mario").withDuration(60, 120);
+        final String condition = filter.condition("serie");
+        assertTrue(condition.startsWith("serie.EtaLimite <= ? AND serie.DurataComplessiva BETWEEN ? AND ?"));
+        assertTrue(condition.contains("JOIN preferenze ON preferenze.NomeGenere = cp.NomeGenere"));
+        assertTrue(condition.contains("cp.CodiceSerie = serie.Codice"));
+        final Map<Integer, Object> parameters = new TreeMap<>();
+        assertEquals(6, bind(filter, 2, parameters));
+        assertEquals(Map.of(2, 18, 3, 60, 4, 120, 5, "mario"), parameters);
+    }
+
+    @Test
+    void testGenreWhitelist() throws SQLException {
+        final CatalogFilter filter = CatalogFilter.forAge(18).withGenres(Set.of("Horror", "Drama"));
+        assertTrue(filter.condition("film").endsWith("cg.CodiceFilm = film.Codice AND cg.NomeGenere IN (?, ?))"));
+        final Map<Integer, Object> parameters = new TreeMap<>();
+        assertEquals(6, bind(filter, 1, parameters));
+        assertEquals(Set.of("Horror", "Drama"), Set.of(parameters.get(4), parameters.get(5)));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> CatalogFilter.forAge(18).withDuration(100, 50));
+        assertThrows(IllegalArgumentException.class, () -> CatalogFilter.forAge(18).condition("episodio"));
+    }
+
+    private static int bind(final CatalogFilter filter, final int firstIndex,
+                            final Map<Integer, Object> parameters) throws SQLException {
+        return filter.bind(FakeDatabase.parameterSink(parameters), firstIndex);
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
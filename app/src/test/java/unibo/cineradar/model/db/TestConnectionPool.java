@@ -0,0 +1,77 @@
+package unibo.cineradar.model.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestConnectionPool {
+    private static final Duration LONG = Duration.ofMinutes(10);
+
+    @Test
+    void testConnectionsAreReused() throws SQLException {
+        final FakeDatabase database = new FakeDatabase();
+        final ConnectionPool pool = new ConnectionPool(database::connect, 2, Duration.ofMillis(100), LONG, LONG);
+        final Connection first = pool.borrow();
+        pool.release(first);
+        final Connection second = pool.borrow();
+        assertSame(first, second);
+        pool.release(second);
+        assertEquals(1, database.getOpened());
+        final PoolStatistics stats = pool.getStatistics();
+        assertEquals(0, stats.active());
+        assertEquals(1, stats.idle());
+        assertEquals(2, stats.borrows());
+        pool.shutdown();
+    }
+
+    @Test
+    void testExhaustedPoolTimesOut() throws SQLException {
+        final ConnectionPool pool = new ConnectionPool(
+                new FakeDatabase()::connect, 1, Duration.ofMillis(50), LONG, LONG);
+        final Connection held = pool.borrow();
+        assertThrows(SQLTimeoutException.class, pool::borrow);
+        assertEquals(1, pool.getStatistics().timeouts());
+        pool.release(held);
+        pool.release(pool.borrow());
+        pool.shutdown();
+    }
+
+    @Test
+    void testOpenTransactionsAreRolledBack() throws SQLException {
+        final FakeDatabase database = new FakeDatabase();
+        final ConnectionPool pool = new ConnectionPool(database::connect, 1, Duration.ofMillis(100), LONG, LONG);
+        final Connection conn = pool.borrow();
+        conn.setAutoCommit(false);
+        pool.release(conn);
+        assertTrue(database.calls().contains("rollback"));
+        assertTrue(pool.borrow().getAutoCommit());
+        pool.shutdown();
+    }
+
+    @Test
+    void testExpiredConnectionsAreReplaced() throws SQLException {
+        final FakeDatabase database = new FakeDatabase();
+        final ConnectionPool pool = new ConnectionPool(
+                database::connect, 1, Duration.ofMillis(100), LONG, Duration.ZERO);
+        final Connection first = pool.borrow();
+        pool.release(first);
+        final Connection second = pool.borrow();
+        assertNotSame(first, second);
+        assertEquals(2, database.getOpened());
+        assertEquals(1, pool.getStatistics().destroyed());
+        pool.shutdown();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
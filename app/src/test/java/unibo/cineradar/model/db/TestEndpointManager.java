@@ -0,0 +1,97 @@
+package unibo.cineradar.model.db;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestEndpointManager {
+    private static final DatabaseEndpoint LOCAL = new DatabaseEndpoint("localhost", 3306);
+    private static final DatabaseEndpoint REMOTE = new DatabaseEndpoint("remote", 3307);
+
+    private final Set<DatabaseEndpoint> down = ConcurrentHashMap.newKeySet();
+    private final Map<DatabaseEndpoint, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    private final FakeDatabase database = new FakeDatabase();
+    private EndpointManager manager;
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    void testUnreachableEndpointIsNotTriedAgain() throws SQLException {
+        down.add(LOCAL);
+        manager = manager(Duration.ofMinutes(1));
+        manager.connect();
+        manager.connect();
+        manager.connect();
+        assertEquals(Optional.of(REMOTE), manager.getCurrentEndpoint());
+        assertEquals(1, attempts(LOCAL));
+        assertEquals(3, attempts(REMOTE));
+    }
+
+    @Test
+    void testPreferredEndpointIsUsedAgainOnceBack() throws SQLException, InterruptedException {
+        down.add(LOCAL);
+        manager = manager(Duration.ofMillis(20));
+        manager.connect();
+        down.clear();
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!manager.getCurrentEndpoint().equals(Optional.of(LOCAL)) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Optional.of(LOCAL), manager.getCurrentEndpoint());
+    }
+
+    @Test
+    void testFailureOfTheEndpointInUseStartsNewProbes() throws SQLException {
+        manager = manager(Duration.ofMinutes(1));
+        manager.connect();
+        assertEquals(Optional.of(LOCAL), manager.getCurrentEndpoint());
+        down.add(LOCAL);
+        manager.connect();
+        assertEquals(Optional.of(REMOTE), manager.getCurrentEndpoint());
+        down.add(REMOTE);
+        assertThrows(SQLException.class, manager::connect);
+        assertEquals(Optional.empty(), manager.getCurrentEndpoint());
+        down.remove(REMOTE);
+        manager.connect();
+        assertEquals(Optional.of(REMOTE), manager.getCurrentEndpoint());
+    }
+
+    @Test
+    void testEndpointsAreParsed() {
+        assertEquals(List.of(LOCAL, REMOTE), DatabaseEndpoint.parseList(" localhost , remote:3307,localhost", 3306));
+        assertThrows(IllegalArgumentException.class, () -> DatabaseEndpoint.parseList(" , ", 3306));
+        assertThrows(IllegalArgumentException.class, () -> DatabaseEndpoint.parse("remote:port", 3306));
+    }
+
+    private EndpointManager manager(final Duration backoff) {
+        return new EndpointManager(List.of(LOCAL, REMOTE), (endpoint, timeout) -> {
+            attempts.computeIfAbsent(endpoint, e -> new AtomicInteger()).incrementAndGet();
+            if (down.contains(endpoint)) {
+                throw new SQLException(endpoint + " is down");
+            }
+            return database.connect();
+        }, Duration.ofSeconds(1), backoff, backoff.multipliedBy(4));
+    }
+
+    private int attempts(final DatabaseEndpoint endpoint) {
+        return attempts.getOrDefault(endpoint, new AtomicInteger()).get();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
@@ -0,0 +1,83 @@
+package unibo.cineradar.model.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestPageRequest {
+
+    @Test
+    void testFirstPageHasNoKeyset() throws SQLException {
+        final PageRequest request = PageRequest.first(CatalogSort.CODE_ASCENDING, 20);
+        assertEquals("TRUE", request.keysetCondition("film"));
+        assertEquals(" ORDER BY film.Codice ASC LIMIT ?", request.orderAndLimit("film"));
+        assertEquals(Map.of(2, 21), bind(request, 2));
+    }
+
+    @Test
+    void testTitleKeysetBreaksTiesByCode() throws SQLException {
+        final PageRequest request = PageRequest.first(CatalogSort.TITLE_DESCENDING, 20)
+                .next(new PageCursor(7, "Matrix"));
+        assertEquals("(serie.Titolo < ? OR (serie.Titolo = ? AND serie.Codice < ?))",
+                request.keysetCondition("serie"));
+        assertEquals(" ORDER BY serie.Titolo DESC, serie.Codice DESC LIMIT ?", request.orderAndLimit("serie"));
+        assertEquals(Map.of(2, "Matrix", 3, "Matrix", 4, 7, 5, 21), bind(request, 2));
+    }
+
+    @Test
+    void testPageKnowsIfMoreRowsFollow() {
+        final PageRequest request = PageRequest.first(CatalogSort.CODE_ASCENDING, 3);
+        final Page<Integer> full = Page.of(request, List.of(1, 2, 3, 4), code -> new PageCursor(code, ""));
+        assertEquals(List.of(1, 2, 3), full.items());
+        assertTrue(full.next().isPresent());
+        assertEquals(3, full.next().get().after().get().code());
+        final Page<Integer> last = Page.of(request, List.of(1, 2, 3), code -> new PageCursor(code, ""));
+        assertFalse(last.next().isPresent());
+    }
+
+    @Test
+    void testPagingVisitsEveryRowOnce() {
+        final List<Integer> catalog = IntStream.rangeClosed(1, 1000).boxed().toList();
+        PageRequest request = PageRequest.first(CatalogSort.CODE_DESCENDING, 64);
+        int read = 0;
+        int previous = Integer.MAX_VALUE;
+        boolean more = true;
+        while (more) {
+            final int after = request.after().map(PageCursor::code).orElse(Integer.MAX_VALUE);
+            final List<Integer> rows = catalog.stream()
+                    .filter(code -> code < after)
+                    .sorted((a, b) -> b - a)
+                    .limit(request.size() + 1)
+                    .toList();
+            final Page<Integer> page = Page.of(request, rows, code -> new PageCursor(code, ""));
+            for (final int code : page.items()) {
+                assertTrue(code < previous);
+                previous = code;
+                read++;
+            }
+            more = page.next().isPresent();
+            if (more) {
+                request = page.next().get();
+            }
+        }
+        assertEquals(catalog.size(), read);
+    }
+
+    private static Map<Integer, Object> bind(final PageRequest request, final int firstIndex) throws SQLException {
+        final Map<Integer, Object> parameters = new TreeMap<>();
+        request.bind(FakeDatabase.parameterSink(parameters), firstIndex);
+        return parameters;
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
@@ -55,7 +55,7 @@ class TestReviewMaking {
                 new ReviewSection(REVIEWED_FILM_ID, sections.get(0), 10)
         ));
         if (!ctx.isFilmViewed(REVIEWED_FILM_ID)) {
-            assertTrue(ctx.visualizeFilm(REVIEWED_FILM_ID));
+            ctx.visualizeFilm(REVIEWED_FILM_ID);
         }
         final FullFilmReview ffr = ctx.getFullFilmReview(REVIEWED_FILM_ID, USER);
         assertNotNull(ffr);
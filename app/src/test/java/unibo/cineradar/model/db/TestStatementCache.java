@@ -0,0 +1,46 @@
+package unibo.cineradar.model.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestStatementCache {
+
+    @Test
+    void testStatementsArePreparedOncePerQuery() {
+        final FakeDatabase database = new FakeDatabase();
+        try (DBManager mgr = new DBManager(database.connect())) {
+            mgr.getGenres();
+            mgr.getGenres();
+            mgr.getAccountCredentials("mario");
+            mgr.getGenres();
+            assertEquals(2, database.prepared().size());
+            assertEquals(3, database.getClosedResults());
+            assertEquals(0, database.getClosedStatements());
+        }
+        assertEquals(4, database.getClosedResults());
+        assertEquals(2, database.getClosedStatements());
+    }
+
+    @Test
+    void testLeastRecentlyUsedStatementsAreClosed() throws SQLException {
+        final FakeDatabase database = new FakeDatabase();
+        final int queries = DBConfig.getStatementCacheSize() + 5;
+        try (DBManager mgr = new DBManager(database.connect())) {
+            mgr.prepare("SELECT 0");
+            for (int i = 1; i < queries; i++) {
+                mgr.prepare("SELECT " + i);
+                mgr.prepare("SELECT 0");
+            }
+            assertEquals(queries, database.prepared().size());
+            assertEquals(5, database.getClosedStatements());
+        }
+        assertEquals(queries, database.getClosedStatements());
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
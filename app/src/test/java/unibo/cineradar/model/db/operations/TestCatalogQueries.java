@@ -0,0 +1,79 @@
+package unibo.cineradar.model.db.operations;
+
+import org.junit.jupiter.api.Test;
+import unibo.cineradar.model.db.FakeDatabase;
+import unibo.cineradar.model.film.Film;
+import unibo.cineradar.model.serie.Serie;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestCatalogQueries {
+    private static final int GENRES_PER_TITLE = 3;
+
+    @Test
+    void testFilmGenresAreLoadedInConstantQueries() {
+        assertEquals(2, countFilmQueries(1));
+        assertEquals(2, countFilmQueries(500));
+    }
+
+    @Test
+    void testSeriesGenresAreLoadedInConstantQueries() {
+        assertEquals(2, countSeriesQueries(1));
+        assertEquals(2, countSeriesQueries(500));
+    }
+
+    @Test
+    void testGenresAreAttachedToTheirTitle() {
+        try (UserOps ops = new UserOps(catalogConnection(4, new FakeDatabase()))) {
+            final List<Film> films = ops.getFilms(18);
+            assertEquals(4, films.size());
+            for (final Film film : films) {
+                assertEquals(GENRES_PER_TITLE, film.getGenres().size());
+                assertEquals("Genre" + film.getFilmId() + "-0", film.getGenres().get(0).name());
+            }
+        }
+    }
+
+    private static int countFilmQueries(final int titles) {
+        final FakeDatabase database = new FakeDatabase();
+        try (UserOps ops = new UserOps(catalogConnection(titles, database))) {
+            assertEquals(titles, ops.getFilms(18).size());
+        }
+        return database.queries().size();
+    }
+
+    private static int countSeriesQueries(final int titles) {
+        final FakeDatabase database = new FakeDatabase();
+        try (UserOps ops = new UserOps(catalogConnection(titles, database))) {
+            final List<Serie> series = ops.getSeries(18);
+            assertEquals(titles, series.size());
+            series.forEach(s -> assertEquals(GENRES_PER_TITLE, s.getGenres().size()));
+        }
+        return database.queries().size();
+    }
+
+    private static Connection catalogConnection(final int titles, final FakeDatabase database) {
+        final List<Map<String, Object>> titleRows = new ArrayList<>();
+        final List<Map<String, Object>> genreRows = new ArrayList<>();
+        for (int id = 1; id <= titles; id++) {
+            titleRows.add(Map.of(
+                    "Codice", id, "Titolo", "Title" + id, "EtaLimite", 0, "Trama", "",
+                    "Durata", 90, "CodiceCast", id, "DurataComplessiva", 600, "NumeroEpisodi", 10));
+            for (int g = 0; g < GENRES_PER_TITLE; g++) {
+                genreRows.add(Map.of(
+                        "CodiceFilm", id, "CodiceSerie", id, "NomeGenere", "Genre" + id + "-" + g,
+                        "Descrizione", "", "NumeroVisualizzati", 0));
+            }
+        }
+        return database.answering(sql -> sql.contains("categorizzazione") ? genreRows : titleRows).connect();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
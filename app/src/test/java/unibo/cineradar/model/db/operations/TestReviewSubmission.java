@@ -0,0 +1,69 @@
+package unibo.cineradar.model.db.operations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import unibo.cineradar.model.db.FakeDatabase;
+import unibo.cineradar.model.review.ReviewSection;
+import unibo.cineradar.model.review.Section;
+import unibo.cineradar.model.views.ViewBatch;
+import unibo.cineradar.model.views.ViewEvent;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestReviewSubmission {
+
+    @Test
+    void testReviewIsOneTransactionWithBatchedSections() {
+        final FakeDatabase database = new FakeDatabase();
+        final List<ReviewSection> sections = IntStream.rangeClosed(1, 6)
+                .mapToObj(i -> new ReviewSection(3, new Section("S" + i, ""), i))
+                .toList();
+        try (UserOps ops = new UserOps(database.connect())) {
+            assertTrue(ops.reviewFilm(3, "mario", "Titolo", "Testo", sections));
+        }
+        assertEquals(List.of(
+                "setAutoCommit false", "prepareStatement", "executeUpdate", "prepareStatement",
+                "addBatch", "addBatch", "addBatch", "addBatch", "addBatch", "addBatch",
+                "executeBatch", "commit", "setAutoCommit true"), database.calls());
+        assertEquals(List.of(3, "mario", "Titolo", "Testo", 3.5),
+                database.executions("executeUpdate").get(0).parameters());
+    }
+
+    @Test
+    void testFailedSectionsRollBackTheReview() {
+        final FakeDatabase database = new FakeDatabase().failingBatches();
+        try (UserOps ops = new UserOps(database.connect())) {
+            assertFalse(ops.reviewSeries(5, "mario", "Titolo", "Testo",
+                    List.of(new ReviewSection(5, new Section("Trama", ""), 7))));
+        }
+        final List<String> calls = database.calls();
+        assertTrue(calls.contains("rollback"));
+        assertFalse(calls.contains("commit"));
+        assertEquals("setAutoCommit true", calls.get(calls.size() - 1));
+    }
+
+    @Test
+    @EnabledIf("unibo.cineradar.model.db.EmbeddedDatabase#hasSampleData")
+    void testUnknownSectionsLeaveNoReview() {
+        try (UserOps ops = new UserOps()) {
+            ops.writeViews(new ViewBatch(List.of(ViewEvent.film("anna", 3, true))));
+            try {
+                assertFalse(ops.reviewFilm(3, "anna", "Titolo", "Testo", List.of(
+                        new ReviewSection(3, new Section("Trama", ""), 7),
+                        new ReviewSection(3, new Section("Ignota", ""), 5))));
+                assertTrue(ops.getFullFilmReview(3, "anna").isEmpty());
+            } finally {
+                ops.writeViews(new ViewBatch(List.of(ViewEvent.film("anna", 3, false))));
+            }
+        }
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
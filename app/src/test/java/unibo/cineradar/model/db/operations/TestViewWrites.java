@@ -0,0 +1,75 @@
+package unibo.cineradar.model.db.operations;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import unibo.cineradar.model.db.DBManager;
+import unibo.cineradar.model.multimedia.Genre;
+import unibo.cineradar.model.views.ViewBatch;
+import unibo.cineradar.model.views.ViewEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+@EnabledIf("unibo.cineradar.model.db.EmbeddedDatabase#hasSampleData")
+class TestViewWrites {
+    private static final String USER = "anna";
+    private static final int FILM_ID = 1;
+    private static final int MISSING_FILM_ID = 9999;
+    private static final String FILM_GENRE = "Storico";
+
+    @Test
+    void testCountersFollowTheWrittenRows() {
+        final int before = genreViews();
+        write(ViewEvent.film(USER, FILM_ID, true));
+        assertEquals(before + 1, genreViews());
+        write(ViewEvent.film(USER, FILM_ID, true));
+        assertEquals(before + 1, genreViews());
+        assertTrue(isViewed());
+
+        write(ViewEvent.film(USER, FILM_ID, false));
+        assertEquals(before, genreViews());
+        write(ViewEvent.film(USER, FILM_ID, false));
+        assertEquals(before, genreViews());
+        assertFalse(isViewed());
+    }
+
+    @Test
+    void testInvalidViewsAreRejected() {
+        final int before = genreViews();
+        assertThrows(IllegalArgumentException.class, () -> write(
+                ViewEvent.film(USER, FILM_ID, true),
+                ViewEvent.film(USER, MISSING_FILM_ID, true)));
+        assertEquals(before, genreViews());
+        assertFalse(isViewed());
+    }
+
+    private static void write(final ViewEvent... events) {
+        try (UserOps ops = new UserOps()) {
+            ops.writeViews(new ViewBatch(List.of(events)));
+        }
+    }
+
+    private static boolean isViewed() {
+        try (UserOps ops = new UserOps()) {
+            return ops.isFilmViewed(FILM_ID, USER);
+        }
+    }
+
+    private static int genreViews() {
+        try (DBManager mgr = new DBManager()) {
+            return mgr.getGenres().stream()
+                    .filter(genre -> FILM_GENRE.equals(genre.name()))
+                    .mapToInt(Genre::viewNumber)
+                    .findFirst()
+                    .orElseThrow();
+        }
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
@@ -0,0 +1,209 @@
+package unibo.cineradar.model.db.operations.admin;
+
+import org.junit.jupiter.api.Test;
+import unibo.cineradar.model.db.FakeDatabase;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestAvailabilitySnapshot {
+    private static final int KINDS = AvailabilitySnapshot.Kind.values().length;
+
+    @Test
+    void testKeySetMatchesHashSet() {
+        final Random random = new Random(42);
+        final LongHashSet keys = new LongHashSet();
+        final Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            final long key = random.nextInt(500) == 0 ? Long.MIN_VALUE : random.nextInt(2000) - 1000L;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.add(key), keys.add(key));
+                case 1 -> assertEquals(expected.remove(key), keys.remove(key));
+                default -> assertEquals(expected.contains(key), keys.contains(key));
+            }
+            assertEquals(expected.size(), keys.size());
+        }
+        keys.removeIf(key -> key % 2 == 0);
+        expected.removeIf(key -> key % 2 == 0);
+        for (long key = -1000; key < 1000; key++) {
+            assertEquals(expected.contains(key), keys.contains(key));
+        }
+    }
+
+    @Test
+    void testKnownKeysNeedNoQuery() {
+        final FakeDatabase database = new FakeDatabase();
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminOps ops = new AdminOps(connection(database, sql -> switch (sql) {
+            case "SELECT DISTINCT Codice FROM film" -> List.of(new int[]{3});
+            case "SELECT DISTINCT CodiceSerie, NumeroStagione FROM stagione" -> List.of(new int[]{2, 1});
+            case "SELECT DISTINCT CodiceCast FROM partecipazione_cast" -> List.of(new int[]{4});
+            default -> List.of();
+        }), snapshot)) {
+            assertTrue(ops.isFilmAvailable(3));
+            assertTrue(ops.isSeasonAvailable(2, 1));
+            assertFalse(ops.isEmptyCast(4));
+            assertTrue(ops.isFilmAvailable(3));
+        }
+        assertEquals(KINDS, database.queries().size());
+    }
+
+    @Test
+    void testUnknownKeysAreLookedUpAndLearnt() {
+        final FakeDatabase database = new FakeDatabase();
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminOps ops = new AdminOps(connection(database, sql -> sql.startsWith("SELECT Codice FROM film")
+                ? List.of(new int[]{5})
+                : List.of()), snapshot)) {
+            assertTrue(ops.isFilmAvailable(5));
+            assertTrue(ops.isFilmAvailable(5));
+            assertFalse(ops.isSeriesAvailable(5));
+            assertFalse(ops.isSeriesAvailable(5));
+        }
+        assertEquals(KINDS + 3, database.queries().size());
+        assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.FILM, 5));
+    }
+
+    @Test
+    void testMissingCodesAreFoundWithOneQuery() {
+        final FakeDatabase database = new FakeDatabase();
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminOps ops = new AdminOps(connection(database, sql -> switch (sql) {
+            case "SELECT DISTINCT Codice FROM film" -> List.of(new int[]{3});
+            case "SELECT DISTINCT Codice FROM film WHERE Codice IN (?, ?, ?)" -> List.of(new int[]{4});
+            default -> List.of();
+        }), snapshot)) {
+            assertArrayEquals(new int[]{5, 7}, ops.findMissing(AvailabilitySnapshot.Kind.FILM, 3, 4, 5, 7));
+            assertThrows(IllegalArgumentException.class, () -> ops.findMissing(AvailabilitySnapshot.Kind.SEASON, 1));
+        }
+        assertEquals(KINDS + 1, database.queries().size());
+        assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.FILM, 4));
+    }
+
+    @Test
+    void testDeletionsForgetKeys() {
+        final FakeDatabase database = new FakeDatabase();
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminOps ops = new AdminOps(connection(database, sql -> switch (sql) {
+            case "SELECT DISTINCT Codice FROM serie" -> List.of(new int[]{2}, new int[]{6});
+            case "SELECT DISTINCT CodiceSerie, NumeroStagione FROM stagione" ->
+                    List.of(new int[]{2, 1}, new int[]{2, 2}, new int[]{6, 1});
+            default -> List.of();
+        }), snapshot)) {
+            assertTrue(ops.isSeriesAvailable(2));
+            ops.deleteSeries(2);
+        }
+        assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.SERIES, 2));
+        assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.SEASON, 2, 1));
+        assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.SEASON, 2, 2));
+        assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.SEASON, 6, 1));
+        assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.SERIES, 6));
+    }
+
+    @Test
+    void testExpiredSnapshotKnowsNoKey() {
+        final AvailabilitySnapshot expired = new AvailabilitySnapshot(Duration.ZERO);
+        expired.add(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, 3);
+        expired.add(AvailabilitySnapshot.Kind.SEASON, 2, 1);
+        expired.addCard("anna", 1);
+        assertFalse(expired.contains(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, 3));
+        assertFalse(expired.contains(AvailabilitySnapshot.Kind.SEASON, 2, 1));
+        assertFalse(expired.containsCard("anna", 1));
+
+        final AvailabilitySnapshot trusted = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        trusted.add(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, 3);
+        trusted.addCard("anna", 1);
+        assertTrue(trusted.contains(AvailabilitySnapshot.Kind.FILM_WITH_GENRES, 3));
+        assertTrue(trusted.containsCard("anna", 1));
+    }
+
+    @Test
+    void testLookupsAreAnsweredWhileTheKeysLoad() throws InterruptedException {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        snapshot.add(AvailabilitySnapshot.Kind.SERIES, 6);
+        try (AdminAvailabilityOps ops = new AdminAvailabilityOps(connection(new FakeDatabase(), sql -> {
+            if ("SELECT DISTINCT Codice FROM film".equals(sql)) {
+                reading.countDown();
+                await(release);
+                return List.of(new int[]{3}, new int[]{4});
+            }
+            return List.of();
+        }))) {
+            final Thread loader = new Thread(() -> snapshot.ensureLoaded(ops));
+            loader.start();
+            reading.await();
+            assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+                assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.SERIES, 6));
+                snapshot.ensureLoaded(ops);
+            });
+            release.countDown();
+            loader.join();
+        }
+        assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.FILM, 3));
+        assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.FILM, 4));
+    }
+
+    @Test
+    void testKeysForgottenWhileLoadingAreNotLoadedBack() throws InterruptedException {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminAvailabilityOps ops = new AdminAvailabilityOps(connection(new FakeDatabase(), sql -> {
+            if ("SELECT DISTINCT Codice FROM film".equals(sql)) {
+                reading.countDown();
+                await(release);
+                return List.of(new int[]{3}, new int[]{4});
+            }
+            return List.of();
+        }))) {
+            final Thread loader = new Thread(() -> snapshot.ensureLoaded(ops));
+            loader.start();
+            reading.await();
+            snapshot.remove(AvailabilitySnapshot.Kind.FILM, 3);
+            release.countDown();
+            loader.join();
+        }
+        assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.FILM, 3));
+        assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.FILM, 4));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Connection connection(final FakeDatabase database, final Function<String, List<int[]>> keys) {
+        return database.answering(sql -> keys.apply(sql).stream().map(TestAvailabilitySnapshot::row).toList())
+                .connect();
+    }
+
+    private static Map<String, Object> row(final int... keys) {
+        return keys.length == 1
+                ? FakeDatabase.row("Codice", keys[0])
+                : FakeDatabase.row("Codice", keys[0], "Numero", keys[1]);
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
@@ -0,0 +1,77 @@
+package unibo.cineradar.model.db.operations.admin;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import unibo.cineradar.model.db.FakeDatabase;
+import unibo.cineradar.model.film.Film;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestGeneratedKeys {
+    private static final List<Film> FILMS = List.of(
+            new Film(0, "Primo", 0, "", 90, 1),
+            new Film(0, "Secondo", 14, "", 100, 1),
+            new Film(0, "Terzo", 18, "", 110, 2));
+
+    @Test
+    void testFilmsAreInsertedWithOneStatement() {
+        final FakeDatabase database = new FakeDatabase().answering(sql -> codes(41, 42, 43));
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminOps ops = new AdminOps(database.connect(), snapshot)) {
+            assertArrayEquals(new int[]{41, 42, 43}, ops.addFilms(FILMS));
+        }
+        assertEquals(List.of("prepareStatement", "executeQuery"), database.calls());
+        assertEquals(List.of("INSERT INTO film (Titolo, EtaLimite, Trama, Durata, CodiceCast) "
+                + "VALUES (?, ?, ?, ?, ?), (?, ?, ?, ?, ?), (?, ?, ?, ?, ?) RETURNING Codice"), database.prepared());
+        assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.FILM, 43));
+    }
+
+    @Test
+    @EnabledIf("unibo.cineradar.model.db.EmbeddedDatabase#hasSampleData")
+    void testEveryInsertedFilmGetsItsCode() {
+        try (AdminOps ops = new AdminOps()) {
+            final int[] codes = ops.addFilms(FILMS);
+            try {
+                assertEquals(FILMS.size(), IntStream.of(codes).distinct().count());
+                assertTrue(IntStream.of(codes).allMatch(ops::isFilmAvailable));
+            } finally {
+                IntStream.of(codes).forEach(ops::deleteFilm);
+            }
+        }
+    }
+
+    @Test
+    void testCastReturnsItsCode() {
+        final FakeDatabase database = new FakeDatabase().generatingKeys(7);
+        try (AdminOps ops = new AdminOps(database.connect(), new AvailabilitySnapshot(Duration.ofMinutes(1)))) {
+            assertEquals(7, ops.addCast(Optional.of("Nuovo")));
+        }
+        assertEquals(List.of("prepareStatement returning keys", "executeUpdate", "getGeneratedKeys"), database.calls());
+        assertEquals(List.of("INSERT INTO casting (Nome) VALUES (?)"), database.prepared());
+    }
+
+    @Test
+    void testMissingKeysFailTheInsertion() {
+        try (AdminOps ops = new AdminOps(new FakeDatabase().answering(sql -> codes(41)).connect(),
+                new AvailabilitySnapshot(Duration.ofMinutes(1)))) {
+            assertThrows(IllegalArgumentException.class, () -> ops.addFilms(FILMS));
+        }
+    }
+
+    private static List<Map<String, Object>> codes(final int... codes) {
+        return IntStream.of(codes).mapToObj(code -> FakeDatabase.row("Codice", code)).toList();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
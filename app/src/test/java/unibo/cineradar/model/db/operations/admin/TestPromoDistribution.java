@@ -0,0 +1,118 @@
+package unibo.cineradar.model.db.operations.admin;
+
+import org.junit.jupiter.api.Test;
+import unibo.cineradar.model.db.FakeDatabase;
+import unibo.cineradar.model.promo.PromoDistribution;
+import unibo.cineradar.model.ranking.RankingEntry;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestPromoDistribution {
+    private static final LocalDate EXPIRATION = LocalDate.of(2030, 1, 1);
+    private static final List<Map<String, Object>> CARDS = List.of(
+            Map.of("UsernameUtente", "anna", "CodiceCinema", 1, "Premi", 0),
+            Map.of("UsernameUtente", "bruno", "CodiceCinema", 2, "Premi", 1),
+            Map.of("UsernameUtente", "dario", "CodiceCinema", 1, "Premi", 0));
+
+    @Test
+    void testReviewersAreRewardedInOneTransaction() {
+        final FakeDatabase database = database(false);
+        final PromoDistribution distribution;
+        try (AdminOps ops = new AdminOps(database.connect())) {
+            distribution = ops.assignPromoToReviewers(7, EXPIRATION, List.of(
+                    new RankingEntry(1, "anna", 9), new RankingEntry(2, "bruno", 8),
+                    new RankingEntry(2, "carla", 8), new RankingEntry(4, "dario", 5)));
+        }
+        assertEquals(new PromoDistribution(2, 2), distribution);
+        assertEquals(List.of(
+                "setAutoCommit false", "prepareStatement", "executeQuery",
+                "prepareStatement", "addBatch", "addBatch", "executeBatch",
+                "prepareStatement", "executeUpdate", "commit", "setAutoCommit true"), database.calls());
+        assertEquals(List.of("anna", "dario"), batchedUsers(database));
+    }
+
+    @Test
+    void testCinemaHoldersGetNoPrizeTag() {
+        final FakeDatabase database = database(false);
+        final PromoDistribution distribution;
+        try (AdminOps ops = new AdminOps(database.connect())) {
+            distribution = ops.assignPromoToCinema(7, EXPIRATION, 1);
+        }
+        final List<String> calls = database.calls();
+        assertEquals(new PromoDistribution(2, 1), distribution);
+        assertFalse(calls.contains("executeUpdate"));
+        assertTrue(calls.contains("commit"));
+    }
+
+    @Test
+    void testFailedInsertRollsBack() {
+        final FakeDatabase database = database(true);
+        try (AdminOps ops = new AdminOps(database.connect())) {
+            assertThrows(IllegalArgumentException.class, () -> ops.assignPromoToCinema(7, EXPIRATION, 1));
+        }
+        final List<String> calls = database.calls();
+        assertTrue(calls.contains("rollback"));
+        assertFalse(calls.contains("commit"));
+        assertEquals("setAutoCommit true", calls.get(calls.size() - 1));
+    }
+
+    @Test
+    void testUnitOfWorkSharesConnectionAndTransaction() {
+        final FakeDatabase database = database(false);
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminOps ops = new AdminOps(database.connect(), snapshot)) {
+            final PromoDistribution distribution = ops.inTransaction(unit -> {
+                unit.isPromoAvailable(7);
+                unit.isCinemaAvailable(1);
+                try (AdminOps nested = unit.onSameConnection()) {
+                    return nested.assignPromoToCinema(7, EXPIRATION, 1);
+                }
+            });
+            assertEquals(new PromoDistribution(2, 1), distribution);
+        }
+        final List<String> calls = database.calls();
+        assertEquals(List.of("setAutoCommit false", "commit", "setAutoCommit true"),
+                calls.stream().filter(call -> call.startsWith("setAutoCommit") || call.startsWith("commit")).toList());
+        assertEquals("setAutoCommit true", calls.get(calls.size() - 1));
+        assertEquals(4, calls.stream().filter("prepareStatement"::equals).count());
+    }
+
+    @Test
+    void testFailedUnitOfWorkRollsBackEverything() {
+        final FakeDatabase database = database(true);
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminOps ops = new AdminOps(database.connect(), snapshot)) {
+            assertThrows(IllegalArgumentException.class, () -> ops.inTransaction(unit -> {
+                unit.addMultiplePromo(7);
+                return unit.assignPromoToCinema(7, EXPIRATION, 1);
+            }));
+        }
+        assertEquals(List.of("setAutoCommit false", "prepareStatement", "executeUpdate", "prepareStatement",
+                "executeQuery", "prepareStatement", "addBatch", "addBatch", "rollback",
+                "setAutoCommit true"), database.calls());
+        assertEquals(List.of("anna", "dario"), batchedUsers(database));
+        assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.MULTIPLE, 7));
+    }
+
+    private static FakeDatabase database(final boolean failingBatches) {
+        final FakeDatabase database = new FakeDatabase()
+                .answering(sql -> sql.startsWith("SELECT DISTINCT") ? List.of() : CARDS);
+        return failingBatches ? database.failingBatches() : database;
+    }
+
+    private static List<Object> batchedUsers(final FakeDatabase database) {
+        return database.executions("addBatch").stream().map(execution -> execution.parameters().get(3)).toList();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
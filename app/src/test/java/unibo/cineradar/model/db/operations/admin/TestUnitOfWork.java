@@ -0,0 +1,87 @@
+package unibo.cineradar.model.db.operations.admin;
+
+import org.junit.jupiter.api.Test;
+import unibo.cineradar.model.db.CatalogCache;
+import unibo.cineradar.model.db.FakeDatabase;
+import unibo.cineradar.model.serie.Serie;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestUnitOfWork {
+
+    @Test
+    void testCachesAreUpdatedOnlyAfterCommit() {
+        final CatalogCache.Key<Optional<Serie>> key = CatalogCache.seriesDetails(-1);
+        final AtomicInteger loads = new AtomicInteger();
+        CatalogCache.getInstance().get(key, () -> load(loads));
+        try (AdminOps ops = new AdminOps(new FakeDatabase().connect(),
+                new AvailabilitySnapshot(Duration.ofMinutes(1)))) {
+            ops.inTransaction(unit -> {
+                try (AdminOps nested = unit.onSameConnection()) {
+                    nested.deleteSeries(-1);
+                }
+                CatalogCache.getInstance().get(key, () -> load(loads));
+                assertEquals(1, loads.get());
+                return null;
+            });
+        }
+        CatalogCache.getInstance().get(key, () -> load(loads));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testRolledBackChangesLeaveTheCachesAlone() {
+        final CatalogCache.Key<Optional<Serie>> key = CatalogCache.seriesDetails(-2);
+        final AtomicInteger loads = new AtomicInteger();
+        CatalogCache.getInstance().get(key, () -> load(loads));
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        snapshot.add(AvailabilitySnapshot.Kind.FILM, 3);
+        try (AdminOps ops = new AdminOps(new FakeDatabase().connect(), snapshot)) {
+            assertThrows(IllegalStateException.class, () -> ops.inTransaction(unit -> {
+                unit.deleteSeries(-2);
+                throw new IllegalStateException("failed");
+            }));
+        }
+        CatalogCache.getInstance().get(key, () -> load(loads));
+        assertEquals(1, loads.get());
+        assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.FILM, 3));
+    }
+
+    @Test
+    void testSnapshotLearnsInsertedKeysOnlyAfterCommit() {
+        final AvailabilitySnapshot snapshot = new AvailabilitySnapshot(Duration.ofMinutes(1));
+        try (AdminOps ops = new AdminOps(new FakeDatabase().connect(), snapshot)) {
+            ops.inTransaction(unit -> {
+                unit.addPromo(5, LocalDate.EPOCH);
+                unit.addPromo(6, LocalDate.EPOCH);
+                unit.deletePromo(6, LocalDate.EPOCH);
+                assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.PROMO, 5));
+                return null;
+            });
+            assertTrue(snapshot.contains(AvailabilitySnapshot.Kind.PROMO, 5));
+            assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.PROMO, 6));
+            assertThrows(IllegalStateException.class, () -> ops.inTransaction(unit -> {
+                unit.addPromo(7, LocalDate.EPOCH);
+                throw new IllegalStateException("failed");
+            }));
+        }
+        assertFalse(snapshot.contains(AvailabilitySnapshot.Kind.PROMO, 7));
+    }
+
+    private static Optional<Serie> load(final AtomicInteger loads) {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
@@ -4,14 +4,39 @@ import org.junit.jupiter.api.Test;
 import unibo.cineradar.model.utente.Account;
 import unibo.cineradar.model.utente.Administrator;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+//CHECKSTYLE: MagicNumber OFF
+
 class TestLogin {
     @Test
     void testAdministrationLogin() {
-        final Account tmpAdm = Logger.logIn("admin", "panettone!".toCharArray()).get();
+        final LoginTimings timings = new LoginTimings();
+        final Account tmpAdm = Logger.logIn("admin", "panettone!".toCharArray(), timings).get();
         assertTrue(tmpAdm instanceof Administrator);
         assertEquals("1234567890", ((Administrator) tmpAdm).getPhoneNumber());
+        assertEquals(List.of(LoginTimings.LOOKUP, LoginTimings.PASSWORD),
+                timings.getPhases().stream().map(LoginTimings.Phase::name).toList());
+    }
+
+    @Test
+    void testLoginPhasesFollowEachOther() {
+        final AtomicLong clock = new AtomicLong(1_000_000);
+        final LoginTimings timings = new LoginTimings(clock::get);
+        clock.addAndGet(3_000_000);
+        timings.mark(LoginTimings.LOOKUP);
+        clock.addAndGet(40_000_000);
+        timings.mark(LoginTimings.PASSWORD);
+        assertEquals(List.of(new LoginTimings.Phase(LoginTimings.LOOKUP, Duration.ofMillis(3)),
+                new LoginTimings.Phase(LoginTimings.PASSWORD, Duration.ofMillis(40))), timings.getPhases());
+        assertEquals(Duration.ofMillis(43), timings.getTotal());
+        assertEquals("lookup 3 ms, password 40 ms (total 43 ms)", timings.toString());
     }
 }
+
+//CHECKSTYLE: MagicNumber ON
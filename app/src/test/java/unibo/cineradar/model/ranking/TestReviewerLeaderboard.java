@@ -0,0 +1,120 @@
+package unibo.cineradar.model.ranking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestReviewerLeaderboard {
+    private final List<ReviewerStanding> database = new ArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private ReviewerLeaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() {
+        database.clear();
+        database.add(new ReviewerStanding("anna", 3, 4, 4));
+        database.add(new ReviewerStanding("bruno", 5, 2, -2));
+        database.add(new ReviewerStanding("carla", 1, 3, 1));
+        database.add(new ReviewerStanding("dario", 3, 0, 0));
+        loads.set(0);
+        leaderboard = new ReviewerLeaderboard(() -> {
+            loads.incrementAndGet();
+            return List.copyOf(database);
+        });
+    }
+
+    @Test
+    void testRankingsMatchTheDatabase() {
+        assertEquals(List.of("bruno", "anna", "dario", "carla"), usernames(leaderboard.mostReviews(5)));
+        assertEquals(List.of("anna", "carla"), usernames(leaderboard.bestUsefulness(2)));
+        assertEquals(List.of("bruno", "carla", "anna"), usernames(leaderboard.worstUsefulness(5)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        leaderboard.mostReviews(5);
+        leaderboard.reviewAdded("carla");
+        leaderboard.reviewAdded("carla");
+        leaderboard.reviewAdded("carla");
+        leaderboard.reviewAdded("carla");
+        leaderboard.reviewAdded("elena");
+        assertEquals(List.of("bruno", "carla", "anna", "dario", "elena"), usernames(leaderboard.mostReviews(5)));
+
+        leaderboard.evaluationChanged("bruno", Optional.of(false), Optional.of(true));
+        leaderboard.evaluationChanged("bruno", Optional.empty(), Optional.of(true));
+        leaderboard.evaluationChanged("dario", Optional.empty(), Optional.of(false));
+        assertEquals(List.of("anna", "bruno", "carla", "dario"), usernames(leaderboard.bestUsefulness(5)));
+        assertEquals(new ReviewerStanding("bruno", 5, 3, 1), leaderboard.bestUsefulness(2).get(1));
+
+        leaderboard.evaluationChanged("dario", Optional.of(false), Optional.empty());
+        leaderboard.reviewRemoved("anna", 4, 4);
+        assertEquals(List.of("bruno", "carla"), usernames(leaderboard.bestUsefulness(5)));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testTiesWithTheLastAreIncluded() {
+        assertEquals(List.of("bruno", "anna", "dario"), usernames(leaderboard.mostReviews(2)));
+        assertEquals(List.of("bruno"), usernames(leaderboard.mostReviews(1)));
+        leaderboard.evaluationChanged("dario", Optional.empty(), Optional.of(true));
+        assertEquals(List.of("anna", "dario"), usernames(leaderboard.bestUsefulness(1)));
+    }
+
+    @Test
+    void testUnchangedEvaluationIsIgnored() {
+        leaderboard.evaluationChanged("anna", Optional.of(true), Optional.of(true));
+        leaderboard.mostReviews(1);
+        leaderboard.evaluationChanged("anna", Optional.of(true), Optional.of(true));
+        assertEquals(new ReviewerStanding("anna", 3, 4, 4), leaderboard.bestUsefulness(1).get(0));
+    }
+
+    @Test
+    void testInvalidateReadsTheDatabaseAgain() {
+        leaderboard.mostReviews(5);
+        database.remove(1);
+        leaderboard.invalidate();
+        assertEquals(List.of("anna", "dario", "carla"), usernames(leaderboard.mostReviews(5)));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testChangesDuringTheLoadCauseAnotherLoad() {
+        final ReviewerLeaderboard racing = new ReviewerLeaderboard(() -> {
+            loads.incrementAndGet();
+            final List<ReviewerStanding> snapshot = List.copyOf(database);
+            if (loads.get() == 1) {
+                leaderboard.reviewAdded("anna");
+            }
+            return snapshot;
+        });
+        leaderboard = racing;
+        racing.mostReviews(5);
+        racing.mostReviews(5);
+        assertEquals(2, loads.get());
+        racing.mostReviews(5);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInconsistentChangeCausesAnotherLoad() {
+        leaderboard.mostReviews(5);
+        leaderboard.reviewRemoved("nobody", 0, 0);
+        assertEquals(List.of("bruno", "anna", "dario", "carla"), usernames(leaderboard.mostReviews(5)));
+        assertEquals(2, loads.get());
+    }
+
+    private static List<String> usernames(final List<ReviewerStanding> standings) {
+        return standings.stream().map(ReviewerStanding::username).toList();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
@@ -0,0 +1,131 @@
+package unibo.cineradar.model.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestSearchIndex {
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.add(new SearchDocument(ContentType.FILM, 1, "The Matrix",
+                "A hacker discovers the truth about reality.", 14, List.of("Keanu Reeves")));
+        index.add(new SearchDocument(ContentType.FILM, 2, "Amélie",
+                "A shy waitress in Paris.", 0, List.of("Audrey Tautou")));
+        index.add(new SearchDocument(ContentType.FILM, 3, "Reality Bites",
+                "Friends after college.", 18, List.of("Winona Ryder")));
+        index.add(new SearchDocument(ContentType.SERIES, 1, "Matrix Reloaded",
+                "Not really a series.", 0, List.of()));
+    }
+
+    @Test
+    void testExactAndPrefixMatches() {
+        assertEquals(List.of(1), codes(index.search("matrix", ContentType.FILM, 18, 10)));
+        assertEquals(List.of(1), codes(index.search("matr", ContentType.FILM, 18, 10)));
+        assertEquals(List.of(1), codes(index.search("MATRIX", ContentType.SERIES, 18, 10)));
+    }
+
+    @Test
+    void testTypoTolerance() {
+        assertEquals(List.of(1), codes(index.search("matirx", ContentType.FILM, 18, 10)));
+        assertEquals(List.of(1), codes(index.search("keanu reves", ContentType.FILM, 18, 10)));
+        assertTrue(index.search("mtx", ContentType.FILM, 18, 10).isEmpty());
+    }
+
+    @Test
+    void testAccentsAreIgnored() {
+        assertEquals(List.of(2), codes(index.search("amelie", ContentType.FILM, 18, 10)));
+    }
+
+    @Test
+    void testTitleRanksAbovePlot() {
+        assertEquals(List.of(3, 1), codes(index.search("reality", ContentType.FILM, 18, 10)));
+    }
+
+    @Test
+    void testAgeLimitAndCount() {
+        assertEquals(List.of(1), codes(index.search("reality", ContentType.FILM, 14, 10)));
+        assertEquals(1, index.search("reality", ContentType.FILM, 18, 1).size());
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        assertTrue(index.remove(ContentType.FILM, 1));
+        assertTrue(index.search("matrix", ContentType.FILM, 18, 10).isEmpty());
+        index.add(new SearchDocument(ContentType.FILM, 3, "Matrix Bites", "", 18, List.of()));
+        assertEquals(List.of(3), codes(index.search("matrix", ContentType.FILM, 18, 10)));
+        assertTrue(index.search("reality", ContentType.FILM, 18, 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testCatalogSearchFollowsChanges() {
+        final List<SearchDocument> films = new ArrayList<>(List.of(
+                new SearchDocument(ContentType.FILM, 1, "Alien", "", 0, List.of())));
+        final CatalogSearch search = new CatalogSearch((type, from, to) -> type == ContentType.FILM
+                ? films.stream().filter(d -> d.code() >= from && d.code() <= to).toList()
+                : List.of());
+        assertEquals(List.of(1), codes(search.search("alien", ContentType.FILM, 18, 10)));
+        films.add(new SearchDocument(ContentType.FILM, 2, "Aliens", "", 0, List.of()));
+        search.contentChanged(ContentType.FILM, 2);
+        assertEquals(List.of(1, 2), codes(search.search("alien", ContentType.FILM, 18, 10)));
+        search.contentRemoved(ContentType.FILM, 1);
+        assertEquals(List.of(2), codes(search.search("alien", ContentType.FILM, 18, 10)));
+    }
+
+    @Test
+    void testUpdatesDoNotWaitForTheBuild() throws InterruptedException {
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<SearchDocument> films = new CopyOnWriteArrayList<>(List.of(
+                new SearchDocument(ContentType.FILM, 1, "Alien", "", 0, List.of()),
+                new SearchDocument(ContentType.FILM, 2, "Aliens", "", 0, List.of())));
+        final CatalogSearch search = new CatalogSearch((type, from, to) -> {
+            final List<SearchDocument> read = type == ContentType.FILM
+                    ? films.stream().filter(d -> d.code() >= from && d.code() <= to).toList()
+                    : List.of();
+            reading.countDown();
+            await(release);
+            return read;
+        });
+        final Thread builder = new Thread(() -> search.search("alien", ContentType.FILM, 18, 10));
+        builder.start();
+        reading.await();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            films.remove(0);
+            search.contentRemoved(ContentType.FILM, 1);
+            search.contentChanged(ContentType.FILM, 2);
+        });
+        release.countDown();
+        builder.join();
+        assertEquals(List.of(2), codes(search.search("alien", ContentType.FILM, 18, 10)));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static List<Integer> codes(final List<SearchResult> results) {
+        return results.stream().map(SearchResult::code).toList();
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
@@ -0,0 +1,90 @@
+package unibo.cineradar.model.serie;
+
+import org.junit.jupiter.api.Test;
+import unibo.cineradar.model.cast.Actor;
+import unibo.cineradar.model.cast.CastMember;
+import unibo.cineradar.model.multimedia.Genre;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestSeriesCatalogBuilder {
+    private static final int SERIES = 500;
+    private static final int SEASONS = 10;
+    private static final int EPISODES = 20;
+    private static final int CAST = 30;
+
+    @Test
+    void testJoinedRowsAreDeduplicated() {
+        final List<Serie> series = assemble(2, 2, 3, 4, castMembers(4));
+        assertEquals(2, series.size());
+        for (final Serie serie : series) {
+            assertEquals(List.of(new Genre("Drama", "", 0)), serie.getGenres());
+            assertEquals(2, serie.getSeasons().size());
+            for (final Season season : serie.getSeasons()) {
+                assertEquals(3, season.getEpisodes().size());
+                assertEquals(4, season.getCast().getCastMemberList().size());
+                assertEquals(1, season.getEpisodes().get(0).id());
+            }
+        }
+    }
+
+    @Test
+    void testLargeCatalogIsAssembledCompletely() {
+        final List<Serie> series = assemble(SERIES, SEASONS, EPISODES, CAST, castMembers(CAST));
+        assertEquals(SERIES, series.size());
+        for (final Serie serie : series) {
+            assertEquals(SEASONS, serie.getSeasons().size());
+            for (final Season season : serie.getSeasons()) {
+                assertEquals(EPISODES, season.getEpisodes().size());
+                assertEquals(CAST, season.getCast().getCastMemberList().size());
+                for (int e = 0; e < EPISODES; e++) {
+                    assertEquals(e + 1, season.getEpisodes().get(e).id());
+                }
+            }
+        }
+    }
+
+    /*
+     * Feeds the builder the same rows the serie/stagione/episodio/cast join produces:
+     * one row per episode and cast member.
+     */
+    private static List<Serie> assemble(final int series,
+                                        final int seasons,
+                                        final int episodes,
+                                        final int castSize,
+                                        final List<CastMember> cast) {
+        final SeriesCatalogBuilder builder = new SeriesCatalogBuilder();
+        for (int s = 1; s <= series; s++) {
+            for (int season = 1; season <= seasons; season++) {
+                for (int e = 1; e <= episodes; e++) {
+                    for (int c = 0; c < castSize; c++) {
+                        if (!builder.containsSerie(s)) {
+                            builder.addSerie(new Serie(s, "Serie " + s, 0, "", 0, seasons * episodes));
+                        }
+                        builder.addSeason(s, season, "", s);
+                        builder.addEpisode(new Episode(s, season, e, 30));
+                        builder.addCastMember(s, season, cast.get(c));
+                    }
+                }
+            }
+            builder.addGenre(s, new Genre("Drama", "", 0));
+        }
+        return builder.build();
+    }
+
+    private static List<CastMember> castMembers(final int count) {
+        final List<CastMember> cast = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            cast.add(new Actor(i, "Name" + i, "Surname" + i, LocalDate.EPOCH, LocalDate.EPOCH, null));
+        }
+        return cast;
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
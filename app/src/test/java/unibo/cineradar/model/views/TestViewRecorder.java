@@ -0,0 +1,166 @@
+package unibo.cineradar.model.views;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestViewRecorder {
+    private static final Duration LONG = Duration.ofMinutes(10);
+
+    @Test
+    void testEventsAreCoalesced() {
+        final List<ViewBatch> batches = new CopyOnWriteArrayList<>();
+        final ViewRecorder recorder = new ViewRecorder(batches::add, LONG, 100);
+        recorder.record(ViewEvent.film("anna", 1, true));
+        recorder.record(ViewEvent.film("anna", 1, true));
+        recorder.record(ViewEvent.film("bruno", 1, true));
+        recorder.record(ViewEvent.film("carla", 2, true));
+        recorder.record(ViewEvent.film("carla", 2, false));
+        recorder.record(ViewEvent.episode("anna", 7, 1, 3, true));
+        assertEquals(Optional.of(false), recorder.pendingView(ViewEvent.film("carla", 2, true).key()));
+        recorder.flush();
+
+        assertEquals(1, batches.size());
+        final ViewBatch batch = batches.get(0);
+        assertEquals(4, batch.events().size());
+        assertEquals(Optional.empty(), recorder.pendingView(ViewEvent.film("anna", 1, true).key()));
+
+        recorder.flush();
+        assertEquals(1, batches.size());
+        final ViewRecorderStatistics stats = recorder.getStatistics();
+        assertEquals(6, stats.recorded());
+        assertEquals(4, stats.written());
+        assertEquals(1, stats.flushes());
+        assertEquals(0, stats.pending());
+        recorder.shutdown();
+    }
+
+    @Test
+    void testFailedWritesAreRetried() {
+        final AtomicBoolean failing = new AtomicBoolean(true);
+        final List<ViewBatch> batches = new CopyOnWriteArrayList<>();
+        final ViewRecorder recorder = new ViewRecorder(batch -> {
+            if (failing.get()) {
+                throw new IllegalStateException("database down");
+            }
+            batches.add(batch);
+        }, LONG, 100);
+        recorder.record(ViewEvent.film("anna", 1, true));
+        assertThrows(IllegalStateException.class, recorder::flush);
+        assertEquals(1, recorder.getStatistics().failedFlushes());
+        assertEquals(Optional.of(true), recorder.pendingView(ViewEvent.film("anna", 1, true).key()));
+
+        recorder.record(ViewEvent.film("bruno", 1, true));
+        failing.set(false);
+        recorder.flush();
+        assertEquals(2, batches.get(0).events().size());
+        recorder.shutdown();
+    }
+
+    @Test
+    void testRejectedViewDoesNotBlockTheOthers() {
+        final List<ViewEvent> written = new CopyOnWriteArrayList<>();
+        final ViewRecorder recorder = new ViewRecorder(batch -> {
+            if (batch.events().stream().anyMatch(event -> event.code() == 99)) {
+                throw new IllegalArgumentException("unknown film");
+            }
+            written.addAll(batch.events());
+        }, LONG, 100);
+        recorder.record(ViewEvent.film("anna", 1, true));
+        recorder.record(ViewEvent.film("anna", 99, true));
+        recorder.record(ViewEvent.film("bruno", 2, true));
+        recorder.flush();
+        assertEquals(2, written.size());
+        assertEquals(Optional.of(true), recorder.pendingView(ViewEvent.film("anna", 99, true).key()));
+
+        recorder.record(ViewEvent.film("carla", 3, true));
+        recorder.flush();
+        recorder.flush();
+        assertEquals(3, written.size());
+        final ViewRecorderStatistics stats = recorder.getStatistics();
+        assertEquals(1, stats.dropped());
+        assertEquals(0, stats.pending());
+        assertEquals(0, stats.failedFlushes());
+        recorder.shutdown();
+    }
+
+    @Test
+    void testSelectedViewsAreWrittenAlone() {
+        final List<ViewBatch> batches = new CopyOnWriteArrayList<>();
+        final ViewRecorder recorder = new ViewRecorder(batch -> {
+            if (batch.events().stream().anyMatch(event -> "bruno".equals(event.username()))) {
+                throw new IllegalStateException("database down");
+            }
+            batches.add(batch);
+        }, LONG, 100);
+        recorder.record(ViewEvent.film("anna", 1, true));
+        recorder.record(ViewEvent.film("anna", 2, true));
+        recorder.record(ViewEvent.film("bruno", 1, true));
+        recorder.flush(key -> "anna".equals(key.username()) && key.code() == 1);
+        assertEquals(List.of(ViewEvent.film("anna", 1, true).key()),
+                batches.get(0).events().stream().map(ViewEvent::key).toList());
+        assertEquals(2, recorder.getStatistics().pending());
+        assertEquals(List.of(ViewEvent.film("bruno", 1, true).key()),
+                recorder.pendingViews(key -> "bruno".equals(key.username())).stream().map(ViewEvent::key).toList());
+        recorder.shutdown();
+    }
+
+    @Test
+    void testTooManyPendingViewsTriggerAWrite() throws InterruptedException {
+        final CountDownLatch written = new CountDownLatch(1);
+        final ViewRecorder recorder = new ViewRecorder(batch -> written.countDown(), LONG, 3);
+        recorder.record(ViewEvent.film("anna", 1, true));
+        recorder.record(ViewEvent.film("anna", 2, true));
+        assertEquals(1, written.getCount());
+        recorder.record(ViewEvent.film("anna", 3, true));
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        recorder.shutdown();
+    }
+
+    @Test
+    void testShutdownWritesPendingViews() {
+        final List<ViewBatch> batches = new CopyOnWriteArrayList<>();
+        final ViewRecorder recorder = new ViewRecorder(batches::add, LONG, 100);
+        recorder.record(ViewEvent.episode("anna", 7, 1, 1, true));
+        recorder.shutdown();
+        assertEquals(1, batches.size());
+        recorder.record(ViewEvent.episode("anna", 7, 1, 2, true));
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    void testFailedWritesAfterShutdownAreKept() {
+        final AtomicBoolean failing = new AtomicBoolean(true);
+        final List<ViewBatch> batches = new CopyOnWriteArrayList<>();
+        final ViewRecorder recorder = new ViewRecorder(batch -> {
+            if (failing.get()) {
+                throw new IllegalStateException("database down");
+            }
+            batches.add(batch);
+        }, LONG, 1);
+        recorder.shutdown();
+        recorder.record(ViewEvent.film("anna", 1, true));
+        recorder.record(ViewEvent.film("anna", 2, true));
+        assertEquals(2, recorder.getStatistics().failedFlushes());
+        assertEquals(2, recorder.getStatistics().pending());
+
+        failing.set(false);
+        recorder.record(ViewEvent.film("anna", 3, true));
+        assertEquals(3, batches.get(0).events().size());
+        assertEquals(0, recorder.getStatistics().pending());
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON
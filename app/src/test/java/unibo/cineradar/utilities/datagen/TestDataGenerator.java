@@ -0,0 +1,175 @@
+package unibo.cineradar.utilities.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+//CHECKSTYLE: MagicNumber OFF
+
+class TestDataGenerator {
+    private static final GeneratorSettings SETTINGS = GeneratorSettings.parse(Map.of(
+            "scale", "3", "users", "300", "reviewRate", "0.6", "completion", "0.7", "cardRate", "0.5"));
+
+    @Test
+    void testRowsRespectKeysAndTriggers() throws IOException {
+        final RecordingSink sink = new RecordingSink();
+        final Map<Table, Long> counts = new DataGenerator(SETTINGS, sink).generate();
+
+        final Map<Table, Set<List<Object>>> keys = new EnumMap<>(Table.class);
+        final Map<Integer, Integer> episodes = new HashMap<>();
+        final Map<List<Object>, Integer> seenEpisodes = new HashMap<>();
+        final Set<List<Object>> cardNumbers = new HashSet<>();
+        for (final Row row : sink.rows) {
+            final Object[] v = row.values();
+            switch (row.table()) {
+                case AMMINISTRATORE, REGISTRATORE, UTENTE -> {
+                    assertTrue(has(keys, Table.ACCOUNT, v[0]));
+                    for (final Table role : List.of(Table.AMMINISTRATORE, Table.REGISTRATORE, Table.UTENTE)) {
+                        assertFalse(has(keys, role, v[0]), "Account with two roles " + v[0]);
+                    }
+                }
+                case FILM -> assertTrue(has(keys, Table.CASTING, v[5]));
+                case PARTECIPAZIONE_CAST -> assertTrue(has(keys, Table.MEMBROCAST, v[0])
+                        && has(keys, Table.CASTING, v[1]));
+                case EPISODIO -> episodes.merge((Integer) v[0], 1, Integer::sum);
+                case TESSERA -> assertTrue(cardNumbers.add(List.of(v[0], v[2])), "Card number used twice");
+                case PREMI_TESSERA -> assertTrue(has(keys, Table.TESSERA, v[2], v[3])
+                        && has(keys, Table.PROMO, v[0], v[1]));
+                case VISUALIZZAZIONI_FILM -> assertTrue(has(keys, Table.FILM, v[0]) && has(keys, Table.UTENTE, v[1]));
+                case VISUALIZZAZIONI_EPISODIO -> seenEpisodes.merge(List.of(v[0], v[1]), 1, Integer::sum);
+                case RECFILM -> assertTrue(has(keys, Table.VISUALIZZAZIONI_FILM, v[1], v[0]), "Film not seen");
+                case RECSERIE -> assertEquals(episodes.get((Integer) v[1]), seenEpisodes.get(List.of(v[0], v[1])));
+                case SEZIONAMENTO_FILM -> assertTrue(has(keys, Table.RECFILM, v[0], v[1])
+                        && has(keys, Table.SEZIONE, v[2]));
+                case SEZIONAMENTO_SERIE -> assertTrue(has(keys, Table.RECSERIE, v[1], v[2]));
+                case VALUTAZIONE_FILM, VALUTAZIONE_SERIE -> {
+                    final Table review = row.table() == Table.VALUTAZIONE_FILM ? Table.RECFILM : Table.RECSERIE;
+                    assertTrue(has(keys, review, v[0], v[1]), "Evaluated review missing");
+                    assertFalse(v[0].equals(v[2]), "Own review evaluated");
+                }
+                default -> {
+                }
+            }
+            final int keySize = switch (row.table()) {
+                case ACCOUNT, AMMINISTRATORE, REGISTRATORE, UTENTE, CINEMA, GENERE, SEZIONE, MEMBROCAST, CASTING,
+                     FILM, SERIE, TEMPLATEPROMO, SINGOLO, MULTIPLO, RICHIESTA -> 1;
+                case EPISODIO, SEZIONAMENTO_FILM, SEZIONAMENTO_SERIE, VALUTAZIONE_FILM, VALUTAZIONE_SERIE -> 3;
+                case VISUALIZZAZIONI_EPISODIO, PREMI_TESSERA -> 4;
+                default -> 2;
+            };
+            final List<Object> key = new ArrayList<>(Arrays.asList(v).subList(0, keySize));
+            assertTrue(keys.computeIfAbsent(row.table(), t -> new HashSet<>()).add(key),
+                    "Duplicate key " + key + " in " + row.table());
+        }
+        for (final Table table : Table.values()) {
+            assertEquals(keys.getOrDefault(table, Set.of()).size(), counts.getOrDefault(table, 0L).intValue());
+        }
+        assertEquals(300, counts.get(Table.UTENTE).longValue());
+        assertTrue(counts.get(Table.RECFILM) > 0 && counts.get(Table.RECSERIE) > 0);
+        assertTrue(counts.get(Table.VALUTAZIONE_FILM) > 0 && counts.get(Table.VALUTAZIONE_SERIE) > 0);
+        assertEquals(SETTINGS.genres(), sink.statements.size());
+    }
+
+    @Test
+    void testSameSeedSameData() throws IOException {
+        final RecordingSink first = new RecordingSink();
+        final RecordingSink second = new RecordingSink();
+        new DataGenerator(SETTINGS, first).generate();
+        new DataGenerator(SETTINGS, second).generate();
+        assertEquals(first.rows.size(), second.rows.size());
+        for (int i = 0; i < first.rows.size(); i++) {
+            assertArrayEquals(first.rows.get(i).values(), second.rows.get(i).values());
+        }
+    }
+
+    @Test
+    void testZipfFavoursTheFirstRanks() {
+        final SplittableRandom random = new SplittableRandom(1);
+        final int[] skewed = new int[101];
+        final int[] uniform = new int[101];
+        final ZipfSampler zipf = new ZipfSampler(100, 1.2);
+        final ZipfSampler flat = new ZipfSampler(100, 0);
+        for (int i = 0; i < 100_000; i++) {
+            skewed[zipf.sample(random)]++;
+            uniform[flat.sample(random)]++;
+        }
+        assertEquals(0, skewed[0] + uniform[0]);
+        assertTrue(skewed[1] > 3 * skewed[5] && skewed[5] > skewed[50]);
+        assertTrue(uniform[1] > 800 && uniform[1] < 1200);
+        assertThrows(IllegalArgumentException.class, () -> new ZipfSampler(0, 1));
+    }
+
+    @Test
+    void testInsertsAreBatchedInTableOrder() throws IOException {
+        final StringWriter out = new StringWriter();
+        try (SqlInsertWriter writer = new SqlInsertWriter(out, 2)) {
+            writer.row(Table.UTENTE, "o'neil", false, LocalDate.of(2000, 1, 2));
+            writer.row(Table.ACCOUNT, "o'neil", "hash", "Shaquille", null);
+            writer.row(Table.ACCOUNT, "bob", "hash", "Bob", "Back\\slash");
+            writer.row(Table.ACCOUNT, "carl", "hash", "Carl", "Smith");
+        }
+        assertEquals("""
+                SET autocommit = 0;
+                INSERT INTO account (Username, PASSWORD, Nome, Cognome)
+                VALUES ('o''neil', 'hash', 'Shaquille', NULL),
+                       ('bob', 'hash', 'Bob', 'Back\\\\slash');
+                INSERT INTO utente (Username, TargaPremio, DataNascita)
+                VALUES ('o''neil', FALSE, '2000-01-02');
+                COMMIT;
+                INSERT INTO account (Username, PASSWORD, Nome, Cognome)
+                VALUES ('carl', 'hash', 'Carl', 'Smith');
+                COMMIT;
+                """, out.toString());
+        assertEquals("a\\tb\\\\", LoadDataWriter.field("a\tb\\"));
+        assertEquals("\\N", LoadDataWriter.field(null));
+    }
+
+    private static boolean has(final Map<Table, Set<List<Object>>> keys, final Table table, final Object... key) {
+        return keys.getOrDefault(table, Set.of()).contains(List.of(key));
+    }
+
+    private record Row(Table table, Object[] values) {
+    }
+
+    private static final class RecordingSink implements RowSink {
+        private final List<Row> rows = new ArrayList<>();
+        private final List<String> statements = new ArrayList<>();
+
+        @Override
+        public void row(final Table table, final Object... values) {
+            this.rows.add(new Row(table, values.clone()));
+        }
+
+        @Override
+        public void execute(final String statement) {
+            this.statements.add(statement);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
+
+//CHECKSTYLE: MagicNumber ON